@@ -2,6 +2,9 @@ package io.loom.benchmark;
 
 import io.loom.core.codec.DslJsonCodec;
 import io.loom.core.codec.JsonCodec;
+import io.loom.starter.context.MapRequestView;
+import io.loom.starter.context.SpringBuilderContext;
+import io.loom.starter.service.ServiceClientRegistry;
 import io.loom.starter.web.LoomHttpContextImpl;
 
 import org.openjdk.jmh.annotations.*;
@@ -21,11 +24,13 @@ public class ContextCreationBenchmark {
 
     private JsonCodec codec;
     private MockHttpServletResponse response;
+    private ServiceClientRegistry serviceRegistry;
 
     @Setup
     public void setup() {
         codec = new DslJsonCodec();
         response = new MockHttpServletResponse();
+        serviceRegistry = new ServiceClientRegistry();
     }
 
     private MockHttpServletRequest buildRequest() {
@@ -82,4 +87,32 @@ public class ContextCreationBenchmark {
         LoomHttpContextImpl ctx = new LoomHttpContextImpl(request, response, codec, pathVars, 10_485_760);
         return ctx.getHeader("Authorization");
     }
+
+    // Builder context creation for an API whose builder reads two headers.
+    // "Copied" is the previous adapter path: force the header and query maps, then copy attributes.
+
+    @Benchmark
+    public String builderContextCopied() {
+        MockHttpServletRequest request = buildRequest();
+        Map<String, String> pathVars = Map.of("userId", "42");
+        LoomHttpContextImpl ctx = new LoomHttpContextImpl(request, response, codec, pathVars, 10_485_760);
+        ctx.setAttribute("tenant", "acme");
+        SpringBuilderContext builderContext = new SpringBuilderContext(
+                new MapRequestView(ctx.getHttpMethod(), ctx.getRequestPath(), pathVars,
+                        ctx.getQueryParams(), ctx.getHeaders(), ctx.getRawRequestBody(), codec, null),
+                Map.of(), serviceRegistry, null, null);
+        ctx.getAttributes().forEach(builderContext::setAttribute);
+        return builderContext.getHeader("Authorization") + builderContext.getHeader("X-Request-Id");
+    }
+
+    @Benchmark
+    public String builderContextSharedView() {
+        MockHttpServletRequest request = buildRequest();
+        Map<String, String> pathVars = Map.of("userId", "42");
+        LoomHttpContextImpl ctx = new LoomHttpContextImpl(request, response, codec, pathVars, 10_485_760);
+        ctx.setAttribute("tenant", "acme");
+        SpringBuilderContext builderContext = new SpringBuilderContext(
+                ctx, ctx.getAttributes(), serviceRegistry, null, null);
+        return builderContext.getHeader("Authorization") + builderContext.getHeader("X-Request-Id");
+    }
 }
@@ -102,14 +102,14 @@ public class EndToEndBenchmark {
 
         // Route trie with the benchmark route + some others for realism
         routeTrie = new RouteTrie();
-        ApiDefinition benchApi = new ApiDefinition("GET", "/api/users/{userId}/dashboard",
-                null, ApiResponse.class, null, null, null, null, null, null, null, null, null, null, null);
+        ApiDefinition benchApi = ApiDefinition.builder("GET", "/api/users/{userId}/dashboard")
+                .responseType(ApiResponse.class)
+                .build();
         routeTrie.insert(benchApi);
 
         // Add some filler routes
         for (int i = 0; i < 30; i++) {
-            routeTrie.insert(new ApiDefinition("GET", "/api/resource" + i + "/{id}",
-                    null, null, null, null, null, null, null, null, null, null, null, null, null));
+            routeTrie.insert(ApiDefinition.builder("GET", "/api/resource" + i + "/{id}").build());
         }
 
         BuilderFactory factory = new BuilderFactory() {
@@ -0,0 +1,84 @@
+package io.loom.benchmark;
+
+import io.loom.core.codec.DslJsonCodec;
+import io.loom.starter.security.Jwt;
+import io.loom.starter.security.JwtInterceptor;
+import io.loom.starter.security.JwtVerifier;
+import io.loom.starter.security.VerifiedTokenCache;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT authentication. {@code cacheHit} is the steady state for a
+ * returning client (SHA-256 of the token plus a map lookup); the {@code cacheMiss}
+ * benchmarks are full signature verification for RS256 and ES256.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtVerifier verifier;
+    private JwtInterceptor interceptor;
+    private String rsaToken;
+    private String ecToken;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPairGenerator rsaGenerator = KeyPairGenerator.getInstance("RSA");
+        rsaGenerator.initialize(2048);
+        KeyPair rsa = rsaGenerator.generateKeyPair();
+        KeyPairGenerator ecGenerator = KeyPairGenerator.getInstance("EC");
+        ecGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair ec = ecGenerator.generateKeyPair();
+
+        verifier = new JwtVerifier(Map.of("rsa", rsa.getPublic(), "ec", ec.getPublic()),
+                new DslJsonCodec(), "https://auth.example.com", "orders", 30);
+        interceptor = new JwtInterceptor(verifier, new VerifiedTokenCache(10_000, 300));
+
+        String claims = "{\"sub\":\"user-42\",\"iss\":\"https://auth.example.com\",\"aud\":\"orders\","
+                + "\"exp\":" + (System.currentTimeMillis() / 1000 + 3600) + ",\"scope\":\"orders:read\"}";
+        rsaToken = sign("RS256", "rsa", "SHA256withRSA", claims, rsa);
+        ecToken = sign("ES256", "ec", "SHA256withECDSAinP1363Format", claims, ec);
+        interceptor.authenticate(rsaToken); // prime the cache
+    }
+
+    @Benchmark
+    public Jwt cacheHit() {
+        return interceptor.authenticate(rsaToken);
+    }
+
+    @Benchmark
+    public Jwt cacheMissRs256() {
+        return verifier.verify(rsaToken);
+    }
+
+    @Benchmark
+    public Jwt cacheMissEs256() {
+        return verifier.verify(ecToken);
+    }
+
+    private static String sign(String alg, String kid, String jcaAlgorithm, String claims, KeyPair keys)
+            throws Exception {
+        Base64.Encoder b64 = Base64.getUrlEncoder().withoutPadding();
+        String input = b64.encodeToString(("{\"alg\":\"" + alg + "\",\"kid\":\"" + kid + "\"}")
+                .getBytes(StandardCharsets.UTF_8))
+                + "." + b64.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        Signature signature = Signature.getInstance(jcaAlgorithm);
+        signature.initSign(keys.getPrivate());
+        signature.update(input.getBytes(StandardCharsets.US_ASCII));
+        return input + "." + b64.encodeToString(signature.sign());
+    }
+}
@@ -15,11 +15,13 @@ import java.util.concurrent.TimeUnit;
 @Fork(1)
 public class RouteTrieBenchmark {
 
+    @Param({"50", "5000"})
+    private int routeCount;
+
     private RouteTrie trie;
 
     private static ApiDefinition api(String method, String path) {
-        return new ApiDefinition(method, path, null, null, null, null,
-                null, null, null, null, null, null, null, null, null);
+        return ApiDefinition.builder(method, path).build();
     }
 
     @Setup
@@ -45,6 +47,12 @@ public class RouteTrieBenchmark {
         for (int i = 0; i < 10; i++) {
             trie.insert(api("GET", "/api/v2/resource" + i + "/{parentId}/child/{childId}"));
         }
+
+        // Pad with generated services so literal tables fan out wide and deep
+        for (int i = 50; i < routeCount; i += 2) {
+            trie.insert(api("GET", "/api/v3/svc" + (i / 10) + "/items" + (i % 10) + "/{itemId}"));
+            trie.insert(api("GET", "/api/v1/generated" + i));
+        }
     }
 
     @Benchmark
@@ -71,4 +79,22 @@ public class RouteTrieBenchmark {
     public RouteTrie.RouteMatch findMiss() {
         return trie.find("GET", "/api/v1/nonexistent/42");
     }
+
+    // In-place lookup used by LoomHandlerMapping: no RouteMatch, variables read lazily
+
+    @Benchmark
+    public RouteTrie.Route lookupStaticRoute() {
+        return trie.lookup("GET", "/api/v1/users", 0);
+    }
+
+    @Benchmark
+    public String lookupDoubleParam() {
+        return trie.lookup("GET", "/api/v2/resource5/100/child/200", 0)
+                .pathVariables("/api/v2/resource5/100/child/200", 0).get("childId");
+    }
+
+    @Benchmark
+    public RouteTrie.Route lookupMiss() {
+        return trie.lookup("GET", "/api/v1/nonexistent/42", 0);
+    }
 }
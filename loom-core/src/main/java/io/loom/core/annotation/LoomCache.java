@@ -0,0 +1,34 @@
+package io.loom.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Caches the serialized response of a GET builder API. Placed alongside {@link LoomApi} on the
+ * API class. Entries are keyed by the request path (and so its path variables), the selected
+ * query parameters, the {@link #varyHeaders() vary headers} and the
+ * {@link #keyHeaders() caller headers}; only 200 responses are stored.
+ * <p>
+ * Interceptors still run on every request, but a cached body is served to every caller with the
+ * same key. Interceptor attributes (e.g. JWT claims) are not part of the key: if builders read
+ * anything caller-specific, the caller headers must identify the caller.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LoomCache {
+    /** How long an entry is served before the DAG runs again. */
+    long ttlMs() default 60000;
+
+    /** Query parameters that select the response; empty keys on the whole query string. */
+    String[] queryParams() default {};
+
+    /** Request headers that select the response, e.g. {@code Accept-Language}. */
+    String[] varyHeaders() default {};
+
+    /**
+     * Request headers that identify the caller: each distinct value gets its own entries. Defaults
+     * to {@code Authorization} and {@code Cookie}, so authenticated callers never share a response;
+     * set to {@code {}} only when the response is the same for every caller.
+     */
+    String[] keyHeaders() default {"Authorization", "Cookie"};
+}
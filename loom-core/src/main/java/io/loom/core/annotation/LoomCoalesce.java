@@ -0,0 +1,29 @@
+package io.loom.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Collapses concurrent identical requests to a GET builder API into one DAG execution whose
+ * serialized response is shared by every waiting request. Placed alongside {@link LoomApi} on
+ * the API class. Requests are identical when they have the same path (and so path variables),
+ * the same normalized query parameters and the same {@link #keyHeaders() key headers}.
+ * Interceptors still run for each request; only the DAG run and serialization are shared.
+ * <p>
+ * Followers receive bytes built from the leader's request. Interceptor attributes (e.g. JWT
+ * claims) are not part of the key: if builders read anything caller-specific, the key headers
+ * must identify the caller.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LoomCoalesce {
+    /** Query parameters that select the response; empty keys on all of them, in any order. */
+    String[] queryParams() default {};
+
+    /**
+     * Request headers that select the response, e.g. {@code Accept-Language}. Defaults to
+     * {@code Authorization} and {@code Cookie}, so authenticated callers never share a response;
+     * keep them when adding others, and set {@code {}} only when every caller gets the same response.
+     */
+    String[] keyHeaders() default {"Authorization", "Cookie"};
+}
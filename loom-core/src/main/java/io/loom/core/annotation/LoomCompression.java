@@ -0,0 +1,16 @@
+package io.loom.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Per-API override of the global {@code loom.compression} settings.
+ * Placed alongside {@link LoomApi} on the API class.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LoomCompression {
+    /** Deflate level 1-9, or -1 to use the global {@code loom.compression.level}. */
+    int level() default -1;
+    boolean enabled() default true;
+}
@@ -0,0 +1,32 @@
+package io.loom.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Enables CORS for an API, or overrides the global {@code loom.cors} settings for it.
+ * Placed alongside {@link LoomApi} on the API class. Empty attributes fall back to the
+ * global settings.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LoomCors {
+    /** Allowed origins, e.g. {@code https://app.example.com}; {@code *} allows any origin. */
+    String[] origins() default {};
+
+    /** Allowed methods; empty allows the API's own method (plus HEAD for GET). */
+    String[] methods() default {};
+
+    /** Allowed request headers; {@code *} allows whatever the preflight asks for. */
+    String[] headers() default {};
+
+    /** Response headers exposed to the browser. */
+    String[] exposedHeaders() default {};
+
+    boolean allowCredentials() default false;
+
+    /** Preflight cache lifetime in seconds, or -1 to use the global {@code loom.cors.max-age}. */
+    long maxAge() default -1;
+
+    boolean enabled() default true;
+}
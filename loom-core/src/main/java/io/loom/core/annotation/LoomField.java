@@ -0,0 +1,27 @@
+package io.loom.core.annotation;
+
+import io.loom.core.builder.LoomBuilder;
+import java.lang.annotation.*;
+
+/**
+ * Maps a top-level response field to the builders that produce it, enabling {@code ?fields=}
+ * selection for the API. Place it on a component or field of the response type, or on the
+ * terminal builder with {@link #name()} set. When a request selects fields, builders mapped only
+ * to unselected fields (and builders that only they depend on) are skipped along with their
+ * upstream calls, and the unselected fields are left out of the response. Builders not mapped to
+ * any field always run.
+ * <p>
+ * The terminal builder still runs, so it must read the results of mappable builders with
+ * {@code getOptionalDependency}/{@code getOptionalResultOf}.
+ */
+@Target({ElementType.TYPE, ElementType.RECORD_COMPONENT, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Repeatable(LoomFields.class)
+public @interface LoomField {
+    /** Builders the field needs. */
+    Class<? extends LoomBuilder<?>>[] value();
+
+    /** Response field name; required on a builder, defaults to the annotated field's name. */
+    String name() default "";
+}
@@ -0,0 +1,11 @@
+package io.loom.core.annotation;
+
+import java.lang.annotation.*;
+
+/** Container for repeated {@link LoomField} mappings on a terminal builder. */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LoomFields {
+    LoomField[] value();
+}
@@ -11,4 +11,21 @@ public @interface Node {
     Class<? extends LoomBuilder<?>>[] dependsOn() default {};
     boolean required() default true;
     long timeoutMs() default 30000;
+
+    /**
+     * Opts this builder in to starting before the trailing parallelizable interceptors have
+     * approved the request. Only root builders of GET/HEAD APIs are ever started speculatively,
+     * and their work is cancelled if an interceptor rejects the request. Leave it off for builders
+     * with side effects or that read attributes set by parallelizable interceptors.
+     */
+    boolean speculative() default false;
+
+    /**
+     * Turns the builder into background-refreshed reference data: when positive, it is built
+     * at startup and then every {@code refreshEveryMs} on a background virtual thread, and
+     * requests read the latest value without running it. For near-static data (config, currency
+     * tables, catalogs) only: the builder gets a context without request data, may not declare
+     * {@code dependsOn}, and should return an immutable value since every request shares it.
+     */
+    long refreshEveryMs() default 0;
 }
@@ -1,6 +1,7 @@
 package io.loom.core.builder;
 
 import io.loom.core.service.ServiceAccessor;
+import io.loom.core.validation.RequestValidator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -10,6 +11,19 @@ public interface BuilderContext {
     <T> T getRequestBody(Class<T> type);
     String getPathVariable(String name);
     String getQueryParam(String name);
+
+    /**
+     * Returns the query param converted to {@code type} (String, Integer, Long, Double, Float,
+     * Boolean or their primitives), or {@code null} if absent. Params declared with
+     * {@code @LoomQueryParam(type = ...)} are converted once during validation and served
+     * from the request's bound values; other reads convert on each call.
+     *
+     * @throws io.loom.core.exception.LoomValidationException if the value is not a valid {@code type}
+     */
+    default <T> T getQueryParam(String name, Class<T> type) {
+        return RequestValidator.convert(name, getQueryParam(name), type);
+    }
+
     String getHeader(String name);
     String getHttpMethod();
     String getRequestPath();
@@ -55,4 +69,14 @@ public interface BuilderContext {
                                    Map<Class<? extends LoomBuilder<?>>, Integer> builderIndexMap) {
         // no-op default for backward compatibility
     }
+
+    /**
+     * Called by {@link io.loom.core.engine.DagExecutor} when a refreshed node is served from a
+     * snapshot, which stays current for {@code remainingMs} more until its next scheduled refresh
+     * (0 once that is overdue). Contexts that derive response freshness count it as an input;
+     * the default ignores it.
+     */
+    default void recordSnapshotFreshness(long remainingMs) {
+        // no-op by default
+    }
 }
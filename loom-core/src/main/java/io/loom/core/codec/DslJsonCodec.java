@@ -7,6 +7,7 @@ import java.beans.BeanInfo;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.*;
 import java.math.BigDecimal;
@@ -19,9 +20,11 @@ public class DslJsonCodec implements JsonCodec {
 
     private static final System.Logger LOG = System.getLogger(DslJsonCodec.class.getName());
     private static final int MAX_POOL_SIZE = 256;
+    private static final int READ_BUFFER_SIZE = 4096;
 
     private final DslJson<Object> dslJson;
     private final LinkedBlockingQueue<JsonWriter> writerPool = new LinkedBlockingQueue<>(MAX_POOL_SIZE);
+    private final LinkedBlockingQueue<byte[]> readBufferPool = new LinkedBlockingQueue<>(MAX_POOL_SIZE);
     private final ConcurrentHashMap<Class<?>, Boolean> checkedTypes = new ConcurrentHashMap<>();
     private final HashSet<Class<?>> inProgress = new HashSet<>(); // only accessed under analysisLock
     private final ReentrantLock analysisLock = new ReentrantLock();
@@ -38,9 +41,33 @@ public class DslJsonCodec implements JsonCodec {
         return dslJson.deserialize(type, json, json.length);
     }
 
+    @Override
+    public <T> T readValue(byte[] json, int length, Class<T> type) throws IOException {
+        ensureBooleanGetterSupport(type);
+        return dslJson.deserialize(type, json, length);
+    }
+
+    /**
+     * Parses incrementally through a pooled read buffer — the stream is never
+     * materialized as a whole {@code byte[]}.
+     */
+    @Override
+    public <T> T readValue(InputStream json, Class<T> type) throws IOException {
+        ensureBooleanGetterSupport(type);
+        byte[] buffer = readBufferPool.poll();
+        if (buffer == null) {
+            buffer = new byte[READ_BUFFER_SIZE];
+        }
+        try {
+            return dslJson.deserialize(type, json, buffer);
+        } finally {
+            readBufferPool.offer(buffer); // silently drops if full
+        }
+    }
+
     @Override
     public byte[] writeValueAsBytes(Object value) throws IOException {
-        if (value != null) ensureBooleanGetterSupport(value.getClass());
+        if (value != null) ensureWriteSupport(value);
         JsonWriter writer = borrowWriter();
         try {
             dslJson.serialize(writer, value);
@@ -52,7 +79,7 @@ public class DslJsonCodec implements JsonCodec {
 
     @Override
     public void writeValue(OutputStream out, Object value) throws IOException {
-        if (value != null) ensureBooleanGetterSupport(value.getClass());
+        if (value != null) ensureWriteSupport(value);
         JsonWriter writer = borrowWriter();
         try {
             dslJson.serialize(writer, value);
@@ -72,6 +99,23 @@ public class DslJsonCodec implements JsonCodec {
     // Uses ReentrantLock (not synchronized) to avoid carrier thread pinning
     // on virtual threads, and to allow safe recursive scanning of nested types.
 
+    private void ensureWriteSupport(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            // e.g. a response projected to selected fields: the values carry the real types
+            for (Object entry : map.values()) {
+                if (entry instanceof Collection<?> items) {
+                    for (Object item : items) {
+                        if (item != null) ensureBooleanGetterSupport(item.getClass());
+                    }
+                } else if (entry != null) {
+                    ensureBooleanGetterSupport(entry.getClass());
+                }
+            }
+            return;
+        }
+        ensureBooleanGetterSupport(value.getClass());
+    }
+
     private void ensureBooleanGetterSupport(Class<?> type) {
         if (skipType(type)) return;
         if (checkedTypes.containsKey(type)) return; // fast path — zero contention after first call
@@ -1,12 +1,30 @@
 package io.loom.core.codec;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
 
 public interface JsonCodec {
 
     <T> T readValue(byte[] json, Class<T> type) throws IOException;
 
+    /**
+     * Reads a value from the first {@code length} bytes of {@code json}, e.g. a pooled buffer.
+     * The default implementation copies the prefix; codecs that accept a length should override it.
+     */
+    default <T> T readValue(byte[] json, int length, Class<T> type) throws IOException {
+        return readValue(length == json.length ? json : Arrays.copyOf(json, length), type);
+    }
+
+    /**
+     * Reads a value directly from a stream, e.g. an inflating response body. The default
+     * implementation buffers the stream; codecs that can parse incrementally should override it.
+     */
+    default <T> T readValue(InputStream json, Class<T> type) throws IOException {
+        return readValue(json.readAllBytes(), type);
+    }
+
     byte[] writeValueAsBytes(Object value) throws IOException;
 
     void writeValue(OutputStream out, Object value) throws IOException;
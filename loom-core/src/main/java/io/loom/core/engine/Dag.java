@@ -12,18 +12,34 @@ public class Dag {
     private final int terminalNodeIndex;
     private final Map<Class<?>, Integer> typeIndexMap;
     private final Map<Class<? extends LoomBuilder<?>>, Integer> builderIndexMap;
+    private final List<DagNode> speculativeRoots;
+    private final FieldPlan fieldPlan;
 
+    /**
+     * @param fieldPlan field-to-node mapping for {@code ?fields=} selection; {@code null} if the
+     *                  API declares none
+     */
     public Dag(Map<Class<? extends LoomBuilder<?>>, DagNode> nodes,
                List<DagNode> topologicalOrder,
                DagNode terminalNode,
                Map<Class<?>, Integer> typeIndexMap,
-               Map<Class<? extends LoomBuilder<?>>, Integer> builderIndexMap) {
+               Map<Class<? extends LoomBuilder<?>>, Integer> builderIndexMap,
+               FieldPlan fieldPlan) {
         this.nodes = Collections.unmodifiableMap(new LinkedHashMap<>(nodes));
         this.topologicalOrder = Collections.unmodifiableList(new ArrayList<>(topologicalOrder));
         this.terminalNode = terminalNode;
         this.terminalNodeIndex = terminalNode.index();
         this.typeIndexMap = Map.copyOf(typeIndexMap);
         this.builderIndexMap = Map.copyOf(builderIndexMap);
+        List<DagNode> roots = new ArrayList<>();
+        for (DagNode node : this.topologicalOrder) {
+            // Refreshed nodes are a snapshot read; there is nothing to start early
+            if (node.dependsOn().isEmpty() && node.speculative() && !node.refreshed()) {
+                roots.add(node);
+            }
+        }
+        this.speculativeRoots = List.copyOf(roots);
+        this.fieldPlan = fieldPlan;
     }
 
     public Map<Class<? extends LoomBuilder<?>>, DagNode> getNodes() {
@@ -61,4 +77,14 @@ public class Dag {
     public Map<Class<? extends LoomBuilder<?>>, Integer> builderIndexMap() {
         return builderIndexMap;
     }
+
+    /** Root nodes that may start before parallelizable interceptors finish, in topological order. */
+    public List<DagNode> speculativeRoots() {
+        return speculativeRoots;
+    }
+
+    /** Field-to-node mapping for {@code ?fields=} selection, or {@code null} if the API declares none. */
+    public FieldPlan fieldPlan() {
+        return fieldPlan;
+    }
 }
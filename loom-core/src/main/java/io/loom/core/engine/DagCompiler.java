@@ -39,13 +39,21 @@ public class DagCompiler {
             Class<?> outputType = resolveOutputType(builderClass);
 
             Set<Class<? extends LoomBuilder<?>>> deps = new LinkedHashSet<>(Arrays.asList(nodeAnn.dependsOn()));
+            if (nodeAnn.refreshEveryMs() > 0 && !deps.isEmpty()) {
+                throw new LoomException("Builder '" + builderClass.getSimpleName()
+                        + "' is refreshed in the background (refreshEveryMs) and cannot have dependencies");
+            }
 
             DagNode dagNode = new DagNode(
                     builderClass,
                     deps,
                     nodeAnn.required(),
                     nodeAnn.timeoutMs(),
-                    outputType
+                    outputType,
+                    -1,
+                    new int[0],
+                    nodeAnn.speculative(),
+                    nodeAnn.refreshEveryMs()
             );
 
             if (nodes.containsKey(builderClass)) {
@@ -85,7 +93,9 @@ public class DagCompiler {
                     original.timeoutMs(),
                     original.outputType(),
                     i,
-                    depIndices
+                    depIndices,
+                    original.speculative(),
+                    original.refreshEveryMs()
             );
             indexedOrder.add(indexed);
         }
@@ -106,10 +116,13 @@ public class DagCompiler {
 
         DagNode terminal = indexedNodes.get(result.terminalNode().builderClass());
 
-        log.info("[Loom] Compiled DAG with {} nodes, terminal='{}'",
-                indexedNodes.size(), terminal.name());
+        FieldPlan fieldPlan = FieldPlan.compile(responseType, terminal, indexedOrder);
+
+        log.info("[Loom] Compiled DAG with {} nodes, terminal='{}'{}",
+                indexedNodes.size(), terminal.name(),
+                fieldPlan != null ? ", selectable fields=" + fieldPlan.fields() : "");
 
-        return new Dag(indexedNodes, indexedOrder, terminal, typeIndexMap, builderIndexMap);
+        return new Dag(indexedNodes, indexedOrder, terminal, typeIndexMap, builderIndexMap, fieldPlan);
     }
 
     public static Class<?> resolveOutputType(Class<? extends LoomBuilder<?>> builderClass) {
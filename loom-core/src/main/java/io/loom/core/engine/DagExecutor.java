@@ -11,6 +11,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -20,26 +21,123 @@ import lombok.extern.slf4j.Slf4j;
 public class DagExecutor {
 
     private final BuilderFactory builderFactory;
+    private final ReferenceDataRefresher refresher;
     private final ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
+    // Stands in for nodes a field selection skips; their result slot stays empty
+    private static final CompletableFuture<BuilderResult<?>> SKIPPED =
+            CompletableFuture.completedFuture(BuilderResult.success(null));
+
     public DagExecutor(BuilderFactory builderFactory) {
+        this(builderFactory, null);
+    }
+
+    /**
+     * @param refresher source of snapshots for {@linkplain DagNode#refreshed() refreshed} nodes;
+     *                  {@code null} builds them on every request like any other node
+     */
+    public DagExecutor(BuilderFactory builderFactory, ReferenceDataRefresher refresher) {
         this.builderFactory = builderFactory;
+        this.refresher = refresher;
     }
 
-    @SuppressWarnings("unchecked")
     public Object execute(Dag dag, BuilderContext context) {
-        int nodeCount = dag.nodeCount();
+        return execute(dag, context, null);
+    }
+
+    /**
+     * Starts the DAG's {@linkplain Dag#speculativeRoots() speculative roots} on virtual threads
+     * before the request has been fully approved, and initializes the context's result storage.
+     * The returned handle must be passed to {@link #execute(Dag, BuilderContext, Speculation)}
+     * with the same context, or {@linkplain Speculation#cancel() cancelled}.
+     *
+     * @return {@code null} if the DAG has no speculative roots
+     */
+    public Speculation speculate(Dag dag, BuilderContext context) {
+        return speculate(dag, context, null);
+    }
 
-        // Initialize array-based result storage on the context
+    /**
+     * Like {@link #speculate(Dag, BuilderContext)}, leaving out roots the selection skips.
+     *
+     * @param selection the request's field selection, or {@code null} for the whole response
+     */
+    @SuppressWarnings("unchecked")
+    public Speculation speculate(Dag dag, BuilderContext context, FieldPlan.Selection selection) {
+        if (dag.speculativeRoots().isEmpty()) {
+            return null;
+        }
+        int nodeCount = dag.nodeCount();
         context.initResultStorage(nodeCount, dag.typeIndexMap(), dag.builderIndexMap());
 
+        CompletableFuture<BuilderResult<?>>[] results = new CompletableFuture[nodeCount];
+        Future<?>[] tasks = new Future<?>[nodeCount];
+        int started = 0;
+        for (DagNode node : dag.speculativeRoots()) {
+            if (selection != null && selection.skips(node)) {
+                continue;
+            }
+            CompletableFuture<BuilderResult<?>> result = new CompletableFuture<>();
+            // submit() rather than supplyAsync() so cancellation can interrupt the builder
+            tasks[node.index()] = virtualThreadExecutor.submit(() -> {
+                try {
+                    result.complete(executeNode(node, context));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+            results[node.index()] = result;
+            started++;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("[Loom] Speculatively started {} root builder(s)", started);
+        }
+        return new Speculation(results, tasks);
+    }
+
+    /**
+     * Executes the DAG, adopting root builders already started by {@link #speculate} instead of
+     * starting them again.
+     *
+     * @param speculation handle returned by {@code speculate} for this context, or {@code null}
+     */
+    public Object execute(Dag dag, BuilderContext context, Speculation speculation) {
+        return execute(dag, context, speculation, null);
+    }
+
+    /**
+     * Executes only the part of the DAG a field selection needs: skipped nodes never run, make
+     * no upstream calls and leave their results absent, so the terminal reads them as empty
+     * optional dependencies.
+     *
+     * @param selection the request's field selection, or {@code null} to run every node
+     */
+    @SuppressWarnings("unchecked")
+    public Object execute(Dag dag, BuilderContext context, Speculation speculation, FieldPlan.Selection selection) {
+        int nodeCount = dag.nodeCount();
+
+        // Initialize array-based result storage on the context (speculate() already did)
+        if (speculation == null) {
+            context.initResultStorage(nodeCount, dag.typeIndexMap(), dag.builderIndexMap());
+        }
+
         CompletableFuture<BuilderResult<?>>[] futures = new CompletableFuture[nodeCount];
 
         for (DagNode node : dag.topologicalOrder()) {
+            if (selection != null && selection.skips(node)) {
+                futures[node.index()] = SKIPPED;
+                continue;
+            }
             CompletableFuture<BuilderResult<?>> future;
             int[] depIndices = node.dependencyIndices();
 
-            if (depIndices.length == 0) {
+            CompletableFuture<BuilderResult<?>> started = speculation != null ? speculation.result(node.index()) : null;
+            BuilderResult<?> snapshot = started == null && node.refreshed() ? snapshotResult(node, context) : null;
+            if (started != null) {
+                future = started;
+            } else if (snapshot != null) {
+                future = CompletableFuture.completedFuture(snapshot);
+            } else if (depIndices.length == 0) {
                 future = CompletableFuture.supplyAsync(() -> executeNode(node, context),
                                                        virtualThreadExecutor);
             } else {
@@ -97,6 +195,17 @@ public class DagExecutor {
         return terminalResult.value();
     }
 
+    /** The node's published snapshot, or {@code null} to build it inline (e.g. its first refresh failed). */
+    private BuilderResult<?> snapshotResult(DagNode node, BuilderContext context) {
+        ReferenceDataRefresher.Snapshot snapshot = refresher != null ? refresher.snapshot(node.builderClass()) : null;
+        if (snapshot == null) {
+            return null;
+        }
+        context.storeResult(node.builderClass(), node.outputType(), snapshot.value());
+        context.recordSnapshotFreshness(Math.max(0, node.refreshEveryMs() - refresher.ageMillis(snapshot)));
+        return BuilderResult.success(snapshot.value());
+    }
+
     private BuilderResult<?> executeNode(DagNode node, BuilderContext context) {
         if (log.isDebugEnabled()) {
             log.debug("[Loom] Executing node '{}' on virtual thread {}", node.name(), Thread.currentThread());
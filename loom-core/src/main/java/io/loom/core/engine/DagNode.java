@@ -10,14 +10,22 @@ public record DagNode(
     long timeoutMs,
     Class<?> outputType,
     int index,
-    int[] dependencyIndices
+    int[] dependencyIndices,
+    boolean speculative,
+    long refreshEveryMs
 ) {
+    /** An unindexed, non-speculative node, as declared before compilation assigns indices. */
     public DagNode(Class<? extends LoomBuilder<?>> builderClass,
                    Set<Class<? extends LoomBuilder<?>>> dependsOn,
                    boolean required,
                    long timeoutMs,
                    Class<?> outputType) {
-        this(builderClass, dependsOn, required, timeoutMs, outputType, -1, new int[0]);
+        this(builderClass, dependsOn, required, timeoutMs, outputType, -1, new int[0], false, 0);
+    }
+
+    /** Whether the value is built in the background and read from a snapshot per request. */
+    public boolean refreshed() {
+        return refreshEveryMs > 0;
     }
 
     public String name() {
@@ -0,0 +1,264 @@
+package io.loom.core.engine;
+
+import io.loom.core.annotation.LoomField;
+import io.loom.core.builder.LoomBuilder;
+import io.loom.core.exception.LoomException;
+import io.loom.core.exception.LoomValidationException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Field-to-builder mapping of a DAG, compiled from {@link LoomField} annotations.
+ * <p>
+ * {@link #select(String)} turns a {@code fields} query parameter into the set of nodes the
+ * request can skip: mapped builders not needed by a selected field, unless an always-running
+ * builder depends on them. Selections are computed once per distinct parameter value and cached.
+ * {@link #project(Object, Selection)} then reduces the terminal result to the selected fields.
+ */
+public final class FieldPlan {
+
+    /** Query parameter carrying the comma-separated field selection. */
+    public static final String QUERY_PARAM = "fields";
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final int MAX_CACHED_SELECTIONS = 1024;
+
+    /**
+     * One request's field selection.
+     *
+     * @param key     selected fields in response order, comma-separated; distinguishes cached responses
+     * @param fields  indices of the selected fields, in response order
+     * @param skipped per node index, whether the node is skipped
+     */
+    public record Selection(String key, int[] fields, boolean[] skipped) {
+        public boolean skips(DagNode node) {
+            return skipped[node.index()];
+        }
+    }
+
+    // Parallel arrays, one slot per response field, in declaration order
+    private final String[] names;
+    private final MethodHandle[] getters;
+    private final int[][] fieldNodes;
+
+    private final Map<String, Integer> fieldIndex;
+    private final List<DagNode> nodes;
+    private final boolean[] mapped;
+    private final int terminalIndex;
+    private final ConcurrentHashMap<String, Selection> selections = new ConcurrentHashMap<>();
+
+    private FieldPlan(String[] names, MethodHandle[] getters, int[][] fieldNodes,
+                      List<DagNode> nodes, boolean[] mapped, int terminalIndex) {
+        this.names = names;
+        this.getters = getters;
+        this.fieldNodes = fieldNodes;
+        this.nodes = nodes;
+        this.mapped = mapped;
+        this.terminalIndex = terminalIndex;
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            index.put(names[i], i);
+        }
+        this.fieldIndex = Map.copyOf(index);
+    }
+
+    /**
+     * @param topologicalOrder indexed nodes of the DAG
+     * @return the plan, or {@code null} if neither the response type nor the terminal builder
+     *         declares a {@link LoomField}
+     * @throws LoomException if a mapping names an unknown field or a builder outside the graph
+     */
+    static FieldPlan compile(Class<?> responseType, DagNode terminal, List<DagNode> topologicalOrder) {
+        Map<Class<? extends LoomBuilder<?>>, DagNode> byBuilder = new HashMap<>();
+        for (DagNode node : topologicalOrder) {
+            byBuilder.put(node.builderClass(), node);
+        }
+
+        List<String> names = new ArrayList<>();
+        List<MethodHandle> getters = new ArrayList<>();
+        List<Set<Integer>> fieldNodes = new ArrayList<>();
+        boolean declared = false;
+        for (Property property : properties(responseType)) {
+            names.add(property.name());
+            getters.add(property.getter());
+            Set<Integer> indices = new LinkedHashSet<>();
+            if (property.mapping() != null) {
+                declared = true;
+                addNodes(indices, property.mapping(), property.name(), byBuilder);
+            }
+            fieldNodes.add(indices);
+        }
+
+        for (LoomField mapping : terminal.builderClass().getAnnotationsByType(LoomField.class)) {
+            declared = true;
+            int field = names.indexOf(mapping.name());
+            if (field < 0) {
+                throw new LoomException("@LoomField on " + terminal.name() + " maps unknown field '"
+                        + mapping.name() + "' of " + responseType.getSimpleName() + "; fields: " + names);
+            }
+            addNodes(fieldNodes.get(field), mapping, mapping.name(), byBuilder);
+        }
+        if (!declared) {
+            return null;
+        }
+
+        boolean[] mapped = new boolean[topologicalOrder.size()];
+        int[][] nodeArrays = new int[fieldNodes.size()][];
+        for (int i = 0; i < nodeArrays.length; i++) {
+            nodeArrays[i] = fieldNodes.get(i).stream().mapToInt(Integer::intValue).toArray();
+            for (int node : nodeArrays[i]) {
+                mapped[node] = true;
+            }
+        }
+        mapped[terminal.index()] = false; // the terminal always runs
+        return new FieldPlan(names.toArray(String[]::new), getters.toArray(MethodHandle[]::new),
+                nodeArrays, topologicalOrder, mapped, terminal.index());
+    }
+
+    private static void addNodes(Set<Integer> indices, LoomField mapping, String field,
+                                 Map<Class<? extends LoomBuilder<?>>, DagNode> byBuilder) {
+        for (Class<? extends LoomBuilder<?>> builder : mapping.value()) {
+            DagNode node = byBuilder.get(builder);
+            if (node == null) {
+                throw new LoomException("@LoomField '" + field + "' maps builder '"
+                        + builder.getSimpleName() + "' which is not part of the graph");
+            }
+            indices.add(node.index());
+        }
+    }
+
+    /**
+     * Resolves a {@code fields} parameter value.
+     *
+     * @return {@code null} when {@code fields} names no field, meaning the whole response
+     * @throws LoomValidationException if it names a field the response does not have
+     */
+    public Selection select(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Selection cached = selections.get(fields);
+        if (cached != null) {
+            return cached;
+        }
+        Selection selection = compute(fields);
+        if (selection != null && selections.size() < MAX_CACHED_SELECTIONS) { // distinct values are client-controlled
+            selections.putIfAbsent(fields, selection);
+        }
+        return selection;
+    }
+
+    private Selection compute(String fields) {
+        boolean[] selected = new boolean[names.length];
+        List<String> unknown = null;
+        for (String raw : fields.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            Integer field = fieldIndex.get(name);
+            if (field == null) {
+                if (unknown == null) unknown = new ArrayList<>();
+                unknown.add(name);
+            } else {
+                selected[field] = true;
+            }
+        }
+        if (unknown != null) {
+            throw new LoomValidationException(Map.of(QUERY_PARAM, List.of(
+                    "Unknown field(s) " + unknown + "; available: " + Arrays.toString(names))));
+        }
+
+        // Nodes needed: every unmapped node and the selected fields' nodes, with their dependencies.
+        // The terminal's own dependencies are not followed; they are what the mapping selects.
+        boolean[] needed = new boolean[nodes.size()];
+        needed[terminalIndex] = true;
+        Deque<Integer> pending = new ArrayDeque<>();
+        for (int i = 0; i < mapped.length; i++) {
+            if (!mapped[i] && i != terminalIndex) pending.push(i);
+        }
+        StringJoiner key = new StringJoiner(",");
+        List<Integer> selectedFields = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            if (selected[i]) {
+                key.add(names[i]);
+                selectedFields.add(i);
+                for (int node : fieldNodes[i]) pending.push(node);
+            }
+        }
+        if (selectedFields.isEmpty()) {
+            return null;
+        }
+        while (!pending.isEmpty()) {
+            int node = pending.pop();
+            if (needed[node]) continue;
+            needed[node] = true;
+            for (int dep : nodes.get(node).dependencyIndices()) pending.push(dep);
+        }
+
+        boolean[] skipped = new boolean[needed.length];
+        for (int i = 0; i < needed.length; i++) {
+            skipped[i] = !needed[i];
+        }
+        return new Selection(key.toString(),
+                selectedFields.stream().mapToInt(Integer::intValue).toArray(), skipped);
+    }
+
+    /** The selected fields of {@code value}, in response order, for serialization in its place. */
+    public Map<String, Object> project(Object value, Selection selection) {
+        if (value == null) {
+            return null;
+        }
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (int field : selection.fields()) {
+            try {
+                projected.put(names[field], getters[field].invokeExact(value));
+            } catch (Throwable t) {
+                throw new LoomException("Failed to read response field '" + names[field] + "'", t);
+            }
+        }
+        return projected;
+    }
+
+    /** Response field names, in declaration order. */
+    public List<String> fields() {
+        return List.of(names);
+    }
+
+    private record Property(String name, MethodHandle getter, LoomField mapping) {}
+
+    private static List<Property> properties(Class<?> type) {
+        List<Property> properties = new ArrayList<>();
+        try {
+            if (type.isRecord()) {
+                for (RecordComponent component : type.getRecordComponents()) {
+                    var accessor = component.getAccessor();
+                    accessor.setAccessible(true);
+                    properties.add(new Property(component.getName(),
+                            MethodHandles.lookup().unreflect(accessor).asType(GETTER_TYPE),
+                            component.getAnnotation(LoomField.class)));
+                }
+                return properties;
+            }
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+                    field.setAccessible(true);
+                    properties.add(new Property(field.getName(),
+                            MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE),
+                            field.getAnnotation(LoomField.class)));
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new LoomException("Cannot read the fields of response type " + type.getName(), e);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,168 @@
+package io.loom.core.engine;
+
+import io.loom.core.builder.BuilderContext;
+import io.loom.core.builder.LoomBuilder;
+import io.loom.core.registry.BuilderFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Keeps {@link io.loom.core.annotation.Node#refreshEveryMs() refreshed} nodes up to date.
+ * <p>
+ * Each registered builder class gets one background virtual thread that rebuilds the value
+ * every {@code refreshEveryMs} with a request-free context and publishes it as a
+ * {@link Snapshot} through a volatile write. {@link DagExecutor} reads the snapshot instead of
+ * running the builder, so per-request cost is one field read and never waits on I/O. A failed
+ * refresh keeps serving the last snapshot and retries after 1s, doubling up to the refresh
+ * interval; {@link #stats()} reports staleness and failures.
+ */
+@Slf4j
+public class ReferenceDataRefresher implements AutoCloseable {
+
+    private static final long INITIAL_BACKOFF_MS = 1000;
+
+    /** A published value and the wall-clock time it was built. */
+    public record Snapshot(Object value, long refreshedAtMillis) {}
+
+    /**
+     * Refresh health of one node.
+     *
+     * @param stalenessMs time since the last successful refresh, or {@code -1} if there has been none
+     */
+    public record Stats(String name, long refreshEveryMs, long stalenessMs, long refreshes,
+                        long failures, int consecutiveFailures, String lastError) {}
+
+    private final BuilderFactory builderFactory;
+    private final Supplier<BuilderContext> contextFactory;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<Class<? extends LoomBuilder<?>>, Refreshed> nodes = new ConcurrentHashMap<>();
+
+    /**
+     * @param contextFactory creates the context each refresh builds with; it carries no request
+     *                       data but gives access to services
+     */
+    public ReferenceDataRefresher(BuilderFactory builderFactory, Supplier<BuilderContext> contextFactory) {
+        this(builderFactory, contextFactory, System::currentTimeMillis);
+    }
+
+    ReferenceDataRefresher(BuilderFactory builderFactory, Supplier<BuilderContext> contextFactory,
+                           LongSupplier clock) {
+        this.builderFactory = builderFactory;
+        this.contextFactory = contextFactory;
+        this.clock = clock;
+    }
+
+    /**
+     * Builds the node's first snapshot on the calling thread and starts its refresh loop. A node
+     * shared by several DAGs is refreshed once, at the interval of whichever registration came
+     * first; later registrations of the same builder class are ignored.
+     */
+    public void register(DagNode node) {
+        if (!node.refreshed()) {
+            return;
+        }
+        Refreshed refreshed = new Refreshed(node);
+        // Claim the slot first so the first build's I/O runs outside the map's bin lock
+        if (nodes.putIfAbsent(node.builderClass(), refreshed) != null) {
+            return;
+        }
+        refreshed.refresh();
+        refreshed.thread = Thread.ofVirtual().name("loom-refresh-" + node.name()).start(refreshed::loop);
+    }
+
+    /** The latest snapshot of {@code builderClass}, or {@code null} if it has never been built. */
+    public Snapshot snapshot(Class<? extends LoomBuilder<?>> builderClass) {
+        Refreshed refreshed = nodes.get(builderClass);
+        return refreshed != null ? refreshed.snapshot : null;
+    }
+
+    /** Time since {@code snapshot} was built, by this refresher's clock. */
+    long ageMillis(Snapshot snapshot) {
+        return clock.getAsLong() - snapshot.refreshedAtMillis();
+    }
+
+    public List<Stats> stats() {
+        long now = clock.getAsLong();
+        List<Stats> stats = new ArrayList<>(nodes.size());
+        for (Refreshed refreshed : nodes.values()) {
+            Snapshot snapshot = refreshed.snapshot;
+            stats.add(new Stats(refreshed.node.name(), refreshed.node.refreshEveryMs(),
+                    snapshot != null ? now - snapshot.refreshedAtMillis() : -1,
+                    refreshed.refreshes, refreshed.failures, refreshed.consecutiveFailures, refreshed.lastError));
+        }
+        return stats;
+    }
+
+    /** Stops all refresh loops; published snapshots stay readable. */
+    @Override
+    public void close() {
+        for (Refreshed refreshed : nodes.values()) {
+            if (refreshed.thread != null) {
+                refreshed.thread.interrupt();
+            }
+        }
+    }
+
+    private final class Refreshed {
+
+        private final DagNode node;
+        private volatile Snapshot snapshot;
+        private volatile long refreshes;
+        private volatile long failures;
+        private volatile int consecutiveFailures;
+        private volatile String lastError;
+        private volatile Thread thread;
+
+        Refreshed(DagNode node) {
+            this.node = node;
+        }
+
+        void loop() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(nextDelayMs());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                refresh();
+            }
+        }
+
+        long nextDelayMs() {
+            if (consecutiveFailures == 0) {
+                return node.refreshEveryMs();
+            }
+            long backoff = INITIAL_BACKOFF_MS << Math.min(consecutiveFailures - 1, 20);
+            return Math.min(backoff, node.refreshEveryMs());
+        }
+
+        // Only ever called by one thread at a time: the registering thread, then the loop
+        void refresh() {
+            try {
+                LoomBuilder<?> builder = builderFactory.createBuilderUntyped(node.builderClass());
+                Object value = builder.build(contextFactory.get());
+                snapshot = new Snapshot(value, clock.getAsLong());
+                refreshes++;
+                if (consecutiveFailures > 0) {
+                    log.info("[Loom] Reference data '{}' refreshed after {} failure(s)",
+                            node.name(), consecutiveFailures);
+                }
+                consecutiveFailures = 0;
+            } catch (Exception e) {
+                failures++;
+                consecutiveFailures++;
+                lastError = e.getMessage();
+                Snapshot current = snapshot;
+                log.warn("[Loom] Refreshing reference data '{}' failed ({} in a row), {}: {}",
+                        node.name(), consecutiveFailures,
+                        current != null ? "serving snapshot from " + (clock.getAsLong() - current.refreshedAtMillis())
+                                + "ms ago" : "no snapshot yet", e.getMessage());
+            }
+        }
+    }
+}
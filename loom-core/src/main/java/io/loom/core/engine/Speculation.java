@@ -0,0 +1,36 @@
+package io.loom.core.engine;
+
+import io.loom.core.builder.BuilderResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Root builders started by {@link DagExecutor#speculate} ahead of interceptor approval.
+ * Handed to {@link DagExecutor#execute(Dag, io.loom.core.builder.BuilderContext, Speculation)}
+ * to adopt the running work, or {@link #cancel() cancelled} when the request is rejected.
+ */
+public final class Speculation {
+
+    private final CompletableFuture<BuilderResult<?>>[] results; // indexed by node index, null if not started
+    private final Future<?>[] tasks;
+
+    Speculation(CompletableFuture<BuilderResult<?>>[] results, Future<?>[] tasks) {
+        this.results = results;
+        this.tasks = tasks;
+    }
+
+    CompletableFuture<BuilderResult<?>> result(int nodeIndex) {
+        return results[nodeIndex];
+    }
+
+    /** Interrupts speculative builders that are still running and discards their results. */
+    public void cancel() {
+        for (int i = 0; i < results.length; i++) {
+            if (tasks[i] != null) {
+                tasks[i].cancel(true);
+                results[i].cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package io.loom.core.exception;
+
+/** The request's credentials are missing, malformed, expired, or fail verification. */
+public class LoomAuthenticationException extends LoomException {
+
+    public LoomAuthenticationException(String message) {
+        super(message);
+    }
+
+    public LoomAuthenticationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,5 +1,8 @@
 package io.loom.core.interceptor;
 
+import io.loom.core.codec.JsonCodec;
+
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -16,6 +19,16 @@ public interface LoomHttpContext {
     byte[] getRawRequestBody();
     <T> T getRequestBody(Class<T> type);
 
+    /**
+     * Parses the request body into {@code type}, returning {@code null} for an empty body and
+     * propagating parse failures. Implementations that buffer the body internally override this
+     * to parse in place, without handing out a raw copy.
+     */
+    default <T> T readRequestBody(Class<T> type, JsonCodec codec) throws IOException {
+        byte[] body = getRawRequestBody();
+        return body == null || body.length == 0 ? null : codec.readValue(body, type);
+    }
+
     void setAttribute(String key, Object value);
     <T> T getAttribute(String key, Class<T> type);
     Map<String, Object> getAttributes();
@@ -3,4 +3,13 @@ package io.loom.core.interceptor;
 public interface LoomInterceptor {
     void handle(LoomHttpContext context, InterceptorChain chain);
     default int order() { return 0; }
+
+    /**
+     * Gating but parallelizable: once every interceptor left in the chain is parallelizable,
+     * speculative root builders of GET/HEAD APIs start while they run. Its decision is still
+     * binding — if it does not call {@link InterceptorChain#next}, the speculative work is
+     * cancelled and discarded. Interceptors that set attributes read by builders should keep
+     * the default {@code false}.
+     */
+    default boolean parallelizable() { return false; }
 }
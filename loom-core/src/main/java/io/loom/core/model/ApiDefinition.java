@@ -20,8 +20,22 @@ public record ApiDefinition(
     String serviceName,
     String serviceRoute,
     ProxyPathTemplate servicePathTemplate,
-    ValidationPlan validationPlan
+    ValidationPlan validationPlan,
+    int compressionLevel,
+    HeaderPolicy requestHeaderPolicy,
+    HeaderPolicy responseHeaderPolicy,
+    CorsPolicy corsPolicy,
+    ResponseCachePolicy cachePolicy,
+    CoalescePolicy coalescePolicy
 ) {
+    /** Compression level meaning "use the global default". {@code 0} disables compression. */
+    public static final int DEFAULT_COMPRESSION = -1;
+
+    public ApiDefinition {
+        if (requestHeaderPolicy == null) requestHeaderPolicy = HeaderPolicy.DEFAULT;
+        if (responseHeaderPolicy == null) responseHeaderPolicy = HeaderPolicy.DEFAULT;
+    }
+
     public boolean isPassthrough() {
         return serviceName != null && serviceRoute != null;
     }
@@ -30,4 +44,137 @@ public record ApiDefinition(
         return new RouteDefinition(method, path,
                 isPassthrough() ? RouteDefinition.RouteType.PASSTHROUGH : RouteDefinition.RouteType.BUILDER);
     }
+
+    /**
+     * Starts a definition for {@code method path}. Every other component is optional: unset
+     * references stay {@code null} and the compression level defaults to {@link #DEFAULT_COMPRESSION}.
+     */
+    public static Builder builder(String method, String path) {
+        return new Builder(method, path);
+    }
+
+    public static final class Builder {
+        private final String method;
+        private final String path;
+        private Class<?> requestType;
+        private Class<?> responseType;
+        private Class<? extends LoomInterceptor>[] interceptors;
+        private Dag dag;
+        private String summary;
+        private String description;
+        private String[] tags;
+        private List<QueryParamDefinition> queryParams;
+        private List<HeaderParamDefinition> headerParams;
+        private String serviceName;
+        private String serviceRoute;
+        private ProxyPathTemplate servicePathTemplate;
+        private ValidationPlan validationPlan;
+        private int compressionLevel = DEFAULT_COMPRESSION;
+        private HeaderPolicy requestHeaderPolicy;
+        private HeaderPolicy responseHeaderPolicy;
+        private CorsPolicy corsPolicy;
+        private ResponseCachePolicy cachePolicy;
+        private CoalescePolicy coalescePolicy;
+
+        private Builder(String method, String path) {
+            this.method = method;
+            this.path = path;
+        }
+
+        public Builder requestType(Class<?> requestType) {
+            this.requestType = requestType;
+            return this;
+        }
+
+        public Builder responseType(Class<?> responseType) {
+            this.responseType = responseType;
+            return this;
+        }
+
+        public Builder interceptors(Class<? extends LoomInterceptor>[] interceptors) {
+            this.interceptors = interceptors;
+            return this;
+        }
+
+        public Builder dag(Dag dag) {
+            this.dag = dag;
+            return this;
+        }
+
+        public Builder summary(String summary) {
+            this.summary = summary;
+            return this;
+        }
+
+        public Builder description(String description) {
+            this.description = description;
+            return this;
+        }
+
+        public Builder tags(String[] tags) {
+            this.tags = tags;
+            return this;
+        }
+
+        public Builder queryParams(List<QueryParamDefinition> queryParams) {
+            this.queryParams = queryParams;
+            return this;
+        }
+
+        public Builder headerParams(List<HeaderParamDefinition> headerParams) {
+            this.headerParams = headerParams;
+            return this;
+        }
+
+        public Builder validationPlan(ValidationPlan validationPlan) {
+            this.validationPlan = validationPlan;
+            return this;
+        }
+
+        public Builder compressionLevel(int compressionLevel) {
+            this.compressionLevel = compressionLevel;
+            return this;
+        }
+
+        public Builder requestHeaderPolicy(HeaderPolicy requestHeaderPolicy) {
+            this.requestHeaderPolicy = requestHeaderPolicy;
+            return this;
+        }
+
+        public Builder responseHeaderPolicy(HeaderPolicy responseHeaderPolicy) {
+            this.responseHeaderPolicy = responseHeaderPolicy;
+            return this;
+        }
+
+        public Builder corsPolicy(CorsPolicy corsPolicy) {
+            this.corsPolicy = corsPolicy;
+            return this;
+        }
+
+        public Builder cachePolicy(ResponseCachePolicy cachePolicy) {
+            this.cachePolicy = cachePolicy;
+            return this;
+        }
+
+        public Builder coalescePolicy(CoalescePolicy coalescePolicy) {
+            this.coalescePolicy = coalescePolicy;
+            return this;
+        }
+
+        /** Binds the definition to an upstream route of a {@code @LoomProxy} API. */
+        public Builder passthrough(String serviceName, String serviceRoute, ProxyPathTemplate template) {
+            this.serviceName = serviceName;
+            this.serviceRoute = serviceRoute;
+            this.servicePathTemplate = template;
+            return this;
+        }
+
+        public ApiDefinition build() {
+            return new ApiDefinition(method, path, requestType, responseType,
+                    interceptors, dag, summary, description, tags,
+                    queryParams, headerParams, serviceName, serviceRoute,
+                    servicePathTemplate, validationPlan, compressionLevel, requestHeaderPolicy,
+                    responseHeaderPolicy, corsPolicy, cachePolicy, coalescePolicy);
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package io.loom.core.model;
+
+import java.util.List;
+
+/**
+ * Request coalescing settings of one builder API, compiled once at startup from
+ * {@link io.loom.core.annotation.LoomCoalesce}.
+ *
+ * @param queryParams query parameters in the key; empty keys on all of them
+ * @param keyHeaders  request headers in the key
+ */
+public record CoalescePolicy(List<String> queryParams, List<String> keyHeaders) {
+
+    public CoalescePolicy {
+        queryParams = queryParams != null ? List.copyOf(queryParams) : List.of();
+        keyHeaders = keyHeaders != null ? List.copyOf(keyHeaders) : List.of();
+    }
+}
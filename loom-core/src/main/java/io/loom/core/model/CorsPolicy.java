@@ -0,0 +1,146 @@
+package io.loom.core.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * CORS policy of one route, compiled once at startup.
+ * <p>
+ * The values of the {@code Access-Control-Allow-Methods}, {@code -Allow-Headers},
+ * {@code -Expose-Headers} and {@code -Max-Age} response headers are joined here, so answering a
+ * preflight only checks the origin, method and requested headers and copies strings.
+ */
+public final class CorsPolicy {
+
+    private final boolean anyOrigin;
+    private final Set<String> origins;
+    private final Set<String> methods;
+    private final boolean anyHeader;
+    private final Set<String> headers;
+    private final boolean allowCredentials;
+
+    private final String allowMethods;
+    private final String allowHeaders;
+    private final String exposeHeaders;
+    private final String maxAge;
+
+    private CorsPolicy(boolean anyOrigin, Set<String> origins, Set<String> methods, boolean anyHeader,
+                       Set<String> headers, boolean allowCredentials, String exposeHeaders, String maxAge) {
+        this.anyOrigin = anyOrigin;
+        this.origins = origins;
+        this.methods = methods;
+        this.anyHeader = anyHeader;
+        this.headers = headers;
+        this.allowCredentials = allowCredentials;
+        this.allowMethods = String.join(", ", methods);
+        this.allowHeaders = anyHeader ? null : String.join(", ", headers);
+        this.exposeHeaders = exposeHeaders;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * @param origins          allowed origins; {@code *} allows any
+     * @param methods          allowed methods
+     * @param headers          allowed request headers; {@code *} allows any
+     * @param exposedHeaders   response headers readable by the browser
+     * @param allowCredentials whether cookies and authorization headers may be sent
+     * @param maxAgeSeconds    preflight cache lifetime; negative omits the header
+     * @throws IllegalArgumentException if credentials are allowed for any origin, or nothing is allowed
+     */
+    public static CorsPolicy compile(Collection<String> origins, Collection<String> methods,
+                                     Collection<String> headers, Collection<String> exposedHeaders,
+                                     boolean allowCredentials, long maxAgeSeconds) {
+        if (origins == null || origins.isEmpty()) {
+            throw new IllegalArgumentException("CORS policy needs at least one allowed origin");
+        }
+        if (methods == null || methods.isEmpty()) {
+            throw new IllegalArgumentException("CORS policy needs at least one allowed method");
+        }
+        boolean anyOrigin = origins.contains("*");
+        if (anyOrigin && allowCredentials) {
+            // Browsers reject "*" with credentials, and echoing any origin would defeat the point
+            throw new IllegalArgumentException("CORS credentials cannot be allowed for origin '*'; list the origins");
+        }
+        Set<String> originSet = new LinkedHashSet<>();
+        for (String origin : origins) {
+            originSet.add(origin.toLowerCase(Locale.ROOT));
+        }
+        Set<String> methodSet = new LinkedHashSet<>();
+        for (String method : methods) {
+            methodSet.add(method.toUpperCase(Locale.ROOT));
+        }
+        boolean anyHeader = headers != null && headers.contains("*");
+        Set<String> headerSet = new LinkedHashSet<>();
+        if (headers != null && !anyHeader) {
+            for (String header : headers) {
+                headerSet.add(header.toLowerCase(Locale.ROOT));
+            }
+        }
+        String expose = exposedHeaders == null || exposedHeaders.isEmpty() ? null : String.join(", ", exposedHeaders);
+        // Insertion-ordered so the joined header values keep the configured order
+        return new CorsPolicy(anyOrigin, Collections.unmodifiableSet(originSet),
+                Collections.unmodifiableSet(methodSet), anyHeader, Collections.unmodifiableSet(headerSet),
+                allowCredentials, expose,
+                maxAgeSeconds >= 0 ? Long.toString(maxAgeSeconds) : null);
+    }
+
+    /**
+     * Returns the {@code Access-Control-Allow-Origin} value for {@code origin}, or {@code null}
+     * if the origin is not allowed.
+     */
+    public String allowOrigin(String origin) {
+        if (anyOrigin) {
+            return "*";
+        }
+        return origins.contains(origin.toLowerCase(Locale.ROOT)) ? origin : null;
+    }
+
+    /** Whether the allowed origin depends on the request, so responses must {@code Vary: Origin}. */
+    public boolean variesByOrigin() {
+        return !anyOrigin;
+    }
+
+    public boolean allowsMethod(String method) {
+        return methods.contains(method.toUpperCase(Locale.ROOT));
+    }
+
+    /** Checks a comma-separated {@code Access-Control-Request-Headers} value. */
+    public boolean allowsHeaders(String requestHeaders) {
+        if (anyHeader || requestHeaders == null || requestHeaders.isBlank()) {
+            return true;
+        }
+        for (String header : requestHeaders.split(",")) {
+            String name = header.trim();
+            if (!name.isEmpty() && !headers.contains(name.toLowerCase(Locale.ROOT))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean allowCredentials() {
+        return allowCredentials;
+    }
+
+    public String allowMethods() {
+        return allowMethods;
+    }
+
+    /** Joined allowed headers, or {@code null} when any header is allowed and the request's are echoed. */
+    public String allowHeaders() {
+        return allowHeaders;
+    }
+
+    /** Joined exposed headers, or {@code null} if none. */
+    public String exposeHeaders() {
+        return exposeHeaders;
+    }
+
+    /** Preflight cache lifetime in seconds, or {@code null} to omit the header. */
+    public String maxAge() {
+        return maxAge;
+    }
+}
@@ -0,0 +1,135 @@
+package io.loom.core.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Header forwarding policy for one direction of a passthrough route, compiled once at startup.
+ * <p>
+ * Names are matched case-insensitively through an open-addressing table keyed by an ASCII
+ * case-folded hash, so {@link #resolve(String)} neither lowercases nor allocates per call.
+ * Hop-by-hop headers (RFC 2616 §13.5.1) are always dropped. When an allow-list is configured,
+ * only listed (or renamed) headers are forwarded; deny-list entries always win. Injected
+ * headers replace any incoming header of the same name.
+ */
+public final class HeaderPolicy {
+
+    private static final List<String> HOP_BY_HOP = List.of(
+            "host", "content-length", "connection", "keep-alive",
+            "transfer-encoding", "te", "trailer", "upgrade",
+            "proxy-authenticate", "proxy-authorization");
+
+    // Identity-compared markers stored in the target table
+    private static final String DENY = new String("deny");
+    private static final String KEEP = new String("keep");
+
+    /** Forwards everything except hop-by-hop headers. */
+    public static final HeaderPolicy DEFAULT = compile(null, null, null, null);
+
+    private final String[] keys;
+    private final String[] targets;
+    private final int mask;
+    private final boolean allowListed;
+    private final Map<String, String> injected;
+
+    private HeaderPolicy(String[] keys, String[] targets, boolean allowListed, Map<String, String> injected) {
+        this.keys = keys;
+        this.targets = targets;
+        this.mask = keys.length - 1;
+        this.allowListed = allowListed;
+        this.injected = injected;
+    }
+
+    /**
+     * @param allow  header names to forward; {@code null} or empty forwards all non-denied headers
+     * @param deny   header names never forwarded
+     * @param rename incoming name to outgoing name; a renamed header is implicitly allowed
+     * @param add    static headers added to every forwarded message
+     */
+    public static HeaderPolicy compile(Collection<String> allow, Collection<String> deny,
+                                       Map<String, String> rename, Map<String, String> add) {
+        Map<String, String> rules = new LinkedHashMap<>();
+        boolean allowListed = allow != null && !allow.isEmpty();
+        if (allowListed) {
+            for (String name : allow) {
+                rules.put(name.toLowerCase(Locale.ROOT), KEEP);
+            }
+        }
+        if (rename != null) {
+            rename.forEach((from, to) -> rules.put(from.toLowerCase(Locale.ROOT), to));
+        }
+        if (deny != null) {
+            for (String name : deny) {
+                rules.put(name.toLowerCase(Locale.ROOT), DENY);
+            }
+        }
+        Map<String, String> injected = new LinkedHashMap<>();
+        if (add != null) {
+            add.forEach((name, value) -> {
+                // Incoming copies are dropped so the injected value is the only one sent
+                rules.put(name.toLowerCase(Locale.ROOT), DENY);
+                injected.put(name, value);
+            });
+        }
+        for (String name : HOP_BY_HOP) {
+            rules.put(name, DENY);
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(16, rules.size() * 2 - 1)) << 1;
+        String[] keys = new String[capacity];
+        String[] targets = new String[capacity];
+        rules.forEach((key, target) -> {
+            int idx = hash(key) & (capacity - 1);
+            while (keys[idx] != null) {
+                idx = (idx + 1) & (capacity - 1);
+            }
+            keys[idx] = key;
+            targets[idx] = target;
+        });
+
+        return new HeaderPolicy(keys, targets, allowListed,
+                injected.isEmpty() ? Map.of() : Collections.unmodifiableMap(injected));
+    }
+
+    /**
+     * Returns the name to forward {@code name} under, or {@code null} if it must be dropped.
+     * Headers that are neither renamed nor denied keep their incoming spelling.
+     */
+    public String resolve(String name) {
+        int len = name.length();
+        int idx = hash(name) & mask;
+        String key;
+        while ((key = keys[idx]) != null) {
+            if (key.length() == len && key.regionMatches(true, 0, name, 0, len)) {
+                String target = targets[idx];
+                if (target == DENY) {
+                    return null;
+                }
+                return target == KEEP ? name : target;
+            }
+            idx = (idx + 1) & mask;
+        }
+        return allowListed ? null : name;
+    }
+
+    /** Static headers to add to every forwarded message, in configuration order. */
+    public Map<String, String> injected() {
+        return injected;
+    }
+
+    private static int hash(String name) {
+        int h = 0;
+        for (int i = 0, len = name.length(); i < len; i++) {
+            char c = name.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            h = 31 * h + c;
+        }
+        return h ^ (h >>> 16);
+    }
+}
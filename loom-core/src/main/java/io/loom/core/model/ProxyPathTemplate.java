@@ -10,6 +10,8 @@ import java.util.Map;
 
 public final class ProxyPathTemplate {
 
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
     private final String template;
     private final String[] literals;
     private final String[] variables;
@@ -61,8 +63,10 @@ public final class ProxyPathTemplate {
         }
 
         int literalLength = 0;
-        for (String lit : literals) {
-            literalLength += lit.length();
+        for (int i = 0; i < literals.size(); i++) {
+            String encoded = encodeLiteral(literals.get(i));
+            literals.set(i, encoded);
+            literalLength += encoded.length();
         }
         int estimatedCapacity = literalLength + variables.size() * 16;
 
@@ -74,6 +78,12 @@ public final class ProxyPathTemplate {
         );
     }
 
+    /**
+     * Resolves the template to an upstream path. Literal segments are percent-encoded once at
+     * compile time and variable values are encoded per segment, so the result (including an
+     * already-encoded {@code queryString}) is a valid URI reference that can be handed to
+     * {@link java.net.URI#create} without further template expansion or re-encoding.
+     */
     public String resolve(Map<String, String> pathVariables) {
         return resolve(pathVariables, null);
     }
@@ -121,10 +131,63 @@ public final class ProxyPathTemplate {
      * This encodes reserved characters (/, ?, #, etc.) while leaving typical ID values
      * (alphanumerics, hyphens, underscores) untouched.
      * <p>
-     * Uses URLEncoder (application/x-www-form-urlencoded) then converts '+' back to '%20'
-     * for correct path-segment encoding.
+     * Values made only of unreserved characters are returned as-is without allocating.
+     * Otherwise uses URLEncoder (application/x-www-form-urlencoded) then converts '+' back
+     * to '%20' for correct path-segment encoding.
      */
     private static String encodePathSegment(String value) {
-        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+        for (int i = 0, len = value.length(); i < len; i++) {
+            if (!isUnreserved(value.charAt(i))) {
+                return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Percent-encodes characters of a template literal that are not legal anywhere in a URI
+     * (spaces, braces, non-ASCII, ...). Delimiters such as '/', '?' and '&' and existing
+     * {@code %XX} escapes are kept, so already-encoded templates are not double-encoded.
+     */
+    private static String encodeLiteral(String literal) {
+        int len = literal.length();
+        int i = 0;
+        while (i < len && isLegalInLiteral(literal, i)) {
+            i++;
+        }
+        if (i == len) {
+            return literal;
+        }
+
+        StringBuilder sb = new StringBuilder(len + 16).append(literal, 0, i);
+        while (i < len) {
+            if (isLegalInLiteral(literal, i)) {
+                sb.append(literal.charAt(i++));
+            } else {
+                int cp = literal.codePointAt(i);
+                for (byte b : new String(Character.toChars(cp)).getBytes(StandardCharsets.UTF_8)) {
+                    sb.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+                }
+                i += Character.charCount(cp);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static boolean isLegalInLiteral(String s, int i) {
+        char c = s.charAt(i);
+        if (isUnreserved(c) || ":/?#@!$&'()*+,;=".indexOf(c) >= 0) {
+            return true;
+        }
+        return c == '%' && i + 2 < s.length() && isHex(s.charAt(i + 1)) && isHex(s.charAt(i + 2));
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
     }
 }
@@ -0,0 +1,65 @@
+package io.loom.core.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response caching settings of one builder API, compiled once at startup from
+ * {@link io.loom.core.annotation.LoomCache}.
+ */
+public final class ResponseCachePolicy {
+
+    private final long ttlMs;
+    private final List<String> queryParams;
+    private final List<String> varyHeaders;
+    private final List<String> keyHeaders;
+    private final String vary;
+
+    /**
+     * @param ttlMs       how long entries stay fresh; must be positive
+     * @param queryParams query parameters in the key; empty keys on the whole query string
+     * @param varyHeaders request headers in the key, announced in {@code Vary}
+     * @param keyHeaders  request headers identifying the caller, in the key but not in {@code Vary}
+     */
+    public ResponseCachePolicy(long ttlMs, List<String> queryParams, List<String> varyHeaders,
+                               List<String> keyHeaders) {
+        if (ttlMs <= 0) {
+            throw new IllegalArgumentException("Response cache ttlMs must be positive, got " + ttlMs);
+        }
+        this.ttlMs = ttlMs;
+        this.queryParams = queryParams != null ? List.copyOf(queryParams) : List.of();
+        this.varyHeaders = varyHeaders != null ? List.copyOf(varyHeaders) : List.of();
+        List<String> keyed = new ArrayList<>(this.varyHeaders);
+        if (keyHeaders != null) {
+            for (String header : keyHeaders) {
+                if (keyed.stream().noneMatch(header::equalsIgnoreCase)) {
+                    keyed.add(header);
+                }
+            }
+        }
+        this.keyHeaders = List.copyOf(keyed);
+        this.vary = this.varyHeaders.isEmpty() ? null : String.join(", ", this.varyHeaders);
+    }
+
+    public long ttlMs() {
+        return ttlMs;
+    }
+
+    public List<String> queryParams() {
+        return queryParams;
+    }
+
+    public List<String> varyHeaders() {
+        return varyHeaders;
+    }
+
+    /** Every request header in the key: the vary headers, then the caller headers. */
+    public List<String> keyHeaders() {
+        return keyHeaders;
+    }
+
+    /** The {@code Vary} response header value, or {@code null} if no request header selects the response. */
+    public String vary() {
+        return vary;
+    }
+}
@@ -8,6 +8,16 @@ import java.util.Optional;
 public interface ApiRegistry {
     void registerApi(ApiDefinition api);
 
+    /**
+     * Removes the API registered for {@code method} and the path template {@code path}
+     * (e.g. {@code /api/orders/{id}}), making it unroutable.
+     *
+     * @return {@code true} if an API was removed
+     */
+    default boolean unregisterApi(String method, String path) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support unregistering APIs");
+    }
+
     Optional<ApiDefinition> findApi(String method, String path);
     Optional<RouteDefinition> findRoute(String method, String path);
 
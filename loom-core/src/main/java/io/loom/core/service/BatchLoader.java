@@ -0,0 +1,28 @@
+package io.loom.core.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Loads values by key through a batched upstream route. Obtained via
+ * {@code context.service("service-name").batch("route-name", Type.class, Type::id)}.
+ * <p>
+ * Keys requested within the route's batch window, by this builder, other builders of the same
+ * DAG or concurrent requests, are sent upstream together as one call and the results are handed
+ * back to each caller.
+ *
+ * @param <K> key type; keys are matched to values by their string form
+ * @param <V> value type, one element of the route's JSON array response
+ */
+public interface BatchLoader<K, V> {
+
+    /** Returns the value for {@code key}, or {@code null} if the upstream returned none. */
+    V load(K key);
+
+    /**
+     * Returns the values for all {@code keys}, submitted together so they share as few batches as
+     * the route's {@code max-size} allows. Keys the upstream returned no value for are absent
+     * from the result.
+     */
+    Map<K, V> loadAll(Collection<? extends K> keys);
+}
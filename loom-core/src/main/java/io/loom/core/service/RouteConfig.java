@@ -1,5 +1,6 @@
 package io.loom.core.service;
 
+import io.loom.core.model.HeaderPolicy;
 import io.loom.core.model.ProxyPathTemplate;
 
 /**
@@ -13,10 +14,23 @@ public record RouteConfig(
     long connectTimeoutMs,
     long readTimeoutMs,
     RetryConfig retry,
-    ProxyPathTemplate compiledTemplate
+    ProxyPathTemplate compiledTemplate,
+    HeaderPolicy requestHeaders,
+    HeaderPolicy responseHeaders
 ) {
     public static final long INHERIT = -1;
 
+    public RouteConfig {
+        if (requestHeaders == null) requestHeaders = HeaderPolicy.DEFAULT;
+        if (responseHeaders == null) responseHeaders = HeaderPolicy.DEFAULT;
+    }
+
+    public RouteConfig(String name, String path, String method, long connectTimeoutMs,
+                       long readTimeoutMs, RetryConfig retry, ProxyPathTemplate compiledTemplate) {
+        this(name, path, method, connectTimeoutMs, readTimeoutMs, retry, compiledTemplate,
+                HeaderPolicy.DEFAULT, HeaderPolicy.DEFAULT);
+    }
+
     public boolean hasCustomConnectTimeout() {
         return connectTimeoutMs != INHERIT;
     }
@@ -1,9 +1,20 @@
 package io.loom.core.service;
 
+import java.util.function.Function;
+
 /**
  * Entry point for route-based service invocation.
  * Obtained via {@code context.service("service-name")}.
  */
 public interface ServiceAccessor {
     RouteInvoker route(String routeName);
+
+    /**
+     * Returns a loader that batches per-key loads into calls to {@code routeName}, which must be
+     * configured with a {@code batch} section. {@code keyOf} extracts the key from each returned
+     * value so results can be matched back to the requested keys.
+     */
+    default <K, V> BatchLoader<K, V> batch(String routeName, Class<V> valueType, Function<? super V, ?> keyOf) {
+        throw new UnsupportedOperationException("batch() not implemented by " + getClass().getSimpleName());
+    }
 }
@@ -1,5 +1,9 @@
 package io.loom.core.service;
 
+import io.loom.core.exception.LoomException;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 
 public interface ServiceClient {
@@ -26,6 +30,23 @@ public interface ServiceClient {
         throw new UnsupportedOperationException("proxy() not implemented by " + getClass().getSimpleName());
     }
 
+    /**
+     * Streaming variant of {@link #proxy} for passthrough uploads — the request body is read
+     * from {@code body} as it is sent upstream instead of being buffered first.
+     * {@code contentLength} is the declared body length, or {@code -1} if unknown.
+     * The default implementation buffers the stream and delegates to {@link #proxy}.
+     */
+    default ServiceResponse<byte[]> proxyStream(String method, String path, InputStream body,
+                                                long contentLength, Map<String, String> headers) {
+        byte[] bytes;
+        try {
+            bytes = body.readAllBytes();
+        } catch (IOException e) {
+            throw new LoomException("Failed to read request body", e);
+        }
+        return proxy(method, path, bytes, headers);
+    }
+
     /**
      * Typed exchange for builder mode — returns typed data with full response metadata.
      * Does not throw on 4xx/5xx; upstream status is captured in the response.
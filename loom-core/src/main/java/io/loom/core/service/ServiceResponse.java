@@ -11,7 +11,8 @@ import java.util.Map;
  * @param data        deserialized body (null on error or for raw byte mode)
  * @param statusCode  HTTP status code from upstream
  * @param headers     response headers from upstream
- * @param rawBody     raw response bytes (always available)
+ * @param rawBody     raw response bytes; for typed exchanges only kept on 4xx/5xx responses and
+ *                    {@code byte[]} results, and {@code null} when the body was decoded into {@code data}
  * @param contentType response Content-Type from upstream
  */
 public record ServiceResponse<T>(
@@ -0,0 +1,348 @@
+package io.loom.core.validation;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Negative;
+import jakarta.validation.constraints.NegativeOrZero;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.function.ToIntFunction;
+import java.util.logging.Logger;
+
+/**
+ * Flat, precompiled Bean Validation checks for a request body type.
+ * <p>
+ * {@link #compile(Class)} reads the standard {@code jakarta.validation.constraints} annotations
+ * on record accessors or POJO fields once at startup, resolving each property to a
+ * {@link MethodHandle} getter and each annotation to a {@link Check}. Request-time validation
+ * walks the resulting arrays without reflection. {@code @Valid} properties nest the compiled
+ * checks of their type (and of each element for {@code Iterable}/array values).
+ * <p>
+ * Only the default group is supported; {@code groups} and {@code payload} are ignored.
+ */
+final class BodyConstraints {
+
+    private static final Logger LOG = Logger.getLogger(BodyConstraints.class.getName());
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /** Returns a violation message for {@code value}, or {@code null} if it satisfies the constraint. */
+    @FunctionalInterface
+    interface Check {
+        String test(Object value);
+    }
+
+    // Parallel arrays, one slot per constrained property
+    private final String[] names;
+    private final MethodHandle[] getters;
+    private final Check[][] checks;
+    private final BodyConstraints[] nested;
+
+    private BodyConstraints(String[] names, MethodHandle[] getters, Check[][] checks, BodyConstraints[] nested) {
+        this.names = names;
+        this.getters = getters;
+        this.checks = checks;
+        this.nested = nested;
+    }
+
+    /**
+     * @return compiled checks for {@code type}, or {@code null} if it declares no constraints
+     * @throws IllegalArgumentException if a constraint is placed on an unsupported property type
+     */
+    static BodyConstraints compile(Class<?> type) {
+        return compile(type, new HashSet<>());
+    }
+
+    private static BodyConstraints compile(Class<?> type, Set<Class<?>> visiting) {
+        if (type == null || type.isPrimitive() || type.isArray() || type.getName().startsWith("java.")) {
+            return null;
+        }
+        if (!visiting.add(type)) {
+            // Self-referencing @Valid graphs are validated up to the first repeated type
+            return null;
+        }
+        try {
+            List<String> names = new ArrayList<>();
+            List<MethodHandle> getters = new ArrayList<>();
+            List<Check[]> checks = new ArrayList<>();
+            List<BodyConstraints> nested = new ArrayList<>();
+
+            for (Property property : properties(type)) {
+                Check[] propertyChecks = compileChecks(type, property);
+                BodyConstraints propertyNested = null;
+                if (property.element().isAnnotationPresent(Valid.class)) {
+                    propertyNested = compile(elementType(property), visiting);
+                }
+                if (propertyChecks.length == 0 && propertyNested == null) {
+                    continue;
+                }
+                names.add(property.name());
+                getters.add(property.getter());
+                checks.add(propertyChecks);
+                nested.add(propertyNested);
+            }
+
+            if (names.isEmpty()) return null;
+            return new BodyConstraints(names.toArray(String[]::new),
+                    getters.toArray(MethodHandle[]::new),
+                    checks.toArray(Check[][]::new),
+                    nested.toArray(BodyConstraints[]::new));
+        } finally {
+            visiting.remove(type);
+        }
+    }
+
+    /**
+     * Runs every check against {@code bean}, adding messages under {@code path + "." + property}.
+     *
+     * @return {@code violations}, or a new map if it was {@code null} and a check failed
+     */
+    Map<String, List<String>> check(Object bean, String path, Map<String, List<String>> violations) {
+        for (int i = 0; i < names.length; i++) {
+            Object value;
+            try {
+                value = getters[i].invokeExact(bean);
+            } catch (Throwable t) {
+                throw new IllegalStateException("[Loom] Failed to read '" + names[i] + "' for validation", t);
+            }
+            for (Check check : checks[i]) {
+                String message = check.test(value);
+                if (message != null) {
+                    if (violations == null) violations = new LinkedHashMap<>();
+                    violations.computeIfAbsent(path + "." + names[i], k -> new ArrayList<>()).add(message);
+                }
+            }
+            BodyConstraints inner = nested[i];
+            if (inner != null && value != null) {
+                violations = inner.checkNested(value, path + "." + names[i], violations);
+            }
+        }
+        return violations;
+    }
+
+    private Map<String, List<String>> checkNested(Object value, String path, Map<String, List<String>> violations) {
+        if (value instanceof Iterable<?> iterable) {
+            int index = 0;
+            for (Object element : iterable) {
+                if (element != null) violations = check(element, path + "[" + index + "]", violations);
+                index++;
+            }
+        } else if (value instanceof Object[] array) {
+            for (int index = 0; index < array.length; index++) {
+                if (array[index] != null) violations = check(array[index], path + "[" + index + "]", violations);
+            }
+        } else {
+            violations = check(value, path, violations);
+        }
+        return violations;
+    }
+
+    // ── Compile helpers ───────────────────────────────────────────────
+
+    private record Property(String name, Class<?> type, java.lang.reflect.Type genericType,
+                            AnnotatedElement element, MethodHandle getter) {}
+
+    private static List<Property> properties(Class<?> type) {
+        List<Property> properties = new ArrayList<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                Method accessor = component.getAccessor();
+                properties.add(new Property(component.getName(), component.getType(),
+                        component.getGenericType(), accessor, getter(accessor, null)));
+            }
+            return properties;
+        }
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+                if (!hasConstraints(field)) continue;
+                properties.add(new Property(field.getName(), field.getType(),
+                        field.getGenericType(), field, getter(null, field)));
+            }
+        }
+        return properties;
+    }
+
+    private static boolean hasConstraints(AnnotatedElement element) {
+        for (Annotation annotation : element.getAnnotations()) {
+            if (annotation instanceof Valid
+                    || annotation.annotationType().getPackageName().equals("jakarta.validation.constraints")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MethodHandle getter(Method accessor, Field field) {
+        try {
+            MethodHandle handle;
+            if (accessor != null) {
+                accessor.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(accessor);
+            } else {
+                field.setAccessible(true);
+                handle = MethodHandles.lookup().unreflectGetter(field);
+            }
+            return handle.asType(GETTER_TYPE);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            String name = accessor != null
+                    ? accessor.getDeclaringClass().getName() + "." + accessor.getName()
+                    : field.getDeclaringClass().getName() + "." + field.getName();
+            throw new IllegalArgumentException("[Loom] Cannot access '" + name + "' for validation", e);
+        }
+    }
+
+    private static Class<?> elementType(Property property) {
+        if (property.type().isArray()) {
+            return property.type().getComponentType();
+        }
+        if (Iterable.class.isAssignableFrom(property.type())
+                && property.genericType() instanceof java.lang.reflect.ParameterizedType pt
+                && pt.getActualTypeArguments()[0] instanceof Class<?> element) {
+            return element;
+        }
+        return property.type();
+    }
+
+    private static Check[] compileChecks(Class<?> owner, Property property) {
+        List<Check> checks = new ArrayList<>();
+        Class<?> type = property.type();
+        String where = owner.getSimpleName() + "." + property.name();
+
+        for (Annotation annotation : property.element().getAnnotations()) {
+            switch (annotation) {
+                case NotNull a -> {
+                    String msg = message(a.message(), "must not be null");
+                    checks.add(v -> v == null ? msg : null);
+                }
+                case NotBlank a -> {
+                    requireType(CharSequence.class, type, "@NotBlank", where);
+                    String msg = message(a.message(), "must not be blank");
+                    checks.add(v -> v == null || ((CharSequence) v).toString().isBlank() ? msg : null);
+                }
+                case NotEmpty a -> {
+                    ToIntFunction<Object> size = sizeFunction(type, "@NotEmpty", where);
+                    String msg = message(a.message(), "must not be empty");
+                    checks.add(v -> v == null || size.applyAsInt(v) == 0 ? msg : null);
+                }
+                case Size a -> {
+                    ToIntFunction<Object> size = sizeFunction(type, "@Size", where);
+                    int min = a.min();
+                    int max = a.max();
+                    String msg = message(a.message(), "size must be between " + min + " and " + max);
+                    checks.add(v -> {
+                        if (v == null) return null;
+                        int n = size.applyAsInt(v);
+                        return n < min || n > max ? msg : null;
+                    });
+                }
+                case Min a -> {
+                    requireNumber(type, "@Min", where);
+                    long bound = a.value();
+                    String msg = message(a.message(), "must be greater than or equal to " + bound);
+                    checks.add(v -> v != null && compare((Number) v, bound) < 0 ? msg : null);
+                }
+                case Max a -> {
+                    requireNumber(type, "@Max", where);
+                    long bound = a.value();
+                    String msg = message(a.message(), "must be less than or equal to " + bound);
+                    checks.add(v -> v != null && compare((Number) v, bound) > 0 ? msg : null);
+                }
+                case Positive a -> {
+                    requireNumber(type, "@Positive", where);
+                    String msg = message(a.message(), "must be greater than 0");
+                    checks.add(v -> v != null && compare((Number) v, 0) <= 0 ? msg : null);
+                }
+                case PositiveOrZero a -> {
+                    requireNumber(type, "@PositiveOrZero", where);
+                    String msg = message(a.message(), "must be greater than or equal to 0");
+                    checks.add(v -> v != null && compare((Number) v, 0) < 0 ? msg : null);
+                }
+                case Negative a -> {
+                    requireNumber(type, "@Negative", where);
+                    String msg = message(a.message(), "must be less than 0");
+                    checks.add(v -> v != null && compare((Number) v, 0) >= 0 ? msg : null);
+                }
+                case NegativeOrZero a -> {
+                    requireNumber(type, "@NegativeOrZero", where);
+                    String msg = message(a.message(), "must be less than or equal to 0");
+                    checks.add(v -> v != null && compare((Number) v, 0) > 0 ? msg : null);
+                }
+                case Pattern a -> {
+                    requireType(CharSequence.class, type, "@Pattern", where);
+                    int flags = 0;
+                    for (Pattern.Flag flag : a.flags()) flags |= flag.getValue();
+                    java.util.regex.Pattern regex = java.util.regex.Pattern.compile(a.regexp(), flags);
+                    String msg = message(a.message(), "must match \"" + a.regexp() + "\"");
+                    checks.add(v -> v != null && !regex.matcher((CharSequence) v).matches() ? msg : null);
+                }
+                default -> {
+                    if (annotation.annotationType().getPackageName().equals("jakarta.validation.constraints")) {
+                        LOG.warning("[Loom] @" + annotation.annotationType().getSimpleName() + " on " + where
+                                + " is not supported by request validation and will be ignored");
+                    }
+                }
+            }
+        }
+        return checks.toArray(Check[]::new);
+    }
+
+    /** Annotation defaults are message-interpolation keys like {@code {jakarta...message}}. */
+    private static String message(String configured, String fallback) {
+        return configured.startsWith("{") ? fallback : configured;
+    }
+
+    private static int compare(Number value, long bound) {
+        if (value instanceof BigDecimal bd) return bd.compareTo(BigDecimal.valueOf(bound));
+        if (value instanceof BigInteger bi) return bi.compareTo(BigInteger.valueOf(bound));
+        if (value instanceof Double || value instanceof Float) return Double.compare(value.doubleValue(), bound);
+        return Long.compare(value.longValue(), bound);
+    }
+
+    private static ToIntFunction<Object> sizeFunction(Class<?> type, String constraint, String where) {
+        if (CharSequence.class.isAssignableFrom(type)) return v -> ((CharSequence) v).length();
+        if (Collection.class.isAssignableFrom(type)) return v -> ((Collection<?>) v).size();
+        if (Map.class.isAssignableFrom(type)) return v -> ((Map<?, ?>) v).size();
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive()
+                    ? java.lang.reflect.Array::getLength
+                    : v -> ((Object[]) v).length;
+        }
+        throw new IllegalArgumentException("[Loom] " + constraint + " on " + where
+                + " requires a CharSequence, Collection, Map or array, found " + type.getSimpleName());
+    }
+
+    private static void requireNumber(Class<?> type, String constraint, String where) {
+        if (type == int.class || type == long.class || type == short.class || type == byte.class
+                || type == double.class || type == float.class) {
+            return;
+        }
+        requireType(Number.class, type, constraint, where);
+    }
+
+    private static void requireType(Class<?> required, Class<?> type, String constraint, String where) {
+        if (!required.isAssignableFrom(type)) {
+            throw new IllegalArgumentException("[Loom] " + constraint + " on " + where + " requires a "
+                    + required.getSimpleName() + ", found " + type.getSimpleName());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package io.loom.core.validation;
 
 import io.loom.core.codec.JsonCodec;
+import io.loom.core.exception.LoomException;
 import io.loom.core.exception.LoomValidationException;
 import io.loom.core.interceptor.LoomHttpContext;
 import io.loom.core.model.HeaderParamDefinition;
@@ -42,6 +43,8 @@ public final class RequestValidator {
         String[] typedNames = null;
         Function<String, ?>[] typedConverters = null;
         String[] typedTypeNames = null;
+        Class<?>[] typedTypes = null;
+        Object[] typedDefaults = null;
         String[] defNames = null;
         String[] defValues = null;
 
@@ -50,6 +53,8 @@ public final class RequestValidator {
             List<String> tNames = new ArrayList<>();
             List<Function<String, ?>> tConverters = new ArrayList<>();
             List<String> tTypeNames = new ArrayList<>();
+            List<Class<?>> tTypes = new ArrayList<>();
+            List<Object> tDefaults = new ArrayList<>();
             List<String> dNames = new ArrayList<>();
             List<String> dValues = new ArrayList<>();
 
@@ -68,15 +73,17 @@ public final class RequestValidator {
                     tNames.add(qp.name());
                     tConverters.add(converter);
                     tTypeNames.add(qp.type().getSimpleName());
+                    tTypes.add(boxed(qp.type()));
+                    tDefaults.add(null);
                 }
 
                 // Defaults
                 if (qp.defaultValue() != null && !qp.defaultValue().isEmpty()) {
-                    // Validate default is parseable at startup
+                    // Validate default is parseable at startup, keeping the converted value
                     if (qp.type() != null && qp.type() != String.class) {
                         Function<String, ?> converter = resolveConverter(qp.type(), qp.name());
                         try {
-                            converter.apply(qp.defaultValue());
+                            tDefaults.set(tDefaults.size() - 1, converter.apply(qp.defaultValue()));
                         } catch (Exception e) {
                             throw new IllegalArgumentException(
                                     "[Loom] Default value '" + qp.defaultValue()
@@ -94,6 +101,8 @@ public final class RequestValidator {
                 typedNames = tNames.toArray(String[]::new);
                 typedConverters = tConverters.toArray(new Function[0]);
                 typedTypeNames = tTypeNames.toArray(String[]::new);
+                typedTypes = tTypes.toArray(new Class<?>[0]);
+                typedDefaults = tDefaults.toArray();
             }
             if (!dNames.isEmpty()) {
                 defNames = dNames.toArray(String[]::new);
@@ -105,6 +114,8 @@ public final class RequestValidator {
         boolean needsBody = requestType != null && requestType != void.class
                 && method != null && BODY_METHODS.contains(method.toUpperCase());
         Class<?> bodyType = needsBody ? requestType : null;
+        // Constraint annotations on the body type are resolved to flat checks once, here
+        BodyConstraints bodyConstraints = needsBody ? BodyConstraints.compile(requestType) : null;
 
         // Check if anything to validate
         if (reqHeaders == null && reqQueryNames == null && typedNames == null
@@ -113,8 +124,8 @@ public final class RequestValidator {
         }
 
         return new ValidationPlan(reqHeaders, reqQueryNames,
-                typedNames, typedConverters, typedTypeNames,
-                defNames, defValues, needsBody, bodyType);
+                typedNames, typedConverters, typedTypeNames, typedTypes, typedDefaults,
+                defNames, defValues, needsBody, bodyType, bodyConstraints);
     }
 
     // ── Validate (request-time) ───────────────────────────────────────
@@ -122,6 +133,20 @@ public final class RequestValidator {
     public static ValidationResult validate(ValidationPlan plan,
                                             LoomHttpContext httpContext,
                                             JsonCodec jsonCodec) {
+        return validate(plan, httpContext, jsonCodec, null);
+    }
+
+    /**
+     * Validates the request and, when {@code typedValues} is non-null, keeps every typed query
+     * param converted during validation at its {@link ValidationPlan#typedParamIndex} slot
+     * (falling back to the pre-converted default when absent), so binders never parse twice.
+     *
+     * @param typedValues array of at least {@link ValidationPlan#typedParamCount()} slots, or {@code null}
+     */
+    public static ValidationResult validate(ValidationPlan plan,
+                                            LoomHttpContext httpContext,
+                                            JsonCodec jsonCodec,
+                                            Object[] typedValues) {
         if (!plan.needsValidation()) return null;
 
         Map<String, List<String>> violations = null;
@@ -155,9 +180,14 @@ public final class RequestValidator {
             for (int i = 0; i < plan.typedParamNames.length; i++) {
                 String name = plan.typedParamNames[i];
                 String val = httpContext.getQueryParam(name);
-                if (val == null) continue; // absent params handled by required check or defaults
+                if (val == null) {
+                    // absent params handled by required check or defaults
+                    if (typedValues != null) typedValues[i] = plan.typedParamDefaults[i];
+                    continue;
+                }
                 try {
-                    plan.typedParamConverters[i].apply(val);
+                    Object converted = plan.typedParamConverters[i].apply(val);
+                    if (typedValues != null) typedValues[i] = converted;
                 } catch (Exception e) {
                     if (violations == null) violations = new LinkedHashMap<>();
                     violations.computeIfAbsent(name, k -> new ArrayList<>())
@@ -170,20 +200,26 @@ public final class RequestValidator {
         // Phase 4: body validation
         Object parsedBody = null;
         if (plan.needsBodyValidation) {
-            byte[] rawBody = httpContext.getRawRequestBody();
-            if (rawBody == null || rawBody.length == 0) {
+            // Parsed through the context so buffered bodies are read in place, not copied
+            boolean parseFailed = false;
+            try {
+                parsedBody = httpContext.readRequestBody(plan.requestBodyType, jsonCodec);
+            } catch (LoomException e) {
+                throw e; // body unreadable (e.g. too large), not a client validation error
+            } catch (Exception e) {
+                parseFailed = true;
+                if (violations == null) violations = new LinkedHashMap<>();
+                violations.computeIfAbsent("body", k -> new ArrayList<>())
+                        .add("Invalid request body: " + e.getMessage());
+            }
+            if (parsedBody == null && !parseFailed) {
                 if (violations == null) violations = new LinkedHashMap<>();
                 violations.computeIfAbsent("body", k -> new ArrayList<>())
                         .add("Request body is required for " + httpContext.getHttpMethod()
                                 + " " + httpContext.getRequestPath());
-            } else {
-                try {
-                    parsedBody = jsonCodec.readValue(rawBody, plan.requestBodyType);
-                } catch (Exception e) {
-                    if (violations == null) violations = new LinkedHashMap<>();
-                    violations.computeIfAbsent("body", k -> new ArrayList<>())
-                            .add("Invalid request body: " + e.getMessage());
-                }
+            }
+            if (parsedBody != null && plan.bodyConstraints != null) {
+                violations = plan.bodyConstraints.check(parsedBody, "body", violations);
             }
         }
 
@@ -210,6 +246,35 @@ public final class RequestValidator {
 
     // ── Type converters ───────────────────────────────────────────────
 
+    /**
+     * Converts a query param value with the same rules validation applies, for typed reads
+     * of params that the validation plan did not already convert.
+     *
+     * @return {@code null} when {@code value} is {@code null}
+     * @throws LoomValidationException if {@code value} is not a valid {@code type}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T convert(String name, String value, Class<T> type) {
+        if (value == null) return null;
+        if (type == String.class) return (T) value;
+        Function<String, ?> converter = resolveConverter(type, name);
+        try {
+            return (T) converter.apply(value);
+        } catch (Exception e) {
+            throw new LoomValidationException(Map.of(name, List.of("Query parameter '" + name
+                    + "' value '" + value + "' is not a valid " + type.getSimpleName())));
+        }
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == boolean.class) return Boolean.class;
+        return type;
+    }
+
     private static Function<String, ?> resolveConverter(Class<?> type, String paramName) {
         if (type == Integer.class || type == int.class) return Integer::parseInt;
         if (type == Long.class || type == long.class) return Long::parseLong;
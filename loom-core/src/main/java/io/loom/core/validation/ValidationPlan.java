@@ -23,6 +23,8 @@ public final class ValidationPlan {
     final String[] typedParamNames;
     final Function<String, ?>[] typedParamConverters;
     final String[] typedParamTypeNames;
+    final Class<?>[] typedParamTypes;      // boxed
+    final Object[] typedParamDefaults;     // pre-converted, null when no default
 
     // Defaults (parallel arrays)
     final boolean hasDefaults;
@@ -32,6 +34,7 @@ public final class ValidationPlan {
     // Body validation
     final boolean needsBodyValidation;
     final Class<?> requestBodyType;
+    final BodyConstraints bodyConstraints;   // null when the body type declares no constraints
 
     /** No-validation sentinel */
     private ValidationPlan() {
@@ -41,11 +44,14 @@ public final class ValidationPlan {
         this.typedParamNames = null;
         this.typedParamConverters = null;
         this.typedParamTypeNames = null;
+        this.typedParamTypes = null;
+        this.typedParamDefaults = null;
         this.hasDefaults = false;
         this.defaultParamNames = null;
         this.defaultParamValues = null;
         this.needsBodyValidation = false;
         this.requestBodyType = null;
+        this.bodyConstraints = null;
     }
 
     @SuppressWarnings("unchecked")
@@ -54,20 +60,26 @@ public final class ValidationPlan {
                    String[] typedParamNames,
                    Function<String, ?>[] typedParamConverters,
                    String[] typedParamTypeNames,
+                   Class<?>[] typedParamTypes,
+                   Object[] typedParamDefaults,
                    String[] defaultParamNames,
                    String[] defaultParamValues,
                    boolean needsBodyValidation,
-                   Class<?> requestBodyType) {
+                   Class<?> requestBodyType,
+                   BodyConstraints bodyConstraints) {
         this.requiredHeaderNames = requiredHeaderNames;
         this.requiredQueryParamNames = requiredQueryParamNames;
         this.typedParamNames = typedParamNames;
         this.typedParamConverters = typedParamConverters;
         this.typedParamTypeNames = typedParamTypeNames;
+        this.typedParamTypes = typedParamTypes;
+        this.typedParamDefaults = typedParamDefaults;
         this.hasDefaults = defaultParamNames != null && defaultParamNames.length > 0;
         this.defaultParamNames = defaultParamNames;
         this.defaultParamValues = defaultParamValues;
         this.needsBodyValidation = needsBodyValidation;
         this.requestBodyType = requestBodyType;
+        this.bodyConstraints = bodyConstraints;
 
         this.needsValidation = requiredHeaderNames != null
                 || requiredQueryParamNames != null
@@ -79,4 +91,28 @@ public final class ValidationPlan {
     public boolean needsValidation() {
         return needsValidation;
     }
+
+    public boolean needsBodyValidation() {
+        return needsBodyValidation;
+    }
+
+    /** Number of non-String query params; the size of the typed-values array filled by validation. */
+    public int typedParamCount() {
+        return typedParamNames != null ? typedParamNames.length : 0;
+    }
+
+    /** Index of {@code name} in the typed-values array, or {@code -1} if it is not a typed param. */
+    public int typedParamIndex(String name) {
+        if (typedParamNames != null) {
+            for (int i = 0; i < typedParamNames.length; i++) {
+                if (typedParamNames[i].equals(name)) return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Boxed declared type of the typed param at {@code index}. */
+    public Class<?> typedParamType(int index) {
+        return typedParamTypes[index];
+    }
 }
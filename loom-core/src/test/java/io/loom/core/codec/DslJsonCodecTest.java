@@ -76,6 +76,38 @@ class DslJsonCodecTest {
         assertThat(result.age()).isEqualTo(25);
     }
 
+    // ── InputStream reading ───────────────────────────────────────────
+
+    @Test
+    void readValue_fromInputStream() throws IOException {
+        byte[] json = codec.writeValueAsBytes(new Person("Dana", new Address("Paris", "FR")));
+
+        Person result = codec.readValue(new java.io.ByteArrayInputStream(json), Person.class);
+
+        assertThat(result.name()).isEqualTo("Dana");
+        assertThat(result.address().city()).isEqualTo("Paris");
+    }
+
+    public record Tagged(String name, List<String> tags) {}
+
+    @Test
+    void readValue_fromInflatingStreamLargerThanReadBuffer() throws IOException {
+        List<String> tags = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) tags.add("tag-" + i);
+        byte[] json = codec.writeValueAsBytes(new Tagged("bulk", tags));
+        assertThat(json.length).isGreaterThan(4096);
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (var gzip = new java.util.zip.GZIPOutputStream(gzipped)) {
+            gzip.write(json);
+        }
+        Tagged result = codec.readValue(
+                new java.util.zip.GZIPInputStream(new java.io.ByteArrayInputStream(gzipped.toByteArray())),
+                Tagged.class);
+
+        assertThat(result.tags()).hasSize(2_000).endsWith("tag-1999");
+    }
+
     // ── Null fields ───────────────────────────────────────────────────
 
     public record NullableRecord(String name, String optional) {}
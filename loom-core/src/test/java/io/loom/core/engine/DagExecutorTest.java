@@ -148,7 +148,8 @@ class DagExecutorTest {
             }
 
             indexedOrder.add(new DagNode(orig.builderClass(), orig.dependsOn(),
-                    orig.required(), orig.timeoutMs(), orig.outputType(), i, depIndices));
+                    orig.required(), orig.timeoutMs(), orig.outputType(), i, depIndices, orig.speculative(),
+                    orig.refreshEveryMs()));
         }
 
         Map<Class<? extends LoomBuilder<?>>, DagNode> nodesMap = new LinkedHashMap<>();
@@ -162,7 +163,7 @@ class DagExecutorTest {
         }
 
         DagNode indexedTerminal = nodesMap.get(terminal.builderClass());
-        return new Dag(nodesMap, indexedOrder, indexedTerminal, typeIndexMap, builderIndexMap);
+        return new Dag(nodesMap, indexedOrder, indexedTerminal, typeIndexMap, builderIndexMap, null);
     }
 
     // ── Simple types + builders ──
@@ -573,4 +574,69 @@ class DagExecutorTest {
         assertThat(result).isInstanceOf(String.class);
         assertThat((String) result).isEqualTo("required=42,optional=absent");
     }
+
+    // ── Speculation ──
+
+    @Test
+    void speculativeRootsAreAdoptedNotRestarted() {
+        AtomicInteger fastRuns = new AtomicInteger();
+        LoomBuilder<String> countingFast = ctx -> {
+            fastRuns.incrementAndGet();
+            return "fast";
+        };
+        BuilderFactory factory = mock(BuilderFactory.class);
+        doReturn(countingFast).when(factory).createBuilderUntyped(FastBuilder.class);
+        doReturn(new AssemblerBuilder()).when(factory).createBuilderUntyped(AssemblerBuilder.class);
+
+        DagNode fast = new DagNode(FastBuilder.class, Set.of(), true, 5000, String.class, -1, new int[0], true, 0);
+        DagNode assembler = new DagNode(AssemblerBuilder.class,
+                Set.of(FastBuilder.class), true, 5000, FinalResult.class);
+        Dag dag = buildDag(List.of(fast, assembler), assembler);
+        assertThat(dag.speculativeRoots()).extracting(DagNode::builderClass).containsExactly(FastBuilder.class);
+
+        DagExecutor executor = new DagExecutor(factory);
+        StubBuilderContext context = new StubBuilderContext();
+        Speculation speculation = executor.speculate(dag, context);
+        Object result = executor.execute(dag, context, speculation);
+
+        assertThat(result).isInstanceOf(FinalResult.class);
+        assertThat(fastRuns).hasValue(1);
+    }
+
+    @Test
+    void cancelledSpeculationInterruptsRunningRoot() throws Exception {
+        java.util.concurrent.CountDownLatch started = new java.util.concurrent.CountDownLatch(1);
+        java.util.concurrent.CountDownLatch interrupted = new java.util.concurrent.CountDownLatch(1);
+        LoomBuilder<String> blocking = ctx -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        };
+        BuilderFactory factory = mock(BuilderFactory.class);
+        doReturn(blocking).when(factory).createBuilderUntyped(FastBuilder.class);
+
+        DagNode fast = new DagNode(FastBuilder.class, Set.of(), true, 5000, String.class, -1, new int[0], true, 0);
+        Dag dag = buildDag(List.of(fast), fast);
+
+        Speculation speculation = new DagExecutor(factory).speculate(dag, new StubBuilderContext());
+        assertThat(started.await(5, java.util.concurrent.TimeUnit.SECONDS)).isTrue();
+        speculation.cancel();
+
+        assertThat(interrupted.await(5, java.util.concurrent.TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void nonSpeculativeRootIsNotStartedEarly() {
+        BuilderFactory factory = mock(BuilderFactory.class);
+        DagNode fast = new DagNode(FastBuilder.class, Set.of(), true, 5000, String.class, -1, new int[0], false, 0);
+        Dag dag = buildDag(List.of(fast), fast);
+
+        assertThat(dag.speculativeRoots()).isEmpty();
+        assertThat(new DagExecutor(factory).speculate(dag, new StubBuilderContext())).isNull();
+        verifyNoInteractions(factory);
+    }
 }
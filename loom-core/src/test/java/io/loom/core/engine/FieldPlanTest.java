@@ -0,0 +1,154 @@
+package io.loom.core.engine;
+
+import io.loom.core.annotation.LoomApi;
+import io.loom.core.annotation.LoomField;
+import io.loom.core.annotation.LoomGraph;
+import io.loom.core.annotation.Node;
+import io.loom.core.builder.BuilderContext;
+import io.loom.core.builder.LoomBuilder;
+import io.loom.core.codec.DslJsonCodec;
+import io.loom.core.exception.LoomException;
+import io.loom.core.exception.LoomValidationException;
+import io.loom.core.registry.BuilderFactory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FieldPlanTest {
+
+    public record Product(String name) {}
+    public record Pricing(double price) {}
+    public record Reviews(List<String> texts) {}
+    public record Detail(@LoomField(ProductBuilder.class) Product product,
+                  @LoomField(PricingBuilder.class) Pricing pricing,
+                  @LoomField(ReviewsBuilder.class) Reviews reviews,
+                  String source) {}
+
+    static final Set<String> BUILT = ConcurrentHashMap.newKeySet();
+
+    static class ProductBuilder implements LoomBuilder<Product> {
+        public Product build(BuilderContext ctx) { BUILT.add("product"); return new Product("lamp"); }
+    }
+    static class PricingBuilder implements LoomBuilder<Pricing> {
+        public Pricing build(BuilderContext ctx) {
+            BUILT.add("pricing");
+            return new Pricing(ctx.getDependency(Product.class).name().length());
+        }
+    }
+    static class ReviewsBuilder implements LoomBuilder<Reviews> {
+        public Reviews build(BuilderContext ctx) { BUILT.add("reviews"); return new Reviews(List.of("bright")); }
+    }
+    static class AssembleBuilder implements LoomBuilder<Detail> {
+        public Detail build(BuilderContext ctx) {
+            BUILT.add("assemble");
+            return new Detail(ctx.getOptionalDependency(Product.class).orElse(null),
+                    ctx.getOptionalDependency(Pricing.class).orElse(null),
+                    ctx.getOptionalDependency(Reviews.class).orElse(null), "test");
+        }
+    }
+
+    @LoomApi(method = "GET", path = "/detail", response = Detail.class)
+    @LoomGraph({
+        @Node(builder = ProductBuilder.class),
+        @Node(builder = PricingBuilder.class, dependsOn = ProductBuilder.class),
+        @Node(builder = ReviewsBuilder.class),
+        @Node(builder = AssembleBuilder.class,
+              dependsOn = {ProductBuilder.class, PricingBuilder.class, ReviewsBuilder.class})
+    })
+    static class DetailApi {}
+
+    // Same graph, mapped on the terminal builder instead of the response type
+    record PlainDetail(Product product, Reviews reviews) {}
+
+    @LoomField(name = "reviews", value = ReviewsBuilder.class)
+    static class PlainAssembleBuilder implements LoomBuilder<PlainDetail> {
+        public PlainDetail build(BuilderContext ctx) { return null; }
+    }
+
+    @LoomApi(method = "GET", path = "/plain", response = PlainDetail.class)
+    @LoomGraph({
+        @Node(builder = ProductBuilder.class),
+        @Node(builder = ReviewsBuilder.class),
+        @Node(builder = PlainAssembleBuilder.class, dependsOn = {ProductBuilder.class, ReviewsBuilder.class})
+    })
+    static class PlainApi {}
+
+    @LoomField(name = "missing", value = ReviewsBuilder.class)
+    static class UnknownFieldAssembleBuilder implements LoomBuilder<PlainDetail> {
+        public PlainDetail build(BuilderContext ctx) { return null; }
+    }
+
+    @LoomApi(method = "GET", path = "/broken", response = PlainDetail.class)
+    @LoomGraph({
+        @Node(builder = ReviewsBuilder.class),
+        @Node(builder = UnknownFieldAssembleBuilder.class, dependsOn = ReviewsBuilder.class)
+    })
+    static class UnknownFieldApi {}
+
+    private final Dag dag = new DagCompiler().compile(DetailApi.class);
+    private final FieldPlan plan = dag.fieldPlan();
+
+    private boolean skips(FieldPlan.Selection selection, Class<? extends LoomBuilder<?>> builder) {
+        return selection.skips(dag.getNode(builder));
+    }
+
+    @Test
+    void selectionSkipsBuildersOfUnselectedFieldsButKeepsDependencies() {
+        FieldPlan.Selection reviews = plan.select("reviews");
+        assertThat(skips(reviews, ProductBuilder.class)).isTrue();
+        assertThat(skips(reviews, PricingBuilder.class)).isTrue();
+        assertThat(skips(reviews, ReviewsBuilder.class)).isFalse();
+        assertThat(skips(reviews, AssembleBuilder.class)).isFalse();
+
+        // Pricing needs the product even when the product field is not selected
+        FieldPlan.Selection pricing = plan.select(" pricing ,source");
+        assertThat(skips(pricing, ProductBuilder.class)).isFalse();
+        assertThat(skips(pricing, ReviewsBuilder.class)).isTrue();
+        assertThat(pricing.key()).isEqualTo("pricing,source");
+
+        assertThat(plan.select("reviews")).isSameAs(reviews);
+        assertThat(plan.select("")).isNull();
+        assertThat(plan.select(",")).isNull();
+        assertThatThrownBy(() -> plan.select("reviews,owner"))
+                .isInstanceOf(LoomValidationException.class)
+                .hasMessageContaining("owner");
+    }
+
+    @Test
+    void executorRunsOnlyTheSelectedSubDagAndProjectionOmitsOtherFields() throws Exception {
+        BuilderFactory factory = mock(BuilderFactory.class);
+        when(factory.createBuilderUntyped(any())).thenAnswer(inv ->
+                ((Class<?>) inv.getArgument(0)).getDeclaredConstructor().newInstance());
+        DagExecutor executor = new DagExecutor(factory);
+        FieldPlan.Selection selection = plan.select("reviews,source");
+        BUILT.clear();
+
+        Object result = executor.execute(dag, new DagExecutorTest.StubBuilderContext(), null, selection);
+
+        assertThat(BUILT).containsExactlyInAnyOrder("reviews", "assemble");
+        Map<String, Object> projected = plan.project(result, selection);
+        assertThat(projected).containsOnlyKeys("reviews", "source");
+        assertThat(new String(new DslJsonCodec().writeValueAsBytes(projected), StandardCharsets.UTF_8))
+                .isEqualTo("{\"reviews\":{\"texts\":[\"bright\"]},\"source\":\"test\"}");
+    }
+
+    @Test
+    void mappingCanBeDeclaredOnTheTerminalBuilder() {
+        Dag plain = new DagCompiler().compile(PlainApi.class);
+
+        FieldPlan.Selection product = plain.fieldPlan().select("product");
+        assertThat(product.skips(plain.getNode(ReviewsBuilder.class))).isTrue();
+        assertThat(product.skips(plain.getNode(ProductBuilder.class))).isFalse(); // not mapped, always runs
+        assertThat(new DagCompiler().compile(DagCompilerTest.ValidApiClass.class).fieldPlan()).isNull();
+        assertThatThrownBy(() -> new DagCompiler().compile(UnknownFieldApi.class))
+                .isInstanceOf(LoomException.class)
+                .hasMessageContaining("unknown field 'missing'");
+    }
+}
@@ -0,0 +1,189 @@
+package io.loom.core.engine;
+
+import io.loom.core.annotation.LoomGraph;
+import io.loom.core.annotation.Node;
+import io.loom.core.builder.BuilderContext;
+import io.loom.core.builder.LoomBuilder;
+import io.loom.core.exception.LoomException;
+import io.loom.core.registry.BuilderFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReferenceDataRefresherTest {
+
+    record Rates(Map<String, Double> perEur) {}
+    record Price(double usd) {}
+
+    static final AtomicInteger RATE_BUILDS = new AtomicInteger();
+    static volatile boolean failRates;
+
+    static class RatesBuilder implements LoomBuilder<Rates> {
+        public Rates build(BuilderContext ctx) {
+            if (failRates) {
+                throw new IllegalStateException("rates service down");
+            }
+            return new Rates(Map.of("USD", 1.0 + RATE_BUILDS.incrementAndGet()));
+        }
+    }
+
+    static class PriceBuilder implements LoomBuilder<Price> {
+        public Price build(BuilderContext ctx) {
+            return new Price(10 * ctx.getDependency(Rates.class).perEur().get("USD"));
+        }
+    }
+
+    private static BuilderFactory factory() {
+        BuilderFactory factory = mock(BuilderFactory.class);
+        when(factory.createBuilderUntyped(RatesBuilder.class)).thenAnswer(inv -> new RatesBuilder());
+        when(factory.createBuilderUntyped(PriceBuilder.class)).thenAnswer(inv -> new PriceBuilder());
+        return factory;
+    }
+
+    private static DagNode ratesNode(long refreshEveryMs) {
+        return new DagNode(RatesBuilder.class, Set.of(), true, 1000, Rates.class, -1, new int[0], true, refreshEveryMs);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void requestsReadTheSnapshotWithoutRunningTheBuilder() {
+        RATE_BUILDS.set(0);
+        failRates = false;
+        BuilderFactory factory = factory();
+        try (ReferenceDataRefresher refresher = new ReferenceDataRefresher(factory,
+                DagExecutorTest.StubBuilderContext::new)) {
+            DagNode rates = ratesNode(60_000);
+            DagNode price = new DagNode(PriceBuilder.class, Set.of(RatesBuilder.class), true, 1000, Price.class);
+            Dag dag = DagExecutorTest.buildDag(List.of(rates, price), price);
+            refresher.register(dag.getNode(RatesBuilder.class));
+            DagExecutor executor = new DagExecutor(factory, refresher);
+
+            for (int i = 0; i < 3; i++) {
+                Price result = (Price) executor.execute(dag, new DagExecutorTest.StubBuilderContext());
+                assertThat(result.usd()).isEqualTo(20.0);
+            }
+
+            assertThat(RATE_BUILDS).hasValue(1);
+            assertThat(dag.speculativeRoots()).isEmpty();
+        }
+    }
+
+    @Test
+    void refreshesInBackgroundAndKeepsLastSnapshotOnFailure() throws Exception {
+        RATE_BUILDS.set(0);
+        failRates = false;
+        try (ReferenceDataRefresher refresher = new ReferenceDataRefresher(factory(),
+                DagExecutorTest.StubBuilderContext::new)) {
+            refresher.register(ratesNode(20));
+            await(() -> RATE_BUILDS.get() >= 3);
+
+            failRates = true;
+            await(() -> refresher.stats().get(0).consecutiveFailures() >= 1);
+            Object lastGood = refresher.snapshot(RatesBuilder.class).value();
+
+            ReferenceDataRefresher.Stats stats = refresher.stats().get(0);
+            assertThat(stats.name()).isEqualTo("RatesBuilder");
+            assertThat(stats.lastError()).isEqualTo("rates service down");
+            assertThat(stats.stalenessMs()).isGreaterThanOrEqualTo(0);
+            assertThat(refresher.snapshot(RatesBuilder.class).value()).isSameAs(lastGood);
+
+            failRates = false;
+            await(() -> refresher.stats().get(0).consecutiveFailures() == 0);
+            assertThat(refresher.snapshot(RatesBuilder.class).value()).isNotSameAs(lastGood);
+        }
+    }
+
+    @Test
+    void failedFirstRefreshFallsBackToBuildingPerRequest() {
+        RATE_BUILDS.set(0);
+        failRates = true;
+        BuilderFactory factory = factory();
+        try (ReferenceDataRefresher refresher = new ReferenceDataRefresher(factory,
+                DagExecutorTest.StubBuilderContext::new)) {
+            DagNode rates = ratesNode(60_000);
+            Dag dag = DagExecutorTest.buildDag(List.of(rates), rates);
+            refresher.register(dag.getNode(RatesBuilder.class));
+            assertThat(refresher.snapshot(RatesBuilder.class)).isNull();
+            assertThat(refresher.stats().get(0).stalenessMs()).isEqualTo(-1);
+
+            failRates = false;
+            Rates result = (Rates) new DagExecutor(factory, refresher)
+                    .execute(dag, new DagExecutorTest.StubBuilderContext());
+            assertThat(result.perEur()).containsKey("USD");
+        }
+    }
+
+    @Test
+    void snapshotReportsTimeUntilNextRefreshToTheContext() {
+        RATE_BUILDS.set(0);
+        failRates = false;
+        BuilderFactory factory = factory();
+        AtomicLong now = new AtomicLong(1_000);
+        try (ReferenceDataRefresher refresher = new ReferenceDataRefresher(factory,
+                DagExecutorTest.StubBuilderContext::new, now::get)) {
+            DagNode rates = ratesNode(60_000);
+            Dag dag = DagExecutorTest.buildDag(List.of(rates), rates);
+            refresher.register(dag.getNode(RatesBuilder.class));
+            DagExecutor executor = new DagExecutor(factory, refresher);
+            List<Long> remaining = new ArrayList<>();
+            BuilderContext context = new DagExecutorTest.StubBuilderContext() {
+                @Override
+                public void recordSnapshotFreshness(long remainingMs) {
+                    remaining.add(remainingMs);
+                }
+            };
+
+            now.set(16_000);
+            executor.execute(dag, context);
+            now.set(100_000); // refresh overdue
+            executor.execute(dag, context);
+
+            assertThat(remaining).containsExactly(45_000L, 0L);
+        }
+    }
+
+    @Test
+    void firstRegistrationOfASharedNodeWins() {
+        RATE_BUILDS.set(0);
+        failRates = false;
+        try (ReferenceDataRefresher refresher = new ReferenceDataRefresher(factory(),
+                DagExecutorTest.StubBuilderContext::new)) {
+            refresher.register(ratesNode(60_000));
+            refresher.register(ratesNode(1_000));
+
+            assertThat(RATE_BUILDS).hasValue(1);
+            assertThat(refresher.stats()).singleElement()
+                    .extracting(ReferenceDataRefresher.Stats::refreshEveryMs).isEqualTo(60_000L);
+        }
+    }
+
+    @Test
+    void refreshedNodeCannotHaveDependencies() {
+        @LoomGraph({
+                @Node(builder = PriceBuilder.class),
+                @Node(builder = RatesBuilder.class, dependsOn = PriceBuilder.class, refreshEveryMs = 1000)
+        })
+        class Graph {}
+        Node[] nodes = Graph.class.getAnnotation(LoomGraph.class).value();
+
+        assertThatThrownBy(() -> new DagCompiler().compile(nodes, Rates.class))
+                .isInstanceOf(LoomException.class)
+                .hasMessageContaining("cannot have dependencies");
+    }
+}
@@ -0,0 +1,49 @@
+package io.loom.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CorsPolicyTest {
+
+    @Test
+    void listedOriginsAreEchoedAndVary() {
+        CorsPolicy policy = CorsPolicy.compile(List.of("https://app.example.com"), List.of("get", "HEAD"),
+                List.of("Authorization", "X-Tenant"), List.of("X-Request-Id"), true, 600);
+
+        assertThat(policy.allowOrigin("https://APP.example.com")).isEqualTo("https://APP.example.com");
+        assertThat(policy.allowOrigin("https://evil.example.com")).isNull();
+        assertThat(policy.variesByOrigin()).isTrue();
+        assertThat(policy.allowMethods()).isEqualTo("GET, HEAD");
+        assertThat(policy.allowsMethod("get")).isTrue();
+        assertThat(policy.allowsMethod("DELETE")).isFalse();
+        assertThat(policy.allowHeaders()).isEqualTo("authorization, x-tenant");
+        assertThat(policy.exposeHeaders()).isEqualTo("X-Request-Id");
+        assertThat(policy.maxAge()).isEqualTo("600");
+    }
+
+    @Test
+    void requestedHeadersCheckedCaseInsensitively() {
+        CorsPolicy listed = CorsPolicy.compile(List.of("*"), List.of("POST"), List.of("Content-Type"), null, false, -1);
+        assertThat(listed.allowsHeaders("content-type")).isTrue();
+        assertThat(listed.allowsHeaders("Content-Type, X-Debug")).isFalse();
+        assertThat(listed.allowsHeaders(null)).isTrue();
+        assertThat(listed.maxAge()).isNull();
+
+        CorsPolicy any = CorsPolicy.compile(List.of("*"), List.of("POST"), List.of("*"), null, false, -1);
+        assertThat(any.allowsHeaders("X-Anything")).isTrue();
+        assertThat(any.allowHeaders()).isNull();
+        assertThat(any.allowOrigin("https://anywhere.test")).isEqualTo("*");
+        assertThat(any.variesByOrigin()).isFalse();
+    }
+
+    @Test
+    void credentialsWithWildcardOriginRejected() {
+        assertThatThrownBy(() -> CorsPolicy.compile(List.of("*"), List.of("GET"), null, null, true, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("credentials");
+    }
+}
@@ -0,0 +1,76 @@
+package io.loom.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeaderPolicyTest {
+
+    @Test
+    void defaultPolicyForwardsEverythingButHopByHop() {
+        HeaderPolicy policy = HeaderPolicy.DEFAULT;
+        assertThat(policy.resolve("X-Custom")).isEqualTo("X-Custom");
+        assertThat(policy.resolve("Authorization")).isEqualTo("Authorization");
+        assertThat(policy.resolve("Host")).isNull();
+        assertThat(policy.resolve("CONNECTION")).isNull();
+        assertThat(policy.resolve("transfer-encoding")).isNull();
+        assertThat(policy.injected()).isEmpty();
+    }
+
+    @Test
+    void denyListIsCaseInsensitive() {
+        HeaderPolicy policy = HeaderPolicy.compile(null, List.of("Cookie"), null, null);
+        assertThat(policy.resolve("cookie")).isNull();
+        assertThat(policy.resolve("COOKIE")).isNull();
+        assertThat(policy.resolve("Cookie2")).isEqualTo("Cookie2");
+    }
+
+    @Test
+    void allowListDropsUnlistedHeaders() {
+        HeaderPolicy policy = HeaderPolicy.compile(List.of("Accept", "x-tenant"), null, null, null);
+        assertThat(policy.resolve("accept")).isEqualTo("accept");
+        assertThat(policy.resolve("X-Tenant")).isEqualTo("X-Tenant");
+        assertThat(policy.resolve("Cookie")).isNull();
+    }
+
+    @Test
+    void denyWinsOverAllow() {
+        HeaderPolicy policy = HeaderPolicy.compile(List.of("Authorization"), List.of("authorization"), null, null);
+        assertThat(policy.resolve("Authorization")).isNull();
+    }
+
+    @Test
+    void hopByHopCannotBeAllowed() {
+        HeaderPolicy policy = HeaderPolicy.compile(List.of("Connection"), null, null, null);
+        assertThat(policy.resolve("Connection")).isNull();
+    }
+
+    @Test
+    void renamedHeaderIsImplicitlyAllowed() {
+        HeaderPolicy policy = HeaderPolicy.compile(List.of("Accept"),
+                null, Map.of("X-Request-Id", "X-Correlation-Id"), null);
+        assertThat(policy.resolve("x-request-id")).isEqualTo("X-Correlation-Id");
+        assertThat(policy.resolve("Accept")).isEqualTo("Accept");
+    }
+
+    @Test
+    void injectedHeadersReplaceIncomingCopies() {
+        HeaderPolicy policy = HeaderPolicy.compile(null, null, null, Map.of("X-Gateway", "loom"));
+        assertThat(policy.resolve("x-gateway")).isNull();
+        assertThat(policy.injected()).containsExactly(Map.entry("X-Gateway", "loom"));
+    }
+
+    @Test
+    void largeRuleSetsResolveEveryEntry() {
+        List<String> denied = java.util.stream.IntStream.range(0, 200)
+                .mapToObj(i -> "X-Denied-" + i).toList();
+        HeaderPolicy policy = HeaderPolicy.compile(null, denied, null, null);
+        for (String name : denied) {
+            assertThat(policy.resolve(name.toUpperCase())).isNull();
+        }
+        assertThat(policy.resolve("X-Denied-200")).isEqualTo("X-Denied-200");
+    }
+}
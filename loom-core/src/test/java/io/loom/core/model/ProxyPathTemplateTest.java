@@ -77,13 +77,13 @@ class ProxyPathTemplateTest {
     @Test
     void unclosedBraceTreatedAsLiteral() {
         ProxyPathTemplate t = ProxyPathTemplate.compile("/orders/{id");
-        assertThat(t.resolve(Map.of())).isEqualTo("/orders/{id");
+        assertThat(t.resolve(Map.of())).isEqualTo("/orders/%7Bid");
     }
 
     @Test
     void emptyVariableNameTreatedAsLiteral() {
         ProxyPathTemplate t = ProxyPathTemplate.compile("/orders/{}");
-        assertThat(t.resolve(Map.of())).isEqualTo("/orders/{}");
+        assertThat(t.resolve(Map.of())).isEqualTo("/orders/%7B%7D");
     }
 
     @Test
@@ -163,4 +163,33 @@ class ProxyPathTemplateTest {
         assertThat(t.resolve(Map.of("uid", "user_name-123", "oid", "order.v2")))
                 .isEqualTo("/users/user_name-123/orders/order.v2");
     }
+
+    @Test
+    void literalSegmentsArePreEncoded() {
+        ProxyPathTemplate t = ProxyPathTemplate.compile("/caf\u00e9 menu/{id}/a|b");
+        assertThat(t.resolve(Map.of("id", "7")))
+                .isEqualTo("/caf%C3%A9%20menu/7/a%7Cb");
+    }
+
+    @Test
+    void alreadyEncodedLiteralsAreNotDoubleEncoded() {
+        ProxyPathTemplate t = ProxyPathTemplate.compile("/files/my%20docs/{name}?v=1&x=a+b");
+        assertThat(t.resolve(Map.of("name", "a b")))
+                .isEqualTo("/files/my%20docs/a%20b?v=1&x=a+b");
+    }
+
+    @Test
+    void unreservedPathVariableIsNotEncoded() {
+        ProxyPathTemplate t = ProxyPathTemplate.compile("/{id}");
+        String value = "abc-123_x.y~z";
+        assertThat(t.resolve(Map.of("id", value))).isEqualTo("/" + value);
+    }
+
+    @Test
+    void resolvedPathIsAValidUri() {
+        ProxyPathTemplate t = ProxyPathTemplate.compile("/search {q}/[raw]");
+        String path = t.resolve(Map.of("q", "50% off"), "page=1");
+        assertThat(java.net.URI.create("http://upstream" + path).getRawPath())
+                .isEqualTo("/search%2050%25%20off/%5Braw%5D");
+    }
 }
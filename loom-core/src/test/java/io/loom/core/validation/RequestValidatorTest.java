@@ -6,6 +6,12 @@ import io.loom.core.exception.LoomValidationException;
 import io.loom.core.interceptor.LoomHttpContext;
 import io.loom.core.model.HeaderParamDefinition;
 import io.loom.core.model.QueryParamDefinition;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -389,10 +395,94 @@ class RequestValidatorTest {
                 .doesNotThrowAnyException();
     }
 
+    // ── Typed values bound during validation ──────────────────────────
+
+    @Test
+    void typedValues_holdConvertedValuesAndDefaults() {
+        ValidationPlan plan = RequestValidator.compile(
+                List.of(new QueryParamDefinition("page", int.class, false, "", ""),
+                        new QueryParamDefinition("limit", Integer.class, false, "10", ""),
+                        new QueryParamDefinition("q", String.class, false, "", "")),
+                List.of(), void.class, "GET");
+
+        assertThat(plan.typedParamCount()).isEqualTo(2);
+        assertThat(plan.typedParamIndex("q")).isEqualTo(-1);
+        assertThat(plan.typedParamType(plan.typedParamIndex("page"))).isEqualTo(Integer.class);
+
+        Object[] values = new Object[plan.typedParamCount()];
+        RequestValidator.validate(plan,
+                stubContext("GET", null, Map.of("page", "3"), Map.of()), jsonCodec, values);
+
+        assertThat(values[plan.typedParamIndex("page")]).isEqualTo(3);
+        assertThat(values[plan.typedParamIndex("limit")]).isEqualTo(10);
+    }
+
+    @Test
+    void convert_invalidValue_throwsValidation() {
+        assertThat(RequestValidator.convert("limit", "7", Long.class)).isEqualTo(7L);
+        assertThat(RequestValidator.convert("limit", null, Long.class)).isNull();
+        assertThatThrownBy(() -> RequestValidator.convert("limit", "abc", Long.class))
+                .isInstanceOf(LoomValidationException.class)
+                .satisfies(ex -> assertThat(((LoomValidationException) ex).getViolations())
+                        .containsKey("limit"));
+    }
+
+    // ── Body constraints ──────────────────────────────────────────────
+
+    @Test
+    void bodyConstraints_violationsKeyedByPropertyPath() {
+        ValidationPlan plan = RequestValidator.compile(
+                List.of(), List.of(), ConstrainedBody.class, "POST");
+
+        String json = "{\"name\":\" \",\"email\":\"nope\",\"quantity\":0,"
+                + "\"tags\":[],\"address\":{\"city\":null}}";
+        assertThatThrownBy(() -> RequestValidator.validate(plan,
+                        stubContext("POST", json.getBytes(), Map.of(), Map.of()), jsonCodec))
+                .isInstanceOf(LoomValidationException.class)
+                .satisfies(ex -> {
+                    var violations = ((LoomValidationException) ex).getViolations();
+                    assertThat(violations.get("body.name")).containsExactly("must not be blank");
+                    assertThat(violations.get("body.email")).containsExactly("invalid email");
+                    assertThat(violations.get("body.quantity")).containsExactly("must be greater than or equal to 1");
+                    assertThat(violations.get("body.tags")).containsExactly("size must be between 1 and 3");
+                    assertThat(violations.get("body.address.city")).containsExactly("must not be null");
+                });
+    }
+
+    @Test
+    void bodyConstraints_validBodyPasses() {
+        ValidationPlan plan = RequestValidator.compile(
+                List.of(), List.of(), ConstrainedBody.class, "POST");
+
+        String json = "{\"name\":\"a\",\"email\":\"a@b.io\",\"quantity\":2,"
+                + "\"tags\":[\"x\"],\"address\":{\"city\":\"Oslo\"}}";
+        var result = RequestValidator.validate(plan,
+                stubContext("POST", json.getBytes(), Map.of(), Map.of()), jsonCodec);
+        assertThat(result.parsedBody()).isInstanceOf(ConstrainedBody.class);
+    }
+
+    @Test
+    void bodyConstraints_unsupportedPropertyType_throwsAtStartup() {
+        assertThatThrownBy(() -> RequestValidator.compile(
+                List.of(), List.of(), MisplacedConstraintBody.class, "POST"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("@Size");
+    }
+
     // ── Test helper types ─────────────────────────────────────────────
 
     public record TestBody(String name) {}
 
+    public record Address(@NotNull String city) {}
+
+    public record ConstrainedBody(@NotBlank String name,
+                                  @Pattern(regexp = ".+@.+", message = "invalid email") String email,
+                                  @Min(1) int quantity,
+                                  @Size(min = 1, max = 3) List<String> tags,
+                                  @Valid Address address) {}
+
+    public record MisplacedConstraintBody(@Size(max = 3) Integer count) {}
+
     // ── Stub LoomHttpContext ──────────────────────────────────────────
 
     private static LoomHttpContext stubContext(String method, byte[] body,
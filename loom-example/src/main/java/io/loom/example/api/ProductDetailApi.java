@@ -20,7 +20,7 @@ import io.loom.example.interceptor.ApiKeyInterceptor;
          description = "Fetches product info, pricing, reviews and recommendations in parallel using a DAG-based scatter-gather flow",
          tags = {"Products"},
          queryParams = {@LoomQueryParam(name = "currency", description = "Price currency (e.g. USD, EUR)"),
-                 @LoomQueryParam(name = "fields", description = "Comma-separated fields to include in the response")},
+                 @LoomQueryParam(name = "fields", description = "Comma-separated fields to include in the response; builders for other fields are skipped")},
          headers = {@LoomHeaderParam(name = "X-API-Key", required = true, description = "API authentication key")},
          interceptors = {ApiKeyInterceptor.class})
 @LoomGraph({@Node(builder = FetchProductBuilder.class, timeoutMs = 3000),
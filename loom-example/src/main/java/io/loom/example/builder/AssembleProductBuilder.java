@@ -1,5 +1,6 @@
 package io.loom.example.builder;
 
+import io.loom.core.annotation.LoomField;
 import io.loom.core.builder.BuilderContext;
 import io.loom.core.builder.LoomBuilder;
 import io.loom.example.dto.*;
@@ -8,12 +9,17 @@ import org.springframework.stereotype.Component;
 import java.util.List;
 
 @Component
+@LoomField(name = "product", value = FetchProductBuilder.class)
+@LoomField(name = "pricing", value = FetchPricingBuilder.class)
+@LoomField(name = "reviews", value = FetchReviewsBuilder.class)
+@LoomField(name = "recommendations", value = FetchRecommendationsBuilder.class)
 public class AssembleProductBuilder implements LoomBuilder<ProductDetailResponse> {
 
     @Override
     public ProductDetailResponse build(BuilderContext context) {
-        ProductInfo product = context.getDependency(ProductInfo.class);
-        PricingInfo pricing = context.getDependency(PricingInfo.class);
+        // Any of these may be skipped by a ?fields= selection
+        ProductInfo product = context.getOptionalDependency(ProductInfo.class).orElse(null);
+        PricingInfo pricing = context.getOptionalDependency(PricingInfo.class).orElse(null);
         List<Review> reviews = context.getOptionalResultOf(FetchReviewsBuilder.class).orElse(List.of());
         List<Recommendation> recommendations = context.getOptionalResultOf(FetchRecommendationsBuilder.class).orElse(List.of());
 
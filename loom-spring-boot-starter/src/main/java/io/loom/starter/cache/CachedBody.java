@@ -0,0 +1,31 @@
+package io.loom.starter.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The bytes of a cached response, either a heap array or pages of a {@link SlabAllocator}.
+ * Off-heap bodies are reference counted: a body obtained from a store is pinned until
+ * {@link #release()}, so its pages cannot be reused while it is still being written.
+ */
+public interface CachedBody {
+
+    static CachedBody of(byte[] bytes) {
+        return new HeapBody(bytes);
+    }
+
+    int length();
+
+    /** Writes the body to {@code out} without first copying it into one heap array. */
+    void writeTo(OutputStream out) throws IOException;
+
+    InputStream openStream();
+
+    /** The body as a heap array; heap bodies return their backing array, so it must not be modified. */
+    byte[] toByteArray();
+
+    /** Unpins an off-heap body; a no-op for heap bodies. */
+    default void release() {
+    }
+}
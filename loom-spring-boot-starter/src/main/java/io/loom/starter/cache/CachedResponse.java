@@ -0,0 +1,33 @@
+package io.loom.starter.cache;
+
+/**
+ * A serialized response body held by a {@link ResponseCacheStore}, with its strong ETag.
+ * Entries returned by a store may pin off-heap memory and must be {@link #close() closed}
+ * once written.
+ *
+ * @param content        the uncompressed JSON bytes; never modified after construction
+ * @param etag           quoted strong entity tag derived from the body
+ * @param storedAtMillis wall-clock time the entry was created
+ * @param expiresAtMillis wall-clock time after which the entry is no longer served
+ */
+public record CachedResponse(CachedBody content, String etag, long storedAtMillis, long expiresAtMillis)
+        implements AutoCloseable {
+
+    public CachedResponse(byte[] body, String etag, long storedAtMillis, long expiresAtMillis) {
+        this(CachedBody.of(body), etag, storedAtMillis, expiresAtMillis);
+    }
+
+    /** The body on the heap; copies it out if it is stored off-heap. */
+    public byte[] body() {
+        return content.toByteArray();
+    }
+
+    public boolean isFresh(long nowMillis) {
+        return nowMillis < expiresAtMillis;
+    }
+
+    @Override
+    public void close() {
+        content.release();
+    }
+}
@@ -0,0 +1,30 @@
+package io.loom.starter.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/** A {@link CachedBody} backed by a byte array that is never modified. */
+record HeapBody(byte[] bytes) implements CachedBody {
+
+    @Override
+    public int length() {
+        return bytes.length;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes);
+    }
+
+    @Override
+    public InputStream openStream() {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        return bytes;
+    }
+}
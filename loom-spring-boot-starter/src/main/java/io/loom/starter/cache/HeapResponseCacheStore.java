@@ -0,0 +1,80 @@
+package io.loom.starter.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link ResponseCacheStore} on the Java heap, bounded by entry count and total body bytes.
+ * When a bound would be exceeded, expired entries are swept and, if the store is still full,
+ * the new entry is not stored — fresh entries are never evicted early.
+ */
+public final class HeapResponseCacheStore implements ResponseCacheStore {
+
+    private final ConcurrentHashMap<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LongSupplier clock;
+
+    public HeapResponseCacheStore(int maxEntries, long maxBytes) {
+        this(maxEntries, maxBytes, System::currentTimeMillis);
+    }
+
+    HeapResponseCacheStore(int maxEntries, long maxBytes, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.clock = clock;
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        int size = response.content().length();
+        if (size > maxBytes) {
+            return;
+        }
+        if (entries.size() >= maxEntries || bytes.get() + size > maxBytes) {
+            sweepExpired();
+            if (entries.size() >= maxEntries || bytes.get() + size > maxBytes) {
+                return;
+            }
+        }
+        CachedResponse previous = entries.put(key, response);
+        bytes.addAndGet(size - (previous != null ? previous.content().length() : 0));
+    }
+
+    @Override
+    public void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            bytes.addAndGet(-removed.content().length());
+        }
+    }
+
+    @Override
+    public void clear() {
+        entries.keySet().forEach(this::remove);
+    }
+
+    private void sweepExpired() {
+        long now = clock.getAsLong();
+        entries.forEach((key, cached) -> {
+            if (!cached.isFresh(now) && entries.remove(key, cached)) {
+                bytes.addAndGet(-cached.content().length());
+            }
+        });
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long bytes() {
+        return bytes.get();
+    }
+}
@@ -0,0 +1,155 @@
+package io.loom.starter.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ResponseCacheStore} keeping bodies in a {@link SlabAllocator}, for caches too large to
+ * hold on the heap. Only the index — key, ETag, timestamps and page numbers — stays on heap.
+ * <p>
+ * Unlike {@link HeapResponseCacheStore}, a full store makes room by evicting least-recently-used
+ * entries, so a steady stream of new keys keeps the hot set rather than being rejected. Entries
+ * returned by {@link #get} are pinned until closed; eviction of a pinned entry frees its pages
+ * once the last reader is done, so making room for bytes passes over pinned entries and evicts
+ * nothing when the unpinned ones could not free enough.
+ */
+public final class OffHeapResponseCacheStore implements ResponseCacheStore {
+
+    private final SlabAllocator slabs;
+    private final int maxEntries;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public OffHeapResponseCacheStore(int maxEntries, long maxBytes, int pageSize) {
+        this.slabs = new SlabAllocator(maxBytes, pageSize);
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        lock.lock();
+        try {
+            CachedResponse cached = entries.get(key);
+            // The index holds a reference to every entry it contains, so this cannot fail
+            return cached != null && ((SlabAllocator.Allocation) cached.content()).retain() ? cached : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        int length = response.content().length();
+        long footprint = slabs.footprint(length);
+        if (footprint > slabs.capacityBytes()) {
+            return;
+        }
+        lock.lock();
+        try {
+            release(entries.remove(key));
+            Iterator<CachedResponse> eldest = entries.values().iterator();
+            while (entries.size() >= maxEntries && eldest.hasNext()) {
+                CachedResponse victim = eldest.next();
+                eldest.remove();
+                victim.close();
+            }
+            if (!makeRoom(footprint - slabs.freeBytes())) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Copy outside the lock; pages still pinned by readers may leave too little room
+        SlabAllocator.Allocation allocation = slabs.allocate(response.content().toByteArray());
+        if (allocation == null) {
+            return;
+        }
+        CachedResponse stored = new CachedResponse(allocation, response.etag(),
+                response.storedAtMillis(), response.expiresAtMillis());
+        lock.lock();
+        try {
+            release(entries.put(key, stored));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        lock.lock();
+        try {
+            release(entries.remove(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            entries.values().forEach(CachedResponse::close);
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evicts least-recently-used entries until {@code shortfall} bytes are released. Pinned
+     * entries free nothing until their readers close, so they are skipped, and nothing is
+     * evicted unless the unpinned entries can cover the shortfall. Called with the lock held.
+     *
+     * @return {@code false} if there is no way to make room right now
+     */
+    private boolean makeRoom(long shortfall) {
+        if (shortfall <= 0) {
+            return true;
+        }
+        long releasable = 0;
+        for (CachedResponse entry : entries.values()) {
+            if (!pinned(entry) && (releasable += slabs.footprint(entry.content().length())) >= shortfall) {
+                break;
+            }
+        }
+        if (releasable < shortfall) {
+            return false;
+        }
+        Iterator<CachedResponse> eldest = entries.values().iterator();
+        while (shortfall > 0 && eldest.hasNext()) {
+            CachedResponse victim = eldest.next();
+            if (pinned(victim)) {
+                continue;
+            }
+            eldest.remove();
+            shortfall -= slabs.footprint(victim.content().length());
+            victim.close();
+        }
+        return true;
+    }
+
+    private static boolean pinned(CachedResponse entry) {
+        return ((SlabAllocator.Allocation) entry.content()).pinned();
+    }
+
+    private static void release(CachedResponse removed) {
+        if (removed != null) {
+            removed.close();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long bytes() {
+        return slabs.usedBytes();
+    }
+}
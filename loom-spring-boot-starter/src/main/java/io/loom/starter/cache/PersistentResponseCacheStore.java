@@ -0,0 +1,133 @@
+package io.loom.starter.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link ResponseCacheStore} that survives restarts: a memory tier (any other store) in front of
+ * a {@link SegmentLog} of memory-mapped files on local disk.
+ * <p>
+ * On construction the log is replayed and every entry that is still fresh is loaded into the
+ * memory tier, so a restarted gateway answers from cache immediately instead of sending every
+ * replica's cold-start traffic upstream at once. Reads never touch the log. Writes and removals
+ * are queued to a single background thread that appends them (and compacts the log), so
+ * persistence stays off the request path; when the queue is full the write is only kept in
+ * memory. {@link #close()} drains the queue and flushes the mapped segments.
+ */
+@Slf4j
+public final class PersistentResponseCacheStore implements ResponseCacheStore, AutoCloseable {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    /** A queued change; a {@code null} response is a removal, a {@code null} key a clear. */
+    private record Change(String key, CachedResponse response) {}
+
+    private static final Change SHUTDOWN = new Change(null, null);
+    private static final Change CLEAR = new Change(null, null);
+
+    private final ResponseCacheStore memory;
+    private final SegmentLog segmentLog;
+    private final LongSupplier clock;
+    private final LinkedBlockingQueue<Change> changes = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+
+    /**
+     * @param memory       the tier serving reads
+     * @param directory    where segment files live; created if missing
+     * @param segmentBytes size of each mapped segment file
+     * @param maxBytes     disk budget for all segments
+     * @throws IllegalArgumentException if the directory cannot be opened
+     */
+    public PersistentResponseCacheStore(ResponseCacheStore memory, Path directory,
+                                        int segmentBytes, long maxBytes) {
+        this(memory, directory, segmentBytes, maxBytes, System::currentTimeMillis);
+    }
+
+    PersistentResponseCacheStore(ResponseCacheStore memory, Path directory,
+                                 int segmentBytes, long maxBytes, LongSupplier clock) {
+        this.memory = memory;
+        this.clock = clock;
+        try {
+            this.segmentLog = SegmentLog.open(directory, segmentBytes, maxBytes);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("[Loom] Cannot open response cache directory " + directory, e);
+        }
+        int[] loaded = {0};
+        segmentLog.forEachFresh(clock.getAsLong(), (key, response) -> {
+            memory.put(key, response);
+            loaded[0]++;
+        });
+        log.info("[Loom] Response cache persisted to {}: {} fresh entries restored from {} segment(s)",
+                directory, loaded[0], segmentLog.segmentCount());
+        this.writer = Thread.ofPlatform().daemon().name("loom-cache-persist").start(this::drain);
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        return memory.get(key);
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        memory.put(key, response);
+        changes.offer(new Change(key, response));
+    }
+
+    @Override
+    public void remove(String key) {
+        memory.remove(key);
+        changes.offer(new Change(key, null));
+    }
+
+    @Override
+    public void clear() {
+        memory.clear();
+        changes.offer(CLEAR);
+    }
+
+    private void drain() {
+        while (true) {
+            Change change;
+            try {
+                change = changes.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (change == SHUTDOWN) {
+                return;
+            }
+            try {
+                if (change == CLEAR) {
+                    segmentLog.clear();
+                } else if (change.response() == null) {
+                    segmentLog.remove(change.key(), clock.getAsLong());
+                } else {
+                    segmentLog.put(change.key(), change.response(), clock.getAsLong());
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("[Loom] Failed to persist response cache entry: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** Persists queued changes and unmaps the log; the memory tier keeps serving. */
+    @Override
+    public void close() {
+        try {
+            changes.put(SHUTDOWN);
+            if (!writer.join(Duration.ofSeconds(10))) {
+                writer.interrupt();
+            }
+            segmentLog.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("[Loom] Failed to close response cache segments: {}", e.getMessage());
+        }
+    }
+}
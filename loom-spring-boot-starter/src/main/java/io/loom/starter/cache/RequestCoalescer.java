@@ -0,0 +1,79 @@
+package io.loom.starter.cache;
+
+import io.loom.core.exception.LoomException;
+import io.loom.core.model.CoalescePolicy;
+import io.loom.starter.service.UpstreamFreshness;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collapses concurrent identical requests of {@code @LoomCoalesce} APIs into one execution.
+ * The first request for a key becomes the leader and runs the work; requests arriving while it
+ * is in flight park on the leader's {@link CompletableFuture} (cheap on virtual threads) and
+ * receive the same serialized bytes and upstream freshness, or the same exception. The key is
+ * released as soon as the leader finishes, so nothing is cached beyond the in-flight window.
+ */
+public final class RequestCoalescer {
+
+    /**
+     * @param body      the shared serialized response, {@code null} if the DAG produced none
+     * @param freshness the leader's upstream freshness, for deriving response headers; may be {@code null}
+     * @param leader    whether this request ran the work itself
+     */
+    public record Result(byte[] body, UpstreamFreshness freshness, boolean leader) {}
+
+    private record Shared(byte[] body, UpstreamFreshness freshness) {}
+
+    private final ConcurrentHashMap<String, CompletableFuture<Shared>> inFlight = new ConcurrentHashMap<>();
+
+    /** Key of a GET request: path, normalized (or selected) query parameters and key headers. */
+    public String key(CoalescePolicy policy, HttpServletRequest request) {
+        return RequestKeys.build(request, policy.queryParams(), policy.keyHeaders());
+    }
+
+    /**
+     * Runs {@code work} unless an identical request is already running it, then shares its result.
+     *
+     * @param freshness records the upstream calls {@code work} makes; followers get the leader's
+     */
+    public Result execute(String key, UpstreamFreshness freshness, Callable<byte[]> work) {
+        CompletableFuture<Shared> mine = new CompletableFuture<>();
+        CompletableFuture<Shared> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            try {
+                Shared shared = leader.join();
+                return new Result(shared.body(), shared.freshness(), false);
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+        try {
+            byte[] body = work.call();
+            mine.complete(new Shared(body, freshness));
+            return new Result(body, freshness, true);
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw rethrow(t);
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (t instanceof Error error) {
+            throw error;
+        }
+        return new LoomException("Coalesced execution failed", t);
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,82 @@
+package io.loom.starter.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds the keys that identify equivalent GET requests for {@link ResponseCache} and
+ * {@link RequestCoalescer}: the request URI, which fixes the route and its path variables,
+ * then query parameters and selected headers. Every part is length-prefixed, so no name or
+ * value (decoded parameters may contain any character) can run into the next part, and a
+ * repeated parameter never keys like one value containing the separator.
+ * <p>
+ * Header values are keyed by their SHA-256 digest: the defaults are {@code Authorization} and
+ * {@code Cookie}, and keys end up in the heap index and, with a persistent store, on disk.
+ */
+final class RequestKeys {
+
+    private RequestKeys() {
+    }
+
+    /**
+     * @param queryParams parameters to include, in this order; empty includes every parameter,
+     *                    sorted by name so parameter order does not matter
+     * @param headers     request headers to include
+     */
+    static String build(HttpServletRequest request, List<String> queryParams, List<String> headers) {
+        StringBuilder key = new StringBuilder(128);
+        append(key, request.getRequestURI());
+        if (queryParams.isEmpty()) {
+            if (request.getQueryString() != null) {
+                for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+                    append(key, param.getKey());
+                    appendValues(key, param.getValue());
+                }
+            }
+        } else {
+            for (String name : queryParams) {
+                appendValues(key, request.getParameterValues(name));
+            }
+        }
+        for (String header : headers) {
+            Enumeration<String> values = request.getHeaders(header);
+            appendValues(key, values != null && values.hasMoreElements()
+                    ? Collections.list(values).stream().map(RequestKeys::digest).toArray(String[]::new) : null);
+        }
+        return key.toString();
+    }
+
+    /** {@code <count>*} then each value; absent values key as {@code -}, unlike an empty list. */
+    private static void appendValues(StringBuilder key, String[] values) {
+        if (values == null) {
+            key.append('-');
+            return;
+        }
+        key.append(values.length).append('*');
+        for (String value : values) {
+            append(key, value);
+        }
+    }
+
+    private static String digest(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // mandatory in every JDK
+        }
+    }
+
+    private static void append(StringBuilder key, String part) {
+        key.append(part.length()).append(':').append(part);
+    }
+}
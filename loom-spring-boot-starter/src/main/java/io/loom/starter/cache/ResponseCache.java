@@ -0,0 +1,121 @@
+package io.loom.starter.cache;
+
+import io.loom.core.model.ResponseCachePolicy;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.function.LongSupplier;
+
+/**
+ * Serialized-response cache for {@code @LoomCache} builder APIs: builds cache keys from the
+ * request, stamps entries with a strong ETag (suffixed per content encoding) and evaluates {@code If-None-Match}.
+ * Storage is delegated to a {@link ResponseCacheStore}.
+ */
+public final class ResponseCache {
+
+    private static final Base64.Encoder B64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final String[] ENCODINGS = {"gzip", "deflate"};
+
+    private final ResponseCacheStore store;
+    private final LongSupplier clock;
+
+    public ResponseCache(ResponseCacheStore store) {
+        this(store, System::currentTimeMillis);
+    }
+
+    ResponseCache(ResponseCacheStore store, LongSupplier clock) {
+        this.store = store;
+        this.clock = clock;
+    }
+
+    /**
+     * Key for a GET (or HEAD) request: the request URI, the selected query parameters (all of
+     * them, in name order, when none are selected), the vary headers and the caller headers.
+     */
+    public String key(ResponseCachePolicy policy, HttpServletRequest request) {
+        return RequestKeys.build(request, policy.queryParams(), policy.keyHeaders());
+    }
+
+    /** Returns the fresh entry for {@code key}, or {@code null}; close it once written. */
+    public CachedResponse get(String key) {
+        CachedResponse cached = store.get(key);
+        if (cached != null && !cached.isFresh(clock.getAsLong())) {
+            cached.close();
+            store.remove(key);
+            return null;
+        }
+        return cached;
+    }
+
+    /** Stores {@code body} under {@code key} and returns the entry, ETag included. */
+    public CachedResponse put(String key, ResponseCachePolicy policy, byte[] body) {
+        long now = clock.getAsLong();
+        CachedResponse cached = new CachedResponse(body, etag(body), now, now + policy.ttlMs());
+        store.put(key, cached);
+        return cached;
+    }
+
+    /** Strong ETag: the first 128 bits of the body's SHA-256, base64url-encoded and quoted. */
+    public static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            byte[] truncated = new byte[16];
+            System.arraycopy(digest, 0, truncated, 0, truncated.length);
+            return '"' + B64URL.encodeToString(truncated) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // mandatory in every JDK
+        }
+    }
+
+    /**
+     * The ETag for {@code etag}'s body sent with {@code Content-Encoding: encoding}, e.g.
+     * {@code "abc-gzip"}: a strong validator must differ between encodings of the same content.
+     */
+    public static String encodedEtag(String etag, String encoding) {
+        return etag.substring(0, etag.length() - 1) + '-' + encoding + '"';
+    }
+
+    /**
+     * Returns the tag {@code If-None-Match} matches, either {@code etag} itself or its gzip or
+     * deflate {@linkplain #encodedEtag variant}, or {@code null} if none does.
+     */
+    public static String matchingEtag(String ifNoneMatch, String etag) {
+        if (matches(ifNoneMatch, etag)) {
+            return etag;
+        }
+        for (String encoding : ENCODINGS) {
+            String encoded = encodedEtag(etag, encoding);
+            if (matches(ifNoneMatch, encoded)) {
+                return encoded;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evaluates {@code If-None-Match} with the weak comparison RFC 9110 prescribes for it:
+     * {@code *} or any listed tag equal to {@code etag} once {@code W/} prefixes are ignored.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        int start = 0;
+        int length = ifNoneMatch.length();
+        while (start < length) {
+            int end = ifNoneMatch.indexOf(',', start);
+            if (end < 0) end = length;
+            String candidate = ifNoneMatch.substring(start, end).trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+}
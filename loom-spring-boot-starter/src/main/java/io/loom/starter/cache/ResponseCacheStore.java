@@ -0,0 +1,17 @@
+package io.loom.starter.cache;
+
+/**
+ * Storage behind {@link ResponseCache}. Implementations must be thread-safe; they may drop
+ * entries at any time (a miss only costs a DAG run), so {@link #put} is best-effort.
+ */
+public interface ResponseCacheStore {
+
+    /** Returns the entry stored under {@code key}, fresh or not, or {@code null}. */
+    CachedResponse get(String key);
+
+    void put(String key, CachedResponse response);
+
+    void remove(String key);
+
+    void clear();
+}
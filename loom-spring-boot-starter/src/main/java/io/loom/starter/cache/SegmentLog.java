@@ -0,0 +1,351 @@
+package io.loom.starter.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of cache entries in memory-mapped segment files, used by
+ * {@link PersistentResponseCacheStore}. Not thread-safe: one writer thread owns it after
+ * {@link #open}.
+ * <p>
+ * Each segment is a fixed-size file named by its sequence number. A record is
+ * <pre>
+ *   magic:int type:byte keyLength:int etagLength:int bodyLength:int storedAt:long expiresAt:long
+ *   key etag body crc32:int
+ * </pre>
+ * and a segment ends at the first record whose magic, bounds or CRC do not check out, so a
+ * write torn by a crash is simply the end of the log. Replaying segments in sequence order
+ * rebuilds the key → latest-record index. When less than half of the log is live, compaction
+ * copies the live, unexpired records forward one segment at a time, deleting each old segment
+ * once its records are copied; the copies have higher sequence numbers, so a crash
+ * mid-compaction replays to the same state. A log at its size limit that is mostly live is not
+ * rewritten: its oldest segment is dropped instead, together with the entries it holds.
+ */
+final class SegmentLog implements Closeable {
+
+    private static final int MAGIC = 0x4C4F4F4D; // "LOOM"
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final int HEADER = 33;
+    private static final int TRAILER = 4;
+    private static final String SUFFIX = ".seg";
+
+    /** Where the latest record for a key lives. */
+    record Location(Segment segment, int offset, int length, long expiresAtMillis) {}
+
+    static final class Segment {
+        final long sequence;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int position;
+
+        Segment(long sequence, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long maxBytes;
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<String, Location> index = new HashMap<>();
+    private Segment current;
+    private long totalBytes;
+    private long liveBytes;
+
+    private SegmentLog(Path directory, int segmentBytes, long maxBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+    }
+
+    /** Maps the segments in {@code directory}, creating it if needed, and replays them. */
+    static SegmentLog open(Path directory, int segmentBytes, long maxBytes) throws IOException {
+        SegmentLog log = new SegmentLog(directory, segmentBytes, maxBytes);
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long sequence;
+            try {
+                sequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                continue; // not ours
+            }
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Segment segment = new Segment(sequence, file, channel,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            log.replay(segment);
+            log.segments.add(segment);
+            log.totalBytes += segment.position;
+        }
+        if (log.segments.isEmpty()) {
+            log.roll();
+        } else {
+            log.current = log.segments.get(log.segments.size() - 1);
+        }
+        return log;
+    }
+
+    private void replay(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        int length;
+        while ((length = validLength(buffer, position)) > 0) {
+            String key = key(buffer, position);
+            Location previous;
+            if (buffer.get(position + 4) == PUT) {
+                previous = index.put(key, new Location(segment, position, length, buffer.getLong(position + 25)));
+                liveBytes += length;
+            } else {
+                previous = index.remove(key);
+            }
+            if (previous != null) {
+                liveBytes -= previous.length();
+            }
+            position += length;
+        }
+        segment.position = position;
+    }
+
+    /** Calls {@code action} with every live entry that is still fresh at {@code nowMillis}. */
+    void forEachFresh(long nowMillis, BiConsumer<String, CachedResponse> action) {
+        index.forEach((key, location) -> {
+            if (location.expiresAtMillis() > nowMillis) {
+                action.accept(key, read(location));
+            }
+        });
+    }
+
+    /**
+     * Appends the latest version of {@code key}. At the size limit the log first compacts if that
+     * reclaims at least half of it, then drops its oldest segments until the record fits.
+     * Entries that do not fit in a segment, or in the current segment alone, are not persisted.
+     */
+    void put(String key, CachedResponse response, long nowMillis) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] etag = response.etag().getBytes(StandardCharsets.US_ASCII);
+        byte[] body = response.body();
+        long length = (long) HEADER + keyBytes.length + etag.length + body.length + TRAILER;
+        if (length > segmentBytes) {
+            return;
+        }
+        if (totalBytes + length > maxBytes) {
+            maybeCompact(nowMillis);
+            while (totalBytes + length > maxBytes && segments.size() > 1) {
+                evict(segments.get(0));
+            }
+            if (totalBytes + length > maxBytes) {
+                return;
+            }
+        }
+        Location location = append(PUT, keyBytes, etag, body, response.storedAtMillis(), response.expiresAtMillis());
+        Location previous = index.put(key, location);
+        liveBytes += location.length() - (previous != null ? previous.length() : 0);
+        maybeCompact(nowMillis);
+    }
+
+    void remove(String key, long nowMillis) throws IOException {
+        Location previous = index.remove(key);
+        if (previous == null) {
+            return; // never persisted, nothing to shadow
+        }
+        liveBytes -= previous.length();
+        append(REMOVE, key.getBytes(StandardCharsets.UTF_8), new byte[0], new byte[0], 0, 0);
+        maybeCompact(nowMillis);
+    }
+
+    /** Deletes every segment and starts an empty log. */
+    void clear() throws IOException {
+        for (Segment segment : segments) {
+            delete(segment);
+        }
+        segments.clear();
+        index.clear();
+        totalBytes = 0;
+        liveBytes = 0;
+        roll();
+    }
+
+    private void maybeCompact(long nowMillis) throws IOException {
+        if (segments.size() > 1 && liveBytes * 2 < totalBytes) {
+            compact(nowMillis);
+        }
+    }
+
+    /**
+     * Copies live, unexpired records into new segments and deletes all older ones, oldest first,
+     * so the log never holds more than one old segment's records twice. A segment whose live
+     * records would take the log past its size limit is dropped instead of copied.
+     */
+    void compact(long nowMillis) throws IOException {
+        List<Segment> old = new ArrayList<>(segments);
+        Map<Segment, List<String>> keysBySegment = keysBySegment();
+        roll();
+        for (Segment segment : old) {
+            List<String> keys = keysBySegment.getOrDefault(segment, List.of());
+            long copyBytes = 0;
+            for (String key : keys) {
+                Location location = index.get(key);
+                if (location.expiresAtMillis() > nowMillis) {
+                    copyBytes += location.length();
+                }
+            }
+            boolean copy = totalBytes + copyBytes <= maxBytes;
+            for (String key : keys) {
+                Location location = index.get(key);
+                if (!copy || location.expiresAtMillis() <= nowMillis) {
+                    index.remove(key);
+                    liveBytes -= location.length();
+                    continue;
+                }
+                if (current.position + location.length() > current.buffer.capacity()) {
+                    roll();
+                }
+                int offset = current.position;
+                current.buffer.put(offset, location.segment().buffer, location.offset(), location.length());
+                current.position += location.length();
+                totalBytes += location.length();
+                index.put(key, new Location(current, offset, location.length(), location.expiresAtMillis()));
+            }
+            segments.remove(segment);
+            totalBytes -= segment.position;
+            delete(segment);
+        }
+    }
+
+    /** Deletes {@code segment} and forgets the entries whose latest record it holds. */
+    private void evict(Segment segment) throws IOException {
+        for (String key : keysBySegment().getOrDefault(segment, List.of())) {
+            liveBytes -= index.remove(key).length();
+        }
+        segments.remove(segment);
+        totalBytes -= segment.position;
+        delete(segment);
+    }
+
+    private Map<Segment, List<String>> keysBySegment() {
+        Map<Segment, List<String>> keys = new IdentityHashMap<>();
+        index.forEach((key, location) -> keys.computeIfAbsent(location.segment(), s -> new ArrayList<>()).add(key));
+        return keys;
+    }
+
+    private Location append(byte type, byte[] key, byte[] etag, byte[] body,
+                            long storedAtMillis, long expiresAtMillis) throws IOException {
+        int length = HEADER + key.length + etag.length + body.length + TRAILER;
+        if (current.position + length > current.buffer.capacity()) {
+            roll();
+        }
+        MappedByteBuffer buffer = current.buffer;
+        int offset = current.position;
+        buffer.put(offset + 4, type)
+                .putInt(offset + 5, key.length)
+                .putInt(offset + 9, etag.length)
+                .putInt(offset + 13, body.length)
+                .putLong(offset + 17, storedAtMillis)
+                .putLong(offset + 25, expiresAtMillis)
+                .put(offset + HEADER, key)
+                .put(offset + HEADER + key.length, etag)
+                .put(offset + HEADER + key.length + etag.length, body);
+        buffer.putInt(offset + length - TRAILER, crc(buffer, offset, length));
+        buffer.putInt(offset, MAGIC);
+        current.position += length;
+        totalBytes += length;
+        return new Location(current, offset, length, expiresAtMillis);
+    }
+
+    private CachedResponse read(Location location) {
+        MappedByteBuffer buffer = location.segment().buffer;
+        int offset = location.offset();
+        int keyLength = buffer.getInt(offset + 5);
+        byte[] etag = new byte[buffer.getInt(offset + 9)];
+        byte[] body = new byte[buffer.getInt(offset + 13)];
+        buffer.get(offset + HEADER + keyLength, etag);
+        buffer.get(offset + HEADER + keyLength + etag.length, body);
+        return new CachedResponse(body, new String(etag, StandardCharsets.US_ASCII),
+                buffer.getLong(offset + 17), buffer.getLong(offset + 25));
+    }
+
+    /** Length of the valid record at {@code offset}, or {@code 0} if the segment ends there. */
+    private static int validLength(MappedByteBuffer buffer, int offset) {
+        int limit = buffer.capacity();
+        if (offset + HEADER + TRAILER > limit || buffer.getInt(offset) != MAGIC) {
+            return 0;
+        }
+        byte type = buffer.get(offset + 4);
+        int keyLength = buffer.getInt(offset + 5);
+        int etagLength = buffer.getInt(offset + 9);
+        int bodyLength = buffer.getInt(offset + 13);
+        if ((type != PUT && type != REMOVE) || keyLength < 0 || etagLength < 0 || bodyLength < 0) {
+            return 0;
+        }
+        long length = (long) HEADER + keyLength + etagLength + bodyLength + TRAILER;
+        if (offset + length > limit) {
+            return 0;
+        }
+        return crc(buffer, offset, (int) length) == buffer.getInt(offset + (int) length - TRAILER) ? (int) length : 0;
+    }
+
+    private static String key(MappedByteBuffer buffer, int offset) {
+        byte[] key = new byte[buffer.getInt(offset + 5)];
+        buffer.get(offset + HEADER, key);
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    /** CRC32 of a record from its type byte up to (excluding) the trailer. */
+    private static int crc(MappedByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset + 4, length - 4 - TRAILER));
+        return (int) crc.getValue();
+    }
+
+    private void roll() throws IOException {
+        if (current != null) {
+            current.buffer.force();
+        }
+        long sequence = segments.isEmpty() ? 1 : segments.get(segments.size() - 1).sequence + 1;
+        Path path = directory.resolve(String.format("%016d%s", sequence, SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        current = new Segment(sequence, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+        segments.add(current);
+    }
+
+    private static void delete(Segment segment) throws IOException {
+        segment.channel.close();
+        Files.deleteIfExists(segment.path); // the mapping stays valid until collected
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        current.buffer.force();
+        for (Segment segment : segments) {
+            segment.channel.close();
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package io.loom.starter.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Off-heap storage for cached bodies, so gigabytes of cached JSON add nothing to the heap G1
+ * has to scan and copy.
+ * <p>
+ * Memory is carved from direct {@link ByteBuffer} slabs of up to 4MB, allocated lazily up to
+ * {@code maxBytes}, into fixed-size pages. A body occupies {@code ceil(length / pageSize)} pages
+ * that need not be contiguous, so freed memory is reusable by a body of any size and the
+ * allocator never fragments. Page bookkeeping is a free-list of page numbers guarded by a
+ * {@link ReentrantLock}; bytes are copied in and out outside the lock.
+ * <p>
+ * {@link Allocation}s are reference counted. The owner (a cache index) holds the first
+ * reference; readers {@link Allocation#retain() retain} before writing a body and
+ * {@link Allocation#release() release} afterwards, and pages go back to the free-list only when
+ * the last reference is dropped — an entry evicted mid-write keeps its bytes until the write ends.
+ */
+public final class SlabAllocator {
+
+    public static final int DEFAULT_PAGE_SIZE = 4096;
+
+    private static final int SLAB_SIZE = 4 << 20;
+
+    private static final int COPY_CHUNK = 8192;
+
+    /**
+     * Servlet containers expose {@code write(ByteBuffer)} on their output streams (Tomcat, Jetty,
+     * and every Servlet 6.1 container); it sends direct buffers without an intermediate heap copy.
+     */
+    private static final ClassValue<MethodHandle> BUFFER_WRITERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                return MethodHandles.publicLookup().findVirtual(type, "write",
+                        MethodType.methodType(void.class, ByteBuffer.class));
+            } catch (ReflectiveOperationException | SecurityException e) {
+                return null;
+            }
+        }
+    };
+
+    private final int pageSize;
+    private final int pagesPerSlab;
+    private final int maxPages;
+    private final ByteBuffer[] slabs;
+    private final int[] freePages;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int freeCount;
+    private int carvedPages; // pages handed out at least once; slabs are allocated as this grows
+
+    public SlabAllocator(long maxBytes, int pageSize) {
+        if (pageSize < 512 || pageSize > SLAB_SIZE) {
+            throw new IllegalArgumentException("pageSize must be between 512 and " + SLAB_SIZE + ", got " + pageSize);
+        }
+        if (maxBytes < pageSize) {
+            throw new IllegalArgumentException("maxBytes must hold at least one page, got " + maxBytes);
+        }
+        this.pageSize = pageSize;
+        this.pagesPerSlab = SLAB_SIZE / pageSize;
+        this.maxPages = (int) Math.min(Integer.MAX_VALUE - 8, maxBytes / pageSize);
+        this.slabs = new ByteBuffer[(maxPages + pagesPerSlab - 1) / pagesPerSlab];
+        this.freePages = new int[maxPages];
+    }
+
+    /** Bytes a body of {@code length} occupies once stored. */
+    public long footprint(int length) {
+        return (long) pageCount(length) * pageSize;
+    }
+
+    /**
+     * Copies {@code data} off-heap.
+     *
+     * @return the allocation, holding one reference for the caller, or {@code null} if there
+     *         are not enough free pages
+     */
+    public Allocation allocate(byte[] data) {
+        int[] pages = new int[pageCount(data.length)];
+        lock.lock();
+        try {
+            if (freeCount + (maxPages - carvedPages) < pages.length) {
+                return null;
+            }
+            for (int i = 0; i < pages.length; i++) {
+                pages[i] = freeCount > 0 ? freePages[--freeCount] : carve();
+            }
+        } finally {
+            lock.unlock();
+        }
+        // The pages are exclusively ours until published, so the copy needs no lock
+        for (int i = 0, offset = 0; i < pages.length; i++, offset += pageSize) {
+            page(pages[i]).put(data, offset, Math.min(pageSize, data.length - offset));
+        }
+        return new Allocation(pages, data.length);
+    }
+
+    /** Bytes held by live allocations, including page rounding. */
+    public long usedBytes() {
+        lock.lock();
+        try {
+            return (long) (carvedPages - freeCount) * pageSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Bytes that can still be allocated, whether or not their slab exists yet. */
+    public long freeBytes() {
+        lock.lock();
+        try {
+            return (long) (freeCount + maxPages - carvedPages) * pageSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Bytes this allocator can hold in total. */
+    public long capacityBytes() {
+        return (long) maxPages * pageSize;
+    }
+
+    private int pageCount(int length) {
+        return (length + pageSize - 1) / pageSize;
+    }
+
+    // Called with the lock held
+    private int carve() {
+        int page = carvedPages++;
+        int slab = page / pagesPerSlab;
+        if (slabs[slab] == null) {
+            int pages = Math.min(pagesPerSlab, maxPages - slab * pagesPerSlab);
+            slabs[slab] = ByteBuffer.allocateDirect(pages * pageSize);
+        }
+        return page;
+    }
+
+    private ByteBuffer page(int page) {
+        // slice() gives each caller its own position and limit over the shared slab
+        return slabs[page / pagesPerSlab].slice((page % pagesPerSlab) * pageSize, pageSize);
+    }
+
+    private void free(int[] pages) {
+        lock.lock();
+        try {
+            for (int page : pages) {
+                freePages[freeCount++] = page;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void write(OutputStream out, ByteBuffer buffer) throws IOException {
+        MethodHandle writer = BUFFER_WRITERS.get(out.getClass());
+        if (writer != null) {
+            try {
+                writer.invoke(out, buffer);
+                return;
+            } catch (IOException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IOException(e);
+            }
+        }
+        byte[] chunk = new byte[Math.min(COPY_CHUNK, buffer.remaining())];
+        while (buffer.hasRemaining()) {
+            int n = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, n);
+            out.write(chunk, 0, n);
+        }
+    }
+
+    /** A body stored in this allocator's pages. */
+    public final class Allocation implements CachedBody {
+
+        private final int[] pages;
+        private final int length;
+        private final AtomicInteger refs = new AtomicInteger(1);
+
+        private Allocation(int[] pages, int length) {
+            this.pages = pages;
+            this.length = length;
+        }
+
+        /**
+         * Pins the pages for a reader.
+         *
+         * @return {@code false} if the allocation was already freed and must not be read
+         */
+        public boolean retain() {
+            while (true) {
+                int current = refs.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (refs.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /** True while a reader holds the pages besides their owner, so releasing them frees nothing yet. */
+        public boolean pinned() {
+            return refs.get() > 1;
+        }
+
+        @Override
+        public void release() {
+            if (refs.decrementAndGet() == 0) {
+                free(pages);
+            }
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            for (int i = 0, offset = 0; i < pages.length; i++, offset += pageSize) {
+                write(out, page(pages[i]).limit(Math.min(pageSize, length - offset)));
+            }
+        }
+
+        @Override
+        public InputStream openStream() {
+            return new PageInputStream();
+        }
+
+        @Override
+        public byte[] toByteArray() {
+            byte[] bytes = new byte[length];
+            for (int i = 0, offset = 0; i < pages.length; i++, offset += pageSize) {
+                page(pages[i]).get(bytes, offset, Math.min(pageSize, length - offset));
+            }
+            return bytes;
+        }
+
+        private final class PageInputStream extends InputStream {
+
+            private int position;
+
+            @Override
+            public int read() {
+                if (position >= length) {
+                    return -1;
+                }
+                int value = page(pages[position / pageSize]).get(position % pageSize) & 0xFF;
+                position++;
+                return value;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                if (position >= length) {
+                    return -1;
+                }
+                int offsetInPage = position % pageSize;
+                int n = Math.min(len, Math.min(pageSize - offsetInPage, length - position));
+                page(pages[position / pageSize]).get(offsetInPage, b, off, n);
+                position += n;
+                return n;
+            }
+
+            @Override
+            public int available() {
+                return length - position;
+            }
+        }
+    }
+}
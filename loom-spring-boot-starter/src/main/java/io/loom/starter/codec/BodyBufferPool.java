@@ -0,0 +1,54 @@
+package io.loom.starter.codec;
+
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Bounded pool of fixed-size {@code byte[]} buffers for reading request bodies.
+ * Bodies whose declared {@code Content-Length} fits in one buffer borrow a pooled array;
+ * larger bodies get an exactly-sized array that is simply dropped on release.
+ * Backed by {@link LinkedBlockingQueue} (ReentrantLock-based) so borrowing never pins a
+ * virtual thread's carrier.
+ */
+public final class BodyBufferPool {
+
+    private static final int DEFAULT_BUFFER_SIZE = 16384;
+    private static final int DEFAULT_MAX_POOLED = 256;
+
+    private final int bufferSize;
+    private final LinkedBlockingQueue<byte[]> pool;
+
+    public BodyBufferPool() {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED);
+    }
+
+    public BodyBufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Body buffer size must be positive, got " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.pool = new LinkedBlockingQueue<>(Math.max(1, maxPooled));
+    }
+
+    /**
+     * Returns a buffer of at least {@code length} bytes. Only buffers of exactly
+     * {@link #bufferSize()} bytes come from (and go back to) the pool.
+     */
+    public byte[] borrow(int length) {
+        if (length > bufferSize) {
+            return new byte[length];
+        }
+        byte[] buffer = pool.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    /** Returns a borrowed buffer; oversized buffers and those beyond the pool's bound are dropped. */
+    public void release(byte[] buffer) {
+        if (buffer != null && buffer.length == bufferSize) {
+            pool.offer(buffer); // silently drops if full
+        }
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+}
@@ -0,0 +1,90 @@
+package io.loom.starter.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Bounded pool of {@link Deflater} instances, one queue per (level, nowrap) pair.
+ * Deflaters hold native zlib state, so reusing them avoids an allocate/end cycle per response.
+ * Backed by {@link LinkedBlockingQueue} (ReentrantLock-based) so borrowing never pins a
+ * virtual thread's carrier. Instances dropped because the pool is full are ended eagerly.
+ */
+public final class DeflaterPool {
+
+    private static final int DEFAULT_MAX_PER_LEVEL = 64;
+
+    // Minimal gzip member header: magic, CM=deflate, no flags, no mtime, XFL=0, OS=unknown
+    private static final byte[] GZIP_HEADER = {
+            0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+
+    private final LinkedBlockingQueue<Deflater>[] pools;
+
+    public DeflaterPool() {
+        this(DEFAULT_MAX_PER_LEVEL);
+    }
+
+    @SuppressWarnings("unchecked")
+    public DeflaterPool(int maxPerLevel) {
+        // levels 0-9, each with a zlib (nowrap=false) and a raw (nowrap=true) queue
+        this.pools = new LinkedBlockingQueue[20];
+        for (int i = 0; i < pools.length; i++) {
+            pools[i] = new LinkedBlockingQueue<>(maxPerLevel);
+        }
+    }
+
+    /**
+     * @param nowrap {@code true} for raw deflate (used inside gzip framing),
+     *               {@code false} for the zlib format used by {@code Content-Encoding: deflate}
+     */
+    public Deflater borrow(int level, boolean nowrap) {
+        Deflater deflater = pools[index(level, nowrap)].poll();
+        return deflater != null ? deflater : new Deflater(level, nowrap);
+    }
+
+    public void release(Deflater deflater, int level, boolean nowrap) {
+        deflater.reset();
+        if (!pools[index(level, nowrap)].offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /** Compresses {@code input} into a complete gzip member using a pooled deflater. */
+    public byte[] gzip(byte[] input, int level) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+        out.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+        Deflater deflater = borrow(level, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            byte[] buffer = new byte[Math.min(8192, Math.max(64, input.length))];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+        } finally {
+            release(deflater, level, true);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(input);
+        writeIntLE(out, (int) crc.getValue());
+        writeIntLE(out, input.length);
+        return out.toByteArray();
+    }
+
+    private static void writeIntLE(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >> 8);
+        out.write(value >> 16);
+        out.write(value >> 24);
+    }
+
+    private static int index(int level, boolean nowrap) {
+        if (level < 0 || level > 9) {
+            throw new IllegalArgumentException("Deflate level must be between 0 and 9, got " + level);
+        }
+        return level * 2 + (nowrap ? 1 : 0);
+    }
+}
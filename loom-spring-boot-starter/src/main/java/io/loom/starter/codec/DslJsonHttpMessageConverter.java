@@ -50,8 +50,7 @@ public class DslJsonHttpMessageConverter implements HttpMessageConverter<Object>
     public Object read(Class<?> clazz, HttpInputMessage inputMessage)
             throws IOException, HttpMessageNotReadableException {
         try {
-            byte[] bytes = inputMessage.getBody().readAllBytes();
-            return jsonCodec.readValue(bytes, clazz);
+            return jsonCodec.readValue(inputMessage.getBody(), clazz);
         } catch (IOException e) {
             throw new HttpMessageNotReadableException("Failed to read JSON", e, inputMessage);
         }
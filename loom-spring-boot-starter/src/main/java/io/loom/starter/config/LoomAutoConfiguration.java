@@ -5,20 +5,44 @@ import io.loom.core.codec.JsonCodec;
 import io.loom.core.engine.DagCompiler;
 import io.loom.core.engine.DagExecutor;
 import io.loom.core.engine.DagValidator;
+import io.loom.core.engine.ReferenceDataRefresher;
 import io.loom.core.engine.RetryExecutor;
+import io.loom.core.exception.LoomException;
 import io.loom.core.registry.ApiRegistry;
 import io.loom.core.registry.BuilderFactory;
+import io.loom.starter.cache.HeapResponseCacheStore;
+import io.loom.starter.cache.OffHeapResponseCacheStore;
+import io.loom.starter.cache.PersistentResponseCacheStore;
+import io.loom.starter.cache.ResponseCacheStore;
+import io.loom.starter.codec.BodyBufferPool;
+import io.loom.starter.codec.DeflaterPool;
+import io.loom.starter.context.MapRequestView;
+import io.loom.starter.context.SpringBuilderContext;
 import io.loom.starter.context.SpringBuilderFactory;
+import io.loom.starter.idempotency.IdempotencyInterceptor;
+import io.loom.starter.ratelimit.RateLimitInterceptor;
+import io.loom.starter.security.JwtInterceptor;
+import io.loom.starter.security.JwtVerifier;
+import io.loom.starter.security.VerifiedTokenCache;
 import io.loom.starter.registry.InMemoryApiRegistry;
 import io.loom.starter.registry.InterceptorRegistry;
+import io.loom.starter.service.ServiceClientRegistry;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.PublicKey;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -33,6 +57,73 @@ public class LoomAutoConfiguration {
         return new DslJsonCodec();
     }
 
+    @Bean
+    public DeflaterPool deflaterPool() {
+        return new DeflaterPool();
+    }
+
+    @Bean
+    public BodyBufferPool bodyBufferPool(LoomProperties loomProperties) {
+        LoomProperties.BodyBufferProperties bodyBuffer = loomProperties.getBodyBuffer();
+        return new BodyBufferPool(bodyBuffer.getSize(), bodyBuffer.getMaxPooled());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ResponseCacheStore loomResponseCacheStore(LoomProperties loomProperties) {
+        LoomProperties.ResponseCacheProperties responseCache = loomProperties.getResponseCache();
+        ResponseCacheStore memory = responseCache.isOffHeap()
+                ? new OffHeapResponseCacheStore(responseCache.getMaxEntries(), responseCache.getMaxBytes(),
+                        responseCache.getPageSize())
+                : new HeapResponseCacheStore(responseCache.getMaxEntries(), responseCache.getMaxBytes());
+        LoomProperties.ResponseCachePersistenceProperties persistence = responseCache.getPersistence();
+        if (persistence.isEnabled()) {
+            // Closed (flushing queued writes) by Spring's inferred destroy method
+            return new PersistentResponseCacheStore(memory, Path.of(persistence.getDirectory()),
+                    persistence.getSegmentBytes(), persistence.getMaxBytes());
+        }
+        return memory;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "loom.rate-limit", name = "enabled", havingValue = "true")
+    public RateLimitInterceptor loomRateLimitInterceptor(LoomProperties loomProperties) {
+        return new RateLimitInterceptor(loomProperties.getRateLimit());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "loom.jwt", name = "enabled", havingValue = "true")
+    public JwtInterceptor loomJwtInterceptor(LoomProperties loomProperties, JsonCodec jsonCodec) {
+        LoomProperties.JwtProperties jwt = loomProperties.getJwt();
+        Map<String, PublicKey> keys = new LinkedHashMap<>();
+        if (jwt.getJwksFile() != null) {
+            keys.putAll(JwtVerifier.parseJwks(readFile(jwt.getJwksFile()), jsonCodec));
+        }
+        jwt.getPublicKeys().forEach((kid, pem) -> keys.put(kid, JwtVerifier.parsePem(
+                pem.contains("-----BEGIN") ? pem : new String(readFile(pem), StandardCharsets.US_ASCII))));
+        JwtVerifier verifier = new JwtVerifier(keys, jsonCodec,
+                jwt.getIssuer(), jwt.getAudience(), jwt.getClockSkewSeconds());
+        VerifiedTokenCache cache = jwt.getCacheMaxEntries() > 0
+                ? new VerifiedTokenCache(jwt.getCacheMaxEntries(), jwt.getCacheMaxTtlSeconds()) : null;
+        return new JwtInterceptor(verifier, cache, jwt.getClaimsAttribute(), jwt.getSubjectAttribute());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "loom.idempotency", name = "enabled", havingValue = "true")
+    public IdempotencyInterceptor loomIdempotencyInterceptor(LoomProperties loomProperties) {
+        LoomProperties.IdempotencyProperties idempotency = loomProperties.getIdempotency();
+        return new IdempotencyInterceptor(idempotency.getMaxEntries(), idempotency.getTtlMs(),
+                idempotency.getMaxBodyBytes(), idempotency.getWaitTimeoutMs());
+    }
+
+    private static byte[] readFile(String path) {
+        try {
+            return Files.readAllBytes(Path.of(path));
+        } catch (IOException e) {
+            throw new LoomException("Cannot read JWT key file '" + path + "'", e);
+        }
+    }
+
     @Bean
     public ExecutorService loomVirtualThreadExecutor() {
         return Executors.newVirtualThreadPerTaskExecutor();
@@ -59,8 +150,16 @@ public class LoomAutoConfiguration {
     }
 
     @Bean
-    public DagExecutor dagExecutor(BuilderFactory builderFactory) {
-        return new DagExecutor(builderFactory);
+    public ReferenceDataRefresher referenceDataRefresher(BuilderFactory builderFactory,
+                                                         ServiceClientRegistry serviceClientRegistry) {
+        // Refreshes run outside any request: no path, params, headers or body, but services work
+        return new ReferenceDataRefresher(builderFactory, () -> new SpringBuilderContext(
+                MapRequestView.EMPTY, Map.of(), serviceClientRegistry, null, null));
+    }
+
+    @Bean
+    public DagExecutor dagExecutor(BuilderFactory builderFactory, ReferenceDataRefresher referenceDataRefresher) {
+        return new DagExecutor(builderFactory, referenceDataRefresher);
     }
 
     @Bean
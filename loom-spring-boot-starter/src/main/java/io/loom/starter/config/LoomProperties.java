@@ -2,6 +2,7 @@ package io.loom.starter.config;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +24,22 @@ public class LoomProperties {
 
     private long maxRequestBodySize = 10485760; // 10MB
 
+    private BodyBufferProperties bodyBuffer = new BodyBufferProperties();
+
+    private RateLimitProperties rateLimit = new RateLimitProperties();
+
+    private JwtProperties jwt = new JwtProperties();
+
+    private IdempotencyProperties idempotency = new IdempotencyProperties();
+
+    private CorsProperties cors = new CorsProperties();
+
+    private ResponseCacheProperties responseCache = new ResponseCacheProperties();
+
+    private CompressionProperties compression = new CompressionProperties();
+
+    private CacheControlProperties cacheControl = new CacheControlProperties();
+
     private List<String> basePackages = new ArrayList<>();
 
     @Data
@@ -35,9 +52,31 @@ public class LoomProperties {
 
         private RetryProperties retry = new RetryProperties();
 
+        private UpstreamCompressionProperties compression = new UpstreamCompressionProperties();
+
+        private HttpCacheProperties cache = new HttpCacheProperties();
+
         private Map<String, RouteProperties> routes = new HashMap<>();
     }
 
+    @Data
+    public static class UpstreamCompressionProperties {
+        private boolean enabled = false; // Accept-Encoding: gzip, inflated as a stream
+
+        private long requestMinSize = -1; // gzip request bodies at least this large; -1 = never
+    }
+
+    @Data
+    public static class HttpCacheProperties {
+        private boolean enabled = false; // honour upstream Cache-Control/ETag for this service
+
+        private long maxBytes = 33554432; // 32MB of cached upstream responses
+
+        private long negativeTtlMs = 5000; // 404/410 without explicit freshness
+
+        private boolean offHeap = false; // keep bodies in direct-memory slabs
+    }
+
     @Data
     public static class RouteProperties {
         private String path;
@@ -49,6 +88,41 @@ public class LoomProperties {
         private long readTimeoutMs = -1;
 
         private RetryProperties retry;
+
+        private HeaderPolicyProperties headers = new HeaderPolicyProperties();
+
+        private BatchProperties batch; // null = not a batch route
+    }
+
+    @Data
+    public static class BatchProperties {
+        private String keyParam = "ids"; // query parameter carrying the keys
+
+        private String keySeparator = ","; // empty = repeat keyParam per key
+
+        private long windowMs = 2; // how long a batch gathers keys
+
+        private int maxSize = 100; // a batch this large is sent at once
+
+        private long timeoutMs = 60000; // longest a loader waits for its batch
+    }
+
+    @Data
+    public static class HeaderPolicyProperties {
+        private HeaderRulesProperties request = new HeaderRulesProperties();
+
+        private HeaderRulesProperties response = new HeaderRulesProperties();
+    }
+
+    @Data
+    public static class HeaderRulesProperties {
+        private List<String> allow = new ArrayList<>(); // empty = forward everything not denied
+
+        private List<String> deny = new ArrayList<>();
+
+        private Map<String, String> rename = new HashMap<>();
+
+        private Map<String, String> add = new LinkedHashMap<>();
     }
 
     @Data
@@ -62,6 +136,130 @@ public class LoomProperties {
         private long maxDelayMs = 5000;
     }
 
+    @Data
+    public static class CompressionProperties {
+        private boolean enabled = true;
+
+        private int minResponseSize = 1024;
+
+        private int level = 6;
+
+        private List<String> mimeTypes = new ArrayList<>(List.of(
+                "application/json", "application/xml", "application/javascript",
+                "text/*"));
+    }
+
+    @Data
+    public static class BodyBufferProperties {
+        private int size = 16384; // bodies up to this Content-Length are read into pooled buffers
+
+        private int maxPooled = 256;
+    }
+
+    @Data
+    public static class RateLimitProperties {
+        private boolean enabled = false;
+
+        private RateLimitRule global; // applies to APIs without their own rule; null = unlimited
+
+        private Map<String, RateLimitRule> apis = new LinkedHashMap<>(); // keyed by "GET /api/users/{id}"
+
+        private long idleEvictionMs = 60000;
+    }
+
+    @Data
+    public static class RateLimitRule {
+        private double permitsPerSecond = 100;
+
+        private int burst = 0; // 0 = one second's worth of permits
+
+        private String key = ""; // header:<name>, path:<var>, query:<name>, ip; empty = one bucket per API
+    }
+
+    @Data
+    public static class JwtProperties {
+        private boolean enabled = false;
+
+        private Map<String, String> publicKeys = new LinkedHashMap<>(); // kid -> inline PEM or PEM file path
+
+        private String jwksFile; // local JWKS document, merged with public-keys
+
+        private String issuer; // required iss, null = not checked
+
+        private String audience; // required aud entry, null = not checked
+
+        private long clockSkewSeconds = 30;
+
+        private int cacheMaxEntries = 10000; // verified tokens kept until exp; 0 = no cache
+
+        private long cacheMaxTtlSeconds = 300; // cap per cached token, also for tokens without exp
+
+        private String claimsAttribute = "jwt.claims";
+
+        private String subjectAttribute = "jwt.subject";
+    }
+
+    @Data
+    public static class IdempotencyProperties {
+        private boolean enabled = false; // registers IdempotencyInterceptor; list it in @LoomApi(interceptors = ...)
+
+        private int maxEntries = 10000; // completed responses kept for replay
+
+        private long ttlMs = 86400000; // 24h replay window per key
+
+        private int maxBodyBytes = 1048576; // larger responses are sent but not recorded
+
+        private long waitTimeoutMs = 10000; // duplicates wait this long for the request in flight, then 409
+    }
+
+    @Data
+    public static class CorsProperties {
+        private boolean enabled = false; // CORS for every API; @LoomCors enables it per API
+
+        private List<String> allowedOrigins = new ArrayList<>(List.of("*"));
+
+        private List<String> allowedMethods = new ArrayList<>(); // empty = the API's own method (+ HEAD for GET)
+
+        private List<String> allowedHeaders = new ArrayList<>(List.of("*"));
+
+        private List<String> exposedHeaders = new ArrayList<>();
+
+        private boolean allowCredentials = false;
+
+        private long maxAge = 1800; // seconds browsers may cache a preflight
+    }
+
+    @Data
+    public static class ResponseCacheProperties {
+        private int maxEntries = 10000; // serialized responses of @LoomCache APIs
+
+        private long maxBytes = 67108864; // 64MB of response bodies
+
+        private boolean offHeap = false; // keep bodies in direct-memory slabs, LRU-evicted
+
+        private int pageSize = 4096; // off-heap allocation unit
+
+        private ResponseCachePersistenceProperties persistence = new ResponseCachePersistenceProperties();
+    }
+
+    @Data
+    public static class ResponseCachePersistenceProperties {
+        private boolean enabled = false; // restore fresh entries after a restart
+
+        private String directory = "loom-cache"; // local disk, one directory per instance
+
+        private int segmentBytes = 67108864; // 64MB memory-mapped segment files
+
+        private long maxBytes = 1073741824; // 1GB of segments on disk
+    }
+
+    @Data
+    public static class CacheControlProperties {
+        private boolean enabled = false; // derive Cache-Control of GET builder APIs from upstream freshness
+
+        private String surrogateKeyHeader = "Surrogate-Key"; // lists the routes called; empty = omit
+    }
+
     @Data
     public static class UiProperties {
         private boolean enabled = true;
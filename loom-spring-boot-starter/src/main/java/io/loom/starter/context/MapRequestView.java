@@ -0,0 +1,106 @@
+package io.loom.starter.context;
+
+import io.loom.core.codec.JsonCodec;
+import io.loom.core.exception.LoomException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link RequestView} over pre-built maps, for callers that construct a context
+ * without a live servlet request.
+ */
+public final class MapRequestView implements RequestView {
+
+    /** A request with no path variables, parameters, headers or body, e.g. for background work. */
+    public static final MapRequestView EMPTY = new MapRequestView("GET", "", null, null, null, null, null, null);
+
+    private final String httpMethod;
+    private final String requestPath;
+    private final Map<String, String> pathVariables;
+    private final Map<String, List<String>> queryParams;
+    private final Map<String, List<String>> headers;
+    private final byte[] rawRequestBody;
+    private final JsonCodec jsonCodec;
+    private final Object cachedRequestBody;
+
+    public MapRequestView(String httpMethod, String requestPath,
+                          Map<String, String> pathVariables,
+                          Map<String, List<String>> queryParams,
+                          Map<String, List<String>> headers,
+                          byte[] rawRequestBody,
+                          JsonCodec jsonCodec,
+                          Object cachedRequestBody) {
+        this.httpMethod = httpMethod;
+        this.requestPath = requestPath;
+        this.pathVariables = pathVariables != null ? pathVariables : Map.of();
+        this.queryParams = queryParams != null ? queryParams : Map.of();
+        this.headers = headers != null ? headers : Map.of();
+        this.rawRequestBody = rawRequestBody;
+        this.jsonCodec = jsonCodec;
+        this.cachedRequestBody = cachedRequestBody;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getRequestBody(Class<T> type) {
+        if (cachedRequestBody != null && type.isInstance(cachedRequestBody)) {
+            return (T) cachedRequestBody;
+        }
+        if (rawRequestBody == null || rawRequestBody.length == 0) {
+            return null;
+        }
+        try {
+            return jsonCodec.readValue(rawRequestBody, type);
+        } catch (Exception e) {
+            throw new LoomException("Failed to deserialize request body to " + type.getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public String getPathVariable(String name) {
+        return pathVariables.get(name);
+    }
+
+    @Override
+    public String getQueryParam(String name) {
+        List<String> values = queryParams.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    @Override
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    @Override
+    public String getRequestPath() {
+        return requestPath;
+    }
+
+    @Override
+    public Map<String, String> getPathVariables() {
+        return pathVariables;
+    }
+
+    @Override
+    public Map<String, List<String>> getQueryParams() {
+        return queryParams;
+    }
+
+    @Override
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public byte[] getRawRequestBody() {
+        return rawRequestBody;
+    }
+}
@@ -0,0 +1,33 @@
+package io.loom.starter.context;
+
+import io.loom.core.validation.RequestValidator;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of the incoming request, shared by the interceptor-facing
+ * {@code LoomHttpContext} and the {@link SpringBuilderContext} of the same request.
+ *
+ * <p>Implementations read through to the underlying request and populate derived views
+ * (header and query maps) lazily, so a builder that reads two headers never pays for
+ * materializing the rest. They must be safe for concurrent reads from parallel DAG nodes.</p>
+ */
+public interface RequestView {
+    String getHttpMethod();
+    String getRequestPath();
+    String getHeader(String name);
+    Map<String, List<String>> getHeaders();
+    String getQueryParam(String name);
+
+    /** Typed query param read; see {@link io.loom.core.builder.BuilderContext#getQueryParam(String, Class)}. */
+    default <T> T getQueryParam(String name, Class<T> type) {
+        return RequestValidator.convert(name, getQueryParam(name), type);
+    }
+
+    Map<String, List<String>> getQueryParams();
+    String getPathVariable(String name);
+    Map<String, String> getPathVariables();
+    byte[] getRawRequestBody();
+    <T> T getRequestBody(Class<T> type);
+}
@@ -2,30 +2,21 @@ package io.loom.starter.context;
 
 import io.loom.core.builder.BuilderContext;
 import io.loom.core.builder.LoomBuilder;
-import io.loom.core.codec.JsonCodec;
 import io.loom.core.exception.LoomDependencyResolutionException;
-import io.loom.core.exception.LoomException;
 import io.loom.core.service.ServiceAccessor;
 import io.loom.starter.service.ServiceAccessorImpl;
 import io.loom.starter.service.ServiceClientRegistry;
+import io.loom.starter.service.UpstreamFreshness;
 
 import java.util.*;
 
 public class SpringBuilderContext implements BuilderContext {
 
-    private final String httpMethod;
-    private final String requestPath;
-    private final Map<String, String> pathVariables;
-    private final Map<String, List<String>> queryParams;
-    private final Map<String, List<String>> headers;
-    private final byte[] rawRequestBody;
-    private final JsonCodec jsonCodec;
+    private final RequestView request;
+    private final Map<String, Object> parentAttributes;
     private final ServiceClientRegistry serviceRegistry;
-    private final Object cachedRequestBody;
-
-    private final Map<String, String> unmodPathVars;
-    private final Map<String, List<String>> unmodQueryParams;
-    private final Map<String, List<String>> unmodHeaders;
+    private final String rawQueryString;
+    private final UpstreamFreshness freshness;
 
     private final Map<String, Object> attributes = new HashMap<>();
     private static final Object NULL_SENTINEL = new Object();
@@ -35,26 +26,27 @@ public class SpringBuilderContext implements BuilderContext {
     private Map<Class<?>, Integer> typeIndexMap;
     private Map<Class<? extends LoomBuilder<?>>, Integer> builderIndexMap;
 
-    public SpringBuilderContext(String httpMethod, String requestPath,
-                                Map<String, String> pathVariables,
-                                Map<String, List<String>> queryParams,
-                                Map<String, List<String>> headers,
-                                byte[] rawRequestBody,
-                                JsonCodec jsonCodec,
+    /**
+     * Creates a context that reads request data through a shared {@link RequestView} instead of
+     * copying it up front; a {@link MapRequestView} serves callers without a live request.
+     *
+     * @param parentAttributes attributes set by interceptors, visible read-through; attributes
+     *                         set on this context shadow them without modifying the parent
+     * @param rawQueryString   the incoming raw query string, forwarded verbatim to upstream routes
+     *                         when it matches the query parameters; {@code null} to always re-encode
+     * @param freshness        collects the freshness of every upstream response builders receive;
+     *                         {@code null} disables tracking
+     */
+    public SpringBuilderContext(RequestView request,
+                                Map<String, Object> parentAttributes,
                                 ServiceClientRegistry serviceRegistry,
-                                Object cachedRequestBody) {
-        this.httpMethod = httpMethod;
-        this.requestPath = requestPath;
-        this.pathVariables = pathVariables != null ? pathVariables : Map.of();
-        this.queryParams = queryParams != null ? queryParams : Map.of();
-        this.headers = headers != null ? headers : Map.of();
-        this.rawRequestBody = rawRequestBody;
-        this.jsonCodec = jsonCodec;
+                                String rawQueryString,
+                                UpstreamFreshness freshness) {
+        this.request = request;
+        this.parentAttributes = parentAttributes != null ? parentAttributes : Map.of();
         this.serviceRegistry = serviceRegistry;
-        this.cachedRequestBody = cachedRequestBody;
-        this.unmodPathVars = this.pathVariables;
-        this.unmodQueryParams = this.queryParams;
-        this.unmodHeaders = this.headers;
+        this.rawQueryString = rawQueryString;
+        this.freshness = freshness;
     }
 
     @Override
@@ -67,66 +59,58 @@ public class SpringBuilderContext implements BuilderContext {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T getRequestBody(Class<T> type) {
-        if (cachedRequestBody != null && type.isInstance(cachedRequestBody)) {
-            return (T) cachedRequestBody;
-        }
-        if (rawRequestBody == null || rawRequestBody.length == 0) {
-            return null;
-        }
-        try {
-            return jsonCodec.readValue(rawRequestBody, type);
-        } catch (Exception e) {
-            throw new LoomException("Failed to deserialize request body to " + type.getSimpleName(), e);
-        }
+        return request.getRequestBody(type);
     }
 
     @Override
     public String getPathVariable(String name) {
-        return pathVariables.get(name);
+        return request.getPathVariable(name);
     }
 
     @Override
     public String getQueryParam(String name) {
-        List<String> values = queryParams.get(name);
-        return values != null && !values.isEmpty() ? values.get(0) : null;
+        return request.getQueryParam(name);
+    }
+
+    @Override
+    public <T> T getQueryParam(String name, Class<T> type) {
+        return request.getQueryParam(name, type);
     }
 
     @Override
     public String getHeader(String name) {
-        List<String> values = headers.get(name);
-        return values != null && !values.isEmpty() ? values.get(0) : null;
+        return request.getHeader(name);
     }
 
     @Override
     public String getHttpMethod() {
-        return httpMethod;
+        return request.getHttpMethod();
     }
 
     @Override
     public String getRequestPath() {
-        return requestPath;
+        return request.getRequestPath();
     }
 
     @Override
     public Map<String, String> getPathVariables() {
-        return unmodPathVars;
+        return request.getPathVariables();
     }
 
     @Override
     public Map<String, List<String>> getQueryParams() {
-        return unmodQueryParams;
+        return request.getQueryParams();
     }
 
     @Override
     public Map<String, List<String>> getHeaders() {
-        return unmodHeaders;
+        return request.getHeaders();
     }
 
     @Override
     public byte[] getRawRequestBody() {
-        return rawRequestBody;
+        return request.getRawRequestBody();
     }
 
     @Override
@@ -193,7 +177,8 @@ public class SpringBuilderContext implements BuilderContext {
 
     @Override
     public ServiceAccessor service(String name) {
-        return new ServiceAccessorImpl(name, serviceRegistry, pathVariables, queryParams);
+        return new ServiceAccessorImpl(name, serviceRegistry,
+                request.getPathVariables(), request.getQueryParams(), rawQueryString, freshness);
     }
 
     @Override
@@ -204,12 +189,23 @@ public class SpringBuilderContext implements BuilderContext {
     @Override
     @SuppressWarnings("unchecked")
     public <T> T getAttribute(String key, Class<T> type) {
-        return (T) attributes.get(key);
+        if (!attributes.isEmpty() && attributes.containsKey(key)) {
+            return (T) attributes.get(key);
+        }
+        return (T) parentAttributes.get(key);
     }
 
     @Override
     public Map<String, Object> getAttributes() {
-        return Collections.unmodifiableMap(attributes);
+        if (attributes.isEmpty()) {
+            return Collections.unmodifiableMap(parentAttributes);
+        }
+        if (parentAttributes.isEmpty()) {
+            return Collections.unmodifiableMap(attributes);
+        }
+        Map<String, Object> merged = new HashMap<>(parentAttributes);
+        merged.putAll(attributes);
+        return Collections.unmodifiableMap(merged);
     }
 
     @Override
@@ -221,6 +217,13 @@ public class SpringBuilderContext implements BuilderContext {
         }
     }
 
+    @Override
+    public void recordSnapshotFreshness(long remainingMs) {
+        if (freshness != null) {
+            freshness.recordStored(remainingMs);
+        }
+    }
+
     private List<String> availableTypeNames() {
         List<String> names = new ArrayList<>();
         for (var entry : typeIndexMap.entrySet()) {
@@ -0,0 +1,243 @@
+package io.loom.starter.idempotency;
+
+import io.loom.core.interceptor.InterceptorChain;
+import io.loom.core.interceptor.LoomHttpContext;
+import io.loom.core.interceptor.LoomInterceptor;
+import io.loom.core.model.ApiDefinition;
+import io.loom.starter.web.LoomHttpContextImpl;
+import io.loom.starter.web.ResponseCompressor;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Per-API {@code Idempotency-Key} support for POST and PATCH: reference it with
+ * {@code @LoomApi(interceptors = IdempotencyInterceptor.class)}.
+ * <p>
+ * The first request with a key runs normally while its response (status, headers and body
+ * bytes, as sent) is recorded; a later request with the same key, API and
+ * {@code Authorization} and {@code Cookie} gets that response replayed with {@code Idempotent-Replayed: true},
+ * without running interceptors after this one, the DAG or the upstream call again. Duplicates
+ * that arrive while the first request is still running wait for it, up to
+ * {@code waitTimeoutMs}, and get a 409 if it is still running then. Reusing a key with a
+ * different request body is a 422.
+ * <p>
+ * Only responses below 500 (other than 408 and 429) are kept, so a failed or throttled request
+ * can be retried with the same key; waiting duplicates then retry it themselves. This runs after
+ * every other interceptor, so only requests that passed authentication and rate limits are
+ * recorded.
+ */
+@Slf4j
+public class IdempotencyInterceptor implements LoomInterceptor {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final int maxBodyBytes;
+    private final long waitTimeoutMs;
+
+    /**
+     * @param maxEntries    completed responses kept; the oldest are evicted first
+     * @param ttlMs         how long a completed response is replayed
+     * @param maxBodyBytes  larger responses are sent but not recorded
+     * @param waitTimeoutMs how long a duplicate waits for the request in flight
+     */
+    public IdempotencyInterceptor(int maxEntries, long ttlMs, int maxBodyBytes, long waitTimeoutMs) {
+        this(maxEntries, ttlMs, maxBodyBytes, waitTimeoutMs, System::currentTimeMillis);
+    }
+
+    IdempotencyInterceptor(int maxEntries, long ttlMs, int maxBodyBytes, long waitTimeoutMs, LongSupplier clock) {
+        this.store = new IdempotencyStore(maxEntries, ttlMs, clock);
+        this.maxBodyBytes = maxBodyBytes;
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    @Override
+    public int order() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void handle(LoomHttpContext context, InterceptorChain chain) {
+        String idempotencyKey = context.getHeader(HEADER);
+        String method = context.getHttpMethod();
+        if (idempotencyKey == null || !(context instanceof LoomHttpContextImpl impl)
+                || !("POST".equalsIgnoreCase(method) || "PATCH".equalsIgnoreCase(method))) {
+            chain.next(context);
+            return;
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            reject(impl, 400, "Invalid Idempotency-Key");
+            return;
+        }
+
+        String key = scope(impl, idempotencyKey);
+        byte[] fingerprint = sha256(context.getRawRequestBody());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(key, fingerprint);
+            IdempotencyStore.Slot slot = claim.slot();
+            if (claim.leader()) {
+                record(impl, chain, key, slot);
+                return;
+            }
+            if (!Arrays.equals(slot.fingerprint, fingerprint)) {
+                reject(impl, 422, "Idempotency-Key reused with a different request body");
+                return;
+            }
+            IdempotencyStore.StoredResponse stored;
+            try {
+                stored = slot.done.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                reject(impl, 409, "A request with this Idempotency-Key is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject(impl, 409, "A request with this Idempotency-Key is still in progress");
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause()); // never completed exceptionally
+            }
+            if (stored != null) {
+                replay(impl, stored);
+                return;
+            }
+            // The first request failed and gave up the key: run this one instead
+        }
+    }
+
+    private void record(LoomHttpContextImpl context, InterceptorChain chain, String key, IdempotencyStore.Slot slot) {
+        RecordingResponse recording = new RecordingResponse(context.getServletResponse(), maxBodyBytes);
+        context.setServletResponse(recording);
+        // The adapter writes after the chain returns, so the outcome is only known on completion
+        context.onComplete(written -> {
+            int status = recording.getStatus();
+            if (written && recording.isRecorded() && status < 500 && status != 408 && status != 429) {
+                store.complete(key, slot, recording.toStoredResponse());
+            } else {
+                store.abandon(key, slot);
+            }
+        });
+        chain.next(context);
+    }
+
+    private static void replay(LoomHttpContextImpl context, IdempotencyStore.StoredResponse stored) {
+        HttpServletResponse response = context.getServletResponse();
+        byte[] body = stored.body();
+        String encoding = firstHeader(stored.headers(), "Content-Encoding");
+        // Recorded bytes are as sent; decode them for a duplicate that does not accept the encoding
+        boolean decode = encoding != null
+                && !ResponseCompressor.accepts(context.getServletRequest().getHeader("Accept-Encoding"), encoding)
+                && (encoding.equalsIgnoreCase("gzip") || encoding.equalsIgnoreCase("deflate"));
+        if (decode) {
+            try {
+                body = decode(body, encoding);
+            } catch (IOException e) {
+                log.debug("[Loom] Failed to decode replayed response: {}", e.getMessage());
+                decode = false;
+            }
+        }
+        response.setStatus(stored.status());
+        for (Map.Entry<String, List<String>> header : stored.headers().entrySet()) {
+            if (decode && "Content-Encoding".equalsIgnoreCase(header.getKey())) {
+                continue;
+            }
+            boolean first = true;
+            for (String value : header.getValue()) {
+                if (first) {
+                    response.setHeader(header.getKey(), value);
+                    first = false;
+                } else {
+                    response.addHeader(header.getKey(), value);
+                }
+            }
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(body.length);
+        try {
+            if (!"HEAD".equals(context.getServletRequest().getMethod())) {
+                response.getOutputStream().write(body);
+            }
+            response.flushBuffer();
+        } catch (IOException e) {
+            log.debug("[Loom] Failed to write replayed response: {}", e.getMessage());
+        }
+    }
+
+    private static void reject(LoomHttpContextImpl context, int status, String message) {
+        HttpServletResponse response = context.getServletResponse();
+        byte[] body = ("{\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        response.setStatus(status);
+        if (status == 409) {
+            response.setHeader("Retry-After", "1");
+        }
+        response.setContentType("application/json");
+        response.setContentLength(body.length);
+        try {
+            response.getOutputStream().write(body);
+            response.flushBuffer();
+        } catch (IOException e) {
+            log.debug("[Loom] Failed to write {} response: {}", status, e.getMessage());
+        }
+    }
+
+    /** Keys are per API and per caller, so one client's key never replays another's response. */
+    private static String scope(LoomHttpContextImpl context, String idempotencyKey) {
+        ApiDefinition api = context.getApiDefinition();
+        String route = api != null ? api.method() + " " + api.path() : context.getRequestPath();
+        String authorization = context.getHeader("Authorization");
+        String cookie = context.getHeader("Cookie");
+        String caller = authorization != null || cookie != null
+                ? HexFormat.of().formatHex(sha256((Objects.toString(authorization, "") + '\n'
+                        + Objects.toString(cookie, "")).getBytes(StandardCharsets.UTF_8)), 0, 16) : "";
+        return route + '\n' + caller + '\n' + idempotencyKey;
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes != null ? bytes : new byte[0]);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // mandatory in every JDK
+        }
+    }
+
+    private static String firstHeader(Map<String, List<String>> headers, String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    private static byte[] decode(byte[] body, String encoding) throws IOException {
+        InputStream raw = new ByteArrayInputStream(body);
+        try (InputStream in = encoding.equalsIgnoreCase("gzip") ? new GZIPInputStream(raw) : new InflaterInputStream(raw)) {
+            return in.readAllBytes();
+        }
+    }
+
+    int size() {
+        return store.size();
+    }
+}
@@ -0,0 +1,118 @@
+package io.loom.starter.idempotency;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-limited record of idempotency keys: in flight while the first request runs,
+ * then holding its response until {@code ttlMs} after it completed. Completed entries are
+ * evicted oldest first once {@code maxEntries} is exceeded; in-flight entries are never evicted,
+ * so a duplicate can always find the request it waits for.
+ */
+final class IdempotencyStore {
+
+    /** A response as written to the client, ready to be replayed. */
+    record StoredResponse(int status, Map<String, List<String>> headers, byte[] body) {}
+
+    /** The state of one key. {@link #done} completes with the response, or {@code null} if abandoned. */
+    static final class Slot {
+        final byte[] fingerprint;
+        final CompletableFuture<StoredResponse> done = new CompletableFuture<>();
+        private StoredResponse response;
+        private long expiresAtMillis = Long.MAX_VALUE;
+
+        Slot(byte[] fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    /** Result of {@link #claim}: the caller either runs the request itself or waits on {@code slot}. */
+    record Claim(boolean leader, Slot slot) {}
+
+    private final int maxEntries;
+    private final long ttlMs;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Slot> slots = new LinkedHashMap<>();
+
+    IdempotencyStore(int maxEntries, long ttlMs, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the live slot for {@code key}, or makes the caller its leader with a new in-flight
+     * slot if there is none or it has expired.
+     */
+    Claim claim(String key, byte[] fingerprint) {
+        long now = clock.getAsLong();
+        lock.lock();
+        try {
+            Slot existing = slots.get(key);
+            if (existing != null && existing.expiresAtMillis > now) {
+                return new Claim(false, existing);
+            }
+            Slot slot = new Slot(fingerprint);
+            slots.remove(key);
+            slots.put(key, slot);
+            evict(now);
+            return new Claim(true, slot);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Stores the leader's response and wakes the duplicates waiting for it. */
+    void complete(String key, Slot slot, StoredResponse response) {
+        lock.lock();
+        try {
+            slot.response = response;
+            slot.expiresAtMillis = clock.getAsLong() + ttlMs;
+        } finally {
+            lock.unlock();
+        }
+        slot.done.complete(response);
+    }
+
+    /** Forgets the key, so the next request with it runs again; waiting duplicates retry. */
+    void abandon(String key, Slot slot) {
+        lock.lock();
+        try {
+            slots.remove(key, slot);
+        } finally {
+            lock.unlock();
+        }
+        slot.done.complete(null);
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private void evict(long now) {
+        Iterator<Slot> it = slots.values().iterator();
+        while (it.hasNext()) {
+            Slot slot = it.next();
+            if (slot.response == null) {
+                continue; // in flight
+            }
+            if (slot.expiresAtMillis <= now || slots.size() > maxEntries) {
+                it.remove();
+            } else {
+                break;
+            }
+        }
+    }
+}
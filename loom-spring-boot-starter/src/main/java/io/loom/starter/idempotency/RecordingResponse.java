@@ -0,0 +1,121 @@
+package io.loom.starter.idempotency;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Response wrapper that copies the body bytes written through it, up to {@code maxBodyBytes},
+ * while passing everything through to the client unchanged. Responses written through
+ * {@link #getWriter()} or larger than the limit are not recorded.
+ */
+final class RecordingResponse extends HttpServletResponseWrapper {
+
+    // Describe this connection or exchange rather than the response, so they are never replayed
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            "content-length", "date", "transfer-encoding", "connection", "keep-alive");
+
+    private final int maxBodyBytes;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private boolean overflowed;
+    private boolean usedWriter;
+    private ServletOutputStream outputStream;
+
+    RecordingResponse(HttpServletResponse response, int maxBodyBytes) {
+        super(response);
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        usedWriter = true;
+        return super.getWriter();
+    }
+
+    boolean isRecorded() {
+        return !overflowed && !usedWriter;
+    }
+
+    /** Status, headers and body as the client received them. */
+    IdempotencyStore.StoredResponse toStoredResponse() {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : getHeaderNames()) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (!EXCLUDED_HEADERS.contains(lower) && !lower.startsWith("access-control-")) {
+                headers.putIfAbsent(name, List.copyOf(getHeaders(name)));
+            }
+        }
+        return new IdempotencyStore.StoredResponse(getStatus(), headers, body.toByteArray());
+    }
+
+    private void record(byte[] b, int off, int len) {
+        if (overflowed) {
+            return;
+        }
+        if (body.size() + len > maxBodyBytes) {
+            overflowed = true;
+            body.reset();
+            return;
+        }
+        body.write(b, off, len);
+    }
+
+    private final class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            record(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            record(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.loom.starter.ratelimit;
+
+import io.loom.core.interceptor.InterceptorChain;
+import io.loom.core.interceptor.LoomGlobalInterceptor;
+import io.loom.core.interceptor.LoomHttpContext;
+import io.loom.core.model.ApiDefinition;
+import io.loom.starter.config.LoomProperties;
+import io.loom.starter.web.LoomHttpContextImpl;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Global interceptor enforcing {@code loom.rate-limit} rules with per-API, per-key
+ * {@link RateLimiter} buckets.
+ * <p>
+ * Rules are keyed by route ({@code "GET /api/users/{id}"}); APIs without a rule fall back to
+ * the optional {@code global} rule. A rule's {@code key} selects the bucket: {@code header:<name>},
+ * {@code path:<var>}, {@code query:<name>}, {@code ip}, or empty for one bucket per API.
+ * Rejections are written straight to the servlet response as a pre-encoded 429 — no DAG,
+ * no JSON codec — and the response is committed so the adapter leaves it alone.
+ */
+@Slf4j
+public class RateLimitInterceptor implements LoomGlobalInterceptor {
+
+    private static final byte[] REJECTED_BODY =
+            "{\"error\":\"Too Many Requests\"}".getBytes(StandardCharsets.UTF_8);
+
+    private static final Limit UNLIMITED = new Limit(null, ctx -> "");
+
+    private final Map<String, Limit> limitsByRoute = new HashMap<>();
+    private final Limit globalLimit;
+    private final long idleEvictionMs;
+
+    private record Limit(RateLimiter limiter, Function<LoomHttpContext, String> key) {}
+
+    public RateLimitInterceptor(LoomProperties.RateLimitProperties properties) {
+        this.idleEvictionMs = properties.getIdleEvictionMs();
+        this.globalLimit = properties.getGlobal() != null ? compile("global", properties.getGlobal()) : UNLIMITED;
+        properties.getApis().forEach((route, rule) -> limitsByRoute.put(route, compile(route, rule)));
+        log.info("[Loom] Rate limiting enabled: {} API rule(s), global rule {}",
+                limitsByRoute.size(), properties.getGlobal() != null ? "set" : "not set");
+    }
+
+    /** Runs before all other interceptors so rejected requests cost as little as possible. */
+    @Override
+    public int order() {
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public void handle(LoomHttpContext context, InterceptorChain chain) {
+        Limit limit = limitFor(context);
+        if (limit.limiter() == null) {
+            chain.next(context);
+            return;
+        }
+        long waitNanos = limit.limiter().tryAcquire(limit.key().apply(context));
+        if (waitNanos == 0) {
+            chain.next(context);
+        } else {
+            reject(context, waitNanos);
+        }
+    }
+
+    private Limit limitFor(LoomHttpContext context) {
+        ApiDefinition api = context instanceof LoomHttpContextImpl impl ? impl.getApiDefinition() : null;
+        if (api == null) {
+            return globalLimit;
+        }
+        // Looked up by route rather than cached per definition, so nothing outlives an unregistered API
+        return limitsByRoute.getOrDefault(api.method() + " " + api.path(), globalLimit);
+    }
+
+    private Limit compile(String route, LoomProperties.RateLimitRule rule) {
+        int burst = rule.getBurst() > 0 ? rule.getBurst() : (int) Math.max(1, Math.ceil(rule.getPermitsPerSecond()));
+        RateLimiter limiter;
+        try {
+            limiter = new RateLimiter(rule.getPermitsPerSecond(), burst, idleEvictionMs);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("[Loom] Invalid rate limit for '" + route + "': " + e.getMessage(), e);
+        }
+        return new Limit(limiter, keyExtractor(route, rule.getKey()));
+    }
+
+    private static Function<LoomHttpContext, String> keyExtractor(String route, String spec) {
+        if (spec == null || spec.isBlank()) {
+            return ctx -> "";
+        }
+        if (spec.equals("ip")) {
+            return ctx -> ctx instanceof LoomHttpContextImpl impl
+                    ? impl.getServletRequest().getRemoteAddr() : "";
+        }
+        int colon = spec.indexOf(':');
+        String source = colon > 0 ? spec.substring(0, colon) : spec;
+        String name = colon > 0 ? spec.substring(colon + 1) : "";
+        if (!name.isEmpty()) {
+            switch (source) {
+                case "header" -> { return ctx -> orEmpty(ctx.getHeader(name)); }
+                case "path" -> { return ctx -> orEmpty(ctx.getPathVariable(name)); }
+                case "query" -> { return ctx -> orEmpty(ctx.getQueryParam(name)); }
+                default -> { }
+            }
+        }
+        throw new IllegalArgumentException("[Loom] Invalid rate limit key '" + spec + "' for '" + route
+                + "'; expected header:<name>, path:<var>, query:<name> or ip");
+    }
+
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static void reject(LoomHttpContext context, long waitNanos) {
+        String retryAfter = Long.toString(Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L));
+        if (context instanceof LoomHttpContextImpl impl) {
+            HttpServletResponse response = impl.getServletResponse();
+            response.setStatus(429);
+            response.setHeader("Retry-After", retryAfter);
+            response.setContentType("application/json");
+            response.setContentLength(REJECTED_BODY.length);
+            try {
+                response.getOutputStream().write(REJECTED_BODY);
+                response.flushBuffer();
+            } catch (IOException e) {
+                log.debug("[Loom] Failed to write 429 response: {}", e.getMessage());
+            }
+            return;
+        }
+        context.setResponseStatus(429);
+        context.setResponseHeader("Retry-After", retryAfter);
+        context.setResponseBody(Map.of("error", "Too Many Requests"));
+    }
+}
@@ -0,0 +1,100 @@
+package io.loom.starter.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token-bucket limiter using the generic cell rate algorithm (GCRA).
+ * <p>
+ * Each key's bucket is a single {@link AtomicLong} holding its theoretical arrival time (TAT)
+ * in nanoseconds; {@link #tryAcquire(String)} is one CAS loop with no locks, so contended keys
+ * never park a virtual thread. Buckets live in a {@link ConcurrentHashMap}. A bucket whose TAT
+ * is in the past is indistinguishable from a fresh one, so idle buckets are evicted without
+ * losing state by an amortized sweep piggybacked on acquisitions.
+ */
+public final class RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstWindowNanos;
+    private final long idleEvictionNanos;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep;
+
+    /**
+     * @param permitsPerSecond sustained rate per key
+     * @param burst            requests a key may make at once after being idle
+     * @param idleEvictionMs   how often idle buckets are swept
+     */
+    public RateLimiter(double permitsPerSecond, int burst, long idleEvictionMs) {
+        this(permitsPerSecond, burst, idleEvictionMs, System::nanoTime);
+    }
+
+    RateLimiter(double permitsPerSecond, int burst, long idleEvictionMs, LongSupplier clock) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive, got " + permitsPerSecond);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be at least 1, got " + burst);
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstWindowNanos = emissionIntervalNanos * burst;
+        this.idleEvictionNanos = idleEvictionMs * 1_000_000L;
+        this.clock = clock;
+        this.nextSweep = new AtomicLong(clock.getAsLong() + idleEvictionNanos);
+    }
+
+    /**
+     * Takes one permit for {@code key}.
+     *
+     * @return {@code 0} if the request is allowed, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        long wait;
+        while (true) {
+            AtomicLong bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+            wait = acquire(bucket, now);
+            // A sweep may have evicted the bucket between the lookup and the CAS; a permit taken
+            // from a detached bucket is forgotten, so take it again from the live one
+            if (buckets.get(key) == bucket) {
+                break;
+            }
+        }
+        if (now - nextSweep.get() >= 0) {
+            sweep(now);
+        }
+        return wait;
+    }
+
+    private long acquire(AtomicLong bucket, long now) {
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            long ahead = newTat - now;
+            if (ahead > burstWindowNanos) {
+                return ahead - burstWindowNanos;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    private void sweep(long now) {
+        long scheduled = nextSweep.get();
+        // One thread wins the sweep; the rest keep going
+        if (now - scheduled < 0 || !nextSweep.compareAndSet(scheduled, now + idleEvictionNanos)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
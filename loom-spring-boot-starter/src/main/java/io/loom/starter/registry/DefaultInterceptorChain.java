@@ -10,17 +10,40 @@ public class DefaultInterceptorChain implements InterceptorChain {
 
     private final List<LoomInterceptor> interceptors;
     private final Runnable terminalAction;
+    private final int parallelFrom;
+    private Runnable beforeParallel;
     private int index;
 
     public DefaultInterceptorChain(List<LoomInterceptor> interceptors, Runnable terminalAction) {
+        this(interceptors, terminalAction, null);
+    }
+
+    /**
+     * @param beforeParallel run once, just before the trailing run of {@linkplain LoomInterceptor#parallelizable()
+     *                       parallelizable} interceptors is invoked, so nothing it starts can observe
+     *                       a non-parallelizable interceptor still at work; {@code null} for none
+     */
+    public DefaultInterceptorChain(List<LoomInterceptor> interceptors, Runnable terminalAction,
+                                   Runnable beforeParallel) {
         this.interceptors = interceptors;
         this.terminalAction = terminalAction;
+        this.beforeParallel = beforeParallel;
         this.index = 0;
+        int from = interceptors.size();
+        while (from > 0 && interceptors.get(from - 1).parallelizable()) {
+            from--;
+        }
+        this.parallelFrom = from;
     }
 
     @Override
     public void next(LoomHttpContext context) {
         if (index < interceptors.size()) {
+            if (beforeParallel != null && index == parallelFrom) {
+                Runnable hook = beforeParallel;
+                beforeParallel = null;
+                hook.run();
+            }
             interceptors.get(index++).handle(context, this);
         } else {
             terminalAction.run();
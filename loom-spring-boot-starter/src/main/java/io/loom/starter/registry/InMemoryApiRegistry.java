@@ -3,20 +3,40 @@ package io.loom.starter.registry;
 import io.loom.core.model.ApiDefinition;
 import io.loom.core.model.RouteDefinition;
 import io.loom.core.registry.ApiRegistry;
-import io.loom.starter.web.PathMatcher;
+import io.loom.starter.web.RouteTrie;
+import io.loom.starter.web.RouteTrieSource;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Registry that publishes an immutable snapshot (API list + route trie) on every change.
+ * Writers are serialized by a lock and derive the next trie by path copying; readers,
+ * including {@link io.loom.starter.web.LoomHandlerMapping} on the request path, only
+ * perform a volatile read.
+ */
 @Slf4j
-public class InMemoryApiRegistry implements ApiRegistry {
+public class InMemoryApiRegistry implements ApiRegistry, RouteTrieSource {
 
-    private final List<ApiDefinition> apis = new CopyOnWriteArrayList<>();
+    private record Snapshot(List<ApiDefinition> apis, RouteTrie trie) {}
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(List.of(), new RouteTrie());
 
     @Override
     public void registerApi(ApiDefinition api) {
-        apis.add(api);
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            RouteTrie trie = current.trie().withRoute(api);
+            List<ApiDefinition> apis = new ArrayList<>(current.apis().size() + 1);
+            apis.addAll(current.apis());
+            apis.add(api);
+            snapshot = new Snapshot(Collections.unmodifiableList(apis), trie);
+        } finally {
+            writeLock.unlock();
+        }
         if (api.isPassthrough()) {
             log.info("[Loom] Registered passthrough API: {} {} -> {}.{}",
                     api.method(), api.path(), api.serviceName(), api.serviceRoute());
@@ -25,11 +45,34 @@ public class InMemoryApiRegistry implements ApiRegistry {
         }
     }
 
+    @Override
+    public boolean unregisterApi(String method, String path) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            List<ApiDefinition> apis = new ArrayList<>(current.apis());
+            boolean removed = apis.removeIf(a -> a.method().equalsIgnoreCase(method) && a.path().equals(path));
+            if (!removed) {
+                return false;
+            }
+            snapshot = new Snapshot(Collections.unmodifiableList(apis),
+                    current.trie().withoutRoute(method, path));
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("[Loom] Unregistered API: {} {}", method, path);
+        return true;
+    }
+
+    @Override
+    public RouteTrie routeTrie() {
+        return snapshot.trie();
+    }
+
     @Override
     public Optional<ApiDefinition> findApi(String method, String path) {
-        return apis.stream()
-                .filter(a -> a.method().equalsIgnoreCase(method) && PathMatcher.matches(a.path(), path))
-                .findFirst();
+        RouteTrie.Route route = snapshot.trie().lookup(method, path, 0);
+        return route != null ? Optional.of(route.api()) : Optional.empty();
     }
 
     @Override
@@ -39,13 +82,13 @@ public class InMemoryApiRegistry implements ApiRegistry {
 
     @Override
     public List<ApiDefinition> getAllApis() {
-        return Collections.unmodifiableList(apis);
+        return snapshot.apis();
     }
 
     @Override
     public List<RouteDefinition> getAllRoutes() {
         List<RouteDefinition> routes = new ArrayList<>();
-        apis.forEach(a -> routes.add(a.toRoute()));
+        snapshot.apis().forEach(a -> routes.add(a.toRoute()));
         return Collections.unmodifiableList(routes);
     }
 }
@@ -1,22 +1,32 @@
 package io.loom.starter.scanner;
 
 import io.loom.core.annotation.LoomApi;
+import io.loom.core.annotation.LoomCache;
+import io.loom.core.annotation.LoomCoalesce;
+import io.loom.core.annotation.LoomCompression;
+import io.loom.core.annotation.LoomCors;
 import io.loom.core.annotation.LoomGraph;
 import io.loom.core.annotation.LoomProxy;
 import io.loom.core.engine.Dag;
 import io.loom.core.engine.DagCompiler;
+import io.loom.core.exception.LoomException;
 import io.loom.core.model.ApiDefinition;
+import io.loom.core.model.CoalescePolicy;
+import io.loom.core.model.CorsPolicy;
 import io.loom.core.model.HeaderParamDefinition;
 import io.loom.core.model.QueryParamDefinition;
+import io.loom.core.model.ResponseCachePolicy;
 import io.loom.core.registry.ApiRegistry;
 import io.loom.core.service.RouteConfig;
 import io.loom.core.validation.RequestValidator;
 import io.loom.core.validation.ValidationPlan;
+import io.loom.starter.config.LoomProperties;
 import io.loom.starter.service.ServiceClientRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.context.ApplicationContext;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -28,15 +38,29 @@ public class LoomAnnotationScanner {
     private final DagCompiler dagCompiler;
     private final ApiRegistry apiRegistry;
     private final ServiceClientRegistry serviceClientRegistry;
+    private final LoomProperties.CorsProperties corsProperties;
 
     public LoomAnnotationScanner(ApplicationContext applicationContext,
                                   DagCompiler dagCompiler,
                                   ApiRegistry apiRegistry,
                                   ServiceClientRegistry serviceClientRegistry) {
+        this(applicationContext, dagCompiler, apiRegistry, serviceClientRegistry,
+                new LoomProperties.CorsProperties());
+    }
+
+    /**
+     * @param corsProperties global {@code loom.cors} settings that {@link LoomCors} overrides per API
+     */
+    public LoomAnnotationScanner(ApplicationContext applicationContext,
+                                  DagCompiler dagCompiler,
+                                  ApiRegistry apiRegistry,
+                                  ServiceClientRegistry serviceClientRegistry,
+                                  LoomProperties.CorsProperties corsProperties) {
         this.applicationContext = applicationContext;
         this.dagCompiler = dagCompiler;
         this.apiRegistry = apiRegistry;
         this.serviceClientRegistry = serviceClientRegistry;
+        this.corsProperties = corsProperties;
     }
 
     public void scan() {
@@ -54,6 +78,9 @@ public class LoomAnnotationScanner {
 
             if (api == null) continue;
 
+            int compressionLevel = compressionLevel(apiClass.getAnnotation(LoomCompression.class));
+            CorsPolicy corsPolicy = corsPolicy(api, apiClass.getAnnotation(LoomCors.class));
+
             List<QueryParamDefinition> queryParams = Arrays.stream(api.queryParams())
                     .map(qp -> new QueryParamDefinition(
                             qp.name(), qp.type(), qp.required(),
@@ -65,28 +92,31 @@ public class LoomAnnotationScanner {
                             hp.name(), hp.required(), hp.description()))
                     .toList();
 
+            LoomCache cache = apiClass.getAnnotation(LoomCache.class);
+            if (cache != null && (graph == null || !"GET".equalsIgnoreCase(api.method()))) {
+                throw new LoomException("@LoomCache is only supported on GET builder APIs: "
+                        + api.method() + " " + api.path());
+            }
+            LoomCoalesce coalesce = apiClass.getAnnotation(LoomCoalesce.class);
+            if (coalesce != null && (graph == null || !"GET".equalsIgnoreCase(api.method()))) {
+                throw new LoomException("@LoomCoalesce is only supported on GET builder APIs: "
+                        + api.method() + " " + api.path());
+            }
+
             if (graph != null) {
                 Dag dag = dagCompiler.compile(apiClass);
                 ValidationPlan validationPlan = RequestValidator.compile(
                         queryParams, headerParams, api.request(), api.method());
 
-                ApiDefinition definition = new ApiDefinition(
-                        api.method(),
-                        api.path(),
-                        api.request(),
-                        api.response(),
-                        api.interceptors(),
-                        dag,
-                        api.summary(),
-                        api.description(),
-                        api.tags(),
-                        queryParams,
-                        headerParams,
-                        null,
-                        null,
-                        null,
-                        validationPlan
-                );
+                ApiDefinition definition = describe(api, queryParams, headerParams)
+                        .dag(dag)
+                        .validationPlan(validationPlan)
+                        .compressionLevel(compressionLevel)
+                        .corsPolicy(corsPolicy)
+                        .cachePolicy(cachePolicy(api, cache))
+                        .coalescePolicy(coalesce != null ? new CoalescePolicy(
+                                List.of(coalesce.queryParams()), List.of(coalesce.keyHeaders())) : null)
+                        .build();
                 apiRegistry.registerApi(definition);
                 log.info("[Loom] Scanned builder API: {} {} from {}",
                         api.method(), api.path(), apiClass.getSimpleName());
@@ -97,23 +127,14 @@ public class LoomAnnotationScanner {
                 RouteConfig routeConfig = serviceClientRegistry.getRouteConfig(
                         proxy.service(), proxy.route());
 
-                ApiDefinition definition = new ApiDefinition(
-                        api.method(),
-                        api.path(),
-                        api.request(),
-                        api.response(),
-                        api.interceptors(),
-                        null,
-                        api.summary(),
-                        api.description(),
-                        api.tags(),
-                        queryParams,
-                        headerParams,
-                        proxy.service(),
-                        proxy.route(),
-                        routeConfig.compiledTemplate(),
-                        validationPlan
-                );
+                ApiDefinition definition = describe(api, queryParams, headerParams)
+                        .passthrough(proxy.service(), proxy.route(), routeConfig.compiledTemplate())
+                        .validationPlan(validationPlan)
+                        .compressionLevel(compressionLevel)
+                        .requestHeaderPolicy(routeConfig.requestHeaders())
+                        .responseHeaderPolicy(routeConfig.responseHeaders())
+                        .corsPolicy(corsPolicy)
+                        .build();
                 apiRegistry.registerApi(definition);
                 log.info("[Loom] Scanned passthrough API: {} {} -> {}.{} from {}",
                         api.method(), api.path(), proxy.service(), proxy.route(),
@@ -124,4 +145,73 @@ public class LoomAnnotationScanner {
             }
         }
     }
+
+    private static ApiDefinition.Builder describe(LoomApi api, List<QueryParamDefinition> queryParams,
+                                                  List<HeaderParamDefinition> headerParams) {
+        return ApiDefinition.builder(api.method(), api.path())
+                .requestType(api.request())
+                .responseType(api.response())
+                .interceptors(api.interceptors())
+                .summary(api.summary())
+                .description(api.description())
+                .tags(api.tags())
+                .queryParams(queryParams)
+                .headerParams(headerParams);
+    }
+
+    private static int compressionLevel(LoomCompression compression) {
+        if (compression == null) {
+            return ApiDefinition.DEFAULT_COMPRESSION;
+        }
+        if (!compression.enabled()) {
+            return 0;
+        }
+        int level = compression.level();
+        if (level != ApiDefinition.DEFAULT_COMPRESSION && (level < 1 || level > 9)) {
+            throw new LoomException("@LoomCompression level must be between 1 and 9, got " + level);
+        }
+        return level;
+    }
+
+    private static ResponseCachePolicy cachePolicy(LoomApi api, LoomCache cache) {
+        if (cache == null) {
+            return null;
+        }
+        try {
+            return new ResponseCachePolicy(cache.ttlMs(), List.of(cache.queryParams()), List.of(cache.varyHeaders()),
+                    List.of(cache.keyHeaders()));
+        } catch (IllegalArgumentException e) {
+            throw new LoomException("Invalid @LoomCache on " + api.method() + " " + api.path()
+                    + ": " + e.getMessage(), e);
+        }
+    }
+
+    private CorsPolicy corsPolicy(LoomApi api, LoomCors cors) {
+        if (cors == null ? !corsProperties.isEnabled() : !cors.enabled()) {
+            return null;
+        }
+        List<String> methods = cors != null && cors.methods().length > 0
+                ? List.of(cors.methods()) : corsProperties.getAllowedMethods();
+        if (methods.isEmpty()) {
+            methods = new ArrayList<>(List.of(api.method()));
+            if ("GET".equalsIgnoreCase(api.method())) {
+                methods.add("HEAD");
+            }
+        }
+        try {
+            return CorsPolicy.compile(
+                    cors != null && cors.origins().length > 0
+                            ? List.of(cors.origins()) : corsProperties.getAllowedOrigins(),
+                    methods,
+                    cors != null && cors.headers().length > 0
+                            ? List.of(cors.headers()) : corsProperties.getAllowedHeaders(),
+                    cors != null && cors.exposedHeaders().length > 0
+                            ? List.of(cors.exposedHeaders()) : corsProperties.getExposedHeaders(),
+                    (cors != null && cors.allowCredentials()) || corsProperties.isAllowCredentials(),
+                    cors != null && cors.maxAge() >= 0 ? cors.maxAge() : corsProperties.getMaxAge());
+        } catch (IllegalArgumentException e) {
+            throw new LoomException("Invalid CORS configuration for " + api.method() + " " + api.path()
+                    + ": " + e.getMessage(), e);
+        }
+    }
 }
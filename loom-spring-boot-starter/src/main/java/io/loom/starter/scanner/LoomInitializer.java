@@ -2,11 +2,18 @@ package io.loom.starter.scanner;
 
 import io.loom.core.engine.DagCompiler;
 import io.loom.core.engine.DagExecutor;
+import io.loom.core.engine.ReferenceDataRefresher;
+import io.loom.core.model.ApiDefinition;
 import io.loom.core.registry.ApiRegistry;
 import io.loom.starter.config.LoomProperties;
 import io.loom.starter.service.ServiceClientRegistry;
 import io.loom.starter.web.LoomHandlerAdapter;
 import io.loom.starter.web.LoomHandlerMapping;
+import io.loom.starter.web.ResponseCompressor;
+import io.loom.starter.cache.ResponseCache;
+import io.loom.starter.cache.ResponseCacheStore;
+import io.loom.starter.codec.BodyBufferPool;
+import io.loom.starter.codec.DeflaterPool;
 import io.loom.starter.registry.InterceptorRegistry;
 import io.loom.core.codec.JsonCodec;
 import lombok.extern.slf4j.Slf4j;
@@ -25,15 +32,21 @@ public class LoomInitializer implements SmartInitializingSingleton {
     private final DagCompiler dagCompiler;
     private final ApiRegistry apiRegistry;
     private final ServiceClientRegistry serviceClientRegistry;
+    private final LoomProperties loomProperties;
+    private final ReferenceDataRefresher referenceDataRefresher;
 
     public LoomInitializer(ApplicationContext applicationContext,
                            DagCompiler dagCompiler,
                            ApiRegistry apiRegistry,
-                           ServiceClientRegistry serviceClientRegistry) {
+                           ServiceClientRegistry serviceClientRegistry,
+                           LoomProperties loomProperties,
+                           ReferenceDataRefresher referenceDataRefresher) {
         this.applicationContext = applicationContext;
         this.dagCompiler = dagCompiler;
         this.apiRegistry = apiRegistry;
         this.serviceClientRegistry = serviceClientRegistry;
+        this.loomProperties = loomProperties;
+        this.referenceDataRefresher = referenceDataRefresher;
     }
 
     @Override
@@ -42,12 +55,19 @@ public class LoomInitializer implements SmartInitializingSingleton {
 
         // Scan annotations
         LoomAnnotationScanner scanner = new LoomAnnotationScanner(
-                applicationContext, dagCompiler, apiRegistry, serviceClientRegistry);
+                applicationContext, dagCompiler, apiRegistry, serviceClientRegistry, loomProperties.getCors());
         scanner.scan();
 
         int apiCount = apiRegistry.getAllApis().size();
         log.info("[Loom] Registered {} APIs", apiCount);
 
+        // Build reference data before the first request so no request waits for it
+        for (ApiDefinition api : apiRegistry.getAllApis()) {
+            if (api.dag() != null) {
+                api.dag().topologicalOrder().forEach(referenceDataRefresher::register);
+            }
+        }
+
         log.info("[Loom] Framework initialized successfully");
     }
 
@@ -61,8 +81,21 @@ public class LoomInitializer implements SmartInitializingSingleton {
                                               InterceptorRegistry interceptorRegistry,
                                               ServiceClientRegistry serviceClientRegistry,
                                               JsonCodec jsonCodec,
+                                              DeflaterPool deflaterPool,
+                                              BodyBufferPool bodyBufferPool,
+                                              ResponseCacheStore responseCacheStore,
                                               LoomProperties loomProperties) {
+        LoomProperties.CompressionProperties compression = loomProperties.getCompression();
+        LoomProperties.CacheControlProperties cacheControl = loomProperties.getCacheControl();
+        ResponseCompressor responseCompressor = compression.isEnabled()
+                ? new ResponseCompressor(compression.getMinResponseSize(), compression.getLevel(),
+                        compression.getMimeTypes(), deflaterPool)
+                : null;
         return new LoomHandlerAdapter(dagExecutor, interceptorRegistry,
-                serviceClientRegistry, jsonCodec, loomProperties.getMaxRequestBodySize());
+                serviceClientRegistry, jsonCodec, loomProperties.getMaxRequestBodySize(),
+                responseCompressor, bodyBufferPool, new ResponseCache(responseCacheStore),
+                cacheControl.isEnabled(),
+                cacheControl.getSurrogateKeyHeader() == null || cacheControl.getSurrogateKeyHeader().isEmpty()
+                        ? null : cacheControl.getSurrogateKeyHeader());
     }
 }
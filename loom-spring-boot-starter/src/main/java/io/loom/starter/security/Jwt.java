@@ -0,0 +1,13 @@
+package io.loom.starter.security;
+
+import java.util.Map;
+
+/**
+ * A verified JWT.
+ *
+ * @param subject   the {@code sub} claim, or {@code null}
+ * @param claims    all claims, unmodifiable
+ * @param expiresAt the {@code exp} claim in epoch seconds, or {@link Long#MAX_VALUE} if absent
+ */
+public record Jwt(String subject, Map<String, Object> claims, long expiresAt) {
+}
@@ -0,0 +1,91 @@
+package io.loom.starter.security;
+
+import io.loom.core.exception.LoomAuthenticationException;
+import io.loom.core.interceptor.InterceptorChain;
+import io.loom.core.interceptor.LoomHttpContext;
+import io.loom.core.interceptor.LoomInterceptor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+
+/**
+ * Per-API bearer-token authentication: reference it with
+ * {@code @LoomApi(interceptors = JwtInterceptor.class)}.
+ * <p>
+ * Verified tokens are served from a {@link VerifiedTokenCache} until they expire, so the
+ * signature check runs once per token rather than once per request. On success the claims and
+ * subject are set as context attributes, which builders read through
+ * {@code BuilderContext.getAttribute}. Missing or invalid tokens get a 401 with a
+ * {@code WWW-Authenticate: Bearer} challenge.
+ */
+@Slf4j
+public class JwtInterceptor implements LoomInterceptor {
+
+    public static final String DEFAULT_CLAIMS_ATTRIBUTE = "jwt.claims";
+    public static final String DEFAULT_SUBJECT_ATTRIBUTE = "jwt.subject";
+
+    private final JwtVerifier verifier;
+    private final VerifiedTokenCache cache;
+    private final String claimsAttribute;
+    private final String subjectAttribute;
+
+    public JwtInterceptor(JwtVerifier verifier, VerifiedTokenCache cache) {
+        this(verifier, cache, DEFAULT_CLAIMS_ATTRIBUTE, DEFAULT_SUBJECT_ATTRIBUTE);
+    }
+
+    /**
+     * @param cache verified-token cache, or {@code null} to verify every request
+     */
+    public JwtInterceptor(JwtVerifier verifier, VerifiedTokenCache cache,
+                          String claimsAttribute, String subjectAttribute) {
+        this.verifier = verifier;
+        this.cache = cache;
+        this.claimsAttribute = claimsAttribute;
+        this.subjectAttribute = subjectAttribute;
+    }
+
+    @Override
+    public void handle(LoomHttpContext context, InterceptorChain chain) {
+        String authorization = context.getHeader("Authorization");
+        if (authorization == null || !authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            reject(context, "Bearer", "Missing bearer token");
+            return;
+        }
+        Jwt jwt;
+        try {
+            jwt = authenticate(authorization.substring(7).trim());
+        } catch (LoomAuthenticationException e) {
+            log.debug("[Loom] JWT rejected: {}", e.getMessage());
+            reject(context, "Bearer error=\"invalid_token\"", "Invalid bearer token");
+            return;
+        }
+        context.setAttribute(claimsAttribute, jwt.claims());
+        if (jwt.subject() != null) {
+            context.setAttribute(subjectAttribute, jwt.subject());
+        }
+        chain.next(context);
+    }
+
+    /**
+     * Returns the verified token, from the cache when possible.
+     *
+     * @throws LoomAuthenticationException if the token does not verify
+     */
+    public Jwt authenticate(String token) {
+        if (cache == null) {
+            return verifier.verify(token);
+        }
+        Jwt jwt = cache.get(token);
+        if (jwt == null) {
+            jwt = verifier.verify(token);
+            cache.put(token, jwt);
+        }
+        return jwt;
+    }
+
+    private static void reject(LoomHttpContext context, String challenge, String message) {
+        context.setResponseStatus(401);
+        context.setResponseHeader("WWW-Authenticate", challenge);
+        context.setResponseBody(Map.of("error", message));
+    }
+}
@@ -0,0 +1,268 @@
+package io.loom.starter.security;
+
+import io.loom.core.codec.JsonCodec;
+import io.loom.core.exception.LoomAuthenticationException;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.cert.CertificateFactory;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PSSParameterSpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.util.*;
+
+/**
+ * Verifies compact-serialized JWS tokens against locally configured public keys using only
+ * JDK crypto. Supports RS256/384/512, PS256/384/512 and ES256/384/512; {@code none} and
+ * HMAC algorithms are rejected. The key type must match the algorithm family, so a public
+ * key can never be used as an HMAC secret.
+ */
+public final class JwtVerifier {
+
+    private static final Base64.Decoder B64URL = Base64.getUrlDecoder();
+
+    private final Map<String, PublicKey> keysById;
+    private final PublicKey singleKey; // used when the token has no kid and exactly one key is configured
+    private final JsonCodec jsonCodec;
+    private final String issuer;
+    private final String audience;
+    private final long clockSkewSeconds;
+    private final Clock clock;
+
+    /**
+     * @param keysById public keys by key id ({@code kid})
+     * @param issuer   required {@code iss}, or {@code null} to skip the check
+     * @param audience required {@code aud} entry, or {@code null} to skip the check
+     */
+    public JwtVerifier(Map<String, PublicKey> keysById, JsonCodec jsonCodec,
+                       String issuer, String audience, long clockSkewSeconds) {
+        this(keysById, jsonCodec, issuer, audience, clockSkewSeconds, Clock.systemUTC());
+    }
+
+    JwtVerifier(Map<String, PublicKey> keysById, JsonCodec jsonCodec,
+                String issuer, String audience, long clockSkewSeconds, Clock clock) {
+        if (keysById == null || keysById.isEmpty()) {
+            throw new IllegalArgumentException("[Loom] JWT verification requires at least one public key");
+        }
+        this.keysById = Map.copyOf(keysById);
+        this.singleKey = keysById.size() == 1 ? keysById.values().iterator().next() : null;
+        this.jsonCodec = jsonCodec;
+        this.issuer = issuer;
+        this.audience = audience;
+        this.clockSkewSeconds = clockSkewSeconds;
+        this.clock = clock;
+    }
+
+    /**
+     * Verifies the token's signature and registered claims.
+     *
+     * @throws LoomAuthenticationException if the token is malformed, unsigned by a known key,
+     *                                     expired, not yet valid, or for another issuer/audience
+     */
+    public Jwt verify(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new LoomAuthenticationException("Malformed JWT");
+        }
+
+        Map<String, Object> header = decodeJson(token.substring(0, firstDot), "header");
+        String alg = header.get("alg") instanceof String s ? s : null;
+        Object kid = header.get("kid");
+        PublicKey key = kid instanceof String id ? keysById.get(id) : singleKey;
+        if (key == null) {
+            throw new LoomAuthenticationException("No key configured for JWT kid '" + kid + "'");
+        }
+
+        byte[] signature;
+        try {
+            signature = B64URL.decode(token.substring(secondDot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new LoomAuthenticationException("Malformed JWT signature", e);
+        }
+        byte[] signingInput = token.substring(0, secondDot).getBytes(StandardCharsets.US_ASCII);
+        if (!verifySignature(alg, key, signingInput, signature)) {
+            throw new LoomAuthenticationException("Invalid JWT signature");
+        }
+
+        Map<String, Object> claims = decodeJson(token.substring(firstDot + 1, secondDot), "claims");
+        long now = clock.instant().getEpochSecond();
+        long expiresAt = claims.get("exp") instanceof Number exp ? exp.longValue() : Long.MAX_VALUE;
+        if (now - clockSkewSeconds >= expiresAt) {
+            throw new LoomAuthenticationException("JWT expired");
+        }
+        if (claims.get("nbf") instanceof Number nbf && now + clockSkewSeconds < nbf.longValue()) {
+            throw new LoomAuthenticationException("JWT not yet valid");
+        }
+        if (issuer != null && !issuer.equals(claims.get("iss"))) {
+            throw new LoomAuthenticationException("JWT issuer not accepted");
+        }
+        if (audience != null && !hasAudience(claims.get("aud"))) {
+            throw new LoomAuthenticationException("JWT audience not accepted");
+        }
+
+        String subject = claims.get("sub") instanceof String sub ? sub : null;
+        return new Jwt(subject, Collections.unmodifiableMap(claims), expiresAt);
+    }
+
+    private boolean hasAudience(Object aud) {
+        if (aud instanceof String s) {
+            return audience.equals(s);
+        }
+        return aud instanceof Collection<?> list && list.contains(audience);
+    }
+
+    private static boolean verifySignature(String alg, PublicKey key, byte[] input, byte[] signature) {
+        if (alg == null) {
+            throw new LoomAuthenticationException("JWT header has no alg");
+        }
+        try {
+            Signature verifier;
+            switch (alg) {
+                case "RS256", "RS384", "RS512" -> {
+                    requireKey(key instanceof RSAPublicKey, alg);
+                    verifier = Signature.getInstance("SHA" + alg.substring(2) + "withRSA");
+                }
+                case "PS256", "PS384", "PS512" -> {
+                    requireKey(key instanceof RSAPublicKey, alg);
+                    String digest = "SHA-" + alg.substring(2);
+                    verifier = Signature.getInstance("RSASSA-PSS");
+                    verifier.setParameter(new PSSParameterSpec(digest, "MGF1",
+                            new MGF1ParameterSpec(digest), Integer.parseInt(alg.substring(2)) / 8, 1));
+                }
+                case "ES256", "ES384", "ES512" -> {
+                    requireKey(key instanceof ECPublicKey, alg);
+                    // JWS carries raw R||S, which is what the P1363 variants expect
+                    verifier = Signature.getInstance("SHA" + alg.substring(2) + "withECDSAinP1363Format");
+                }
+                default -> throw new LoomAuthenticationException("Unsupported JWT alg '" + alg + "'");
+            }
+            verifier.initVerify(key);
+            verifier.update(input);
+            return verifier.verify(signature);
+        } catch (GeneralSecurityException e) {
+            throw new LoomAuthenticationException("JWT signature verification failed", e);
+        }
+    }
+
+    private static void requireKey(boolean matches, String alg) {
+        if (!matches) {
+            throw new LoomAuthenticationException("JWT alg '" + alg + "' does not match the key type");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> decodeJson(String part, String what) {
+        try {
+            Map<String, Object> map = jsonCodec.readValue(B64URL.decode(part), Map.class);
+            if (map == null) {
+                throw new LoomAuthenticationException("Malformed JWT " + what);
+            }
+            return map;
+        } catch (LoomAuthenticationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LoomAuthenticationException("Malformed JWT " + what, e);
+        }
+    }
+
+    // ── Key loading (startup) ─────────────────────────────────────────
+
+    /**
+     * Parses a PEM {@code PUBLIC KEY} (RSA or EC) or {@code CERTIFICATE}.
+     *
+     * @throws IllegalArgumentException if the PEM cannot be parsed
+     */
+    public static PublicKey parsePem(String pem) {
+        try {
+            if (pem.contains("-----BEGIN CERTIFICATE-----")) {
+                return CertificateFactory.getInstance("X.509")
+                        .generateCertificate(new ByteArrayInputStream(pem.getBytes(StandardCharsets.US_ASCII)))
+                        .getPublicKey();
+            }
+            String base64 = pem.replaceAll("-----(BEGIN|END) PUBLIC KEY-----", "").replaceAll("\\s", "");
+            X509EncodedKeySpec spec = new X509EncodedKeySpec(Base64.getDecoder().decode(base64));
+            try {
+                return KeyFactory.getInstance("RSA").generatePublic(spec);
+            } catch (GeneralSecurityException notRsa) {
+                return KeyFactory.getInstance("EC").generatePublic(spec);
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("[Loom] Cannot parse PEM public key", e);
+        }
+    }
+
+    /**
+     * Parses the RSA and EC signing keys of a JWKS document into a kid → key map. Keys without a
+     * {@code kid} are keyed by their position; keys for other uses ({@code use != sig}) are skipped.
+     *
+     * @throws IllegalArgumentException if the document or a key cannot be parsed
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, PublicKey> parseJwks(byte[] jwks, JsonCodec jsonCodec) {
+        Map<String, Object> document;
+        try {
+            document = jsonCodec.readValue(jwks, Map.class);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("[Loom] Cannot parse JWKS document", e);
+        }
+        if (document == null || !(document.get("keys") instanceof List<?> keys)) {
+            throw new IllegalArgumentException("[Loom] JWKS document has no 'keys' array");
+        }
+        Map<String, PublicKey> result = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            Map<String, Object> jwk = (Map<String, Object>) keys.get(i);
+            if (jwk.get("use") != null && !"sig".equals(jwk.get("use"))) {
+                continue;
+            }
+            String kid = jwk.get("kid") instanceof String s ? s : Integer.toString(i);
+            try {
+                PublicKey key = switch (String.valueOf(jwk.get("kty"))) {
+                    case "RSA" -> KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                            unsigned(jwk.get("n")), unsigned(jwk.get("e"))));
+                    case "EC" -> {
+                        AlgorithmParameters params = AlgorithmParameters.getInstance("EC");
+                        params.init(new ECGenParameterSpec(curve(String.valueOf(jwk.get("crv")))));
+                        ECParameterSpec spec = params.getParameterSpec(ECParameterSpec.class);
+                        yield KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(
+                                new ECPoint(unsigned(jwk.get("x")), unsigned(jwk.get("y"))), spec));
+                    }
+                    default -> null; // symmetric and unknown key types are never used for verification
+                };
+                if (key != null) {
+                    result.put(kid, key);
+                }
+            } catch (GeneralSecurityException | RuntimeException e) {
+                throw new IllegalArgumentException("[Loom] Cannot parse JWK '" + kid + "'", e);
+            }
+        }
+        return result;
+    }
+
+    private static BigInteger unsigned(Object base64url) {
+        return new BigInteger(1, B64URL.decode((String) base64url));
+    }
+
+    private static String curve(String crv) {
+        return switch (crv) {
+            case "P-256" -> "secp256r1";
+            case "P-384" -> "secp384r1";
+            case "P-521" -> "secp521r1";
+            default -> throw new IllegalArgumentException("Unsupported EC curve '" + crv + "'");
+        };
+    }
+}
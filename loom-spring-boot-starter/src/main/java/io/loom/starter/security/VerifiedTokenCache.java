@@ -0,0 +1,97 @@
+package io.loom.starter.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of verified tokens, keyed by the SHA-256 of the token so raw bearer tokens are
+ * never retained. Entries are served until the token's {@code exp}, and never longer than
+ * {@code maxTtlSeconds} so a token without {@code exp} is re-verified now and then. When the
+ * cache is full, a put looks at a few entries and drops the expired ones among them, or else the
+ * first one it saw, so a full cache costs each miss a constant amount of work.
+ */
+public final class VerifiedTokenCache {
+
+    private static final int EVICTION_SAMPLE = 8;
+
+    private record TokenHash(long h0, long h1, long h2, long h3) {}
+
+    private record Entry(Jwt jwt, long cachedUntil) {}
+
+    private final ConcurrentHashMap<TokenHash, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long maxTtlSeconds;
+    private final LongSupplier epochSeconds;
+
+    public VerifiedTokenCache(int maxEntries, long maxTtlSeconds) {
+        this(maxEntries, maxTtlSeconds, () -> System.currentTimeMillis() / 1000);
+    }
+
+    VerifiedTokenCache(int maxEntries, long maxTtlSeconds, LongSupplier epochSeconds) {
+        this.maxEntries = maxEntries;
+        this.maxTtlSeconds = maxTtlSeconds;
+        this.epochSeconds = epochSeconds;
+    }
+
+    /** Returns the cached verification of {@code token}, or {@code null} on a miss or once expired. */
+    public Jwt get(String token) {
+        TokenHash key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (epochSeconds.getAsLong() >= entry.cachedUntil()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.jwt();
+    }
+
+    public void put(String token, Jwt jwt) {
+        long now = epochSeconds.getAsLong();
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        long until = now + maxTtlSeconds;
+        entries.put(hash(token), new Entry(jwt, jwt.expiresAt() < until ? jwt.expiresAt() : until));
+    }
+
+    private void evict(long now) {
+        Iterator<Map.Entry<TokenHash, Entry>> it = entries.entrySet().iterator();
+        Map.Entry<TokenHash, Entry> first = null;
+        boolean removed = false;
+        for (int seen = 0; seen < EVICTION_SAMPLE && it.hasNext(); seen++) {
+            Map.Entry<TokenHash, Entry> candidate = it.next();
+            if (first == null) {
+                first = candidate;
+            }
+            if (now >= candidate.getValue().cachedUntil()) {
+                it.remove();
+                removed = true;
+            }
+        }
+        if (!removed && first != null) {
+            entries.remove(first.getKey(), first.getValue());
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static TokenHash hash(String token) {
+        try {
+            ByteBuffer digest = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenHash(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // mandatory in every JDK
+        }
+    }
+}
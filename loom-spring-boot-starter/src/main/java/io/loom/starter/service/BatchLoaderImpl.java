@@ -0,0 +1,60 @@
+package io.loom.starter.service;
+
+import io.loom.core.service.BatchLoader;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-request view of a {@link RouteBatcher}. Batched calls are shared across requests, so
+ * they are reported to freshness tracking as a call with unknown freshness.
+ */
+class BatchLoaderImpl<K, V> implements BatchLoader<K, V> {
+
+    private final RouteBatcher batcher;
+    private final Class<V> valueType;
+    private final Function<? super V, ?> keyOf;
+    private final UpstreamFreshness freshness;
+
+    BatchLoaderImpl(RouteBatcher batcher, Class<V> valueType, Function<? super V, ?> keyOf,
+                    UpstreamFreshness freshness) {
+        this.batcher = batcher;
+        this.valueType = valueType;
+        this.keyOf = keyOf;
+        this.freshness = freshness;
+    }
+
+    @Override
+    public V load(K key) {
+        CompletableFuture<V> future = batcher.submit(key, valueType, keyOf);
+        long deadline = batcher.deadline();
+        return track(() -> batcher.await(future, deadline));
+    }
+
+    @Override
+    public Map<K, V> loadAll(Collection<? extends K> keys) {
+        List<CompletableFuture<V>> futures = batcher.submitAll(keys, valueType, keyOf);
+        long deadline = batcher.deadline(); // one bound for all of them, however many batches they span
+        return track(() -> {
+            Map<K, V> values = new LinkedHashMap<>(keys.size() * 2);
+            Iterator<CompletableFuture<V>> it = futures.iterator();
+            for (K key : keys) {
+                V value = batcher.await(it.next(), deadline);
+                if (value != null) {
+                    values.put(key, value);
+                }
+            }
+            return values;
+        });
+    }
+
+    private <T> T track(Supplier<T> wait) {
+        return freshness != null ? freshness.track(batcher.name(), wait) : wait.get();
+    }
+}
@@ -0,0 +1,71 @@
+package io.loom.starter.service;
+
+/**
+ * Count-min sketch of 4-bit counters estimating how often keys were requested recently,
+ * used as the TinyLFU admission filter of {@link HttpCache}. Each key maps to one counter in
+ * each of four rows packed 16 to a {@code long}; all counters are halved once the number of
+ * increments reaches ten times the table width, so old popularity decays.
+ * Not thread-safe; callers guard it.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0x97cb3127L, 0xc2b2ae3dL, 0x27d4eb2fL, 0x165667b1L
+    };
+    private static final long HALVE_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int increments;
+
+    FrequencySketch(int expectedEntries) {
+        int width = Integer.highestOneBit(Math.max(64, expectedEntries - 1)) << 1;
+        this.table = new long[width];
+        this.mask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int min = 15;
+        for (int row = 0; row < 4; row++) {
+            int h = rehash(hash, row);
+            int shift = ((h >>> 24) & 15) << 2;
+            min = Math.min(min, (int) ((table[h & mask] >>> shift) & 15));
+        }
+        return min;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < 4; row++) {
+            int h = rehash(hash, row);
+            int index = h & mask;
+            int shift = ((h >>> 24) & 15) << 2;
+            if (((table[index] >>> shift) & 15) < 15) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++increments >= sampleSize) {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & HALVE_MASK;
+            }
+            increments /= 2;
+        }
+    }
+
+    private static int rehash(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 17;
+        h *= 0xed5ad4bb;
+        h ^= h >>> 11;
+        return h;
+    }
+}
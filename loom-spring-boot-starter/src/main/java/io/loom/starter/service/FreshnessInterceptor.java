@@ -0,0 +1,33 @@
+package io.loom.starter.service;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Reports each upstream response to the {@link UpstreamFreshness} of the route call running on
+ * this thread. Registered outermost, so it sees responses served by the {@link HttpCache} with
+ * their {@code Age}. Calls made outside a tracked route call pass straight through.
+ */
+class FreshnessInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        if (!UpstreamFreshness.isTracking()) {
+            return execution.execute(request, body);
+        }
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            UpstreamFreshness.recordFailure();
+            throw e;
+        }
+        UpstreamFreshness.recordResponse(response.getStatusCode().value(), response.getHeaders());
+        return response;
+    }
+}
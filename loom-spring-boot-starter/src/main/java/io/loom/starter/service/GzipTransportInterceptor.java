@@ -0,0 +1,127 @@
+package io.loom.starter.service;
+
+import io.loom.starter.codec.DeflaterPool;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Compresses upstream traffic for a service.
+ * <ul>
+ *   <li>Advertises {@code Accept-Encoding: gzip} and inflates gzip responses as a stream, so
+ *       message converters decode straight from the inflater with no decompressed {@code byte[]}.
+ *       Requests that already carry {@code Accept-Encoding} (e.g. forwarded by a passthrough API)
+ *       are left alone and their responses are returned still encoded.</li>
+ *   <li>Optionally gzips request bodies of at least {@code requestMinSize} bytes.</li>
+ * </ul>
+ */
+class GzipTransportInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final int REQUEST_LEVEL = 6;
+    private static final int INFLATE_BUFFER_SIZE = 8192;
+
+    private final boolean acceptGzip;
+    private final long requestMinSize;
+    private final DeflaterPool deflaterPool;
+
+    /**
+     * @param requestMinSize minimum request body size to gzip, or {@code -1} to never compress requests
+     */
+    GzipTransportInterceptor(boolean acceptGzip, long requestMinSize, DeflaterPool deflaterPool) {
+        this.acceptGzip = acceptGzip;
+        this.requestMinSize = requestMinSize;
+        this.deflaterPool = deflaterPool;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        HttpHeaders headers = request.getHeaders();
+        if (requestMinSize >= 0 && body.length > 0 && body.length >= requestMinSize
+                && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            body = deflaterPool.gzip(body, REQUEST_LEVEL);
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(body.length);
+        }
+
+        boolean inflate = acceptGzip && !headers.containsKey(HttpHeaders.ACCEPT_ENCODING);
+        if (inflate) {
+            headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (inflate && "gzip".equalsIgnoreCase(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))) {
+            return new InflatingResponse(response);
+        }
+        return response;
+    }
+
+    /** Exposes a gzip response as its decoded entity: body inflated lazily, encoding headers dropped. */
+    private static final class InflatingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private HttpHeaders headers;
+        private InputStream body;
+
+        InflatingResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                HttpHeaders decoded = new HttpHeaders();
+                decoded.putAll(delegate.getHeaders());
+                decoded.remove(HttpHeaders.CONTENT_ENCODING);
+                decoded.remove(HttpHeaders.CONTENT_LENGTH);
+                headers = HttpHeaders.readOnlyHttpHeaders(decoded);
+            }
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                // An empty body (204, HEAD) has no gzip header to read
+                PushbackInputStream raw = new PushbackInputStream(delegate.getBody(), 1);
+                int first = raw.read();
+                if (first == -1) {
+                    body = InputStream.nullInputStream();
+                } else {
+                    raw.unread(first);
+                    body = new GZIPInputStream(raw, INFLATE_BUFFER_SIZE);
+                }
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (body != null) body.close(); // releases the inflater's native memory
+            } catch (IOException ignored) {
+                // connection is being released anyway
+            } finally {
+                delegate.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package io.loom.starter.service;
+
+import io.loom.starter.cache.CachedBody;
+import io.loom.starter.cache.SlabAllocator;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Memory-bounded store of upstream responses for one service, shared by the service client and
+ * its route clients so an unsafe call through any of them invalidates what the others cached.
+ * <p>
+ * Eviction is LRU over an access-ordered map; admission is TinyLFU: when a new entry needs room,
+ * it only displaces the least-recently-used entries if a {@link FrequencySketch} says it has been
+ * requested more often than each of them, so one-off URLs cannot flush the hot set. Guarded by a
+ * {@link ReentrantLock} so waiting never pins a virtual thread's carrier.
+ * <p>
+ * With {@code offHeap}, bodies live in a {@link SlabAllocator} and only headers and the index
+ * stay on heap. Entries returned by {@link #get} are then pinned until {@link Entry#release()}.
+ */
+public final class HttpCache {
+
+    private static final int ENTRY_OVERHEAD = 256; // key, headers and object headers, roughly
+
+    /**
+     * A stored response.
+     *
+     * @param freshUntilMillis wall-clock time until which the entry is served without revalidation
+     * @param ageSeconds       the upstream's {@code Age} at storage time
+     * @param varyValues       request header values the response varies on, by lower-case name
+     */
+    record Entry(int status, HttpHeaders headers, CachedBody body, long storedAtMillis,
+                 long freshUntilMillis, long ageSeconds, Map<String, String> varyValues) {
+
+        Entry withBody(CachedBody body) {
+            return new Entry(status, headers, body, storedAtMillis, freshUntilMillis, ageSeconds, varyValues);
+        }
+
+        void release() {
+            body.release();
+        }
+
+        String etag() {
+            return headers.getETag();
+        }
+
+        String lastModified() {
+            return headers.getFirst(HttpHeaders.LAST_MODIFIED);
+        }
+
+        boolean hasValidator() {
+            return etag() != null || lastModified() != null;
+        }
+    }
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final FrequencySketch sketch;
+    private final SlabAllocator slabs; // null when bodies stay on heap
+    private final ReentrantLock lock = new ReentrantLock();
+    private long bytes;
+
+    public HttpCache(long maxBytes) {
+        this(maxBytes, false);
+    }
+
+    public HttpCache(long maxBytes, boolean offHeap) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("HTTP cache maxBytes must be positive, got " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        // Sized for ~4KB responses; the sketch only needs to be roughly as wide as the entry count
+        this.sketch = new FrequencySketch((int) Math.min(1 << 20, Math.max(64, maxBytes / 4096)));
+        this.slabs = offHeap ? new SlabAllocator(maxBytes, SlabAllocator.DEFAULT_PAGE_SIZE) : null;
+    }
+
+    /**
+     * Returns the entry for {@code key}, recording the access for admission either way.
+     * The caller must {@link Entry#release() release} it once its body has been read.
+     */
+    Entry get(String key) {
+        lock.lock();
+        try {
+            sketch.increment(key);
+            Entry entry = entries.get(key);
+            // The index holds a reference to every entry it contains, so this cannot fail
+            if (entry != null && entry.body() instanceof SlabAllocator.Allocation allocation) {
+                allocation.retain();
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores {@code entry} if it fits, evicting LRU entries that are accessed less often than it.
+     * An off-heap cache copies a heap body into its slabs, or takes its own reference to a body
+     * that is already there (an entry refreshed by a 304); the caller keeps its reference either way.
+     */
+    void put(String key, Entry entry) {
+        long weight = weight(entry.body().length());
+        if (weight > maxBytes) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                bytes -= weight(previous.body().length());
+                previous.release();
+            }
+            if (bytes + weight > maxBytes) {
+                // Pick victims first so a rejected candidate evicts nothing
+                int candidateFrequency = sketch.frequency(key);
+                long freed = 0;
+                int victims = 0;
+                for (Map.Entry<String, Entry> victim : entries.entrySet()) {
+                    if (bytes - freed + weight <= maxBytes) {
+                        break;
+                    }
+                    if (previous == null && sketch.frequency(victim.getKey()) >= candidateFrequency) {
+                        return; // not admitted
+                    }
+                    freed += weight(victim.getValue().body().length());
+                    victims++;
+                }
+                Iterator<Entry> eldest = entries.values().iterator();
+                for (int i = 0; i < victims; i++) {
+                    eldest.next().release();
+                    eldest.remove();
+                }
+                bytes -= freed;
+            }
+            Entry stored = offHeap(entry);
+            if (stored != null) {
+                entries.put(key, stored);
+                bytes += weight;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** The entry with a body this cache holds its own reference to, or {@code null} if out of slab space. */
+    private Entry offHeap(Entry entry) {
+        if (slabs == null) {
+            return entry;
+        }
+        if (entry.body() instanceof SlabAllocator.Allocation allocation) {
+            return allocation.retain() ? entry : null;
+        }
+        // Pages still pinned by readers of evicted entries may leave too little room
+        SlabAllocator.Allocation allocation = slabs.allocate(entry.body().toByteArray());
+        return allocation != null ? entry.withBody(allocation) : null;
+    }
+
+    private long weight(int bodyLength) {
+        return (slabs != null ? slabs.footprint(bodyLength) : bodyLength) + ENTRY_OVERHEAD;
+    }
+
+    /**
+     * Drops what a completed request made stale: after a successful unsafe request (anything
+     * but GET, HEAD, OPTIONS and TRACE), the entry for its URI and for the {@code Location} and
+     * {@code Content-Location} of its response.
+     */
+    void invalidateAfter(String method, int status, URI uri, HttpHeaders responseHeaders) {
+        if (status >= 400 || isSafe(method)) {
+            return;
+        }
+        invalidate(uri.toString());
+        for (String header : new String[]{HttpHeaders.LOCATION, HttpHeaders.CONTENT_LOCATION}) {
+            String location = responseHeaders.getFirst(header);
+            if (location != null) {
+                try {
+                    URI resolved = uri.resolve(location);
+                    // Only the same origin may be invalidated (RFC 9111 §4.4)
+                    if (resolved.getAuthority() != null && resolved.getAuthority().equals(uri.getAuthority())) {
+                        invalidate(resolved.toString());
+                    }
+                } catch (IllegalArgumentException ignored) {
+                    // unparseable location: nothing to invalidate
+                }
+            }
+        }
+    }
+
+    private static boolean isSafe(String method) {
+        return method.equals("GET") || method.equals("HEAD") || method.equals("OPTIONS") || method.equals("TRACE");
+    }
+
+    void invalidate(String key) {
+        lock.lock();
+        try {
+            Entry removed = entries.remove(key);
+            if (removed != null) {
+                bytes -= weight(removed.body().length());
+                removed.release();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.values().forEach(Entry::release);
+            entries.clear();
+            bytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long bytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package io.loom.starter.service;
+
+import io.loom.starter.cache.CachedBody;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Shared HTTP cache (RFC 9111) in front of a service's upstream calls.
+ * <ul>
+ *   <li>GET responses are stored when {@code Cache-Control}/{@code Expires} make them cacheable
+ *       for a shared cache, and served locally while fresh.</li>
+ *   <li>Stale entries with an {@code ETag} or {@code Last-Modified} are revalidated with
+ *       {@code If-None-Match}/{@code If-Modified-Since}; a 304 refreshes the entry and serves
+ *       its stored body.</li>
+ *   <li>404 and 410 responses without explicit freshness are cached for {@code negativeTtlMs}.</li>
+ *   <li>A successful unsafe request (POST, PUT, PATCH, DELETE) invalidates the entry for its
+ *       URI and for its {@code Location}/{@code Content-Location}.</li>
+ * </ul>
+ * Requests that carry their own conditional or range headers (e.g. forwarded by a passthrough
+ * API) bypass the cache so the client's own validators are answered by the upstream.
+ */
+class HttpCacheInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final int[] CACHEABLE_STATUSES = {200, 203, 204, 300, 301, 308, 404, 410};
+
+    private final HttpCache cache;
+    private final long negativeTtlMs;
+    private final LongSupplier clock;
+
+    HttpCacheInterceptor(HttpCache cache, long negativeTtlMs) {
+        this(cache, negativeTtlMs, System::currentTimeMillis);
+    }
+
+    HttpCacheInterceptor(HttpCache cache, long negativeTtlMs, LongSupplier clock) {
+        this.cache = cache;
+        this.negativeTtlMs = negativeTtlMs;
+        this.clock = clock;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        HttpMethod method = request.getMethod();
+        if (method == HttpMethod.GET) {
+            return get(request, body, execution);
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        cache.invalidateAfter(method.name(), response.getStatusCode().value(), request.getURI(),
+                response.getHeaders());
+        return response;
+    }
+
+    private ClientHttpResponse get(HttpRequest request, byte[] body,
+                                   ClientHttpRequestExecution execution) throws IOException {
+        HttpHeaders requestHeaders = request.getHeaders();
+        if (requestHeaders.containsKey(HttpHeaders.IF_NONE_MATCH)
+                || requestHeaders.containsKey(HttpHeaders.IF_MODIFIED_SINCE)
+                || requestHeaders.containsKey(HttpHeaders.RANGE)) {
+            return execution.execute(request, body);
+        }
+        CacheControl requestControl = CacheControl.parse(requestHeaders.get(HttpHeaders.CACHE_CONTROL));
+        if (requestControl.noStore) {
+            return execution.execute(request, body);
+        }
+
+        String key = request.getURI().toString();
+        HttpCache.Entry cached = cache.get(key);
+        if (cached != null && !varyMatches(cached, requestHeaders)) {
+            cached.release();
+            cached = null;
+        }
+        long now = clock.getAsLong();
+        if (cached != null && now < cached.freshUntilMillis() && !requestControl.noCache) {
+            return new CachedResponse(cached, now);
+        }
+
+        boolean revalidating = cached != null && cached.hasValidator();
+        if (revalidating) {
+            if (cached.etag() != null) {
+                requestHeaders.set(HttpHeaders.IF_NONE_MATCH, cached.etag());
+            }
+            if (cached.lastModified() != null) {
+                requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+            }
+        }
+        ClientHttpResponse response;
+        int status;
+        try {
+            response = execution.execute(request, body);
+            status = response.getStatusCode().value();
+        } catch (IOException | RuntimeException e) {
+            if (cached != null) {
+                cached.release();
+            }
+            throw e;
+        }
+        now = clock.getAsLong();
+
+        if (revalidating && status == 304) {
+            HttpHeaders merged = new HttpHeaders();
+            merged.putAll(cached.headers());
+            response.getHeaders().forEach((name, values) -> {
+                if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    merged.put(name, values);
+                }
+            });
+            response.close();
+            HttpCache.Entry refreshed = entry(cached.status(), merged, cached.body(), requestHeaders, now);
+            if (refreshed != null) {
+                cache.put(key, refreshed);
+            } else {
+                cache.invalidate(key);
+            }
+            // Shares the stored body, so closing it drops the reference taken by get()
+            return new CachedResponse(refreshed != null ? refreshed : cached, now);
+        }
+        if (cached != null) {
+            cached.release();
+        }
+
+        boolean shareable = isCacheable(status)
+                && (!requestHeaders.containsKey(HttpHeaders.AUTHORIZATION)
+                        || CacheControl.parse(response.getHeaders().get(HttpHeaders.CACHE_CONTROL)).allowsAuthorized())
+                && isStorable(response.getHeaders());
+        if (!shareable) {
+            if (cached != null) {
+                cache.invalidate(key);
+            }
+            return response; // unread, so it still streams
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        byte[] stored;
+        try (response) {
+            stored = response.getBody().readAllBytes();
+        }
+        HttpCache.Entry entry = entry(status, headers, CachedBody.of(stored), requestHeaders, now);
+        if (entry == null) {
+            if (cached != null) {
+                cache.invalidate(key);
+            }
+            // Neither fresh nor revalidatable: hand back the bytes without storing them
+            return new CachedResponse(new HttpCache.Entry(status, headers, CachedBody.of(stored), 0, 0, 0, Map.of()), now);
+        }
+        cache.put(key, entry);
+        return new CachedResponse(entry, now);
+    }
+
+    /** Builds an entry, or {@code null} if the response is neither fresh nor revalidatable. */
+    private HttpCache.Entry entry(int status, HttpHeaders headers, CachedBody body,
+                                  HttpHeaders requestHeaders, long now) {
+        CacheControl control = CacheControl.parse(headers.get(HttpHeaders.CACHE_CONTROL));
+        long age = parseLong(headers.getFirst(HttpHeaders.AGE), 0);
+        long lifetimeSeconds = control.noCache ? 0 : control.sMaxAge >= 0 ? control.sMaxAge
+                : control.maxAge >= 0 ? control.maxAge : expiresLifetime(headers);
+        long freshUntil;
+        if (lifetimeSeconds >= 0) {
+            freshUntil = now + Math.max(0, lifetimeSeconds - age) * 1000;
+        } else if (status == 404 || status == 410) {
+            freshUntil = now + negativeTtlMs;
+        } else {
+            freshUntil = now;
+        }
+        boolean hasValidator = headers.getETag() != null || headers.getFirst(HttpHeaders.LAST_MODIFIED) != null;
+        if (freshUntil <= now && !hasValidator) {
+            return null;
+        }
+        Map<String, String> varyValues = Map.of();
+        List<String> vary = headers.getVary();
+        if (!vary.isEmpty()) {
+            varyValues = new LinkedHashMap<>();
+            for (String name : vary) {
+                String value = requestHeaders.getFirst(name);
+                varyValues.put(name.toLowerCase(Locale.ROOT), value != null ? value : "");
+            }
+        }
+        return new HttpCache.Entry(status, HttpHeaders.readOnlyHttpHeaders(headers), body, now, freshUntil, age,
+                varyValues);
+    }
+
+    private static boolean isCacheable(int status) {
+        for (int cacheable : CACHEABLE_STATUSES) {
+            if (cacheable == status) return true;
+        }
+        return false;
+    }
+
+    private static boolean isStorable(HttpHeaders headers) {
+        CacheControl control = CacheControl.parse(headers.get(HttpHeaders.CACHE_CONTROL));
+        return !control.noStore && !control.isPrivate && !headers.getVary().contains("*");
+    }
+
+    private static boolean varyMatches(HttpCache.Entry entry, HttpHeaders requestHeaders) {
+        for (Map.Entry<String, String> vary : entry.varyValues().entrySet()) {
+            String value = requestHeaders.getFirst(vary.getKey());
+            if (!vary.getValue().equals(value != null ? value : "")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Lifetime from {@code Expires - Date} in seconds, or {@code -1} if absent or invalid. */
+    static long expiresLifetime(HttpHeaders headers) {
+        String expires = headers.getFirst(HttpHeaders.EXPIRES);
+        if (expires == null) {
+            return -1;
+        }
+        try {
+            long expiresAt = ZonedDateTime.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+            String date = headers.getFirst(HttpHeaders.DATE);
+            long dateAt = date != null
+                    ? ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond()
+                    : System.currentTimeMillis() / 1000;
+            return Math.max(0, expiresAt - dateAt);
+        } catch (DateTimeParseException e) {
+            return 0; // invalid Expires means already expired
+        }
+    }
+
+    static long parseLong(String value, long fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    /** The {@code Cache-Control} directives this cache acts on. */
+    record CacheControl(boolean noStore, boolean noCache, boolean isPrivate, boolean isPublic,
+                                boolean mustRevalidate, long maxAge, long sMaxAge) {
+
+        private static final CacheControl NONE = new CacheControl(false, false, false, false, false, -1, -1);
+
+        static CacheControl parse(List<String> values) {
+            if (values == null || values.isEmpty()) {
+                return NONE;
+            }
+            boolean noStore = false, noCache = false, isPrivate = false, isPublic = false, mustRevalidate = false;
+            long maxAge = -1, sMaxAge = -1;
+            for (String value : values) {
+                for (String directive : value.split(",")) {
+                    String d = directive.trim().toLowerCase(Locale.ROOT);
+                    if (d.equals("no-store")) noStore = true;
+                    else if (d.startsWith("no-cache")) noCache = true;
+                    else if (d.startsWith("private")) isPrivate = true;
+                    else if (d.equals("public")) isPublic = true;
+                    else if (d.equals("must-revalidate") || d.equals("proxy-revalidate")) mustRevalidate = true;
+                    else if (d.startsWith("max-age=")) maxAge = parseLong(unquote(d.substring(8)), -1);
+                    else if (d.startsWith("s-maxage=")) sMaxAge = parseLong(unquote(d.substring(9)), -1);
+                }
+            }
+            return new CacheControl(noStore, noCache, isPrivate, isPublic, mustRevalidate, maxAge, sMaxAge);
+        }
+
+        /** Whether a response to a request with {@code Authorization} may be shared (RFC 9111 §3.5). */
+        boolean allowsAuthorized() {
+            return isPublic || mustRevalidate || sMaxAge >= 0;
+        }
+
+        private static String unquote(String value) {
+            return value.length() > 1 && value.startsWith("\"") && value.endsWith("\"")
+                    ? value.substring(1, value.length() - 1) : value;
+        }
+    }
+
+    /**
+     * Serves a stored entry; {@code Age} reflects the time spent in this cache. Closing it
+     * releases the entry's body.
+     */
+    private static final class CachedResponse implements ClientHttpResponse {
+
+        private final HttpCache.Entry entry;
+        private final HttpHeaders headers;
+        private boolean closed;
+
+        CachedResponse(HttpCache.Entry entry, long now) {
+            this.entry = entry;
+            HttpHeaders copy = new HttpHeaders();
+            copy.putAll(entry.headers());
+            if (entry.storedAtMillis() > 0) {
+                copy.set(HttpHeaders.AGE, Long.toString(entry.ageSeconds() + (now - entry.storedAtMillis()) / 1000));
+            }
+            copy.setContentLength(entry.body().length());
+            this.headers = HttpHeaders.readOnlyHttpHeaders(copy);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatusCode.valueOf(entry.status());
+        }
+
+        @Override
+        public String getStatusText() {
+            return "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return entry.body().openStream();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                entry.release();
+            }
+        }
+    }
+}
@@ -3,10 +3,12 @@ package io.loom.starter.service;
 import io.loom.core.codec.JsonCodec;
 import io.loom.core.engine.RetryExecutor;
 import io.loom.core.exception.LoomException;
+import io.loom.core.model.HeaderPolicy;
 import io.loom.core.model.ProxyPathTemplate;
 import io.loom.core.service.RetryConfig;
 import io.loom.core.service.RouteConfig;
 import io.loom.core.service.ServiceConfig;
+import io.loom.starter.codec.DeflaterPool;
 import io.loom.starter.config.LoomProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
@@ -24,11 +26,13 @@ public class LoomProxyAutoConfiguration {
     @Bean
     public ServiceClientRegistry serviceClientRegistry(LoomProperties properties,
                                                         RetryExecutor retryExecutor,
-                                                        JsonCodec jsonCodec) {
+                                                        JsonCodec jsonCodec,
+                                                        DeflaterPool deflaterPool) {
         ServiceClientRegistry registry = new ServiceClientRegistry();
 
         properties.getServices().forEach((name, props) -> {
             RetryConfig serviceRetry = toRetryConfig(props.getRetry());
+            LoomProperties.UpstreamCompressionProperties compression = props.getCompression();
 
             // Build RouteConfig objects for each route
             Map<String, RouteConfig> routeConfigs = new HashMap<>();
@@ -48,7 +52,9 @@ public class LoomProxyAutoConfiguration {
                         routeProps.getConnectTimeoutMs(),
                         routeProps.getReadTimeoutMs(),
                         routeRetry,
-                        ProxyPathTemplate.compile(routeProps.getPath())
+                        ProxyPathTemplate.compile(routeProps.getPath()),
+                        toHeaderPolicy(routeProps.getHeaders().getRequest()),
+                        toHeaderPolicy(routeProps.getHeaders().getResponse())
                 );
                 routeConfigs.put(routeName, routeConfig);
             });
@@ -62,11 +68,17 @@ public class LoomProxyAutoConfiguration {
                     routeConfigs
             );
 
+            // One HTTP cache per service, shared with its route clients so invalidations reach all of them
+            LoomProperties.HttpCacheProperties cacheProps = props.getCache();
+            HttpCache httpCache = cacheProps.isEnabled() ? new HttpCache(cacheProps.getMaxBytes(), cacheProps.isOffHeap()) : null;
+
             // Create service-level client
             RestServiceClient serviceClient = new RestServiceClient(
                     name, props.getUrl(),
                     props.getConnectTimeoutMs(), props.getReadTimeoutMs(),
-                    serviceRetry, retryExecutor, jsonCodec
+                    serviceRetry, retryExecutor, jsonCodec,
+                    compression.isEnabled(), compression.getRequestMinSize(), deflaterPool,
+                    httpCache, cacheProps.getNegativeTtlMs()
             );
             registry.register(name, serviceClient);
             registry.registerServiceConfig(name, serviceConfig);
@@ -83,12 +95,31 @@ public class LoomProxyAutoConfiguration {
                             serviceConfig.effectiveConnectTimeout(routeConfig),
                             serviceConfig.effectiveReadTimeout(routeConfig),
                             serviceConfig.effectiveRetry(routeConfig),
-                            retryExecutor, jsonCodec
+                            retryExecutor, jsonCodec,
+                            compression.isEnabled(), compression.getRequestMinSize(), deflaterPool,
+                            httpCache, cacheProps.getNegativeTtlMs()
                     );
                     registry.registerRouteClient(name, routeName, routeClient);
                 }
             });
 
+            // Batch routes gather per-key loads into one call on the route's client
+            props.getRoutes().forEach((routeName, routeProps) -> {
+                LoomProperties.BatchProperties batch = routeProps.getBatch();
+                if (batch == null) {
+                    return;
+                }
+                RouteConfig routeConfig = routeConfigs.get(routeName);
+                if (!"GET".equalsIgnoreCase(routeConfig.method())) {
+                    throw new LoomException("Batch route '" + routeName + "' of service '"
+                            + name + "' must use method GET");
+                }
+                registry.registerBatcher(name, routeName, new RouteBatcher(
+                        name + "/" + routeName, registry.getRouteClient(name, routeName), routeConfig,
+                        batch.getKeyParam(), batch.getKeySeparator(), batch.getWindowMs(), batch.getMaxSize(),
+                        batch.getTimeoutMs()));
+            });
+
             int routeCount = routeConfigs.size();
             if (routeCount > 0) {
                 log.info("[Loom] Service '{}' configured with {} route(s)", name, routeCount);
@@ -99,6 +130,10 @@ public class LoomProxyAutoConfiguration {
         return registry;
     }
 
+    private HeaderPolicy toHeaderPolicy(LoomProperties.HeaderRulesProperties props) {
+        return HeaderPolicy.compile(props.getAllow(), props.getDeny(), props.getRename(), props.getAdd());
+    }
+
     private RetryConfig toRetryConfig(LoomProperties.RetryProperties props) {
         return new RetryConfig(
                 props.getMaxAttempts(),
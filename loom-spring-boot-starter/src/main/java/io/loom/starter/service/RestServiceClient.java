@@ -6,18 +6,27 @@ import io.loom.core.exception.LoomServiceClientException;
 import io.loom.core.service.RetryConfig;
 import io.loom.core.service.ServiceClient;
 import io.loom.core.service.ServiceResponse;
+import io.loom.starter.codec.DeflaterPool;
 import io.loom.starter.codec.DslJsonHttpMessageConverter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.time.Duration;
 
 import java.util.Collections;
@@ -29,28 +38,50 @@ import java.util.concurrent.Executors;
 @Slf4j
 public class RestServiceClient implements ServiceClient {
 
+    // Headers the JDK HttpClient manages itself and rejects when set explicitly
+    private static final String[] RESTRICTED_HEADERS = {
+            "connection", "content-length", "expect", "host", "upgrade"
+    };
+
     private final String name;
+    private final String baseUrl;
+    private final Duration readTimeout;
+    private final HttpClient httpClient;
     private final RestClient restClient;
+    private final DefaultUriBuilderFactory uriBuilderFactory;
     private final RetryExecutor retryExecutor;
     private final RetryConfig retryConfig;
     private final JsonCodec jsonCodec;
+    private final HttpCache httpCache;
 
+    /**
+     * @param gzipResponses      advertise {@code Accept-Encoding: gzip} and inflate responses as a stream
+     * @param gzipRequestMinSize gzip request bodies of at least this many bytes; {@code -1} disables
+     * @param deflaterPool       pool used for request compression; required when {@code gzipRequestMinSize >= 0}
+     * @param httpCache          cache honouring upstream {@code Cache-Control} and validators; {@code null} disables it
+     * @param negativeTtlMs      how long 404/410 responses without explicit freshness are cached
+     */
     public RestServiceClient(String name, String url, long connectTimeoutMs,
                               long readTimeoutMs, RetryConfig retryConfig,
-                              RetryExecutor retryExecutor, JsonCodec jsonCodec) {
+                              RetryExecutor retryExecutor, JsonCodec jsonCodec,
+                              boolean gzipResponses, long gzipRequestMinSize, DeflaterPool deflaterPool,
+                              HttpCache httpCache, long negativeTtlMs) {
         this.name = name;
+        this.baseUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
         this.retryExecutor = retryExecutor;
         this.retryConfig = retryConfig;
         this.jsonCodec = jsonCodec;
+        this.httpCache = httpCache;
 
-        var httpClient = HttpClient.newBuilder()
+        this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofMillis(connectTimeoutMs))
                 .executor(Executors.newVirtualThreadPerTaskExecutor())
                 .build();
         var requestFactory = new JdkClientHttpRequestFactory(httpClient);
-        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        requestFactory.setReadTimeout(readTimeout);
 
-        this.restClient = RestClient.builder()
+        RestClient.Builder builder = RestClient.builder()
                 .baseUrl(url)
                 .requestFactory(requestFactory)
                 .messageConverters(converters -> {
@@ -59,8 +90,19 @@ public class RestServiceClient implements ServiceClient {
                     converters.add(new StringHttpMessageConverter());
                     converters.add(new DslJsonHttpMessageConverter(jsonCodec));
                 })
-                .build();
-        log.info("[Loom] Created service client '{}' -> {}", name, url);
+                // Outside the cache, so responses it serves are reported with their Age
+                .requestInterceptor(new FreshnessInterceptor());
+        // Outside gzip, so cached bodies are the decoded entities
+        if (httpCache != null) {
+            builder.requestInterceptor(new HttpCacheInterceptor(httpCache, negativeTtlMs));
+        }
+        if (gzipResponses || gzipRequestMinSize >= 0) {
+            builder.requestInterceptor(new GzipTransportInterceptor(gzipResponses, gzipRequestMinSize, deflaterPool));
+        }
+        this.restClient = builder.build();
+        this.uriBuilderFactory = new DefaultUriBuilderFactory(url);
+        log.info("[Loom] Created service client '{}' -> {}{}{}", name, url,
+                gzipResponses ? " (gzip)" : "", httpCache != null ? " (http cache)" : "");
     }
 
     @Override
@@ -73,7 +115,7 @@ public class RestServiceClient implements ServiceClient {
         String opName = name + " GET " + path;
         return retryExecutor.execute(() -> {
             try {
-                var spec = restClient.get().uri(path);
+                var spec = restClient.get().uri(uri(path));
                 headers.forEach(spec::header);
                 return spec.retrieve().body(responseType);
             } catch (RestClientResponseException e) {
@@ -94,7 +136,7 @@ public class RestServiceClient implements ServiceClient {
         String opName = name + " POST " + path;
         return retryExecutor.execute(() -> {
             try {
-                var spec = restClient.post().uri(path);
+                var spec = restClient.post().uri(uri(path));
                 headers.forEach(spec::header);
                 if (body != null) {
                     spec.body(body);
@@ -118,7 +160,7 @@ public class RestServiceClient implements ServiceClient {
         String opName = name + " PUT " + path;
         return retryExecutor.execute(() -> {
             try {
-                var spec = restClient.put().uri(path);
+                var spec = restClient.put().uri(uri(path));
                 headers.forEach(spec::header);
                 if (body != null) {
                     spec.body(body);
@@ -142,7 +184,7 @@ public class RestServiceClient implements ServiceClient {
         String opName = name + " DELETE " + path;
         return retryExecutor.execute(() -> {
             try {
-                var spec = restClient.delete().uri(path);
+                var spec = restClient.delete().uri(uri(path));
                 headers.forEach(spec::header);
                 return spec.retrieve().body(responseType);
             } catch (RestClientResponseException e) {
@@ -163,7 +205,7 @@ public class RestServiceClient implements ServiceClient {
         String opName = name + " PATCH " + path;
         return retryExecutor.execute(() -> {
             try {
-                var spec = restClient.patch().uri(path);
+                var spec = restClient.patch().uri(uri(path));
                 headers.forEach(spec::header);
                 if (body != null) {
                     spec.body(body);
@@ -183,7 +225,7 @@ public class RestServiceClient implements ServiceClient {
         String opName = name + " " + httpMethod.name() + " " + path;
         return retryExecutor.execute(() -> {
             try {
-                var spec = restClient.method(httpMethod).uri(path);
+                var spec = restClient.method(httpMethod).uri(uri(path));
                 if (headers != null) {
                     headers.forEach(spec::header);
                 }
@@ -206,6 +248,121 @@ public class RestServiceClient implements ServiceClient {
         }, retryConfig, opName);
     }
 
+    /**
+     * Sends the body straight from {@code body} through the JDK client, bypassing RestClient
+     * buffering. A stream can only be consumed once, so this call is never retried.
+     * <p>
+     * The RestClient interceptors do not run, so their effects are applied here: the response
+     * invalidates the {@link HttpCache} like any unsafe call, and is reported to the tracked
+     * {@link UpstreamFreshness}, if any. Bodies pass through untouched in both directions: the
+     * caller's own {@code Content-Encoding} and {@code Accept-Encoding} are forwarded, so there
+     * is nothing to compress or inflate.
+     */
+    @Override
+    public ServiceResponse<byte[]> proxyStream(String method, String path, InputStream body,
+                                               long contentLength, Map<String, String> headers) {
+        String upperMethod = method.toUpperCase();
+        HttpRequest.BodyPublisher publisher;
+        if (contentLength == 0) {
+            publisher = HttpRequest.BodyPublishers.noBody();
+        } else if (contentLength > 0) {
+            publisher = HttpRequest.BodyPublishers.fromPublisher(
+                    HttpRequest.BodyPublishers.ofInputStream(() -> body), contentLength);
+        } else {
+            publisher = HttpRequest.BodyPublishers.ofInputStream(() -> body);
+        }
+
+        URI target = uri(path);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target)
+                .timeout(readTimeout)
+                .method(upperMethod, publisher);
+        if (headers != null) {
+            headers.forEach((k, v) -> {
+                if (!isRestricted(k)) {
+                    builder.header(k, v);
+                }
+            });
+        }
+
+        try {
+            HttpResponse<byte[]> response;
+            try {
+                response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException | RuntimeException e) {
+                UpstreamFreshness.recordFailure();
+                throw e;
+            }
+            HttpHeaders responseHeaders = new HttpHeaders(CollectionUtils.toMultiValueMap(response.headers().map()));
+            UpstreamFreshness.recordResponse(response.statusCode(), responseHeaders);
+            if (httpCache != null) {
+                httpCache.invalidateAfter(upperMethod, response.statusCode(), target, responseHeaders);
+            }
+            byte[] rawBody = response.body() != null ? response.body() : new byte[0];
+            return new ServiceResponse<>(
+                    rawBody,
+                    response.statusCode(),
+                    Collections.unmodifiableMap(response.headers().map()),
+                    rawBody,
+                    response.headers().firstValue("Content-Type").orElse("application/octet-stream")
+            );
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoomServiceClientException(name, "Interrupted while streaming request body", e);
+        } catch (Exception e) {
+            throw new LoomServiceClientException(name, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Paths produced by {@code ProxyPathTemplate} and {@code RouteInvokerImpl} are already
+     * percent-encoded, so they are appended to the base URL as a ready {@link URI} instead of
+     * going through RestClient's template expansion and encoding on every call. Paths that are
+     * not valid URIs (e.g. hand-written ones with spaces or {@code {var}} placeholders) fall
+     * back to the template-expanding factory.
+     */
+    private URI uri(String path) {
+        try {
+            if (path.isEmpty()) {
+                return URI.create(baseUrl);
+            }
+            if (path.charAt(0) == '/') {
+                return URI.create(baseUrl + path);
+            }
+            if (hasScheme(path)) {
+                return URI.create(path);
+            }
+            return URI.create(baseUrl + '/' + path);
+        } catch (IllegalArgumentException e) {
+            return uriBuilderFactory.expand(path);
+        }
+    }
+
+    /** True when {@code path} starts with an RFC 3986 scheme followed by {@code ://}. */
+    static boolean hasScheme(String path) {
+        int end = path.indexOf("://");
+        if (end <= 0 || !isAsciiLetter(path.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < end; i++) {
+            char c = path.charAt(i);
+            if (!isAsciiLetter(c) && !(c >= '0' && c <= '9') && c != '+' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isRestricted(String header) {
+        for (String restricted : RESTRICTED_HEADERS) {
+            if (restricted.equalsIgnoreCase(header)) return true;
+        }
+        return false;
+    }
+
     @Override
     public <T> ServiceResponse<T> exchange(String method, String path, Object body,
                                             Class<T> responseType, Map<String, String> headers) {
@@ -213,31 +370,33 @@ public class RestServiceClient implements ServiceClient {
         String opName = name + " " + httpMethod.name() + " " + path;
         return retryExecutor.execute(() -> {
             try {
-                var spec = restClient.method(httpMethod).uri(path);
+                var spec = restClient.method(httpMethod).uri(uri(path));
                 if (headers != null) {
                     headers.forEach(spec::header);
                 }
                 if (body != null) {
                     spec.body(body);
                 }
-                ResponseEntity<byte[]> entity = spec.retrieve().toEntity(byte[].class);
-                byte[] rawBody = entity.getBody() != null ? entity.getBody() : new byte[0];
-                T data = deserializeIfPresent(rawBody, responseType);
-                return new ServiceResponse<>(
-                        data,
-                        entity.getStatusCode().value(),
-                        toMultiValueMap(entity.getHeaders()),
-                        rawBody,
-                        extractContentType(entity.getHeaders())
-                );
-            } catch (RestClientResponseException e) {
-                return new ServiceResponse<>(
-                        null,
-                        e.getStatusCode().value(),
-                        toMultiValueMap(e.getResponseHeaders()),
-                        e.getResponseBodyAsByteArray(),
-                        extractContentType(e.getResponseHeaders())
-                );
+                return spec.exchange((request, response) -> {
+                    int status = response.getStatusCode().value();
+                    HttpHeaders responseHeaders = response.getHeaders();
+                    // Error bodies and byte[] results are kept whole; anything else decodes
+                    // straight from the (possibly inflating) body stream
+                    if (status >= 400 || responseType == byte[].class) {
+                        byte[] rawBody = response.getBody().readAllBytes();
+                        @SuppressWarnings("unchecked")
+                        T data = status < 400 && rawBody.length > 0 ? (T) rawBody : null;
+                        return new ServiceResponse<>(data, status, toMultiValueMap(responseHeaders),
+                                rawBody, extractContentType(responseHeaders));
+                    }
+                    return new ServiceResponse<>(
+                            deserializeIfPresent(response.getBody(), responseType),
+                            status,
+                            toMultiValueMap(responseHeaders),
+                            null,
+                            extractContentType(responseHeaders)
+                    );
+                }, true);
             } catch (Exception e) {
                 throw new LoomServiceClientException(name, e.getMessage(), e);
             }
@@ -255,17 +414,15 @@ public class RestServiceClient implements ServiceClient {
         );
     }
 
-    private <T> T deserializeIfPresent(byte[] rawBody, Class<T> responseType) {
-        if (rawBody == null || rawBody.length == 0) {
+    private <T> T deserializeIfPresent(InputStream body, Class<T> responseType) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(body);
+        int first = in.read();
+        if (first == -1) {
             return null;
         }
-        if (responseType == byte[].class) {
-            @SuppressWarnings("unchecked")
-            T result = (T) rawBody;
-            return result;
-        }
+        in.unread(first);
         try {
-            return jsonCodec.readValue(rawBody, responseType);
+            return jsonCodec.readValue(in, responseType);
         } catch (IOException e) {
             log.warn("[Loom] Failed to deserialize response body for service '{}' as {}: {}",
                     name, responseType.getSimpleName(), e.getMessage());
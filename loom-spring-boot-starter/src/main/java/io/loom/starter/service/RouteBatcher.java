@@ -0,0 +1,265 @@
+package io.loom.starter.service;
+
+import io.loom.core.exception.LoomException;
+import io.loom.core.service.RouteConfig;
+import io.loom.core.service.ServiceClient;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Collects per-key loads for one batch route and sends them upstream together.
+ * <p>
+ * The first key submitted opens a batch and starts its window on a virtual thread; keys
+ * submitted by any request until the window closes join it, and a batch that reaches
+ * {@code maxSize} distinct keys is sent at once. The batch goes out as a single GET with the
+ * keys in {@code keyParam}, joined by {@code keySeparator} or repeated if that is empty, and
+ * the JSON array response is split back to each caller by the string form of each value's key.
+ * Batches are kept per value type, so loaders reading the route as different types never mix.
+ * A caller waits at most {@code timeoutMs} for its batch, however the batch fares.
+ */
+@Slf4j
+public class RouteBatcher {
+
+    /**
+     * Batch sizes seen so far.
+     *
+     * @param sizeHistogram batches per size bucket: bucket {@code i} counts sizes up to
+     *                      {@code 2^i} and above {@code 2^(i-1)}
+     */
+    public record Stats(String name, long batches, long keys, long[] sizeHistogram) {}
+
+    private record Pending(String key, Function<Object, ?> keyOf, CompletableFuture<Object> future) {}
+
+    private static final class Batch {
+        final Class<?> type;
+        final List<Pending> pending = new ArrayList<>();
+        final Set<String> keys = new LinkedHashSet<>();
+
+        Batch(Class<?> type) {
+            this.type = type;
+        }
+    }
+
+    private final String name;
+    private final ServiceClient client;
+    private final RouteConfig routeConfig;
+    private final String keyParam;
+    private final String keySeparator;
+    private final long windowMs;
+    private final int maxSize;
+    private final long timeoutMs;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Class<?>, Batch> open = new HashMap<>();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedKeys = new LongAdder();
+    private final AtomicLongArray sizeHistogram;
+
+    /**
+     * @param name         {@code service/route}, for logs and stats
+     * @param keySeparator joins keys into one parameter value; empty repeats the parameter per key
+     * @param timeoutMs    longest a caller waits for its batch to return
+     */
+    public RouteBatcher(String name, ServiceClient client, RouteConfig routeConfig,
+                        String keyParam, String keySeparator, long windowMs, int maxSize, long timeoutMs) {
+        if (maxSize < 1 || windowMs < 0 || timeoutMs < 1) {
+            throw new IllegalArgumentException("[Loom] Invalid batch settings for '" + name
+                    + "': max-size and timeout-ms must be at least 1 and window-ms not negative");
+        }
+        this.name = name;
+        this.client = client;
+        this.routeConfig = routeConfig;
+        this.keyParam = keyParam;
+        this.keySeparator = keySeparator;
+        this.windowMs = windowMs;
+        this.maxSize = maxSize;
+        this.timeoutMs = timeoutMs;
+        this.sizeHistogram = new AtomicLongArray(bucket(maxSize) + 1);
+    }
+
+    /** Adds {@code key} to the open batch for {@code type}; the future completes when it returns. */
+    <V> CompletableFuture<V> submit(Object key, Class<V> type, Function<? super V, ?> keyOf) {
+        return submitAll(List.of(key), type, keyOf).get(0);
+    }
+
+    /**
+     * Adds all {@code keys} at once, so they share as few batches as {@code maxSize} allows.
+     * Returns one future per key, in order.
+     */
+    @SuppressWarnings("unchecked")
+    <V> List<CompletableFuture<V>> submitAll(Collection<?> keys, Class<V> type, Function<? super V, ?> keyOf) {
+        List<CompletableFuture<V>> futures = new ArrayList<>(keys.size());
+        List<Batch> full = new ArrayList<>(1);
+        Batch opened = null;
+        lock.lock();
+        try {
+            for (Object key : keys) {
+                CompletableFuture<Object> future = new CompletableFuture<>();
+                Pending pending = new Pending(String.valueOf(key), (Function<Object, ?>) keyOf, future);
+                Batch batch = open.get(type);
+                if (batch == null) {
+                    batch = new Batch(type);
+                    open.put(type, batch);
+                    opened = batch;
+                }
+                batch.pending.add(pending);
+                batch.keys.add(pending.key());
+                if (batch.keys.size() >= maxSize) {
+                    open.remove(type);
+                    full.add(batch);
+                }
+                futures.add((CompletableFuture<V>) (CompletableFuture<?>) future);
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Batch batch : full) {
+            Thread.ofVirtual().name("loom-batch-" + name).start(() -> dispatch(batch));
+        }
+        // Only the last batch opened can still be open; earlier ones are all full
+        if (opened != null && !full.contains(opened)) {
+            Batch windowed = opened;
+            Thread.ofVirtual().name("loom-batch-" + name).start(() -> dispatchAfterWindow(windowed));
+        }
+        return futures;
+    }
+
+    private void dispatchAfterWindow(Batch batch) {
+        try {
+            Thread.sleep(windowMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        boolean stillOpen;
+        lock.lock();
+        try {
+            stillOpen = open.remove(batch.type, batch);
+        } finally {
+            lock.unlock();
+        }
+        if (stillOpen) { // otherwise it filled up and was sent already
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(Batch batch) {
+        int size = batch.keys.size();
+        batches.increment();
+        batchedKeys.add(size);
+        sizeHistogram.incrementAndGet(bucket(size));
+        Object[] values;
+        try {
+            String path = routeConfig.compiledTemplate().resolve(Map.of(), query(batch.keys));
+            values = (Object[]) client.get(path, batch.type.arrayType());
+        } catch (RuntimeException e) {
+            for (Pending pending : batch.pending) {
+                pending.future().completeExceptionally(e);
+            }
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("[Loom] Batch '{}' loaded {} key(s) for {} caller(s)", name, size, batch.pending.size());
+        }
+        // Usually one key function per batch; index the values once for each distinct one
+        Map<Function<Object, ?>, Map<String, Object>> indexes = new IdentityHashMap<>(2);
+        try {
+            for (Pending pending : batch.pending) {
+                Map<String, Object> index = indexes.computeIfAbsent(pending.keyOf(), keyOf -> index(values, keyOf));
+                pending.future().complete(index.get(pending.key()));
+            }
+        } catch (RuntimeException | Error e) {
+            // e.g. a key function that throws or expects another type: fail whoever is still waiting
+            log.warn("[Loom] Batch '{}' could not match its response to keys: {}", name, e.toString());
+            for (Pending pending : batch.pending) {
+                pending.future().completeExceptionally(e);
+            }
+        }
+    }
+
+    private static Map<String, Object> index(Object[] values, Function<Object, ?> keyOf) {
+        if (values == null) {
+            return Map.of();
+        }
+        Map<String, Object> index = new HashMap<>(values.length * 2);
+        for (Object value : values) {
+            if (value != null) {
+                index.put(String.valueOf(keyOf.apply(value)), value);
+            }
+        }
+        return index;
+    }
+
+    private String query(Set<String> keys) {
+        String param = URLEncoder.encode(keyParam, StandardCharsets.UTF_8);
+        StringBuilder query = new StringBuilder(param).append('=');
+        boolean first = true;
+        for (String key : keys) {
+            if (!first) {
+                if (keySeparator.isEmpty()) {
+                    query.append('&').append(param).append('=');
+                } else {
+                    query.append(URLEncoder.encode(keySeparator, StandardCharsets.UTF_8));
+                }
+            }
+            query.append(URLEncoder.encode(key, StandardCharsets.UTF_8));
+            first = false;
+        }
+        return query.toString();
+    }
+
+    /** Histogram bucket for a batch of {@code size} keys: {@code ceil(log2(size))}. */
+    private static int bucket(int size) {
+        return size <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Stats stats() {
+        long[] histogram = new long[sizeHistogram.length()];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = sizeHistogram.get(i);
+        }
+        return new Stats(name, batches.sum(), batchedKeys.sum(), histogram);
+    }
+
+    /** {@link System#nanoTime()} by which loads submitted now must have returned. */
+    long deadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+
+    /** Waits for a submitted load until {@code deadline}, rethrowing its failure as the caller's own. */
+    <V> V await(CompletableFuture<V> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoomException("Interrupted while waiting for batch '" + name + "'", e);
+        } catch (TimeoutException e) {
+            throw new LoomException("Batch '" + name + "' did not return within " + timeoutMs + " ms", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new LoomException("Batch '" + name + "' failed", e.getCause());
+        }
+    }
+}
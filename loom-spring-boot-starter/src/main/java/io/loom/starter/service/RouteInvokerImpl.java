@@ -11,6 +11,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Fluent route invoker that auto-forwards incoming path vars and query params,
@@ -26,6 +27,9 @@ public class RouteInvokerImpl implements RouteInvoker {
     private final ServiceClient client;
     private final Map<String, String> incomingPathVars;
     private final Map<String, List<String>> incomingQueryParams;
+    private final String incomingRawQuery;
+    private final UpstreamFreshness freshness;
+    private final String surrogateKey;
 
     // Lazy-initialized: null until first explicit override call
     private Map<String, String> explicitPathVars;
@@ -33,13 +37,27 @@ public class RouteInvokerImpl implements RouteInvoker {
     private Map<String, String> explicitHeaders;
     private Object requestBody;
 
+    /**
+     * @param incomingRawQuery the incoming request's raw query string, equivalent to
+     *                         {@code incomingQueryParams}; forwarded verbatim when no query
+     *                         overrides are made, or {@code null} to always re-encode
+     * @param freshness        collects the freshness of every response this invoker receives, for the
+     *                         API response's {@code Cache-Control}; {@code null} disables tracking
+     * @param surrogateKey     identifies this route in the API response's surrogate keys
+     */
     public RouteInvokerImpl(RouteConfig routeConfig, ServiceClient client,
                              Map<String, String> incomingPathVars,
-                             Map<String, List<String>> incomingQueryParams) {
+                             Map<String, List<String>> incomingQueryParams,
+                             String incomingRawQuery,
+                             UpstreamFreshness freshness,
+                             String surrogateKey) {
         this.routeConfig = routeConfig;
         this.client = client;
         this.incomingPathVars = incomingPathVars != null ? incomingPathVars : Map.of();
         this.incomingQueryParams = incomingQueryParams != null ? incomingQueryParams : Map.of();
+        this.incomingRawQuery = incomingRawQuery;
+        this.freshness = freshness;
+        this.surrogateKey = surrogateKey;
     }
 
     @Override
@@ -77,52 +95,56 @@ public class RouteInvokerImpl implements RouteInvoker {
 
     @Override
     public <T> T get(Class<T> responseType) {
-        return client.get(resolvedPath(), responseType, headersOrEmpty());
+        return call(() -> client.get(resolvedPath(), responseType, headersOrEmpty()));
     }
 
     @Override
     public <T> T post(Class<T> responseType) {
-        return client.post(resolvedPath(), requestBody, responseType, headersOrEmpty());
+        return call(() -> client.post(resolvedPath(), requestBody, responseType, headersOrEmpty()));
     }
 
     @Override
     public <T> T put(Class<T> responseType) {
-        return client.put(resolvedPath(), requestBody, responseType, headersOrEmpty());
+        return call(() -> client.put(resolvedPath(), requestBody, responseType, headersOrEmpty()));
     }
 
     @Override
     public <T> T delete(Class<T> responseType) {
-        return client.delete(resolvedPath(), responseType, headersOrEmpty());
+        return call(() -> client.delete(resolvedPath(), responseType, headersOrEmpty()));
     }
 
     @Override
     public <T> T patch(Class<T> responseType) {
-        return client.patch(resolvedPath(), requestBody, responseType, headersOrEmpty());
+        return call(() -> client.patch(resolvedPath(), requestBody, responseType, headersOrEmpty()));
     }
 
     @Override
     public <T> ServiceResponse<T> getResponse(Class<T> responseType) {
-        return client.exchange("GET", resolvedPath(), null, responseType, headersOrEmpty());
+        return call(() -> client.exchange("GET", resolvedPath(), null, responseType, headersOrEmpty()));
     }
 
     @Override
     public <T> ServiceResponse<T> postResponse(Class<T> responseType) {
-        return client.exchange("POST", resolvedPath(), requestBody, responseType, headersOrEmpty());
+        return call(() -> client.exchange("POST", resolvedPath(), requestBody, responseType, headersOrEmpty()));
     }
 
     @Override
     public <T> ServiceResponse<T> putResponse(Class<T> responseType) {
-        return client.exchange("PUT", resolvedPath(), requestBody, responseType, headersOrEmpty());
+        return call(() -> client.exchange("PUT", resolvedPath(), requestBody, responseType, headersOrEmpty()));
     }
 
     @Override
     public <T> ServiceResponse<T> deleteResponse(Class<T> responseType) {
-        return client.exchange("DELETE", resolvedPath(), null, responseType, headersOrEmpty());
+        return call(() -> client.exchange("DELETE", resolvedPath(), null, responseType, headersOrEmpty()));
     }
 
     @Override
     public <T> ServiceResponse<T> patchResponse(Class<T> responseType) {
-        return client.exchange("PATCH", resolvedPath(), requestBody, responseType, headersOrEmpty());
+        return call(() -> client.exchange("PATCH", resolvedPath(), requestBody, responseType, headersOrEmpty()));
+    }
+
+    private <T> T call(Supplier<T> call) {
+        return freshness == null ? call.get() : freshness.track(surrogateKey, call);
     }
 
     String resolvedPath() {
@@ -149,6 +171,10 @@ public class RouteInvokerImpl implements RouteInvoker {
 
         // No explicit overrides — build directly from incoming params, no merge map
         if (!hasExplicit) {
+            // The raw query is already encoded; reuse it unless it carries characters a URI can't hold
+            if (incomingRawQuery != null && !incomingRawQuery.isEmpty() && isValidRawQuery(incomingRawQuery)) {
+                return incomingRawQuery;
+            }
             StringBuilder sb = new StringBuilder();
             incomingQueryParams.forEach((key, values) -> {
                 if (values != null) {
@@ -181,8 +207,41 @@ public class RouteInvokerImpl implements RouteInvoker {
         return sb.isEmpty() ? null : sb.toString();
     }
 
+    /**
+     * Form-encodes a query key or value. Values made only of characters that URLEncoder
+     * never changes are returned as-is without allocating.
+     */
     private static String urlEncode(String value) {
-        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        for (int i = 0, len = value.length(); i < len; i++) {
+            char c = value.charAt(i);
+            boolean safe = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '.' || c == '_' || c == '*';
+            if (!safe) {
+                return URLEncoder.encode(value, StandardCharsets.UTF_8);
+            }
+        }
+        return value;
+    }
+
+    private static boolean isValidRawQuery(String query) {
+        int len = query.length();
+        for (int i = 0; i < len; i++) {
+            char c = query.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || "-._~!$&'()*+,;=:@/?".indexOf(c) >= 0) {
+                continue;
+            }
+            if (c == '%' && i + 2 < len && isHex(query.charAt(i + 1)) && isHex(query.charAt(i + 2))) {
+                i += 2;
+                continue;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
     }
 
     private Map<String, String> headersOrEmpty() {
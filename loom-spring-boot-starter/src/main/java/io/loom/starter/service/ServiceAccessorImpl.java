@@ -1,5 +1,6 @@
 package io.loom.starter.service;
 
+import io.loom.core.service.BatchLoader;
 import io.loom.core.service.RouteConfig;
 import io.loom.core.service.RouteInvoker;
 import io.loom.core.service.ServiceAccessor;
@@ -7,6 +8,7 @@ import io.loom.core.service.ServiceClient;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Default implementation that looks up route config and client from the registry,
@@ -18,20 +20,37 @@ public class ServiceAccessorImpl implements ServiceAccessor {
     private final ServiceClientRegistry registry;
     private final Map<String, String> incomingPathVars;
     private final Map<String, List<String>> incomingQueryParams;
+    private final String incomingRawQuery;
+    private final UpstreamFreshness freshness;
 
+    /**
+     * @param incomingRawQuery the incoming raw query string, forwarded verbatim when it matches
+     *                         {@code incomingQueryParams}; {@code null} to always re-encode
+     * @param freshness        collects upstream freshness for the API response; {@code null} disables tracking
+     */
     public ServiceAccessorImpl(String serviceName, ServiceClientRegistry registry,
                                 Map<String, String> incomingPathVars,
-                                Map<String, List<String>> incomingQueryParams) {
+                                Map<String, List<String>> incomingQueryParams,
+                                String incomingRawQuery,
+                                UpstreamFreshness freshness) {
         this.serviceName = serviceName;
         this.registry = registry;
         this.incomingPathVars = incomingPathVars;
         this.incomingQueryParams = incomingQueryParams;
+        this.incomingRawQuery = incomingRawQuery;
+        this.freshness = freshness;
     }
 
     @Override
     public RouteInvoker route(String routeName) {
         RouteConfig routeConfig = registry.getRouteConfig(serviceName, routeName);
         ServiceClient client = registry.getRouteClient(serviceName, routeName);
-        return new RouteInvokerImpl(routeConfig, client, incomingPathVars, incomingQueryParams);
+        return new RouteInvokerImpl(routeConfig, client, incomingPathVars, incomingQueryParams, incomingRawQuery,
+                freshness, serviceName + "/" + routeName);
+    }
+
+    @Override
+    public <K, V> BatchLoader<K, V> batch(String routeName, Class<V> valueType, Function<? super V, ?> keyOf) {
+        return new BatchLoaderImpl<>(registry.getBatcher(serviceName, routeName), valueType, keyOf, freshness);
     }
 }
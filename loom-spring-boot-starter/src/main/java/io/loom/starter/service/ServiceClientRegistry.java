@@ -7,7 +7,9 @@ import io.loom.core.service.ServiceClient;
 import io.loom.core.service.ServiceConfig;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -18,6 +20,7 @@ public class ServiceClientRegistry {
     private final ConcurrentHashMap<String, ServiceClient> routeClients = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, ServiceConfig> serviceConfigs = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, RouteConfig> routeConfigs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RouteBatcher> batchers = new ConcurrentHashMap<>();
 
     public void register(String name, ServiceClient client) {
         clients.put(name, client);
@@ -37,6 +40,11 @@ public class ServiceClientRegistry {
         routeConfigs.put(routeKey(serviceName, routeName), config);
     }
 
+    public void registerBatcher(String serviceName, String routeName, RouteBatcher batcher) {
+        batchers.put(routeKey(serviceName, routeName), batcher);
+        log.debug("[Loom] Registered batch route: {}.{}", serviceName, routeName);
+    }
+
     public ServiceClient getClient(String name) {
         ServiceClient client = clients.get(name);
         if (client == null) {
@@ -80,6 +88,25 @@ public class ServiceClientRegistry {
         throw new LoomRouteNotFoundException(serviceName, routeName);
     }
 
+    public RouteBatcher getBatcher(String serviceName, String routeName) {
+        RouteBatcher batcher = batchers.get(routeKey(serviceName, routeName));
+        if (batcher == null) {
+            getRouteConfig(serviceName, routeName); // unknown service or route
+            throw new LoomException("Route '" + routeName + "' of service '" + serviceName
+                    + "' has no 'batch' configuration");
+        }
+        return batcher;
+    }
+
+    /** Batch counts and size histograms of every batch route. */
+    public List<RouteBatcher.Stats> getBatchStats() {
+        List<RouteBatcher.Stats> stats = new ArrayList<>(batchers.size());
+        for (RouteBatcher batcher : batchers.values()) {
+            stats.add(batcher.stats());
+        }
+        return stats;
+    }
+
     public Map<String, ServiceClient> getAllClients() {
         return Collections.unmodifiableMap(clients);
     }
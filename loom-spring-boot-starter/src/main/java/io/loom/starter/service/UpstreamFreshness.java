@@ -0,0 +1,184 @@
+package io.loom.starter.service;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Freshness of every upstream response one API request depended on, so the API response can
+ * carry a {@code Cache-Control} no more generous than its least fresh input.
+ * <p>
+ * One instance is shared by all builders of a request. {@link RouteInvokerImpl} wraps each
+ * route call in {@link #track}, which binds the call to the builder's thread; the
+ * {@link RestServiceClient} interceptor then records the response headers it sees (including
+ * {@code Age} on responses served by the {@link HttpCache}). Inputs that are not upstream
+ * responses, namely reference-data snapshots and cached API responses, are recorded through
+ * {@link #recordStored} with the time they stay current. The result is:
+ * <ul>
+ *   <li>{@code no-store} if any upstream said {@code no-store}, failed with a 5xx, or failed
+ *       in transport;</li>
+ *   <li>nothing if any upstream gave no freshness information at all, since there is then no
+ *       safe lifetime to derive;</li>
+ *   <li>otherwise {@code max-age} as the smallest remaining lifetime ({@code no-cache} counts as
+ *       0), {@code s-maxage} as the smallest remaining shared lifetime when that differs, and
+ *       {@code private} if any upstream response was private or the API request carried
+ *       credentials.</li>
+ * </ul>
+ */
+public final class UpstreamFreshness {
+
+    private static final ThreadLocal<Call> CURRENT = new ThreadLocal<>();
+
+    /** A route call in progress on the current thread. */
+    private static final class Call {
+        final UpstreamFreshness freshness;
+        final String surrogateKey;
+        boolean recorded;
+
+        Call(UpstreamFreshness freshness, String surrogateKey) {
+            this.freshness = freshness;
+            this.surrogateKey = surrogateKey;
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<String> surrogateKeys = new LinkedHashSet<>();
+    private int calls;
+    private boolean noStore;
+    private boolean unknown;
+    private boolean isPrivate;
+    private long maxAge = Long.MAX_VALUE;
+    private long sharedMaxAge = Long.MAX_VALUE;
+
+    /**
+     * Runs a route call, recording the freshness of the responses it receives under
+     * {@code surrogateKey}. A call that completes without the client reporting any response
+     * (e.g. a custom {@code ServiceClient}) counts as having unknown freshness.
+     */
+    public <T> T track(String surrogateKey, Supplier<T> call) {
+        Call previous = CURRENT.get();
+        Call current = new Call(this, surrogateKey);
+        CURRENT.set(current);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+            if (!current.recorded) {
+                record(surrogateKey, false, false, false, -1, -1);
+            }
+        }
+    }
+
+    static boolean isTracking() {
+        return CURRENT.get() != null;
+    }
+
+    /** Records one upstream response for the call bound to this thread, if any. */
+    static void recordResponse(int status, HttpHeaders headers) {
+        Call call = CURRENT.get();
+        if (call == null) {
+            return;
+        }
+        call.recorded = true;
+        if (status >= 500) {
+            call.freshness.record(call.surrogateKey, true, false, true, 0, 0);
+            return;
+        }
+        HttpCacheInterceptor.CacheControl control =
+                HttpCacheInterceptor.CacheControl.parse(headers.get(HttpHeaders.CACHE_CONTROL));
+        long lifetime = control.noCache() ? 0 : control.maxAge() >= 0 ? control.maxAge()
+                : HttpCacheInterceptor.expiresLifetime(headers);
+        long sharedLifetime = control.noCache() ? 0 : control.sMaxAge() >= 0 ? control.sMaxAge() : lifetime;
+        long age = HttpCacheInterceptor.parseLong(headers.getFirst(HttpHeaders.AGE), 0);
+        call.freshness.record(call.surrogateKey, control.noStore(), control.isPrivate(), lifetime >= 0,
+                lifetime >= 0 ? Math.max(0, lifetime - age) : -1,
+                sharedLifetime >= 0 ? Math.max(0, sharedLifetime - age) : -1);
+    }
+
+    /** Records a transport failure for the call bound to this thread, if any. */
+    static void recordFailure() {
+        Call call = CURRENT.get();
+        if (call != null) {
+            call.recorded = true;
+            call.freshness.record(call.surrogateKey, true, false, true, 0, 0);
+        }
+    }
+
+    /**
+     * Records an input that is not an upstream response and stays current for
+     * {@code remainingMs} more, such as a reference-data snapshot or a cached API response.
+     */
+    public void recordStored(long remainingMs) {
+        long maxAge = Math.max(0, remainingMs) / 1000;
+        record(null, false, false, true, maxAge, maxAge);
+    }
+
+    private void record(String surrogateKey, boolean noStore, boolean isPrivate, boolean known,
+                        long maxAge, long sharedMaxAge) {
+        lock.lock();
+        try {
+            calls++;
+            if (surrogateKey != null) {
+                surrogateKeys.add(surrogateKey);
+            }
+            this.noStore |= noStore;
+            this.isPrivate |= isPrivate;
+            if (!known) {
+                unknown = true;
+                return;
+            }
+            this.maxAge = Math.min(this.maxAge, maxAge);
+            this.sharedMaxAge = Math.min(this.sharedMaxAge, sharedMaxAge);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The derived {@code Cache-Control} value, or {@code null} if no upstream was called or
+     * one of them gave no freshness information.
+     *
+     * @param authorized whether the API request carried credentials ({@code Authorization} or
+     *                   {@code Cookie}); its response is then
+     *                   only ever {@code private}, since a shared cache would serve it to others
+     */
+    public String cacheControl(boolean authorized) {
+        lock.lock();
+        try {
+            if (calls == 0) {
+                return null;
+            }
+            if (noStore) {
+                return "no-store";
+            }
+            if (unknown) {
+                return null;
+            }
+            if (isPrivate || authorized) {
+                return "private, max-age=" + maxAge;
+            }
+            return sharedMaxAge != maxAge
+                    ? "max-age=" + maxAge + ", s-maxage=" + sharedMaxAge
+                    : "max-age=" + maxAge;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Space-separated {@code service/route} names of every route called, or {@code null} if none. */
+    public String surrogateKeys() {
+        lock.lock();
+        try {
+            return surrogateKeys.isEmpty() ? null : String.join(" ", surrogateKeys);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
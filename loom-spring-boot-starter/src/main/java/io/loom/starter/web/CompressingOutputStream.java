@@ -0,0 +1,145 @@
+package io.loom.starter.web;
+
+import io.loom.starter.cache.ResponseCache;
+import io.loom.starter.codec.DeflaterPool;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Response stream that gzip- or deflate-encodes everything written to it using a pooled
+ * {@link Deflater}. Output is held back until {@code minSize} bytes have been written: smaller
+ * bodies are sent uncompressed and without {@code Content-Encoding}, so the decision can be made
+ * without serializing the body up front. {@link #close()} must be called to finish the stream
+ * and return the deflater to the pool.
+ */
+final class CompressingOutputStream extends OutputStream {
+
+    private static final byte[] GZIP_HEADER = {
+            0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+    private static final int BUFFER_SIZE = 8192;
+
+    private final HttpServletResponse response;
+    private final DeflaterPool deflaterPool;
+    private final String encoding;
+    private final boolean gzip;
+    private final int level;
+    private final int minSize;
+
+    private byte[] pending;
+    private int pendingLength;
+
+    private OutputStream out;
+    private Deflater deflater;
+    private CRC32 crc;
+    private byte[] buffer;
+    private boolean closed;
+
+    CompressingOutputStream(HttpServletResponse response, DeflaterPool deflaterPool,
+                            String encoding, int level, int minSize) {
+        this.response = response;
+        this.deflaterPool = deflaterPool;
+        this.encoding = encoding;
+        this.gzip = ResponseCompressor.GZIP.equals(encoding);
+        this.level = level;
+        this.minSize = minSize;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (len == 0) {
+            return;
+        }
+        if (deflater == null) {
+            if (pendingLength + len < minSize) {
+                if (pending == null) {
+                    pending = new byte[minSize];
+                }
+                System.arraycopy(b, off, pending, pendingLength, len);
+                pendingLength += len;
+                return;
+            }
+            start();
+            if (pendingLength > 0) {
+                deflate(pending, 0, pendingLength);
+                pending = null;
+            }
+        }
+        deflate(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (deflater == null) {
+            if (pendingLength > 0) {
+                response.getOutputStream().write(pending, 0, pendingLength);
+            }
+            return;
+        }
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer, 0, buffer.length);
+                if (n > 0) out.write(buffer, 0, n);
+            }
+            if (gzip) {
+                writeIntLE((int) crc.getValue());
+                writeIntLE((int) deflater.getBytesRead());
+            }
+        } finally {
+            deflaterPool.release(deflater, level, gzip);
+            deflater = null;
+        }
+    }
+
+    private void start() throws IOException {
+        response.setHeader("Content-Encoding", encoding);
+        String etag = response.getHeader("ETag");
+        if (etag != null && !etag.startsWith("W/")) {
+            // The compressed bytes are a different representation and need their own strong tag
+            response.setHeader("ETag", ResponseCache.encodedEtag(etag, encoding));
+        }
+        out = response.getOutputStream();
+        deflater = deflaterPool.borrow(level, gzip);
+        buffer = new byte[BUFFER_SIZE];
+        if (gzip) {
+            crc = new CRC32();
+            out.write(GZIP_HEADER);
+        }
+    }
+
+    private void deflate(byte[] b, int off, int len) throws IOException {
+        if (gzip) {
+            crc.update(b, off, len);
+        }
+        deflater.setInput(b, off, len);
+        while (!deflater.needsInput()) {
+            int n = deflater.deflate(buffer, 0, buffer.length);
+            if (n > 0) out.write(buffer, 0, n);
+        }
+    }
+
+    private void writeIntLE(int value) throws IOException {
+        buffer[0] = (byte) value;
+        buffer[1] = (byte) (value >> 8);
+        buffer[2] = (byte) (value >> 16);
+        buffer[3] = (byte) (value >> 24);
+        out.write(buffer, 0, 4);
+    }
+}
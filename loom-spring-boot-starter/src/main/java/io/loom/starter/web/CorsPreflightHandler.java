@@ -0,0 +1,77 @@
+package io.loom.starter.web;
+
+import io.loom.core.model.CorsPolicy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+
+/**
+ * Answers CORS preflights for one route straight from its compiled {@link CorsPolicy}.
+ * One instance is created per route with CORS enabled and returned by
+ * {@link LoomHandlerMapping} for every matching {@code OPTIONS} preflight; no interceptor,
+ * validation or DAG runs. {@link #applyResponseHeaders} adds the headers for the actual request.
+ */
+@Getter
+public final class CorsPreflightHandler {
+
+    private static final String PREFLIGHT_VARY =
+            "Origin, Access-Control-Request-Method, Access-Control-Request-Headers";
+
+    private final CorsPolicy policy;
+
+    public CorsPreflightHandler(CorsPolicy policy) {
+        this.policy = policy;
+    }
+
+    /** Writes a 204 for an allowed preflight, or a 403 when the origin, method or headers are not. */
+    public void handle(HttpServletRequest request, HttpServletResponse response) {
+        response.setHeader("Vary", PREFLIGHT_VARY);
+        String allowOrigin = policy.allowOrigin(request.getHeader("Origin"));
+        String requestHeaders = request.getHeader("Access-Control-Request-Headers");
+        if (allowOrigin == null
+                || !policy.allowsMethod(request.getHeader("Access-Control-Request-Method"))
+                || !policy.allowsHeaders(requestHeaders)) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+        response.setHeader("Access-Control-Allow-Origin", allowOrigin);
+        response.setHeader("Access-Control-Allow-Methods", policy.allowMethods());
+        String allowHeaders = policy.allowHeaders() != null ? policy.allowHeaders() : requestHeaders;
+        if (allowHeaders != null && !allowHeaders.isBlank()) {
+            response.setHeader("Access-Control-Allow-Headers", allowHeaders);
+        }
+        if (policy.allowCredentials()) {
+            response.setHeader("Access-Control-Allow-Credentials", "true");
+        }
+        if (policy.maxAge() != null) {
+            response.setHeader("Access-Control-Max-Age", policy.maxAge());
+        }
+    }
+
+    /**
+     * Adds the CORS headers of an actual (non-preflight) request whose origin is allowed.
+     * {@code Vary: Origin} is added even without an {@code Origin} header, so a shared cache
+     * never serves a response stored for a same-origin request to a cross-origin one.
+     */
+    static void applyResponseHeaders(CorsPolicy policy, HttpServletRequest request, HttpServletResponse response) {
+        if (policy.variesByOrigin()) {
+            response.addHeader("Vary", "Origin");
+        }
+        String origin = request.getHeader("Origin");
+        if (origin == null) {
+            return;
+        }
+        String allowOrigin = policy.allowOrigin(origin);
+        if (allowOrigin == null) {
+            return; // the browser blocks the response
+        }
+        response.setHeader("Access-Control-Allow-Origin", allowOrigin);
+        if (policy.allowCredentials()) {
+            response.setHeader("Access-Control-Allow-Credentials", "true");
+        }
+        if (policy.exposeHeaders() != null) {
+            response.setHeader("Access-Control-Expose-Headers", policy.exposeHeaders());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.loom.starter.web;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that enforces a byte limit while it is consumed, so a body can be streamed
+ * without knowing its size up front. Reading past the limit fails with an {@link IOException}
+ * and leaves {@link #limitExceeded()} set for the caller to report.
+ */
+final class LimitedInputStream extends FilterInputStream {
+
+    private final long limit;
+    private long count;
+    private volatile boolean limitExceeded;
+
+    LimitedInputStream(InputStream in, long limit) {
+        super(in);
+        this.limit = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            account(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            account(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        if (skipped > 0) {
+            account(skipped);
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    boolean limitExceeded() {
+        return limitExceeded;
+    }
+
+    long limit() {
+        return limit;
+    }
+
+    private void account(long n) throws IOException {
+        count += n;
+        if (count > limit) {
+            limitExceeded = true;
+            throw new IOException("Request body exceeds limit of " + limit + " bytes");
+        }
+    }
+}
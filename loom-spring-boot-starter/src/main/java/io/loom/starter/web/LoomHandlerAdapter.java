@@ -2,16 +2,26 @@ package io.loom.starter.web;
 
 import io.loom.core.codec.JsonCodec;
 import io.loom.core.engine.DagExecutor;
+import io.loom.core.engine.FieldPlan;
+import io.loom.core.engine.Speculation;
 import io.loom.core.exception.LoomException;
 import io.loom.core.interceptor.LoomInterceptor;
 import io.loom.core.model.ApiDefinition;
+import io.loom.core.model.HeaderPolicy;
 import io.loom.core.service.ServiceClient;
 import io.loom.core.service.ServiceResponse;
 import io.loom.core.validation.RequestValidator;
+import io.loom.core.validation.ValidationPlan;
+import io.loom.starter.cache.CachedBody;
+import io.loom.starter.cache.CachedResponse;
+import io.loom.starter.cache.RequestCoalescer;
+import io.loom.starter.cache.ResponseCache;
+import io.loom.starter.codec.BodyBufferPool;
 import io.loom.starter.context.SpringBuilderContext;
 import io.loom.starter.registry.DefaultInterceptorChain;
 import io.loom.starter.registry.InterceptorRegistry;
 import io.loom.starter.service.ServiceClientRegistry;
+import io.loom.starter.service.UpstreamFreshness;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
@@ -24,123 +34,322 @@ import java.util.concurrent.atomic.AtomicReference;
 @Slf4j
 public class LoomHandlerAdapter implements HandlerAdapter {
 
-    // RFC 2616 §13.5.1 — hop-by-hop headers that proxies MUST NOT forward
-    private static final String[] HOP_BY_HOP_HEADERS = {
-            "host", "content-length", "connection", "keep-alive",
-            "transfer-encoding", "te", "trailer", "upgrade",
-            "proxy-authenticate", "proxy-authorization"
-    };
-
-    private static boolean isHopByHop(String name) {
-        for (String hop : HOP_BY_HOP_HEADERS) {
-            if (hop.equalsIgnoreCase(name)) return true;
-        }
-        return false;
-    }
-
     private final DagExecutor dagExecutor;
     private final InterceptorRegistry interceptorRegistry;
     private final ServiceClientRegistry serviceClientRegistry;
     private final JsonCodec jsonCodec;
     private final long maxRequestBodySize;
+    private final ResponseCompressor responseCompressor;
+    private final BodyBufferPool bodyBufferPool;
+    private final ResponseCache responseCache;
+    private final boolean deriveCacheControl;
+    private final String surrogateKeyHeader;
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
 
+    /**
+     * @param responseCompressor negotiates gzip/deflate for response bodies; {@code null} disables compression
+     * @param bodyBufferPool     pool that request bodies are read into; {@code null} allocates per request
+     * @param responseCache      serialized-response cache for {@code @LoomCache} APIs; {@code null} disables caching
+     * @param deriveCacheControl set {@code Cache-Control} on successful GET/HEAD builder responses
+     *                           from the freshness of the upstream responses the DAG used
+     * @param surrogateKeyHeader header listing the routes those responses came from, for
+     *                           targeted CDN purges; {@code null} omits it
+     */
     public LoomHandlerAdapter(DagExecutor dagExecutor,
                               InterceptorRegistry interceptorRegistry,
                               ServiceClientRegistry serviceClientRegistry,
                               JsonCodec jsonCodec,
-                              long maxRequestBodySize) {
+                              long maxRequestBodySize,
+                              ResponseCompressor responseCompressor,
+                              BodyBufferPool bodyBufferPool,
+                              ResponseCache responseCache,
+                              boolean deriveCacheControl,
+                              String surrogateKeyHeader) {
         this.dagExecutor = dagExecutor;
         this.interceptorRegistry = interceptorRegistry;
         this.serviceClientRegistry = serviceClientRegistry;
         this.jsonCodec = jsonCodec;
         this.maxRequestBodySize = maxRequestBodySize;
+        this.responseCompressor = responseCompressor;
+        this.bodyBufferPool = bodyBufferPool;
+        this.responseCache = responseCache;
+        this.deriveCacheControl = deriveCacheControl;
+        this.surrogateKeyHeader = surrogateKeyHeader;
     }
 
     @Override
     public boolean supports(Object handler) {
-        return handler instanceof LoomRequestHandler;
+        return handler instanceof LoomRequestHandler || handler instanceof CorsPreflightHandler;
     }
 
     @Override
     public ModelAndView handle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (handler instanceof CorsPreflightHandler preflight) {
+            preflight.handle(request, response);
+            return null;
+        }
         LoomRequestHandler loomHandler = (LoomRequestHandler) handler;
-        Map<String, String> pathVars = loomHandler.getPathVariables();
-
-        LoomHttpContextImpl httpContext = new LoomHttpContextImpl(
-                request, response, jsonCodec, pathVars, maxRequestBodySize);
+        Map<String, String> pathVars = loomHandler.resolvePathVariables(request);
 
         ApiDefinition api = loomHandler.getApiDefinition();
+        // Before anything can commit the response, so rejections (401, 429) are readable cross-origin too
+        if (api.corsPolicy() != null) {
+            CorsPreflightHandler.applyResponseHeaders(api.corsPolicy(), request, response);
+        }
 
+        // Passthrough bodies nobody needs to inspect are streamed upstream instead of buffered
+        boolean streamBody = api.isPassthrough()
+                && (api.validationPlan() == null || !api.validationPlan().needsBodyValidation());
+        LoomHttpContextImpl httpContext = new LoomHttpContextImpl(
+                request, response, jsonCodec, pathVars, maxRequestBodySize, streamBody, bodyBufferPool);
+        httpContext.setApiDefinition(api);
+        boolean written = false;
+        try {
+            processRequest(request, response, api, httpContext);
+            written = true;
+        } finally {
+            httpContext.releaseBody();
+            httpContext.complete(written);
+        }
+        return null;
+    }
+
+    private void processRequest(HttpServletRequest request, HttpServletResponse response,
+                                ApiDefinition api, LoomHttpContextImpl httpContext) throws Exception {
         // Validate request before interceptor chain
-        Object cachedBody = null;
-        if (api.validationPlan() != null) {
+        ValidationPlan plan = api.validationPlan();
+        if (plan != null) {
+            // Typed params are converted once here and handed to builders through the context
+            Object[] typedValues = plan.typedParamCount() > 0 ? new Object[plan.typedParamCount()] : null;
             RequestValidator.ValidationResult vr = RequestValidator.validate(
-                    api.validationPlan(), httpContext, jsonCodec);
+                    plan, httpContext, jsonCodec, typedValues);
+            if (typedValues != null) httpContext.bindTypedQueryParams(plan, typedValues);
             if (vr != null) {
                 if (vr.queryParamDefaults() != null) httpContext.applyQueryParamDefaults(vr.queryParamDefaults());
-                if (vr.parsedBody() != null) {
-                    httpContext.cacheParsedBody(vr.parsedBody());
-                    cachedBody = vr.parsedBody();
-                }
+                if (vr.parsedBody() != null) httpContext.cacheParsedBody(vr.parsedBody());
             }
         }
 
         if (api.isPassthrough()) {
             ServiceResponse<byte[]> upstream = handlePassthrough(api, httpContext);
+            response = httpContext.getServletResponse(); // an interceptor may have wrapped it
             if (upstream != null) {
-                writeProxyResponse(response, upstream);
+                writeProxyResponse(request, response, api, upstream);
             } else {
                 // Interceptor short-circuited — fall back to JSON response path
-                writeJsonResponse(response, httpContext);
+                writeJsonResponse(request, response, api, httpContext);
             }
         } else {
-            handleBuilder(api, httpContext, pathVars, cachedBody);
-            writeJsonResponse(response, httpContext);
+            BuilderExecution execution = handleBuilder(api, httpContext);
+            response = httpContext.getServletResponse(); // an interceptor may have wrapped it
+            CachedResponse cached = execution.cachedResponse;
+            byte[] sharedBody = execution.sharedBody;
+            if (execution.cacheKey != null && cached == null && !response.isCommitted()
+                    && httpContext.getResponseStatus() == 200) {
+                if (execution.coalescedFollower) {
+                    cached = responseCache.get(execution.cacheKey); // stored by the leader
+                } else if (sharedBody != null || httpContext.getResponseBody() != null) {
+                    cached = responseCache.put(execution.cacheKey, api.cachePolicy(), sharedBody != null
+                            ? sharedBody : jsonCodec.writeValueAsBytes(httpContext.getResponseBody()));
+                }
+            }
+            if (execution.freshness != null) {
+                if (execution.cachedResponse != null) {
+                    // A hit made no upstream calls: its inputs are the entry, current until it expires
+                    execution.freshness.recordStored(
+                            execution.cachedResponse.expiresAtMillis() - System.currentTimeMillis());
+                }
+                applyUpstreamFreshness(request, response, httpContext, execution.freshness);
+            }
+            if (cached != null) {
+                try {
+                    writeCachedResponse(request, response, api, cached);
+                } finally {
+                    cached.close(); // unpins an off-heap body
+                }
+            } else if (sharedBody != null) {
+                writeJsonBytes(request, response, api, httpContext.getResponseStatus(), CachedBody.of(sharedBody));
+            } else {
+                writeJsonResponse(request, response, api, httpContext);
+            }
         }
+    }
 
-        return null;
+    /**
+     * Sets {@code Cache-Control} and surrogate keys derived from the upstream responses and
+     * snapshots this request's DAG used, or that the leader's did for a coalesced follower. A
+     * cache hit gets {@code max-age} from the entry's remaining lifetime and no surrogate keys.
+     * Requests carrying {@code Authorization} or {@code Cookie} only ever get {@code private};
+     * a {@code Cache-Control} set by an interceptor is left alone.
+     */
+    private void applyUpstreamFreshness(HttpServletRequest request, HttpServletResponse response,
+                                        LoomHttpContextImpl httpContext, UpstreamFreshness freshness) {
+        if (response.isCommitted() || httpContext.getResponseStatus() != 200
+                || response.containsHeader("Cache-Control")) {
+            return;
+        }
+        String cacheControl = freshness.cacheControl(
+                request.getHeader("Authorization") != null || request.getHeader("Cookie") != null);
+        if (cacheControl != null) {
+            response.setHeader("Cache-Control", cacheControl);
+        }
+        String surrogateKeys = freshness.surrogateKeys();
+        if (surrogateKeyHeader != null && surrogateKeys != null) {
+            response.setHeader(surrogateKeyHeader, surrogateKeys);
+        }
     }
 
-    private void handleBuilder(ApiDefinition api, LoomHttpContextImpl httpContext,
-                               Map<String, String> pathVars,
-                               Object cachedBody) {
+    private BuilderExecution handleBuilder(ApiDefinition api, LoomHttpContextImpl httpContext) {
         // Build interceptor chain
         List<LoomInterceptor> interceptors = interceptorRegistry.getInterceptors(api.interceptors());
 
-        var resultHolder = new AtomicReference<>();
+        BuilderExecution execution = new BuilderExecution(api, httpContext);
+        DefaultInterceptorChain chain = new DefaultInterceptorChain(interceptors, execution,
+                isSpeculationCandidate(api) ? execution::speculate : null);
+        try {
+            chain.next(httpContext);
+        } catch (RuntimeException | Error e) {
+            // An interceptor failed after a cache hit: unpin the entry nobody will write
+            if (execution.cachedResponse != null) {
+                execution.cachedResponse.close();
+            }
+            throw e;
+        } finally {
+            // Rejected (or failed) before the DAG ran: drop whatever was started speculatively
+            execution.cancelUnusedSpeculation();
+        }
+
+        Object dagResult = execution.result;
+        if (dagResult != null) {
+            httpContext.setResponseBody(dagResult);
+        }
+        return execution;
+    }
+
+    /**
+     * Speculation only ever runs side-effect-free methods; the DAG itself opts nodes in.
+     * Cached and coalesced APIs skip it, since a hit or a shared result would discard the
+     * speculative work.
+     */
+    private boolean isSpeculationCandidate(ApiDefinition api) {
+        return !api.dag().speculativeRoots().isEmpty()
+                && (api.cachePolicy() == null || responseCache == null)
+                && api.coalescePolicy() == null
+                && ("GET".equalsIgnoreCase(api.method()) || "HEAD".equalsIgnoreCase(api.method()));
+    }
+
+    /**
+     * Terminal action of the builder interceptor chain. Root builders may already have been
+     * started by {@link #speculate()} while a parallelizable interceptor was deciding.
+     */
+    private final class BuilderExecution implements Runnable {
+
+        private final ApiDefinition api;
+        private final LoomHttpContextImpl httpContext;
+        private UpstreamFreshness freshness;
+        private final FieldPlan.Selection selection;
+        private SpringBuilderContext builderContext;
+        private Speculation speculation;
+        private boolean executed;
+        private Object result;
+        private String cacheKey;
+        private CachedResponse cachedResponse;
+        private byte[] sharedBody;
+        private boolean coalescedFollower;
+
+        BuilderExecution(ApiDefinition api, LoomHttpContextImpl httpContext) {
+            this.api = api;
+            this.httpContext = httpContext;
+            String method = httpContext.getHttpMethod();
+            this.freshness = deriveCacheControl
+                    && ("GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method))
+                    ? new UpstreamFreshness() : null;
+            FieldPlan fieldPlan = api.dag().fieldPlan();
+            this.selection = fieldPlan != null
+                    ? fieldPlan.select(httpContext.getQueryParam(FieldPlan.QUERY_PARAM)) : null;
+        }
+
+        private SpringBuilderContext builderContext() {
+            if (builderContext == null) {
+                // Containers parse parameters lazily and without locking; parse once here on the
+                // request thread before builders read them concurrently through the shared view
+                httpContext.getServletRequest().getParameterMap();
+
+                // Builders read the request and interceptor attributes through the HTTP context, no copies
+                builderContext = new SpringBuilderContext(
+                        httpContext,
+                        httpContext.getAttributes(),
+                        serviceClientRegistry,
+                        httpContext.getForwardableQueryString(),
+                        freshness
+                );
+            }
+            return builderContext;
+        }
+
+        void speculate() {
+            speculation = selection == null
+                    ? dagExecutor.speculate(api.dag(), builderContext())
+                    : dagExecutor.speculate(api.dag(), builderContext(), selection);
+        }
+
+        void cancelUnusedSpeculation() {
+            if (speculation != null && !executed) {
+                speculation.cancel();
+                if (log.isDebugEnabled()) {
+                    log.debug("[Loom] Cancelled speculative builders for {} {}", api.method(), api.path());
+                }
+            }
+        }
 
-        Runnable dagExecution = () -> {
-            SpringBuilderContext builderContext = new SpringBuilderContext(
-                    httpContext.getHttpMethod(),
-                    httpContext.getRequestPath(),
-                    pathVars,
-                    httpContext.getQueryParams(),
-                    httpContext.getHeaders(),
-                    httpContext.getRawRequestBody(),
-                    jsonCodec,
-                    serviceClientRegistry,
-                    cachedBody
-            );
+        @Override
+        public void run() {
+            executed = true;
+            // Interceptors have approved the request; a fresh cached response replaces the DAG run
+            if (api.cachePolicy() != null && responseCache != null) {
+                cacheKey = selectionKey(responseCache.key(api.cachePolicy(), httpContext.getServletRequest()));
+                cachedResponse = responseCache.get(cacheKey);
+                if (cachedResponse != null) {
+                    return;
+                }
+            }
+            if (api.coalescePolicy() != null) {
+                String key = selectionKey(requestCoalescer.key(api.coalescePolicy(), httpContext.getServletRequest()));
+                RequestCoalescer.Result shared = requestCoalescer.execute(key, freshness, () -> {
+                    result = executeDag();
+                    return result != null ? jsonCodec.writeValueAsBytes(result) : null;
+                });
+                // A null body leaves the response body unset, as an uncoalesced null result does
+                sharedBody = shared.body();
+                coalescedFollower = !shared.leader();
+                if (coalescedFollower && freshness != null) {
+                    freshness = shared.freshness(); // the leader's upstream calls are this response's inputs
+                }
+                return;
+            }
+            result = executeDag();
+        }
 
-            // Copy attributes from interceptors to builder context
-            httpContext.getAttributes().forEach(builderContext::setAttribute);
+        /** Responses to different field selections differ, whatever query parameters the key covers. */
+        private String selectionKey(String key) {
+            return selection != null ? key + '\0' + FieldPlan.QUERY_PARAM + '=' + selection.key() : key;
+        }
 
+        private Object executeDag() {
             try {
-                resultHolder.set(dagExecutor.execute(api.dag(), builderContext));
+                if (selection != null) {
+                    Object result = dagExecutor.execute(api.dag(), builderContext(), speculation, selection);
+                    return api.dag().fieldPlan().project(result, selection);
+                }
+                return speculation == null
+                        ? dagExecutor.execute(api.dag(), builderContext())
+                        : dagExecutor.execute(api.dag(), builderContext(), speculation);
             } catch (LoomException ex) {
                 throw (LoomException) ex.withApiRoute(api.method() + " " + api.path());
             } catch (Exception ex) {
                 throw (LoomException) new LoomException("Builder execution failed", ex)
                         .withApiRoute(api.method() + " " + api.path());
             }
-        };
-
-        DefaultInterceptorChain chain = new DefaultInterceptorChain(interceptors, dagExecution);
-        chain.next(httpContext);
-
-        Object dagResult = resultHolder.get();
-        if (dagResult != null) {
-            httpContext.setResponseBody(dagResult);
         }
     }
 
@@ -158,23 +367,32 @@ public class LoomHandlerAdapter implements HandlerAdapter {
             try {
                 ServiceClient client = serviceClientRegistry.getRouteClient(api.serviceName(), api.serviceRoute());
 
-                Map<String, String> headers = new LinkedHashMap<>();
-                httpContext.getHeaders().forEach((k, v) -> {
-                    if (!isHopByHop(k)) {
-                        headers.put(k, v.size() == 1 ? v.get(0) : String.join(", ", v));
-                    }
-                });
+                Map<String, String> headers = forwardRequestHeaders(
+                        httpContext.getServletRequest(), api.requestHeaderPolicy());
 
                 String resolvedPath = api.servicePathTemplate().resolve(
                         httpContext.getPathVariablesRaw(), httpContext.getQueryString());
 
                 String method = httpContext.getHttpMethod().toUpperCase();
-                byte[] requestBody = switch (method) {
-                    case "POST", "PUT", "PATCH" -> httpContext.getRawRequestBody();
-                    default -> null;
+                ServiceResponse<byte[]> upstream = switch (method) {
+                    case "POST", "PUT", "PATCH" -> {
+                        LimitedInputStream bodyStream = httpContext.takeRequestBodyStream();
+                        if (bodyStream == null) {
+                            yield client.proxy(method, resolvedPath, httpContext.getRawRequestBody(), headers);
+                        }
+                        try {
+                            yield client.proxyStream(method, resolvedPath, bodyStream,
+                                    httpContext.getRequestContentLength(), headers);
+                        } catch (RuntimeException ex) {
+                            if (bodyStream.limitExceeded()) {
+                                throw new LoomException("Request body too large: exceeds limit of "
+                                        + bodyStream.limit() + " bytes", ex);
+                            }
+                            throw ex;
+                        }
+                    }
+                    default -> client.proxy(method, resolvedPath, null, headers);
                 };
-
-                ServiceResponse<byte[]> upstream = client.proxy(method, resolvedPath, requestBody, headers);
                 upstreamHolder.set(upstream);
             } catch (LoomException ex) {
                 throw (LoomException) ex.withApiRoute(api.method() + " " + api.path());
@@ -190,39 +408,153 @@ public class LoomHandlerAdapter implements HandlerAdapter {
         return upstreamHolder.get();
     }
 
-    private void writeProxyResponse(HttpServletResponse response, ServiceResponse<byte[]> upstream) throws Exception {
+    /**
+     * Copies incoming headers straight from the servlet request into the upstream header map,
+     * applying the route's compiled policy. Multi-valued headers are joined with ", ".
+     */
+    private static Map<String, String> forwardRequestHeaders(HttpServletRequest request, HeaderPolicy policy) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        Enumeration<String> names = request.getHeaderNames();
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            String target = policy.resolve(name);
+            if (target == null) {
+                continue;
+            }
+            Enumeration<String> values = request.getHeaders(name);
+            String first = values.nextElement();
+            if (!values.hasMoreElements()) {
+                headers.put(target, first);
+            } else {
+                StringBuilder joined = new StringBuilder(first);
+                do { joined.append(", ").append(values.nextElement()); } while (values.hasMoreElements());
+                headers.put(target, joined.toString());
+            }
+        }
+        headers.putAll(policy.injected());
+        return headers;
+    }
+
+    private void writeProxyResponse(HttpServletRequest request, HttpServletResponse response,
+                                    ApiDefinition api, ServiceResponse<byte[]> upstream) throws Exception {
         response.setStatus(upstream.statusCode());
 
-        // Forward upstream response headers, filtering hop-by-hop and content-type (set explicitly below)
+        // Forward upstream response headers through the route policy; content-type is set explicitly
+        // below, and content-encoding always describes the body so it is never dropped or renamed
+        HeaderPolicy policy = api.responseHeaderPolicy();
+        boolean upstreamEncoded = false;
         if (upstream.headers() != null) {
-            upstream.headers().forEach((name, values) -> {
-                if (!isHopByHop(name) && !"content-type".equalsIgnoreCase(name)) {
-                    for (String value : values) {
-                        response.addHeader(name, value);
+            for (Map.Entry<String, List<String>> header : upstream.headers().entrySet()) {
+                String name = header.getKey();
+                String target;
+                if ("content-encoding".equalsIgnoreCase(name)) {
+                    upstreamEncoded = true;
+                    target = name;
+                } else {
+                    target = policy.resolve(name);
+                }
+                if (target != null && !"content-type".equalsIgnoreCase(name)) {
+                    for (String value : header.getValue()) {
+                        response.addHeader(target, value);
                     }
                 }
-            });
+            }
         }
+        policy.injected().forEach(response::setHeader);
 
         if (upstream.contentType() != null) {
             response.setContentType(upstream.contentType());
         }
 
-        if (upstream.rawBody() != null && upstream.rawBody().length > 0) {
-            response.getOutputStream().write(upstream.rawBody());
+        byte[] body = upstream.rawBody();
+        if (body != null && body.length > 0 && !isHead(request)) {
+            // Already-encoded upstream bodies are forwarded as-is, never re-compressed
+            CompressingOutputStream compressed = responseCompressor != null && !upstreamEncoded
+                    && responseCompressor.isCompressible(upstream.contentType())
+                    ? responseCompressor.open(request, response, api) : null;
+            if (compressed == null) {
+                response.getOutputStream().write(body);
+            } else {
+                try (compressed) {
+                    compressed.write(body);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a cached body with its ETag, or a bodyless 304 when the client already has it.
+     */
+    private void writeCachedResponse(HttpServletRequest request, HttpServletResponse response,
+                                     ApiDefinition api, CachedResponse cached) throws Exception {
+        if (response.isCommitted()) {
+            return;
+        }
+        if (api.cachePolicy().vary() != null) {
+            response.addHeader("Vary", api.cachePolicy().vary());
+        }
+        String matched = ResponseCache.matchingEtag(request.getHeader("If-None-Match"), cached.etag());
+        if (matched != null) {
+            response.setHeader("ETag", matched);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        // Replaced by its encoding's variant if the body ends up compressed
+        response.setHeader("ETag", cached.etag());
+        writeJsonBytes(request, response, api, HttpServletResponse.SC_OK, cached.content());
+    }
+
+    /** Writes an already-serialized JSON body, e.g. one shared by coalesced requests. */
+    private void writeJsonBytes(HttpServletRequest request, HttpServletResponse response,
+                                ApiDefinition api, int status, CachedBody body) throws Exception {
+        if (response.isCommitted()) {
+            return;
+        }
+        response.setStatus(status);
+        response.setContentType("application/json");
+        if (isHead(request)) {
+            return;
+        }
+        CompressingOutputStream compressed = responseCompressor != null
+                ? responseCompressor.open(request, response, api) : null;
+        if (compressed == null) {
+            response.setContentLength(body.length());
+            body.writeTo(response.getOutputStream());
+        } else {
+            try (compressed) {
+                body.writeTo(compressed);
+            }
         }
     }
 
-    private void writeJsonResponse(HttpServletResponse response, LoomHttpContextImpl httpContext) throws Exception {
+    private void writeJsonResponse(HttpServletRequest request, HttpServletResponse response,
+                                   ApiDefinition api, LoomHttpContextImpl httpContext) throws Exception {
+        // An interceptor already wrote and committed the response itself (e.g. a rate-limit 429)
+        if (response.isCommitted()) {
+            return;
+        }
         response.setStatus(httpContext.getResponseStatus());
         response.setContentType("application/json");
 
         Object responseBody = httpContext.getResponseBody();
-        if (responseBody != null) {
-            jsonCodec.writeValue(response.getOutputStream(), responseBody);
+        // HEAD on a GET API: the DAG decides the status, but the body is never serialized
+        if (responseBody != null && !isHead(request)) {
+            CompressingOutputStream compressed = responseCompressor != null
+                    ? responseCompressor.open(request, response, api) : null;
+            if (compressed == null) {
+                jsonCodec.writeValue(response.getOutputStream(), responseBody);
+            } else {
+                try (compressed) {
+                    jsonCodec.writeValue(compressed, responseBody);
+                }
+            }
         }
     }
 
+    private static boolean isHead(HttpServletRequest request) {
+        return "HEAD".equals(request.getMethod());
+    }
+
     @Override
     public long getLastModified(HttpServletRequest request, Object handler) {
         return -1;
@@ -5,6 +5,8 @@ import io.loom.core.registry.ApiRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.handler.AbstractHandlerMapping;
 
@@ -25,25 +27,64 @@ public class LoomHandlerMapping extends AbstractHandlerMapping {
 
     @Override
     protected Object getHandlerInternal(HttpServletRequest request) {
-        RouteTrie trie = getOrBuildTrie();
+        // Live registries publish trie snapshots; otherwise build once from the static API list
+        RouteTrie trie = apiRegistry instanceof RouteTrieSource source ? source.routeTrie() : getOrBuildTrie();
 
         String method = request.getMethod();
         String path = request.getRequestURI();
         String contextPath = request.getContextPath();
+        int offset = 0;
         if (contextPath != null && !contextPath.isEmpty() && path.startsWith(contextPath)) {
-            path = path.substring(contextPath.length());
+            offset = contextPath.length();
         }
 
-        RouteTrie.RouteMatch match = trie.find(method, path);
-        if (match == null) {
+        RouteTrie.Route route = trie.lookup(method, path, offset);
+        if (route == null) {
+            if ("OPTIONS".equals(method)) {
+                return preflightHandler(trie, request, path, offset);
+            }
+            // HEAD is served by the GET API with the body skipped
+            if (!"HEAD".equals(method) || (route = trie.lookup("GET", path, offset)) == null) {
+                return null;
+            }
+        }
+
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, route.pathVariables(path, offset));
+        if (log.isDebugEnabled()) {
+            ApiDefinition api = route.api();
+            log.debug("[Loom] Matched API: {} {} ({})", method, api.path(),
+                    api.isPassthrough() ? "passthrough" : "builder");
+        }
+        return route.handler();
+    }
+
+    /**
+     * Resolves a CORS preflight ({@code OPTIONS} with {@code Origin} and
+     * {@code Access-Control-Request-Method}) against the route it asks about.
+     * Routes without a CORS policy fall through to the rest of Spring MVC.
+     */
+    private static Object preflightHandler(RouteTrie trie, HttpServletRequest request, String path, int offset) {
+        String requestedMethod = request.getHeader("Access-Control-Request-Method");
+        if (requestedMethod == null || request.getHeader("Origin") == null) {
             return null;
         }
+        RouteTrie.Route target = trie.lookup(requestedMethod, path, offset);
+        if (target == null && "HEAD".equalsIgnoreCase(requestedMethod)) {
+            target = trie.lookup("GET", path, offset);
+        }
+        return target != null ? target.preflightHandler() : null;
+    }
 
-        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, match.pathVariables());
-        ApiDefinition api = match.api();
-        log.debug("[Loom] Matched API: {} {} ({})", method, api.path(),
-                api.isPassthrough() ? "passthrough" : "builder");
-        return new LoomRequestHandler(api, match.pathVariables());
+    /**
+     * Loom answers preflights and adds CORS headers itself from each route's precompiled policy,
+     * so Spring's per-request CORS processing (which would swap in its own preflight handler)
+     * is skipped for Loom handlers.
+     */
+    @Override
+    protected HandlerExecutionChain getCorsHandlerExecutionChain(HttpServletRequest request,
+                                                                 HandlerExecutionChain chain,
+                                                                 CorsConfiguration config) {
+        return chain;
     }
 
     private RouteTrie getOrBuildTrie() {
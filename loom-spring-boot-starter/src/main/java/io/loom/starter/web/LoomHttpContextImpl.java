@@ -3,44 +3,104 @@ package io.loom.starter.web;
 import io.loom.core.codec.JsonCodec;
 import io.loom.core.exception.LoomException;
 import io.loom.core.interceptor.LoomHttpContext;
+import io.loom.core.model.ApiDefinition;
+import io.loom.core.validation.RequestValidator;
+import io.loom.core.validation.ValidationPlan;
+import io.loom.starter.codec.BodyBufferPool;
+import io.loom.starter.context.RequestView;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
-
-public class LoomHttpContextImpl implements LoomHttpContext {
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Interceptor-facing request context. It doubles as the {@link RequestView} handed to builder
+ * contexts: headers and query parameters are read straight from the servlet request, and the
+ * immutable map views are only materialized on first use.
+ * <p>
+ * Request bodies with a declared {@code Content-Length} are read once into a buffer borrowed
+ * from a {@link BodyBufferPool} and parsed from it in place; a raw {@code byte[]} copy is only
+ * made when {@link #getRawRequestBody()} is called. The buffer goes back to the pool in
+ * {@link #releaseBody()}, which the adapter calls once the response is written, or when the
+ * last builder still parsing it finishes, since a timed-out builder may outlive the response.
+ */
+public class LoomHttpContextImpl implements LoomHttpContext, RequestView {
 
     private final HttpServletRequest request;
-    private final HttpServletResponse response;
+    private HttpServletResponse response;
     private final JsonCodec jsonCodec;
     private final Map<String, String> pathVariables;
     private final long maxRequestBodySize;
-    private final byte[] rawBody;
+    private final BodyBufferPool bodyBufferPool;
+    private byte[] rawBody;
+    private byte[] bodyBuffer;     // buffered body bytes, valid up to bodyLength
+    private int bodyLength;
+    private boolean bodyPooled;    // bodyBuffer was borrowed and must be released
+    private boolean bodyReleased;
+    private boolean bodyDeferred;
+    private boolean bodyStreamed;
+    // Guards buffering and release against builders, which may still be reading after release
+    private final ReentrantLock bodyLock = new ReentrantLock();
+    private int bodyReaders;       // builders parsing bodyBuffer right now
+    private byte[] pendingRelease; // pooled buffer released while bodyReaders > 0
 
     private Map<String, List<String>> cachedHeaders;
 
-    private final Map<String, Object> attributes = new HashMap<>();
+    // Concurrent: speculative builders may read attributes while a parallel interceptor writes them
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
     private Object responseBody;
     private int responseStatus = 200;
     private Map<String, String> queryParamDefaults;
     private Map<String, List<String>> cachedQueryParams;
     private Object cachedParsedBody;
+    private volatile ParsedBody lastParsedBody;
     private Map<String, String> cachedPathVars;
+    private ApiDefinition apiDefinition;
+    private ValidationPlan typedParamPlan;
+    private Object[] typedParamValues;
+    private List<Consumer<Boolean>> completionListeners;
 
     private static final Set<String> BODY_METHODS = Set.of("POST", "PUT", "PATCH");
+    // Largest body that can be buffered into a single array
+    private static final long MAX_BUFFERED_BODY = Integer.MAX_VALUE - 8;
 
+    /** A context that reads the request body up front into a freshly allocated array. */
     public LoomHttpContextImpl(HttpServletRequest request, HttpServletResponse response,
                                JsonCodec jsonCodec, Map<String, String> pathVariables,
                                long maxRequestBodySize) {
+        this(request, response, jsonCodec, pathVariables, maxRequestBodySize, false, null);
+    }
+
+    /**
+     * @param deferBody      when {@code true}, the request body is not read up front. It is either
+     *                       handed out once as a size-limited stream via {@link #takeRequestBodyStream()}
+     *                       or buffered lazily on the first {@link #getRawRequestBody()} call.
+     * @param bodyBufferPool pool to borrow body buffers from; {@code null} reads every body
+     *                       into a freshly allocated array
+     */
+    public LoomHttpContextImpl(HttpServletRequest request, HttpServletResponse response,
+                               JsonCodec jsonCodec, Map<String, String> pathVariables,
+                               long maxRequestBodySize, boolean deferBody, BodyBufferPool bodyBufferPool) {
         this.request = request;
         this.response = response;
         this.jsonCodec = jsonCodec;
         this.pathVariables = pathVariables != null ? pathVariables : Map.of();
         this.maxRequestBodySize = maxRequestBodySize;
-        this.rawBody = BODY_METHODS.contains(request.getMethod().toUpperCase())
-                ? readBody(request) : new byte[0];
+        this.bodyBufferPool = bodyBufferPool;
+        if (!BODY_METHODS.contains(request.getMethod().toUpperCase())) {
+            this.rawBody = new byte[0];
+            this.bodyBuffer = rawBody;
+        } else if (deferBody) {
+            checkDeclaredLength(request);
+            this.bodyDeferred = true;
+        } else {
+            bufferBody();
+        }
     }
 
     private static Map<String, List<String>> buildHeaders(HttpServletRequest request) {
@@ -62,26 +122,71 @@ public class LoomHttpContextImpl implements LoomHttpContext {
         return Map.copyOf(headers);
     }
 
-    private byte[] readBody(HttpServletRequest request) {
+    private void checkDeclaredLength(HttpServletRequest request) {
         long contentLength = request.getContentLengthLong();
         if (contentLength > maxRequestBodySize) {
             throw new LoomException("Request body too large: " + contentLength
                     + " bytes exceeds limit of " + maxRequestBodySize + " bytes");
         }
+    }
+
+    /**
+     * Reads the body into {@link #bodyBuffer}. A declared {@code Content-Length} sizes the buffer
+     * up front (pooled when it fits), so the read never grows an array; chunked bodies fall back
+     * to a bounded {@code readNBytes}.
+     */
+    private void bufferBody() {
+        checkDeclaredLength(request);
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > MAX_BUFFERED_BODY) {
+            throw new LoomException("Request body too large: " + contentLength
+                    + " bytes exceeds the buffering limit of " + MAX_BUFFERED_BODY + " bytes");
+        }
         try {
-            int limit = (int) Math.min(maxRequestBodySize + 1, Integer.MAX_VALUE);
             InputStream inputStream = request.getInputStream();
+            if (contentLength > 0 && bodyBufferPool != null) {
+                int length = (int) contentLength;
+                byte[] buffer = bodyBufferPool.borrow(length);
+                try {
+                    bodyLength = inputStream.readNBytes(buffer, 0, length);
+                } catch (IOException | RuntimeException e) {
+                    bodyBufferPool.release(buffer);
+                    throw e;
+                }
+                bodyBuffer = buffer;
+                // Oversized bodies get an exact, unpooled array that can double as the raw body
+                bodyPooled = length <= bodyBufferPool.bufferSize();
+                if (!bodyPooled && bodyLength == length) {
+                    rawBody = buffer;
+                }
+                return;
+            }
+            int limit = (int) Math.min(maxRequestBodySize + 1, MAX_BUFFERED_BODY);
             byte[] body = inputStream.readNBytes(limit);
             if (body.length > maxRequestBodySize) {
                 throw new LoomException("Request body too large: " + body.length
                         + " bytes exceeds limit of " + maxRequestBodySize + " bytes");
             }
-            return body;
+            rawBody = body;
+            bodyBuffer = body;
+            bodyLength = body.length;
         } catch (IOException e) {
             throw new LoomException("Failed to read request body", e);
         }
     }
 
+    private void ensureBuffered() {
+        if (bodyBuffer == null) {
+            if (bodyReleased) {
+                throw new LoomException("Request body is no longer available after the response was written");
+            }
+            if (bodyStreamed) {
+                throw new LoomException("Request body has already been streamed upstream");
+            }
+            bufferBody();
+        }
+    }
+
     @Override
     public String getHttpMethod() {
         return request.getMethod();
@@ -115,6 +220,22 @@ public class LoomHttpContextImpl implements LoomHttpContext {
         return val;
     }
 
+    /**
+     * Serves params converted during validation from the bound values array; anything else
+     * (undeclared params, or a different target type) is converted on the spot.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getQueryParam(String name, Class<T> type) {
+        if (typedParamValues != null) {
+            int idx = typedParamPlan.typedParamIndex(name);
+            if (idx >= 0 && typedParamPlan.typedParamType(idx) == type) {
+                return (T) typedParamValues[idx];
+            }
+        }
+        return RequestValidator.convert(name, getQueryParam(name), type);
+    }
+
     @Override
     public Map<String, List<String>> getQueryParams() {
         if (cachedQueryParams != null) {
@@ -156,24 +277,139 @@ public class LoomHttpContextImpl implements LoomHttpContext {
         return request.getQueryString();
     }
 
+    /**
+     * Returns the raw query string when it carries exactly the parameters exposed by
+     * {@link #getQueryParams()}, or {@code null} when defaults were applied or form-encoded
+     * body parameters are merged in, in which case the query must be rebuilt from the map.
+     */
+    String getForwardableQueryString() {
+        if (queryParamDefaults != null && !queryParamDefaults.isEmpty()) {
+            return null;
+        }
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.regionMatches(true, 0,
+                "application/x-www-form-urlencoded", 0, 33)) {
+            return null;
+        }
+        return request.getQueryString();
+    }
+
+    /**
+     * Returns the body bytes. A pooled body is copied out of its buffer on the first call,
+     * so only callers that need the bytes themselves pay for the copy.
+     */
     @Override
     public byte[] getRawRequestBody() {
+        if (rawBody == null) {
+            bodyLock.lock();
+            try {
+                if (rawBody == null) {
+                    ensureBuffered();
+                    rawBody = Arrays.copyOf(bodyBuffer, bodyLength);
+                }
+            } finally {
+                bodyLock.unlock();
+            }
+        }
         return rawBody;
     }
 
+    /**
+     * Hands out the deferred request body as a stream that enforces {@code maxRequestBodySize}
+     * while it is consumed. Returns {@code null} when the body was not deferred or has already
+     * been buffered, in which case {@link #getRawRequestBody()} must be used instead.
+     * Can only be taken once.
+     */
+    LimitedInputStream takeRequestBodyStream() throws IOException {
+        if (!bodyDeferred || bodyBuffer != null || bodyStreamed) {
+            return null;
+        }
+        bodyStreamed = true;
+        return new LimitedInputStream(request.getInputStream(), maxRequestBodySize);
+    }
+
+    long getRequestContentLength() {
+        return request.getContentLengthLong();
+    }
+
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T getRequestBody(Class<T> type) {
+        try {
+            return readRequestBody(type, jsonCodec);
+        } catch (LoomException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LoomException("Failed to deserialize request body", e);
+        }
+    }
+
+    /**
+     * Parses straight from the body buffer. The validated body and the most recently parsed
+     * type are cached, so builders asking for the same type share one instance.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T readRequestBody(Class<T> type, JsonCodec codec) throws IOException {
         if (cachedParsedBody != null && type.isInstance(cachedParsedBody)) {
             return (T) cachedParsedBody;
         }
-        if (rawBody == null || rawBody.length == 0) {
-            return null;
+        ParsedBody last = lastParsedBody;
+        if (last != null && last.type() == type) {
+            return (T) last.value();
         }
+        byte[] buffer;
+        bodyLock.lock();
         try {
-            return jsonCodec.readValue(rawBody, type);
-        } catch (Exception e) {
-            throw new LoomException("Failed to deserialize request body", e);
+            ensureBuffered();
+            if (bodyLength == 0) {
+                return null;
+            }
+            buffer = bodyBuffer;
+            bodyReaders++;
+        } finally {
+            bodyLock.unlock();
+        }
+        try {
+            T value = codec.readValue(buffer, bodyLength, type);
+            lastParsedBody = new ParsedBody(type, value);
+            return value;
+        } finally {
+            bodyLock.lock();
+            try {
+                if (--bodyReaders == 0 && pendingRelease != null) {
+                    bodyBufferPool.release(pendingRelease);
+                    pendingRelease = null;
+                }
+            } finally {
+                bodyLock.unlock();
+            }
+        }
+    }
+
+    private record ParsedBody(Class<?> type, Object value) {}
+
+    /**
+     * Returns a pooled body buffer to the pool. Called once the response has been written;
+     * a raw copy handed out earlier stays valid. If a builder is still parsing the buffer,
+     * it goes back to the pool when that builder is done with it.
+     */
+    void releaseBody() {
+        bodyLock.lock();
+        try {
+            if (bodyPooled) {
+                bodyPooled = false;
+                if (bodyReaders > 0) {
+                    pendingRelease = bodyBuffer;
+                } else {
+                    bodyBufferPool.release(bodyBuffer);
+                }
+            }
+            if (bodyBuffer != null || bodyDeferred) {
+                bodyReleased = true;
+            }
+            bodyBuffer = null;
+        } finally {
+            bodyLock.unlock();
         }
     }
 
@@ -182,13 +418,23 @@ public class LoomHttpContextImpl implements LoomHttpContext {
         this.cachedQueryParams = null; // invalidate cache
     }
 
+    /** Binds the values converted by {@link RequestValidator#validate} for typed reads. */
+    void bindTypedQueryParams(ValidationPlan plan, Object[] values) {
+        this.typedParamPlan = plan;
+        this.typedParamValues = values;
+    }
+
     void cacheParsedBody(Object body) {
         this.cachedParsedBody = body;
     }
 
     @Override
     public void setAttribute(String key, Object value) {
-        attributes.put(key, value);
+        if (value == null) {
+            attributes.remove(key);
+        } else {
+            attributes.put(key, value);
+        }
     }
 
     @Override
@@ -227,6 +473,15 @@ public class LoomHttpContextImpl implements LoomHttpContext {
         return responseBody;
     }
 
+    /** The API this request was routed to, or {@code null} outside the handler adapter. */
+    public ApiDefinition getApiDefinition() {
+        return apiDefinition;
+    }
+
+    void setApiDefinition(ApiDefinition apiDefinition) {
+        this.apiDefinition = apiDefinition;
+    }
+
     public HttpServletRequest getServletRequest() {
         return request;
     }
@@ -234,4 +489,32 @@ public class LoomHttpContextImpl implements LoomHttpContext {
     public HttpServletResponse getServletResponse() {
         return response;
     }
+
+    /**
+     * Replaces the response the adapter writes to once the interceptor chain returns, e.g. with
+     * a wrapper that records what is written.
+     */
+    public void setServletResponse(HttpServletResponse response) {
+        this.response = response;
+    }
+
+    /**
+     * Registers a listener called once the adapter is done with the request, with {@code true}
+     * if the response was written and {@code false} if handling failed with an exception.
+     */
+    public void onComplete(Consumer<Boolean> listener) {
+        if (completionListeners == null) {
+            completionListeners = new ArrayList<>(2);
+        }
+        completionListeners.add(listener);
+    }
+
+    /** Notifies the {@link #onComplete} listeners; called by the adapter after every request. */
+    public void complete(boolean written) {
+        if (completionListeners != null) {
+            for (Consumer<Boolean> listener : completionListeners) {
+                listener.accept(written);
+            }
+        }
+    }
 }
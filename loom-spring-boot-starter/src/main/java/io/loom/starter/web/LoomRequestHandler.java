@@ -1,19 +1,43 @@
 package io.loom.starter.web;
 
 import io.loom.core.model.ApiDefinition;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.util.Map;
 
 import lombok.Getter;
 
-@Getter
 public class LoomRequestHandler {
 
+    @Getter
     private final ApiDefinition apiDefinition;
+    // Fixed variables of a single-request handler; null for a reusable handler, see resolvePathVariables
     private final Map<String, String> pathVariables;
 
+    /**
+     * Creates a reusable handler shared by all requests of one route. Path variables are
+     * published per request by {@link LoomHandlerMapping} as a request attribute.
+     */
+    public LoomRequestHandler(ApiDefinition apiDefinition) {
+        this(apiDefinition, null);
+    }
+
     public LoomRequestHandler(ApiDefinition apiDefinition, Map<String, String> pathVariables) {
         this.apiDefinition = apiDefinition;
         this.pathVariables = pathVariables;
     }
+
+    /**
+     * Returns the path variables bound at construction, or for a reusable handler the
+     * {@link HandlerMapping#URI_TEMPLATE_VARIABLES_ATTRIBUTE} of the current request.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, String> resolvePathVariables(HttpServletRequest request) {
+        if (pathVariables != null) {
+            return pathVariables;
+        }
+        Object vars = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return vars instanceof Map ? (Map<String, String>) vars : Map.of();
+    }
 }
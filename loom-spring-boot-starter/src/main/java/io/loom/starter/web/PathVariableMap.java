@@ -0,0 +1,109 @@
+package io.loom.starter.web;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable path-variable map over the matched request URI. Names and segment positions
+ * come from the compiled route; values are cut out of the URI on first access only. Builders
+ * read the map from parallel threads, so the values are published through a volatile field;
+ * threads racing on first access each cut the same values.
+ */
+final class PathVariableMap extends AbstractMap<String, String> {
+
+    private final String path;
+    private final int offset;
+    private final String[] names;
+    private final int[] segments;
+    private volatile String[] values;
+
+    PathVariableMap(String path, int offset, String[] names, int[] segments) {
+        this.path = path;
+        this.offset = offset;
+        this.names = names;
+        this.segments = segments;
+    }
+
+    @Override
+    public String get(Object key) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(key)) {
+                return resolved()[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        for (String name : names) {
+            if (name.equals(key)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                String[] vals = resolved();
+                return new Iterator<>() {
+                    int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < names.length;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (next >= names.length) throw new NoSuchElementException();
+                        int i = next++;
+                        return new SimpleImmutableEntry<>(names[i], vals[i]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return names.length;
+            }
+        };
+    }
+
+    private String[] resolved() {
+        String[] vals = values;
+        if (vals != null) {
+            return vals;
+        }
+        vals = new String[names.length];
+        int start = offset;
+        int end = path.length();
+        if (start < end && path.charAt(start) == '/') start++;
+        if (start < end && path.charAt(end - 1) == '/') end--;
+
+        int segment = 0;
+        int slot = 0;
+        int segStart = start;
+        for (int i = start; i <= end && slot < vals.length; i++) {
+            if (i == end || path.charAt(i) == '/') {
+                if (segments[slot] == segment) {
+                    vals[slot++] = path.substring(segStart, i);
+                }
+                segment++;
+                segStart = i + 1;
+            }
+        }
+        values = vals;
+        return vals;
+    }
+}
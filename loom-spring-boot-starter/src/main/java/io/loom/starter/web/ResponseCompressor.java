@@ -0,0 +1,177 @@
+package io.loom.starter.web;
+
+import io.loom.core.model.ApiDefinition;
+import io.loom.starter.codec.DeflaterPool;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.List;
+
+/**
+ * Negotiates response compression from {@code Accept-Encoding} and hands out
+ * {@link CompressingOutputStream}s backed by a shared {@link DeflaterPool}.
+ * gzip is preferred over deflate when the client weights them equally.
+ */
+public class ResponseCompressor {
+
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    private final int minResponseSize;
+    private final int defaultLevel;
+    private final String[] compressibleTypes;
+    private final DeflaterPool deflaterPool;
+
+    public ResponseCompressor(int minResponseSize, int defaultLevel,
+                              List<String> compressibleTypes, DeflaterPool deflaterPool) {
+        if (defaultLevel < 1 || defaultLevel > 9) {
+            throw new IllegalArgumentException("Compression level must be between 1 and 9, got " + defaultLevel);
+        }
+        this.minResponseSize = Math.max(minResponseSize, 1);
+        this.defaultLevel = defaultLevel;
+        this.compressibleTypes = compressibleTypes.toArray(String[]::new);
+        this.deflaterPool = deflaterPool;
+    }
+
+    /**
+     * Returns a compressing stream for this response, or {@code null} when the API has
+     * compression disabled or the client accepts neither gzip nor deflate. Adds
+     * {@code Vary: Accept-Encoding} whenever the response could have been compressed.
+     */
+    CompressingOutputStream open(HttpServletRequest request, HttpServletResponse response, ApiDefinition api) {
+        int level = api.compressionLevel() == ApiDefinition.DEFAULT_COMPRESSION
+                ? defaultLevel : api.compressionLevel();
+        if (level == 0) {
+            return null;
+        }
+        addVary(response);
+        String encoding = negotiate(request.getHeader("Accept-Encoding"));
+        if (encoding == null) {
+            return null;
+        }
+        return new CompressingOutputStream(response, deflaterPool, encoding, level, minResponseSize);
+    }
+
+    boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int end = contentType.indexOf(';');
+        if (end < 0) end = contentType.length();
+        while (end > 0 && contentType.charAt(end - 1) == ' ') end--;
+        if (endsWithIgnoreCase(contentType, end, "+json") || endsWithIgnoreCase(contentType, end, "+xml")) {
+            return true;
+        }
+        for (String type : compressibleTypes) {
+            if (type.endsWith("/*")) {
+                if (contentType.regionMatches(true, 0, type, 0, type.length() - 1)) return true;
+            } else if (end == type.length() && contentType.regionMatches(true, 0, type, 0, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks {@code gzip} or {@code deflate} from an {@code Accept-Encoding} value, honouring
+     * q-values and the {@code *} wildcard. Scans the header in place; only q-values are parsed.
+     */
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        float gzipQ = -1, deflateQ = -1, anyQ = -1;
+        int length = acceptEncoding.length();
+        int start = 0;
+        while (start < length) {
+            int end = acceptEncoding.indexOf(',', start);
+            if (end < 0) end = length;
+            int tokenEnd = acceptEncoding.indexOf(';', start);
+            if (tokenEnd < 0 || tokenEnd > end) tokenEnd = end;
+
+            int s = start, e = tokenEnd;
+            while (s < e && acceptEncoding.charAt(s) == ' ') s++;
+            while (e > s && acceptEncoding.charAt(e - 1) == ' ') e--;
+            float q = tokenEnd < end ? parseQ(acceptEncoding, tokenEnd + 1, end) : 1f;
+
+            int tokenLength = e - s;
+            if (matches(acceptEncoding, s, tokenLength, GZIP) || matches(acceptEncoding, s, tokenLength, "x-gzip")) {
+                gzipQ = Math.max(gzipQ, q);
+            } else if (matches(acceptEncoding, s, tokenLength, DEFLATE)) {
+                deflateQ = q;
+            } else if (tokenLength == 1 && acceptEncoding.charAt(s) == '*') {
+                anyQ = q;
+            }
+            start = end + 1;
+        }
+        if (gzipQ < 0) gzipQ = anyQ;
+        if (deflateQ < 0) deflateQ = anyQ;
+        if (gzipQ > 0 && gzipQ >= deflateQ) return GZIP;
+        if (deflateQ > 0) return DEFLATE;
+        return null;
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} value allows {@code encoding}: listed, or covered by
+     * {@code *} when it is not, with a q-value above 0. {@code x-gzip} counts as {@code gzip}.
+     */
+    public static boolean accepts(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return false;
+        }
+        boolean gzip = GZIP.equalsIgnoreCase(encoding);
+        float encodingQ = -1, anyQ = -1;
+        int length = acceptEncoding.length();
+        int start = 0;
+        while (start < length) {
+            int end = acceptEncoding.indexOf(',', start);
+            if (end < 0) end = length;
+            int tokenEnd = acceptEncoding.indexOf(';', start);
+            if (tokenEnd < 0 || tokenEnd > end) tokenEnd = end;
+
+            int s = start, e = tokenEnd;
+            while (s < e && acceptEncoding.charAt(s) == ' ') s++;
+            while (e > s && acceptEncoding.charAt(e - 1) == ' ') e--;
+            float q = tokenEnd < end ? parseQ(acceptEncoding, tokenEnd + 1, end) : 1f;
+
+            int tokenLength = e - s;
+            if (matches(acceptEncoding, s, tokenLength, encoding)
+                    || gzip && matches(acceptEncoding, s, tokenLength, "x-gzip")) {
+                encodingQ = Math.max(encodingQ, q);
+            } else if (tokenLength == 1 && acceptEncoding.charAt(s) == '*') {
+                anyQ = q;
+            }
+            start = end + 1;
+        }
+        return (encodingQ >= 0 ? encodingQ : anyQ) > 0;
+    }
+
+    private static float parseQ(String header, int from, int to) {
+        int q = header.indexOf("q=", from);
+        if (q < 0 || q >= to) {
+            return 1f;
+        }
+        try {
+            return Float.parseFloat(header.substring(q + 2, to).trim());
+        } catch (NumberFormatException e) {
+            return 0f;
+        }
+    }
+
+    private static boolean matches(String header, int offset, int length, String token) {
+        return length == token.length() && header.regionMatches(true, offset, token, 0, length);
+    }
+
+    private static boolean endsWithIgnoreCase(String value, int end, String suffix) {
+        return end >= suffix.length() && value.regionMatches(true, end - suffix.length(), suffix, 0, suffix.length());
+    }
+
+    private static void addVary(HttpServletResponse response) {
+        for (String vary : response.getHeaders("Vary")) {
+            if ("*".equals(vary.trim()) || vary.toLowerCase().contains("accept-encoding")) {
+                return;
+            }
+        }
+        response.addHeader("Vary", "Accept-Encoding");
+    }
+}
@@ -4,7 +4,6 @@ import io.loom.core.exception.LoomException;
 import io.loom.core.model.ApiDefinition;
 
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -15,19 +14,118 @@ import java.util.Map;
  * <p>Routes are indexed by HTTP method, then by path segments.  Literal
  * segments take priority over parameter (wildcard) segments so that
  * {@code /api/users/me} is preferred over {@code /api/users/{id}}.
+ *
+ * <p>Matching compares segments in place against the request URI: each
+ * segment is hashed over its char range (same function as
+ * {@link String#hashCode()}) into an open-addressing table of literal
+ * children and verified with {@code regionMatches}, so {@link #lookup}
+ * allocates nothing. The segment positions of path variables are fixed per
+ * route at insert time, and their values are only cut out of the URI when
+ * the {@link PathVariableMap} is first read. Each route carries a single
+ * reusable {@link LoomRequestHandler}.
+ *
+ * <p>{@link #insert} mutates the trie and is meant for building one before it is
+ * published. {@link #withRoute} and {@link #withoutRoute} leave this trie untouched
+ * and return a new one that copies only the nodes on the changed path, so a
+ * published trie can be treated as an immutable snapshot.
  */
 public class RouteTrie {
 
-    private final Map<String, TrieNode> methodRoots = new HashMap<>();
+    private final Map<String, TrieNode> methodRoots;
+
+    public RouteTrie() {
+        this(new HashMap<>());
+    }
+
+    private RouteTrie(Map<String, TrieNode> methodRoots) {
+        this.methodRoots = methodRoots;
+    }
 
     public void insert(ApiDefinition api) {
+        insert(api, false);
+    }
+
+    /** Returns a copy of this trie with {@code api} added; this trie is not modified. */
+    public RouteTrie withRoute(ApiDefinition api) {
+        RouteTrie copy = new RouteTrie(new HashMap<>(methodRoots));
+        copy.insert(api, true);
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this trie without the route registered for {@code method} and the
+     * path template {@code path}, pruning nodes left empty; this trie is not modified.
+     * Returns {@code this} when no such route exists.
+     */
+    public RouteTrie withoutRoute(String method, String path) {
+        String upperMethod = method.toUpperCase();
+        TrieNode root = methodRoots.get(upperMethod);
+        String[] segments = splitPath(path);
+        if (root == null || templateNode(root, segments) == null) {
+            return this;
+        }
+
+        RouteTrie copy = new RouteTrie(new HashMap<>(methodRoots));
+        TrieNode[] nodes = new TrieNode[segments.length + 1];
+        nodes[0] = root.copy();
+        copy.methodRoots.put(upperMethod, nodes[0]);
+        for (int i = 0; i < segments.length; i++) {
+            if (isParam(segments[i])) {
+                nodes[i].paramChild = nodes[i].paramChild.copy();
+                nodes[i + 1] = nodes[i].paramChild;
+            } else {
+                nodes[i + 1] = nodes[i].literalChild(segments[i], true);
+            }
+        }
+        nodes[segments.length].route = null;
+
+        for (int i = segments.length; i > 0 && nodes[i].isEmpty(); i--) {
+            if (isParam(segments[i - 1])) {
+                nodes[i - 1].paramChild = null;
+            } else {
+                nodes[i - 1].removeLiteral(segments[i - 1]);
+            }
+        }
+        if (nodes[0].isEmpty()) {
+            copy.methodRoots.remove(upperMethod);
+        }
+        return copy;
+    }
+
+    private static TrieNode templateNode(TrieNode root, String[] segments) {
+        TrieNode current = root;
+        for (String segment : segments) {
+            if (isParam(segment)) {
+                current = current.paramChild != null
+                        && current.paramChild.paramName.equals(segment.substring(1, segment.length() - 1))
+                        ? current.paramChild : null;
+            } else {
+                current = current.findLiteral(segment, 0, segment.length(), segment.hashCode());
+            }
+            if (current == null) return null;
+        }
+        return current.route != null ? current : null;
+    }
+
+    private void insert(ApiDefinition api, boolean copyOnWrite) {
         String method = api.method().toUpperCase();
-        TrieNode root = methodRoots.computeIfAbsent(method, k -> new TrieNode());
+        TrieNode root = methodRoots.get(method);
+        root = root == null ? new TrieNode() : copyOnWrite ? root.copy() : root;
+        methodRoots.put(method, root);
         String[] segments = splitPath(api.path());
 
-        TrieNode current = root;
+        int paramCount = 0;
         for (String segment : segments) {
-            if (segment.startsWith("{") && segment.endsWith("}")) {
+            if (isParam(segment)) paramCount++;
+        }
+        String[] paramNames = new String[paramCount];
+        int[] paramSegments = new int[paramCount];
+
+        TrieNode current = root;
+        int slot = 0;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (isParam(segment)) {
                 String paramName = segment.substring(1, segment.length() - 1);
                 if (current.paramChild == null) {
                     current.paramChild = new TrieNode();
@@ -36,57 +134,71 @@ public class RouteTrie {
                     throw new LoomException("Conflicting path variable names at same position: '"
                             + current.paramChild.paramName + "' vs '" + paramName
                             + "' in route " + api.path());
+                } else if (copyOnWrite) {
+                    current.paramChild = current.paramChild.copy();
                 }
+                paramNames[slot] = paramName;
+                paramSegments[slot++] = i;
                 current = current.paramChild;
             } else {
-                current = current.literalChildren.computeIfAbsent(segment, k -> new TrieNode());
+                current = current.literalChild(segment, copyOnWrite);
             }
         }
-        if (current.api != null) {
+        if (current.route != null) {
             throw new LoomException("Duplicate route: " + api.method() + " " + api.path());
         }
-        current.api = api;
+        current.route = new Route(api, paramNames, paramSegments);
     }
 
-    public RouteMatch find(String method, String path) {
+    /**
+     * Matches {@code path} from {@code offset} (e.g. past the context path) without allocating.
+     * Path variables of the returned route are read with {@link Route#pathVariables(String, int)}.
+     */
+    public Route lookup(String method, String path, int offset) {
         TrieNode root = methodRoots.get(method.toUpperCase());
         if (root == null) return null;
 
-        int start = 0;
+        int start = offset;
         int end = path.length();
         if (start < end && path.charAt(start) == '/') start++;
         if (start < end && path.charAt(end - 1) == '/') end--;
 
-        // Empty path (e.g. "/") — check if root has an API
-        if (start >= end) {
-            return root.api != null ? new RouteMatch(root.api, Map.of()) : null;
-        }
-
-        Map<String, String> pathVariables = null;
         TrieNode current = root;
         int segStart = start;
-
-        for (int i = start; i <= end; i++) {
-            if (i == end || path.charAt(i) == '/') {
-                String segment = path.substring(segStart, i);
-                TrieNode literal = current.literalChildren.get(segment);
-                if (literal != null) {
-                    current = literal;
-                } else if (current.paramChild != null) {
-                    if (pathVariables == null) pathVariables = new LinkedHashMap<>();
-                    pathVariables.put(current.paramChild.paramName, segment);
-                    current = current.paramChild;
-                } else {
-                    return null;
-                }
-                segStart = i + 1;
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c != '/') {
+                hash = 31 * hash + c;
+                continue;
             }
+            current = step(current, path, segStart, i, hash);
+            if (current == null) return null;
+            segStart = i + 1;
+            hash = 0;
+        }
+        if (start < end) {
+            current = step(current, path, segStart, end, hash);
+            if (current == null) return null;
         }
+        return current.route;
+    }
 
-        if (current.api == null) {
+    public RouteMatch find(String method, String path) {
+        Route route = lookup(method, path, 0);
+        if (route == null) {
             return null;
         }
-        return new RouteMatch(current.api, pathVariables != null ? pathVariables : Map.of());
+        return new RouteMatch(route.api(), route.pathVariables(path, 0));
+    }
+
+    private static TrieNode step(TrieNode node, String path, int from, int to, int hash) {
+        TrieNode literal = node.findLiteral(path, from, to - from, hash);
+        return literal != null ? literal : node.paramChild;
+    }
+
+    private static boolean isParam(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}");
     }
 
     private static final String[] EMPTY = new String[0];
@@ -114,10 +226,151 @@ public class RouteTrie {
 
     public record RouteMatch(ApiDefinition api, Map<String, String> pathVariables) {}
 
+    /**
+     * A registered route: its API, the compile-time slots of its path variables
+     * and the handler instances shared by every request that matches it.
+     */
+    public static final class Route {
+        private final ApiDefinition api;
+        private final String[] paramNames;
+        private final int[] paramSegments;
+        private final LoomRequestHandler handler;
+        private final CorsPreflightHandler preflightHandler;
+
+        Route(ApiDefinition api, String[] paramNames, int[] paramSegments) {
+            this.api = api;
+            this.paramNames = paramNames;
+            this.paramSegments = paramSegments;
+            this.handler = new LoomRequestHandler(api);
+            this.preflightHandler = api.corsPolicy() != null ? new CorsPreflightHandler(api.corsPolicy()) : null;
+        }
+
+        public ApiDefinition api() {
+            return api;
+        }
+
+        public LoomRequestHandler handler() {
+            return handler;
+        }
+
+        /** Handler answering CORS preflights for this route, or {@code null} if CORS is not enabled. */
+        public CorsPreflightHandler preflightHandler() {
+            return preflightHandler;
+        }
+
+        /** Path variables of a URI this route matched; an immutable view, empty for static routes. */
+        public Map<String, String> pathVariables(String path, int offset) {
+            if (paramNames.length == 0) {
+                return Map.of();
+            }
+            return new PathVariableMap(path, offset, paramNames, paramSegments);
+        }
+    }
+
     private static class TrieNode {
-        final Map<String, TrieNode> literalChildren = new HashMap<>();
+        // Open-addressing table of literal children, keyed by String.hashCode-compatible hash
+        String[] literalKeys = new String[4];
+        TrieNode[] literalNodes = new TrieNode[4];
+        int literalCount;
         TrieNode paramChild;
         String paramName;
-        ApiDefinition api;
+        Route route;
+
+        TrieNode findLiteral(String path, int from, int len, int hash) {
+            if (literalCount == 0) return null;
+            int mask = literalKeys.length - 1;
+            int idx = spread(hash) & mask;
+            String key;
+            while ((key = literalKeys[idx]) != null) {
+                if (key.length() == len && path.regionMatches(from, key, 0, len)) {
+                    return literalNodes[idx];
+                }
+                idx = (idx + 1) & mask;
+            }
+            return null;
+        }
+
+        TrieNode copy() {
+            TrieNode copy = new TrieNode();
+            copy.literalKeys = literalKeys.clone();
+            copy.literalNodes = literalNodes.clone();
+            copy.literalCount = literalCount;
+            copy.paramChild = paramChild;
+            copy.paramName = paramName;
+            copy.route = route;
+            return copy;
+        }
+
+        boolean isEmpty() {
+            return route == null && paramChild == null && literalCount == 0;
+        }
+
+        /**
+         * Returns the literal child for {@code segment}, creating it if absent. With
+         * {@code copyOnWrite} an existing child is replaced by a copy before it is returned.
+         */
+        TrieNode literalChild(String segment, boolean copyOnWrite) {
+            int idx = literalIndex(segment);
+            if (idx >= 0) {
+                if (copyOnWrite) {
+                    literalNodes[idx] = literalNodes[idx].copy();
+                }
+                return literalNodes[idx];
+            }
+            if ((literalCount + 1) * 2 > literalKeys.length) {
+                resize(literalKeys.length * 2);
+            }
+            TrieNode child = new TrieNode();
+            put(literalKeys, literalNodes, segment, child);
+            literalCount++;
+            return child;
+        }
+
+        void removeLiteral(String segment) {
+            int idx = literalIndex(segment);
+            if (idx < 0) return;
+            literalKeys[idx] = null;
+            literalNodes[idx] = null;
+            literalCount--;
+            // Re-insert the rest so probe chains stay unbroken
+            resize(literalKeys.length);
+        }
+
+        private int literalIndex(String segment) {
+            int mask = literalKeys.length - 1;
+            int idx = spread(segment.hashCode()) & mask;
+            String key;
+            while ((key = literalKeys[idx]) != null) {
+                if (key.equals(segment)) return idx;
+                idx = (idx + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void resize(int capacity) {
+            String[] keys = new String[capacity];
+            TrieNode[] nodes = new TrieNode[capacity];
+            for (int i = 0; i < literalKeys.length; i++) {
+                if (literalKeys[i] != null) {
+                    put(keys, nodes, literalKeys[i], literalNodes[i]);
+                }
+            }
+            literalKeys = keys;
+            literalNodes = nodes;
+        }
+
+        private static void put(String[] keys, TrieNode[] nodes, String key, TrieNode node) {
+            int mask = keys.length - 1;
+            int idx = spread(key.hashCode()) & mask;
+            while (keys[idx] != null) {
+                idx = (idx + 1) & mask;
+            }
+            keys[idx] = key;
+            nodes[idx] = node;
+        }
+
+        private static int spread(int h) {
+            return h ^ (h >>> 16);
+        }
     }
 }
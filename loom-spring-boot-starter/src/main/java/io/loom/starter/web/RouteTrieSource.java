@@ -0,0 +1,10 @@
+package io.loom.starter.web;
+
+/**
+ * Publishes the current {@link RouteTrie} of a registry that can change at runtime.
+ * Each call returns an immutable snapshot; implementations swap in a new trie on every
+ * change, so the handler mapping reads it with a single volatile load and no locking.
+ */
+public interface RouteTrieSource {
+    RouteTrie routeTrie();
+}
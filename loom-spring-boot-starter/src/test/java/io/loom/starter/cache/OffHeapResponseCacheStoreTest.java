@@ -0,0 +1,106 @@
+package io.loom.starter.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapResponseCacheStoreTest {
+
+    private static byte[] bytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static CachedResponse response(byte[] body) {
+        return new CachedResponse(body, ResponseCache.etag(body), 0, Long.MAX_VALUE);
+    }
+
+    @Test
+    void bodiesSpanningPagesRoundTrip() throws Exception {
+        OffHeapResponseCacheStore store = new OffHeapResponseCacheStore(10, 1 << 20, 1024);
+        byte[] body = bytes(2500, 1);
+        store.put("k", response(body));
+
+        try (CachedResponse cached = store.get("k")) {
+            ByteArrayOutputStream written = new ByteArrayOutputStream();
+            cached.content().writeTo(written);
+            assertThat(written.toByteArray()).isEqualTo(body);
+            assertThat(cached.content().openStream().readAllBytes()).isEqualTo(body);
+            assertThat(cached.body()).isEqualTo(body);
+            assertThat(cached.etag()).isEqualTo(ResponseCache.etag(body));
+        }
+        assertThat(store.bytes()).isEqualTo(3 * 1024); // page-rounded
+        assertThat(store.get("missing")).isNull();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedToMakeRoom() {
+        OffHeapResponseCacheStore store = new OffHeapResponseCacheStore(10, 4 * 1024, 1024);
+        store.put("a", response(bytes(2000, 1)));
+        store.put("b", response(bytes(2000, 2)));
+        store.get("a").close(); // a is now more recent than b
+
+        store.put("c", response(bytes(2000, 3)));
+
+        assertThat(store.get("b")).isNull();
+        assertThat(store.get("a")).isNotNull();
+        assertThat(store.get("c")).isNotNull();
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.bytes()).isLessThanOrEqualTo(4 * 1024);
+    }
+
+    @Test
+    void pinnedBodySurvivesEvictionUntilClosed() {
+        OffHeapResponseCacheStore store = new OffHeapResponseCacheStore(10, 2 * 1024, 1024);
+        byte[] first = bytes(2048, 1);
+        store.put("a", response(first));
+        CachedResponse reading = store.get("a");
+
+        store.remove("a");
+        store.put("b", response(bytes(2048, 2))); // no free pages while "a" is pinned
+
+        assertThat(store.get("b")).isNull();
+        assertThat(reading.body()).isEqualTo(first);
+        reading.close();
+        assertThat(store.bytes()).isZero();
+
+        store.put("b", response(bytes(2048, 2)));
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pinnedEntriesAreSkippedWhenMakingRoom() {
+        OffHeapResponseCacheStore store = new OffHeapResponseCacheStore(10, 4 * 1024, 1024);
+        store.put("a", response(bytes(1024, 1)));
+        store.put("b", response(bytes(1024, 2)));
+        store.put("c", response(bytes(2048, 3)));
+        CachedResponse reading = store.get("a");
+
+        store.put("d", response(bytes(1024, 4)));
+
+        assertThat(store.get("b")).isNull();
+        assertThat(store.get("c")).isNotNull();
+        assertThat(store.get("d")).isNotNull();
+        reading.close();
+    }
+
+    @Test
+    void nothingIsEvictedWhenTheBodyCannotFit() {
+        OffHeapResponseCacheStore store = new OffHeapResponseCacheStore(10, 4 * 1024, 1024);
+        store.put("a", response(bytes(2048, 1)));
+        store.put("b", response(bytes(2048, 2)));
+        CachedResponse reading = store.get("a");
+
+        store.put("c", response(bytes(4096, 3))); // only "b" is releasable, which is not enough
+        store.put("d", response(bytes(8192, 4))); // larger than the whole store
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.get("c")).isNull();
+        assertThat(store.get("d")).isNull();
+        reading.close();
+    }
+}
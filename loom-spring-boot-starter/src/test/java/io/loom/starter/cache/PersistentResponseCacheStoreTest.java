@@ -0,0 +1,141 @@
+package io.loom.starter.cache;
+
+import io.loom.core.model.ResponseCachePolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistentResponseCacheStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final long[] now = {1_000};
+
+    private PersistentResponseCacheStore open(HeapResponseCacheStore memory, int segmentBytes) {
+        return open(memory, segmentBytes, 1 << 20);
+    }
+
+    private PersistentResponseCacheStore open(HeapResponseCacheStore memory, int segmentBytes, long maxBytes) {
+        return new PersistentResponseCacheStore(memory, directory, segmentBytes, maxBytes, () -> now[0]);
+    }
+
+    private static CachedResponse response(String body, long expiresAt) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return new CachedResponse(bytes, ResponseCache.etag(bytes), 1_000, expiresAt);
+    }
+
+    private long segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void freshEntriesAreRestoredAfterRestart() {
+        PersistentResponseCacheStore first = open(new HeapResponseCacheStore(100, 1 << 20), 4096);
+        first.put("fresh", response("{\"id\":1}", 60_000));
+        first.put("expiring", response("{\"id\":2}", 5_000));
+        first.put("removed", response("{\"id\":3}", 60_000));
+        first.remove("removed");
+        first.close();
+
+        now[0] = 10_000;
+        HeapResponseCacheStore memory = new HeapResponseCacheStore(100, 1 << 20);
+        PersistentResponseCacheStore second = open(memory, 4096);
+
+        CachedResponse restored = second.get("fresh");
+        assertThat(new String(restored.body(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+        assertThat(restored.etag()).isEqualTo(ResponseCache.etag(restored.body()));
+        assertThat(restored.expiresAtMillis()).isEqualTo(60_000);
+        assertThat(second.get("expiring")).isNull();
+        assertThat(second.get("removed")).isNull();
+        assertThat(memory.size()).isEqualTo(1);
+        second.close();
+    }
+
+    @Test
+    void compactionBoundsSegmentsAndKeepsLatestVersion() throws Exception {
+        PersistentResponseCacheStore store = open(new HeapResponseCacheStore(100, 1 << 20), 1024);
+        for (int i = 0; i < 500; i++) {
+            store.put("k" + (i % 3), response("{\"version\":" + i + "}", 60_000));
+        }
+        store.close();
+
+        assertThat(segmentFiles()).isLessThanOrEqualTo(3);
+        HeapResponseCacheStore memory = new HeapResponseCacheStore(100, 1 << 20);
+        PersistentResponseCacheStore reopened = open(memory, 1024);
+        assertThat(new String(reopened.get("k1").body(), StandardCharsets.UTF_8)).isEqualTo("{\"version\":499}");
+        assertThat(memory.size()).isEqualTo(3);
+        reopened.close();
+    }
+
+    @Test
+    void fullLogOfLiveEntriesDropsOldestSegment() throws Exception {
+        PersistentResponseCacheStore store = open(new HeapResponseCacheStore(1000, 1 << 20), 1024, 4096);
+        for (int i = 0; i < 100; i++) {
+            store.put("k" + i, response("{\"id\":" + i + ",\"padding\":\"0123456789\"}", 60_000));
+        }
+        store.close();
+
+        assertThat(segmentFiles()).isLessThanOrEqualTo(4);
+        HeapResponseCacheStore memory = new HeapResponseCacheStore(1000, 1 << 20);
+        PersistentResponseCacheStore reopened = open(memory, 1024, 4096);
+        assertThat(reopened.get("k0")).isNull();
+        assertThat(new String(reopened.get("k99").body(), StandardCharsets.UTF_8)).contains("\"id\":99");
+        assertThat(memory.size()).isBetween(1, 99);
+        reopened.close();
+    }
+
+    @Test
+    void tornTailIsIgnored() throws Exception {
+        PersistentResponseCacheStore store = open(new HeapResponseCacheStore(100, 1 << 20), 4096);
+        store.put("a", response("{\"id\":1}", 60_000));
+        store.put("b", response("{\"id\":2}", 60_000));
+        store.close();
+
+        // Corrupt the last record's body, as a crash mid-write would
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.sorted().reduce((x, y) -> y).orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(segment);
+        String content = new String(bytes, StandardCharsets.ISO_8859_1);
+        bytes[content.lastIndexOf("{\"id\":2}") + 1] ^= 0x7F;
+        Files.write(segment, bytes);
+
+        HeapResponseCacheStore memory = new HeapResponseCacheStore(100, 1 << 20);
+        PersistentResponseCacheStore reopened = open(memory, 4096);
+        assertThat(reopened.get("a")).isNotNull();
+        assertThat(reopened.get("b")).isNull();
+        reopened.close();
+    }
+
+    @Test
+    void credentialHeadersNeverReachTheLog() throws Exception {
+        PersistentResponseCacheStore store = open(new HeapResponseCacheStore(100, 1 << 20), 4096);
+        ResponseCache cache = new ResponseCache(store, () -> now[0]);
+        ResponseCachePolicy policy = new ResponseCachePolicy(60_000, List.of(), List.of(),
+                List.of("Authorization", "Cookie"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/me");
+        request.addHeader("Authorization", "Bearer s3cret-t0ken");
+        request.addHeader("Cookie", "SESSION=c00kie-value");
+        store.put(cache.key(policy, request), response("{\"id\":1}", 60_000));
+        store.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String contents = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+                assertThat(contents).contains("/api/me").doesNotContain("s3cret-t0ken").doesNotContain("c00kie-value");
+            }
+        }
+    }
+}
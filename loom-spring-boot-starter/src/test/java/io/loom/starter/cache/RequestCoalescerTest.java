@@ -0,0 +1,123 @@
+package io.loom.starter.cache;
+
+import io.loom.core.exception.LoomException;
+import io.loom.core.annotation.LoomCoalesce;
+import io.loom.core.model.CoalescePolicy;
+import io.loom.starter.service.UpstreamFreshness;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    @Test
+    void concurrentIdenticalRequestsShareOneExecution() throws Exception {
+        int requests = 16;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        byte[] body = "{\"id\":1}".getBytes();
+
+        List<Future<RequestCoalescer.Result>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> coalescer.execute("k", null, () -> {
+                    executions.incrementAndGet();
+                    release.await();
+                    return body;
+                })));
+            }
+            // Let every request reach the coalescer before the leader finishes
+            while (executions.get() == 0) Thread.onSpinWait();
+            Thread.sleep(100);
+            release.countDown();
+
+            int leaders = 0;
+            for (Future<RequestCoalescer.Result> result : results) {
+                RequestCoalescer.Result shared = result.get(5, TimeUnit.SECONDS);
+                assertThat(shared.body()).isSameAs(body);
+                if (shared.leader()) leaders++;
+            }
+            assertThat(leaders).isEqualTo(executions.get());
+        }
+        assertThat(executions.get()).isLessThan(requests);
+        assertThat(coalescer.inFlight()).isZero();
+    }
+
+    @Test
+    void leaderFailureIsSharedAndKeyReleased() {
+        assertThatThrownBy(() -> coalescer.execute("k", null, () -> {
+            throw new LoomException("upstream down");
+        })).isInstanceOf(LoomException.class).hasMessage("upstream down");
+        assertThat(coalescer.inFlight()).isZero();
+
+        assertThat(coalescer.execute("k", null, () -> new byte[]{1}).leader()).isTrue();
+    }
+
+    @Test
+    void followersGetTheLeadersFreshnessAndNullBody() throws Exception {
+        UpstreamFreshness leaderFreshness = new UpstreamFreshness();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<RequestCoalescer.Result> leader = executor.submit(() -> coalescer.execute("k", leaderFreshness, () -> {
+                started.countDown();
+                release.await();
+                return null;
+            }));
+            started.await();
+            Future<RequestCoalescer.Result> follower = executor.submit(
+                    () -> coalescer.execute("k", new UpstreamFreshness(), () -> new byte[]{1}));
+            // Let the follower reach the coalescer before the leader finishes
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS).leader()).isTrue();
+            RequestCoalescer.Result shared = follower.get(5, TimeUnit.SECONDS);
+            assertThat(shared.leader()).isFalse();
+            assertThat(shared.body()).isNull();
+            assertThat(shared.freshness()).isSameAs(leaderFreshness);
+        }
+    }
+
+    @Test
+    void keyIncludesCallerByDefault() throws Exception {
+        CoalescePolicy policy = new CoalescePolicy(List.of(), List.of(
+                (String[]) LoomCoalesce.class.getMethod("keyHeaders").getDefaultValue()));
+        MockHttpServletRequest a = new MockHttpServletRequest("GET", "/api/feed");
+        a.addHeader("Authorization", "Bearer alice");
+        MockHttpServletRequest b = new MockHttpServletRequest("GET", "/api/feed");
+        b.addHeader("Authorization", "Bearer bob");
+
+        assertThat(coalescer.key(policy, a)).isNotEqualTo(coalescer.key(policy, b));
+    }
+
+    @Test
+    void keyNormalizesQueryOrderAndIncludesKeyHeaders() {
+        CoalescePolicy policy = new CoalescePolicy(List.of(), List.of("Accept-Language"));
+        MockHttpServletRequest a = new MockHttpServletRequest("GET", "/api/feed");
+        a.setQueryString("b=2&a=1");
+        a.addParameter("b", "2");
+        a.addParameter("a", "1");
+        MockHttpServletRequest b = new MockHttpServletRequest("GET", "/api/feed");
+        b.setQueryString("a=1&b=2");
+        b.addParameter("a", "1");
+        b.addParameter("b", "2");
+
+        assertThat(coalescer.key(policy, a)).isEqualTo(coalescer.key(policy, b));
+        b.addHeader("Accept-Language", "fr");
+        assertThat(coalescer.key(policy, a)).isNotEqualTo(coalescer.key(policy, b));
+    }
+}
@@ -0,0 +1,133 @@
+package io.loom.starter.cache;
+
+import io.loom.core.model.ResponseCachePolicy;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+
+    private final long[] now = {1_000};
+
+    private static MockHttpServletRequest request(String uri, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setQueryString(query);
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                String[] kv = pair.split("=", 2);
+                request.addParameter(kv[0], kv.length > 1 ? kv[1] : "");
+            }
+        }
+        return request;
+    }
+
+    @Test
+    void keySelectsQueryParamsAndVaryHeaders() {
+        ResponseCache cache = new ResponseCache(new HeapResponseCacheStore(10, 1024), () -> now[0]);
+        ResponseCachePolicy selected = new ResponseCachePolicy(1000, List.of("currency"), List.of("Accept-Language"), List.of());
+
+        MockHttpServletRequest a = request("/api/products/1", "currency=EUR&trace=1");
+        MockHttpServletRequest b = request("/api/products/1", "trace=2&currency=EUR");
+        assertThat(cache.key(selected, a)).isEqualTo(cache.key(selected, b));
+
+        b.addHeader("Accept-Language", "de");
+        assertThat(cache.key(selected, a)).isNotEqualTo(cache.key(selected, b));
+        assertThat(cache.key(selected, request("/api/products/2", "currency=EUR")))
+                .isNotEqualTo(cache.key(selected, a));
+
+        // Without a selection the whole query string is part of the key
+        ResponseCachePolicy whole = new ResponseCachePolicy(1000, List.of(), List.of(), List.of());
+        assertThat(cache.key(whole, a)).isNotEqualTo(cache.key(whole, b));
+    }
+
+    @Test
+    void keyPartsCannotRunTogether() {
+        ResponseCache cache = new ResponseCache(new HeapResponseCacheStore(10, 1024), () -> now[0]);
+        ResponseCachePolicy whole = new ResponseCachePolicy(1000, List.of(), List.of(), List.of());
+
+        MockHttpServletRequest joined = request("/api/items", "a=x,y");
+        MockHttpServletRequest repeated = request("/api/items", "a=x&a=y");
+        assertThat(cache.key(whole, joined)).isNotEqualTo(cache.key(whole, repeated));
+
+        // A decoded %00 in a value cannot pose as the start of another parameter
+        MockHttpServletRequest nul = new MockHttpServletRequest("GET", "/api/items");
+        nul.setQueryString("a=x%00b%3Dy");
+        nul.addParameter("a", "x\0b=y");
+        MockHttpServletRequest two = request("/api/items", "a=x&b=y");
+        assertThat(cache.key(whole, nul)).isNotEqualTo(cache.key(whole, two));
+
+        ResponseCachePolicy selected = new ResponseCachePolicy(1000, List.of("a"), List.of(), List.of());
+        assertThat(cache.key(selected, request("/api/items", "a=")))
+                .isNotEqualTo(cache.key(selected, request("/api/items", null)));
+    }
+
+    @Test
+    void callerHeadersSeparateEntriesWithoutVary() {
+        ResponseCache cache = new ResponseCache(new HeapResponseCacheStore(10, 1024), () -> now[0]);
+        ResponseCachePolicy policy = new ResponseCachePolicy(1000, List.of(), List.of(), List.of("Authorization", "Cookie"));
+
+        MockHttpServletRequest alice = request("/api/me", null);
+        alice.addHeader("Authorization", "Bearer alice");
+        MockHttpServletRequest bob = request("/api/me", null);
+        bob.addHeader("Authorization", "Bearer bob");
+        MockHttpServletRequest anonymous = request("/api/me", null);
+
+        assertThat(cache.key(policy, alice)).isNotEqualTo(cache.key(policy, bob));
+        assertThat(cache.key(policy, alice)).isNotEqualTo(cache.key(policy, anonymous));
+        assertThat(policy.vary()).isNull();
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        HeapResponseCacheStore store = new HeapResponseCacheStore(10, 1024, () -> now[0]);
+        ResponseCache cache = new ResponseCache(store, () -> now[0]);
+        ResponseCachePolicy policy = new ResponseCachePolicy(500, List.of(), List.of(), List.of());
+
+        CachedResponse stored = cache.put("k", policy, "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        assertThat(cache.get("k")).isSameAs(stored);
+
+        now[0] += 500;
+        assertThat(cache.get("k")).isNull();
+        assertThat(store.size()).isZero();
+        assertThat(store.bytes()).isZero();
+    }
+
+    @Test
+    void storeBoundedByBytesAndSweepsExpiredEntries() {
+        HeapResponseCacheStore store = new HeapResponseCacheStore(10, 10, () -> now[0]);
+        store.put("a", new CachedResponse(new byte[6], "\"a\"", now[0], now[0] + 100));
+        store.put("b", new CachedResponse(new byte[6], "\"b\"", now[0], now[0] + 100));
+        assertThat(store.get("b")).isNull(); // would exceed maxBytes while "a" is fresh
+
+        now[0] += 100;
+        store.put("b", new CachedResponse(new byte[6], "\"b\"", now[0], now[0] + 100));
+        assertThat(store.get("a")).isNull();
+        assertThat(store.get("b")).isNotNull();
+        assertThat(store.bytes()).isEqualTo(6);
+    }
+
+    @Test
+    void etagIsStrongAndIfNoneMatchUsesWeakComparison() {
+        String etag = ResponseCache.etag("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        assertThat(etag).startsWith("\"").endsWith("\"").doesNotStartWith("W/");
+        assertThat(ResponseCache.etag("{\"id\":1}".getBytes(StandardCharsets.UTF_8))).isEqualTo(etag);
+        assertThat(ResponseCache.etag("{\"id\":2}".getBytes(StandardCharsets.UTF_8))).isNotEqualTo(etag);
+
+        assertThat(ResponseCache.matches(etag, etag)).isTrue();
+        assertThat(ResponseCache.matches("\"x\", W/" + etag, etag)).isTrue();
+        assertThat(ResponseCache.matches("*", etag)).isTrue();
+        assertThat(ResponseCache.matches("\"x\"", etag)).isFalse();
+        assertThat(ResponseCache.matches(null, etag)).isFalse();
+
+        // Compressed variants carry their own tag; a client holding one still gets a 304
+        String gzipped = ResponseCache.encodedEtag(etag, "gzip");
+        assertThat(gzipped).isNotEqualTo(etag).endsWith("-gzip\"");
+        assertThat(ResponseCache.matchingEtag(gzipped, etag)).isEqualTo(gzipped);
+        assertThat(ResponseCache.matchingEtag(etag, etag)).isEqualTo(etag);
+        assertThat(ResponseCache.matchingEtag("\"x-gzip\"", etag)).isNull();
+    }
+}
@@ -39,9 +39,8 @@ class SpringBuilderContextTest {
         JsonCodec codec = mock(JsonCodec.class);
         ServiceClientRegistry registry = mock(ServiceClientRegistry.class);
         return new SpringBuilderContext(
-                "GET", "/test",
-                Map.of(), Map.of(), Map.of(),
-                null, codec, registry, null);
+                new MapRequestView("GET", "/test", Map.of(), Map.of(), Map.of(), null, codec, null),
+                Map.of(), registry, null, null);
     }
 
     private void initThreeNodeStorage(SpringBuilderContext ctx) {
@@ -154,4 +153,40 @@ class SpringBuilderContextTest {
                     assertThat(ex.getCompletedBuilders()).contains("AlphaBuilder");
                 });
     }
+
+    // ── Shared request view ──
+
+    @Test
+    void requestView_readsThroughWithoutCopying() {
+        RequestView view = mock(RequestView.class);
+        when(view.getHeader("Authorization")).thenReturn("Bearer t");
+        when(view.getQueryParam("page")).thenReturn("2");
+
+        SpringBuilderContext ctx = new SpringBuilderContext(view, Map.of(), mock(ServiceClientRegistry.class),
+                null, null);
+
+        assertThat(ctx.getHeader("Authorization")).isEqualTo("Bearer t");
+        assertThat(ctx.getQueryParam("page")).isEqualTo("2");
+        verify(view, never()).getHeaders();
+        verify(view, never()).getQueryParams();
+    }
+
+    @Test
+    void requestView_attributesShadowParentWithoutModifyingIt() {
+        Map<String, Object> parent = new HashMap<>(Map.of("tenant", "acme", "user", "u1"));
+        SpringBuilderContext ctx = new SpringBuilderContext(
+                mock(RequestView.class), parent, mock(ServiceClientRegistry.class), null, null);
+
+        assertThat(ctx.getAttribute("tenant", String.class)).isEqualTo("acme");
+        assertThat(ctx.getAttributes()).containsOnlyKeys("tenant", "user");
+
+        ctx.setAttribute("tenant", "other");
+        ctx.setAttribute("trace", "t-1");
+
+        assertThat(ctx.getAttribute("tenant", String.class)).isEqualTo("other");
+        assertThat(ctx.getAttributes()).containsEntry("tenant", "other")
+                .containsEntry("user", "u1")
+                .containsEntry("trace", "t-1");
+        assertThat(parent).containsEntry("tenant", "acme").doesNotContainKey("trace");
+    }
 }
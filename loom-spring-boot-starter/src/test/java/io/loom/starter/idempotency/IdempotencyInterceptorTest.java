@@ -0,0 +1,173 @@
+package io.loom.starter.idempotency;
+
+import io.loom.core.codec.DslJsonCodec;
+import io.loom.core.interceptor.InterceptorChain;
+import io.loom.starter.web.LoomHttpContextImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyInterceptorTest {
+
+    private final long[] now = {1_000};
+    private final IdempotencyInterceptor interceptor = new IdempotencyInterceptor(100, 60_000, 1024, 2_000, () -> now[0]);
+    private final AtomicInteger executions = new AtomicInteger();
+    private String cookie;
+
+    /**
+     * Handles one request the way the adapter does: the chain runs the API, then the response
+     * is written to the context's (possibly wrapped) servlet response, then completion fires.
+     */
+    private MockHttpServletResponse post(String key, String body, String authorization, int status,
+                                         byte[] responseBody, String encoding, CountDownLatch running) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyInterceptor.HEADER, key);
+        }
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        if (cookie != null) {
+            request.addHeader("Cookie", cookie);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        LoomHttpContextImpl ctx = new LoomHttpContextImpl(request, response, new DslJsonCodec(), null, 1024);
+        boolean[] ran = {false};
+        InterceptorChain chain = c -> {
+            ran[0] = true;
+            executions.incrementAndGet();
+            if (running != null) {
+                try {
+                    running.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        interceptor.handle(ctx, chain);
+        if (ran[0] && !ctx.getServletResponse().isCommitted()) {
+            ctx.getServletResponse().setStatus(status);
+            ctx.getServletResponse().setContentType("application/json");
+            ctx.getServletResponse().setHeader("Location", "/api/orders/" + executions.get());
+            if (encoding != null) {
+                ctx.getServletResponse().setHeader("Content-Encoding", encoding);
+            }
+            ctx.getServletResponse().getOutputStream().write(responseBody);
+        }
+        ctx.complete(true);
+        return response;
+    }
+
+    private MockHttpServletResponse post(String key, String body, int status) throws Exception {
+        return post(key, body, null, status, "{\"id\":1}".getBytes(StandardCharsets.UTF_8), null, null);
+    }
+
+    @Test
+    void duplicateIsReplayedWithoutRunningAgain() throws Exception {
+        MockHttpServletResponse first = post("k1", "{\"sku\":\"a\"}", 201);
+        MockHttpServletResponse second = post("k1", "{\"sku\":\"a\"}", 201);
+
+        assertThat(executions).hasValue(1);
+        assertThat(second.getStatus()).isEqualTo(201);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(second.getHeader("Location")).isEqualTo("/api/orders/1");
+        assertThat(second.getHeader(IdempotencyInterceptor.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyInterceptor.REPLAYED_HEADER)).isNull();
+
+        // Other keys, other callers and requests without a key all run
+        post("k2", "{\"sku\":\"a\"}", 201);
+        post("k1", "{\"sku\":\"a\"}", "Bearer other", 201, new byte[0], null, null);
+        post(null, "{\"sku\":\"a\"}", 201);
+        assertThat(executions).hasValue(4);
+
+        // Session cookies identify callers too
+        cookie = "SESSION=alice";
+        post("k1", "{\"sku\":\"a\"}", 201);
+        assertThat(executions).hasValue(5);
+        post("k1", "{\"sku\":\"a\"}", 201);
+        cookie = "SESSION=bob";
+        post("k1", "{\"sku\":\"a\"}", 201);
+        assertThat(executions).hasValue(6);
+        cookie = null;
+
+        // After the TTL the key runs again
+        now[0] += 60_001;
+        post("k1", "{\"sku\":\"a\"}", 201);
+        assertThat(executions).hasValue(7);
+    }
+
+    @Test
+    void reusedKeyWithDifferentBodyIsRejected() throws Exception {
+        post("k1", "{\"sku\":\"a\"}", 201);
+        MockHttpServletResponse conflict = post("k1", "{\"sku\":\"b\"}", 201);
+
+        assertThat(conflict.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void serverErrorsAreNotStored() throws Exception {
+        post("k1", "{}", 503);
+        MockHttpServletResponse retry = post("k1", "{}", 201);
+
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(interceptor.size()).isEqualTo(1);
+    }
+
+    @Test
+    void duplicateInFlightWaitsForTheFirstRequest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = Thread.ofVirtual().start(() -> {
+            try {
+                post("k1", "{}", null, 201, "{\"id\":1}".getBytes(StandardCharsets.UTF_8), null, release);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        while (executions.get() == 0) {
+            Thread.sleep(1);
+        }
+
+        MockHttpServletResponse[] duplicate = new MockHttpServletResponse[1];
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try {
+                duplicate[0] = post("k1", "{}", 201);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertThat(waiter.isAlive()).isTrue();
+
+        release.countDown();
+        first.join();
+        waiter.join();
+        assertThat(executions).hasValue(1);
+        assertThat(duplicate[0].getStatus()).isEqualTo(201);
+        assertThat(duplicate[0].getContentAsString()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void compressedResponseIsDecodedForClientWithoutThatEncoding() throws Exception {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        }
+        post("k1", "{}", null, 201, gzipped.toByteArray(), "gzip", null);
+
+        MockHttpServletResponse replay = post("k1", "{}", 201);
+        assertThat(replay.getHeader("Content-Encoding")).isNull();
+        assertThat(replay.getContentAsString()).isEqualTo("{\"id\":1}");
+    }
+}
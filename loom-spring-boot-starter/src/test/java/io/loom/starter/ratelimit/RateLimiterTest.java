@@ -0,0 +1,66 @@
+package io.loom.starter.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsBurstThenRejectsWithWaitTime() {
+        RateLimiter limiter = new RateLimiter(10, 3, 60_000, clock::get);
+
+        assertThat(limiter.tryAcquire("k")).isZero();
+        assertThat(limiter.tryAcquire("k")).isZero();
+        assertThat(limiter.tryAcquire("k")).isZero();
+        // 10/s → next permit in 100ms
+        assertThat(limiter.tryAcquire("k")).isEqualTo(100_000_000L);
+    }
+
+    @Test
+    void replenishesAtConfiguredRate() {
+        RateLimiter limiter = new RateLimiter(10, 1, 60_000, clock::get);
+
+        assertThat(limiter.tryAcquire("k")).isZero();
+        assertThat(limiter.tryAcquire("k")).isPositive();
+
+        clock.addAndGet(100_000_000L);
+        assertThat(limiter.tryAcquire("k")).isZero();
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        RateLimiter limiter = new RateLimiter(1, 1, 60_000, clock::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void idleBucketsAreEvicted() {
+        RateLimiter limiter = new RateLimiter(10, 1, 1_000, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        assertThat(limiter.size()).isEqualTo(2);
+
+        clock.addAndGet(2_000_000_000L);
+        limiter.tryAcquire("c");
+
+        // a and b were fully replenished; only the bucket just charged remains
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new RateLimiter(0, 1, 1_000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RateLimiter(1, 0, 1_000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,124 @@
+package io.loom.starter.registry;
+
+import io.loom.core.exception.LoomException;
+import io.loom.core.model.ApiDefinition;
+import io.loom.starter.web.RouteTrie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryApiRegistryTest {
+
+    private InMemoryApiRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new InMemoryApiRegistry();
+    }
+
+    private ApiDefinition api(String method, String path) {
+        return ApiDefinition.builder(method, path).build();
+    }
+
+    @Test
+    void apiRegisteredAfterFirstLookupIsRoutable() {
+        registry.registerApi(api("GET", "/api/orders"));
+        assertThat(registry.routeTrie().find("GET", "/api/orders")).isNotNull();
+
+        registry.registerApi(api("GET", "/api/flags/{id}"));
+
+        RouteTrie.RouteMatch match = registry.routeTrie().find("GET", "/api/flags/7");
+        assertThat(match).isNotNull();
+        assertThat(match.pathVariables()).containsEntry("id", "7");
+        assertThat(registry.findApi("GET", "/api/flags/7")).isPresent();
+    }
+
+    @Test
+    void publishedSnapshotIsNotAffectedByLaterChanges() {
+        registry.registerApi(api("GET", "/api/orders"));
+        RouteTrie before = registry.routeTrie();
+
+        registry.registerApi(api("GET", "/api/users"));
+        registry.unregisterApi("GET", "/api/orders");
+
+        assertThat(before.find("GET", "/api/orders")).isNotNull();
+        assertThat(before.find("GET", "/api/users")).isNull();
+        assertThat(registry.routeTrie().find("GET", "/api/orders")).isNull();
+        assertThat(registry.routeTrie().find("GET", "/api/users")).isNotNull();
+    }
+
+    @Test
+    void unregisterRemovesApiAndFreesParamName() {
+        registry.registerApi(api("GET", "/api/users/{userId}/profile"));
+
+        assertThat(registry.unregisterApi("get", "/api/users/{userId}/profile")).isTrue();
+        assertThat(registry.getAllApis()).isEmpty();
+        assertThat(registry.findApi("GET", "/api/users/1/profile")).isEmpty();
+
+        // The pruned parameter node no longer pins the old variable name
+        registry.registerApi(api("GET", "/api/users/{id}/orders"));
+        assertThat(registry.findApi("GET", "/api/users/1/orders")).isPresent();
+    }
+
+    @Test
+    void unregisterUnknownApiReturnsFalse() {
+        registry.registerApi(api("GET", "/api/orders"));
+
+        assertThat(registry.unregisterApi("POST", "/api/orders")).isFalse();
+        assertThat(registry.unregisterApi("GET", "/api/missing")).isFalse();
+        assertThat(registry.getAllApis()).hasSize(1);
+    }
+
+    @Test
+    void duplicateRegistrationIsRejectedWithoutChangingSnapshot() {
+        registry.registerApi(api("GET", "/api/orders"));
+        RouteTrie before = registry.routeTrie();
+
+        assertThatThrownBy(() -> registry.registerApi(api("GET", "/api/orders")))
+                .isInstanceOf(LoomException.class)
+                .hasMessageContaining("Duplicate route");
+        assertThat(registry.routeTrie()).isSameAs(before);
+        assertThat(registry.getAllApis()).hasSize(1);
+    }
+
+    @Test
+    void concurrentRegistrationsAreAllPublished() throws Exception {
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    registry.registerApi(api("GET", "/api/t" + thread + "/r" + i + "/{id}"));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(registry.getAllApis()).hasSize(threads * perThread);
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < perThread; i++) {
+                assertThat(registry.routeTrie().find("GET", "/api/t" + t + "/r" + i + "/x")).isNotNull();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.loom.starter.security;
+
+import io.loom.core.codec.DslJsonCodec;
+import io.loom.core.interceptor.InterceptorChain;
+import io.loom.starter.web.LoomHttpContextImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JwtInterceptorTest {
+
+    private static final long EXP = System.currentTimeMillis() / 1000 + 3600;
+
+    private LoomHttpContextImpl context(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return new LoomHttpContextImpl(request, new MockHttpServletResponse(), new DslJsonCodec(), null, 1024);
+    }
+
+    @Test
+    void verifiedTokenIsCachedAndClaimsExposedAsAttributes() throws Exception {
+        JwtVerifier verifier = spy(new JwtVerifier(Map.of("k", JwtVerifierTest.RSA.getPublic()),
+                new DslJsonCodec(), null, null, 0));
+        JwtInterceptor interceptor = new JwtInterceptor(verifier, new VerifiedTokenCache(100, 300));
+        String token = JwtVerifierTest.sign("RS256", "k",
+                "{\"sub\":\"user-7\",\"exp\":" + EXP + "}", JwtVerifierTest.RSA.getPrivate());
+
+        for (int i = 0; i < 3; i++) {
+            LoomHttpContextImpl ctx = context("Bearer " + token);
+            InterceptorChain chain = mock(InterceptorChain.class);
+            interceptor.handle(ctx, chain);
+
+            verify(chain).next(ctx);
+            assertThat(ctx.getAttribute(JwtInterceptor.DEFAULT_SUBJECT_ATTRIBUTE, String.class)).isEqualTo("user-7");
+            assertThat(ctx.getAttribute(JwtInterceptor.DEFAULT_CLAIMS_ATTRIBUTE, Map.class)).containsKey("exp");
+        }
+        verify(verifier, times(1)).verify(any());
+    }
+
+    @Test
+    void missingOrInvalidTokenRejectedWith401() {
+        JwtInterceptor interceptor = new JwtInterceptor(new JwtVerifier(
+                Map.of("k", JwtVerifierTest.RSA.getPublic()), new DslJsonCodec(), null, null, 0),
+                new VerifiedTokenCache(100, 300));
+
+        for (String authorization : new String[]{null, "Basic abc", "Bearer not.a.jwt"}) {
+            LoomHttpContextImpl ctx = context(authorization);
+            InterceptorChain chain = mock(InterceptorChain.class);
+            interceptor.handle(ctx, chain);
+
+            verifyNoInteractions(chain);
+            assertThat(ctx.getResponseStatus()).isEqualTo(401);
+            assertThat(ctx.getServletResponse().getHeader("WWW-Authenticate")).startsWith("Bearer");
+        }
+    }
+
+    @Test
+    void expiredCacheEntryIsNotServed() {
+        long[] now = {100};
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, 300, () -> now[0]);
+        cache.put("t", new Jwt("s", Map.of(), 200));
+
+        assertThat(cache.get("t")).isNotNull();
+        now[0] = 200;
+        assertThat(cache.get("t")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void tokenWithoutExpIsCachedOnlyForMaxTtl() {
+        long[] now = {100};
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, 60, () -> now[0]);
+        cache.put("t", new Jwt("s", Map.of(), Long.MAX_VALUE));
+
+        now[0] = 159;
+        assertThat(cache.get("t")).isNotNull();
+        now[0] = 160;
+        assertThat(cache.get("t")).isNull();
+    }
+
+    @Test
+    void fullCacheOfLiveTokensEvictsToMakeRoom() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(4, 300, () -> 100);
+        for (int i = 0; i < 10; i++) {
+            cache.put("t" + i, new Jwt("s" + i, Map.of(), 1_000));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(4);
+        assertThat(cache.get("t9")).isNotNull();
+    }
+}
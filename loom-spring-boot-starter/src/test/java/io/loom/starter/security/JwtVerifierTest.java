@@ -0,0 +1,141 @@
+package io.loom.starter.security;
+
+import io.loom.core.codec.DslJsonCodec;
+import io.loom.core.codec.JsonCodec;
+import io.loom.core.exception.LoomAuthenticationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtVerifierTest {
+
+    private static final long NOW = 1_700_000_000L;
+    private static final Base64.Encoder B64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final JsonCodec codec = new DslJsonCodec();
+    private final Clock clock = Clock.fixed(Instant.ofEpochSecond(NOW), ZoneOffset.UTC);
+
+    static final KeyPair RSA = generate("RSA", null);
+    static final KeyPair EC = generate("EC", "secp256r1");
+
+    static KeyPair generate(String algorithm, String curve) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+            if (curve != null) {
+                generator.initialize(new ECGenParameterSpec(curve));
+            } else {
+                generator.initialize(2048);
+            }
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String sign(String alg, String kid, String claimsJson, PrivateKey key) throws Exception {
+        String header = "{\"alg\":\"" + alg + "\"" + (kid != null ? ",\"kid\":\"" + kid + "\"" : "") + "}";
+        String input = B64URL.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + B64URL.encodeToString(claimsJson.getBytes(StandardCharsets.UTF_8));
+        Signature signature = Signature.getInstance(switch (alg) {
+            case "RS256" -> "SHA256withRSA";
+            case "ES256" -> "SHA256withECDSAinP1363Format";
+            default -> throw new IllegalArgumentException(alg);
+        });
+        signature.initSign(key);
+        signature.update(input.getBytes(StandardCharsets.US_ASCII));
+        return input + "." + B64URL.encodeToString(signature.sign());
+    }
+
+    private JwtVerifier verifier(String issuer, String audience) {
+        return new JwtVerifier(Map.of("rsa", RSA.getPublic(), "ec", EC.getPublic()),
+                codec, issuer, audience, 30, clock);
+    }
+
+    @Test
+    void verifiesRsaAndEcTokens() throws Exception {
+        String claims = "{\"sub\":\"user-1\",\"exp\":" + (NOW + 60) + ",\"iss\":\"auth\",\"aud\":[\"orders\"]}";
+
+        Jwt rsa = verifier("auth", "orders").verify(sign("RS256", "rsa", claims, RSA.getPrivate()));
+        Jwt ec = verifier("auth", "orders").verify(sign("ES256", "ec", claims, EC.getPrivate()));
+
+        assertThat(rsa.subject()).isEqualTo("user-1");
+        assertThat(rsa.expiresAt()).isEqualTo(NOW + 60);
+        assertThat(rsa.claims()).containsEntry("iss", "auth");
+        assertThat(ec.subject()).isEqualTo("user-1");
+    }
+
+    @Test
+    void rejectsTamperedExpiredAndForeignTokens() throws Exception {
+        JwtVerifier verifier = verifier("auth", null);
+        String valid = sign("RS256", "rsa", "{\"sub\":\"a\",\"iss\":\"auth\"}", RSA.getPrivate());
+        String tampered = valid.substring(0, valid.indexOf('.') + 1)
+                + B64URL.encodeToString("{\"sub\":\"admin\",\"iss\":\"auth\"}".getBytes(StandardCharsets.UTF_8))
+                + valid.substring(valid.lastIndexOf('.'));
+
+        assertThatThrownBy(() -> verifier.verify(tampered))
+                .isInstanceOf(LoomAuthenticationException.class).hasMessageContaining("signature");
+        assertThatThrownBy(() -> verifier.verify(sign("RS256", "rsa",
+                "{\"iss\":\"auth\",\"exp\":" + (NOW - 31) + "}", RSA.getPrivate())))
+                .hasMessageContaining("expired");
+        assertThatThrownBy(() -> verifier.verify(sign("RS256", "rsa", "{\"iss\":\"other\"}", RSA.getPrivate())))
+                .hasMessageContaining("issuer");
+        assertThatThrownBy(() -> verifier.verify(sign("RS256", "unknown", "{}", RSA.getPrivate())))
+                .hasMessageContaining("No key");
+    }
+
+    @Test
+    void rejectsAlgNoneAndKeyTypeMismatch() throws Exception {
+        String unsigned = B64URL.encodeToString("{\"alg\":\"none\",\"kid\":\"rsa\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + B64URL.encodeToString("{}".getBytes(StandardCharsets.UTF_8)) + ".";
+        assertThatThrownBy(() -> verifier(null, null).verify(unsigned))
+                .isInstanceOf(LoomAuthenticationException.class).hasMessageContaining("Unsupported");
+
+        // ES256 token pointing at the RSA key
+        String mismatched = sign("ES256", "rsa", "{}", EC.getPrivate());
+        assertThatThrownBy(() -> verifier(null, null).verify(mismatched))
+                .hasMessageContaining("key type");
+    }
+
+    @Test
+    void parsesJwksAndPem() throws Exception {
+        RSAPublicKey rsa = (RSAPublicKey) RSA.getPublic();
+        String jwks = "{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"k1\",\"use\":\"sig\",\"n\":\""
+                + B64URL.encodeToString(rsa.getModulus().toByteArray()) + "\",\"e\":\""
+                + B64URL.encodeToString(rsa.getPublicExponent().toByteArray()) + "\"},"
+                + "{\"kty\":\"oct\",\"kid\":\"hmac\",\"k\":\"c2VjcmV0\"}]}";
+
+        var keys = JwtVerifier.parseJwks(jwks.getBytes(StandardCharsets.UTF_8), codec);
+        assertThat(keys).containsOnlyKeys("k1");
+        assertThat(keys.get("k1")).isEqualTo(RSA.getPublic());
+
+        String pem = "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder().encodeToString(EC.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----\n";
+        assertThat(JwtVerifier.parsePem(pem)).isEqualTo(EC.getPublic());
+    }
+
+    @Test
+    void audienceMayBeStringOrList() throws Exception {
+        JwtVerifier verifier = verifier(null, "orders");
+        assertThat(verifier.verify(sign("RS256", "rsa", "{\"aud\":\"orders\"}", RSA.getPrivate()))).isNotNull();
+        assertThat(verifier.verify(sign("RS256", "rsa", "{\"aud\":[\"x\",\"orders\"]}", RSA.getPrivate())).claims())
+                .containsEntry("aud", List.of("x", "orders"));
+        assertThatThrownBy(() -> verifier.verify(sign("RS256", "rsa", "{\"aud\":\"billing\"}", RSA.getPrivate())))
+                .hasMessageContaining("audience");
+    }
+}
@@ -0,0 +1,104 @@
+package io.loom.starter.service;
+
+import io.loom.starter.codec.DeflaterPool;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GzipTransportInterceptorTest {
+
+    private final DeflaterPool deflaterPool = new DeflaterPool();
+
+    private static MockClientHttpRequest request() {
+        return new MockClientHttpRequest(HttpMethod.POST, URI.create("http://upstream/items"));
+    }
+
+    @Test
+    void advertisesGzipAndInflatesResponse() throws Exception {
+        GzipTransportInterceptor interceptor = new GzipTransportInterceptor(true, -1, deflaterPool);
+        byte[] json = "{\"id\":42,\"name\":\"widget\"}".getBytes(StandardCharsets.UTF_8);
+        MockClientHttpResponse upstream = new MockClientHttpResponse(deflaterPool.gzip(json, 6), HttpStatus.OK);
+        upstream.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        upstream.getHeaders().setContentLength(99);
+        MockClientHttpRequest request = request();
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> upstream);
+
+        assertThat(request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH)).isFalse();
+        assertThat(response.getBody().readAllBytes()).isEqualTo(json);
+    }
+
+    @Test
+    void emptyGzipResponseBodyIsEmpty() throws Exception {
+        GzipTransportInterceptor interceptor = new GzipTransportInterceptor(true, -1, deflaterPool);
+        MockClientHttpResponse upstream = new MockClientHttpResponse(new byte[0], HttpStatus.NO_CONTENT);
+        upstream.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        ClientHttpResponse response = interceptor.intercept(request(), new byte[0], (req, body) -> upstream);
+
+        assertThat(response.getBody().readAllBytes()).isEmpty();
+    }
+
+    @Test
+    void callerSuppliedAcceptEncodingIsLeftEncoded() throws Exception {
+        GzipTransportInterceptor interceptor = new GzipTransportInterceptor(true, -1, deflaterPool);
+        byte[] gzipped = deflaterPool.gzip("{}".getBytes(StandardCharsets.UTF_8), 6);
+        MockClientHttpResponse upstream = new MockClientHttpResponse(gzipped, HttpStatus.OK);
+        upstream.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        MockClientHttpRequest request = request();
+        request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip, br");
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0], (req, body) -> upstream);
+
+        assertThat(request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING)).isEqualTo("gzip, br");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getBody().readAllBytes()).isEqualTo(gzipped);
+    }
+
+    @Test
+    void gzipsRequestBodiesAboveThreshold() throws Exception {
+        GzipTransportInterceptor interceptor = new GzipTransportInterceptor(false, 16, deflaterPool);
+        byte[] large = "{\"description\":\"a fairly long request body\"}".getBytes(StandardCharsets.UTF_8);
+        AtomicReference<byte[]> sent = new AtomicReference<>();
+        MockClientHttpRequest request = request();
+
+        interceptor.intercept(request, large, (req, body) -> {
+            sent.set(body);
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        });
+
+        assertThat(request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)).isFalse();
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(sent.get())).readAllBytes()).isEqualTo(large);
+    }
+
+    @Test
+    void smallRequestBodiesSentAsIs() throws Exception {
+        GzipTransportInterceptor interceptor = new GzipTransportInterceptor(false, 1024, deflaterPool);
+        byte[] small = "{}".getBytes(StandardCharsets.UTF_8);
+        AtomicReference<byte[]> sent = new AtomicReference<>();
+        MockClientHttpRequest request = request();
+
+        interceptor.intercept(request, small, (req, body) -> {
+            sent.set(body);
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        });
+
+        assertThat(request.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(sent.get()).isSameAs(small);
+    }
+}
@@ -0,0 +1,181 @@
+package io.loom.starter.service;
+
+import io.loom.starter.cache.CachedBody;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpCacheInterceptorTest {
+
+    private static final URI ITEM = URI.create("http://upstream/items/1");
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final HttpCache cache = new HttpCache(1 << 20);
+    private final HttpCacheInterceptor interceptor = new HttpCacheInterceptor(cache, 5000, now::get);
+
+    private static MockClientHttpRequest request(HttpMethod method) {
+        return new MockClientHttpRequest(method, ITEM);
+    }
+
+    private static MockClientHttpResponse response(String body, HttpStatus status, String cacheControl) {
+        MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+        if (cacheControl != null) {
+            response.getHeaders().set(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return response;
+    }
+
+    private static String body(ClientHttpResponse response) throws Exception {
+        return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void freshResponseIsServedWithoutUpstreamCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET), new byte[0], (req, b) -> {
+                calls.incrementAndGet();
+                return response("{\"id\":1}", HttpStatus.OK, "public, max-age=60");
+            });
+            assertThat(body(response)).isEqualTo("{\"id\":1}");
+            now.addAndGet(10_000);
+        }
+
+        assertThat(calls).hasValue(1);
+        now.addAndGet(60_000); // stale, no validator: goes upstream again
+        interceptor.intercept(request(HttpMethod.GET), new byte[0], (req, b) -> {
+            calls.incrementAndGet();
+            return response("{\"id\":1}", HttpStatus.OK, null);
+        });
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void staleEntryIsRevalidatedAndServedOn304() throws Exception {
+        interceptor.intercept(request(HttpMethod.GET), new byte[0], (req, b) -> {
+            MockClientHttpResponse upstream = response("{\"id\":1}", HttpStatus.OK, "max-age=1");
+            upstream.getHeaders().setETag("\"v1\"");
+            return upstream;
+        });
+        now.addAndGet(2000);
+
+        MockClientHttpRequest revalidation = request(HttpMethod.GET);
+        ClientHttpResponse response = interceptor.intercept(revalidation, new byte[0],
+                (req, b) -> response("", HttpStatus.NOT_MODIFIED, "max-age=30"));
+
+        assertThat(revalidation.getHeaders().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(body(response)).isEqualTo("{\"id\":1}");
+        // The 304's max-age refreshed the entry
+        ClientHttpResponse fresh = interceptor.intercept(request(HttpMethod.GET), new byte[0], (req, b) -> {
+            throw new AssertionError("should be served from cache");
+        });
+        assertThat(fresh.getHeaders().getETag()).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void notFoundIsCachedForNegativeTtl() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            ClientHttpResponse response = interceptor.intercept(request(HttpMethod.GET), new byte[0], (req, b) -> {
+                calls.incrementAndGet();
+                return response("{\"error\":\"not found\"}", HttpStatus.NOT_FOUND, null);
+            });
+            assertThat(response.getStatusCode().value()).isEqualTo(404);
+        }
+        assertThat(calls).hasValue(1);
+
+        now.addAndGet(5000);
+        interceptor.intercept(request(HttpMethod.GET), new byte[0], (req, b) -> {
+            calls.incrementAndGet();
+            return response("{}", HttpStatus.NOT_FOUND, null);
+        });
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void unsafeRequestInvalidatesUriAndLocation() throws Exception {
+        URI list = URI.create("http://upstream/items");
+        interceptor.intercept(request(HttpMethod.GET), new byte[0],
+                (req, b) -> response("{\"id\":1}", HttpStatus.OK, "max-age=60"));
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, list), new byte[0],
+                (req, b) -> response("[]", HttpStatus.OK, "max-age=60"));
+        assertThat(cache.size()).isEqualTo(2);
+
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, list), new byte[0], (req, b) -> {
+            MockClientHttpResponse created = response("{}", HttpStatus.CREATED, null);
+            created.getHeaders().set(HttpHeaders.LOCATION, "/items/1");
+            return created;
+        });
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void privateAndAuthorizedResponsesAreNotShared() throws Exception {
+        interceptor.intercept(request(HttpMethod.GET), new byte[0],
+                (req, b) -> response("{}", HttpStatus.OK, "private, max-age=60"));
+        MockClientHttpRequest authorized = request(HttpMethod.GET);
+        authorized.getHeaders().setBearerAuth("token");
+        interceptor.intercept(authorized, new byte[0],
+                (req, b) -> response("{}", HttpStatus.OK, "max-age=60"));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void offHeapCacheServesStoredBodies() throws Exception {
+        HttpCache offHeap = new HttpCache(1 << 20, true);
+        HttpCacheInterceptor offHeapInterceptor = new HttpCacheInterceptor(offHeap, 5000, now::get);
+        offHeapInterceptor.intercept(request(HttpMethod.GET), new byte[0],
+                (req, b) -> response("{\"id\":1}", HttpStatus.OK, "max-age=60"));
+
+        try (ClientHttpResponse response = offHeapInterceptor.intercept(request(HttpMethod.GET), new byte[0],
+                (req, b) -> { throw new AssertionError("should be served from cache"); })) {
+            assertThat(body(response)).isEqualTo("{\"id\":1}");
+            assertThat(response.getHeaders().getContentLength()).isEqualTo(8);
+        }
+        offHeap.clear();
+        assertThat(offHeap.size()).isZero();
+    }
+
+    @Test
+    void admissionKeepsFrequentEntriesWithinByteBound() {
+        HttpCache small = new HttpCache(3 * 1280); // three 1KB entries plus overhead
+        HttpCache.Entry entry = new HttpCache.Entry(200, HttpHeaders.EMPTY, CachedBody.of(new byte[1024]),
+                0, 0, 0, Map.of());
+        for (String hot : new String[]{"a", "b", "c"}) {
+            for (int i = 0; i < 5; i++) {
+                small.get(hot);
+            }
+            small.put(hot, entry);
+        }
+
+        small.get("one-off");
+        small.put("one-off", entry);
+        assertThat(small.get("one-off")).isNull();
+        assertThat(small.size()).isEqualTo(3);
+
+        for (int i = 0; i < 10; i++) {
+            small.get("popular");
+        }
+        small.put("popular", entry);
+        assertThat(small.get("popular")).isNotNull();
+        assertThat(small.size()).isEqualTo(3);
+        assertThat(small.bytes()).isLessThanOrEqualTo(3 * 1280);
+    }
+}
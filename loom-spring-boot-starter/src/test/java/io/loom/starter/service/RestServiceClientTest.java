@@ -0,0 +1,100 @@
+package io.loom.starter.service;
+
+import com.sun.net.httpserver.HttpServer;
+import io.loom.core.codec.DslJsonCodec;
+import io.loom.core.engine.RetryExecutor;
+import io.loom.core.service.RetryConfig;
+import io.loom.core.service.ServiceResponse;
+import io.loom.starter.codec.DeflaterPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestServiceClientTest {
+
+    public record Item(String id, String name) {}
+
+    private final DeflaterPool deflaterPool = new DeflaterPool();
+    private HttpServer server;
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    /** Serves {@code body} with {@code status} at every path, gzipped when {@code gzip} is set. */
+    private RestServiceClient client(int status, String body, boolean gzip) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            if (gzip) {
+                bytes = deflaterPool.gzip(bytes, 6);
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        return new RestServiceClient("test", "http://127.0.0.1:" + server.getAddress().getPort(),
+                1_000, 1_000, RetryConfig.noRetry(), new RetryExecutor(), new DslJsonCodec(),
+                true, -1, deflaterPool, null, 0);
+    }
+
+    @Test
+    void exchangeDecodesGzipBodyWithoutKeepingRawBytes() throws IOException {
+        ServiceResponse<Item> response = client(200, "{\"id\":\"7\",\"name\":\"widget\"}", true)
+                .exchange("GET", "/items/7", null, Item.class, Map.of());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.data()).isEqualTo(new Item("7", "widget"));
+        assertThat(response.rawBody()).isNull();
+    }
+
+    @Test
+    void exchangeKeepsRawBytesForErrorsAndByteArrays() throws IOException {
+        ServiceResponse<Item> error = client(404, "{\"error\":\"missing\"}", true)
+                .exchange("GET", "/items/7", null, Item.class, Map.of());
+        assertThat(error.data()).isNull();
+        assertThat(new String(error.rawBody(), StandardCharsets.UTF_8)).isEqualTo("{\"error\":\"missing\"}");
+        stop();
+
+        ServiceResponse<byte[]> raw = client(200, "{\"id\":\"7\"}", false)
+                .exchange("GET", "/items/7", null, byte[].class, Map.of());
+        assertThat(raw.data()).isEqualTo(raw.rawBody()).asString(StandardCharsets.UTF_8).isEqualTo("{\"id\":\"7\"}");
+    }
+
+    @Test
+    void exchangeReturnsNullDataForEmptyBody() throws IOException {
+        ServiceResponse<Item> response = client(200, "", false)
+                .exchange("GET", "/items/7", null, Item.class, Map.of());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.data()).isNull();
+    }
+
+    @Test
+    void hasSchemeRecognisesAbsoluteUrls() {
+        assertThat(RestServiceClient.hasScheme("http://upstream/x")).isTrue();
+        assertThat(RestServiceClient.hasScheme("svc+h2.v1://upstream/x")).isTrue();
+    }
+
+    @Test
+    void hasSchemeIgnoresUrlsInsideQueryStrings() {
+        assertThat(RestServiceClient.hasScheme("items?next=https://other/page")).isFalse();
+        assertThat(RestServiceClient.hasScheme("redirect/https://other")).isFalse();
+        assertThat(RestServiceClient.hasScheme("://upstream")).isFalse();
+        assertThat(RestServiceClient.hasScheme("1http://upstream")).isFalse();
+    }
+}
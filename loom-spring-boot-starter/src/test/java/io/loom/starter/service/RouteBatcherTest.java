@@ -0,0 +1,143 @@
+package io.loom.starter.service;
+
+import io.loom.core.exception.LoomException;
+import io.loom.core.model.ProxyPathTemplate;
+import io.loom.core.service.BatchLoader;
+import io.loom.core.service.RouteConfig;
+import io.loom.core.service.ServiceClient;
+import io.loom.core.service.ServiceConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RouteBatcherTest {
+
+    record Product(String id, String name) {}
+
+    private final List<String> paths = Collections.synchronizedList(new ArrayList<>());
+
+    /** Upstream that answers {@code /products?ids=a,b} with one product per id, skipping "missing". */
+    private ServiceClient upstream() {
+        ServiceClient client = mock(ServiceClient.class);
+        when(client.get(anyString(), eq(Product[].class))).thenAnswer(inv -> {
+            String path = inv.getArgument(0);
+            paths.add(path);
+            return Arrays.stream(path.substring(path.indexOf('=') + 1).split("%2C"))
+                    .filter(id -> !id.equals("missing"))
+                    .map(id -> new Product(id, "product " + id))
+                    .toArray(Product[]::new);
+        });
+        return client;
+    }
+
+    private static RouteBatcher batcher(ServiceClient client, long windowMs, int maxSize) {
+        return batcher(client, windowMs, maxSize, 5000);
+    }
+
+    private static RouteBatcher batcher(ServiceClient client, long windowMs, int maxSize, long timeoutMs) {
+        RouteConfig config = new RouteConfig("products", "/products", "GET", -1, -1, null,
+                ProxyPathTemplate.compile("/products"));
+        return new RouteBatcher("catalog/products", client, config, "ids", ",", windowMs, maxSize, timeoutMs);
+    }
+
+    @Test
+    void concurrentLoadsShareOneUpstreamCall() throws Exception {
+        RouteBatcher batcher = batcher(upstream(), 200, 100);
+        List<String> ids = List.of("1", "2", "3", "2", "missing");
+        Product[] results = new Product[ids.size()];
+        CountDownLatch done = new CountDownLatch(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            int n = i;
+            Thread.ofVirtual().start(() -> {
+                BatchLoader<String, Product> loader = new BatchLoaderImpl<>(batcher, Product.class, Product::id, null);
+                results[n] = loader.load(ids.get(n));
+                done.countDown();
+            });
+        }
+        done.await();
+
+        assertThat(paths).hasSize(1);
+        assertThat(paths.get(0)).startsWith("/products?ids=");
+        assertThat(paths.get(0).split("%2C")).hasSize(4); // duplicate key sent once
+        assertThat(results[0].name()).isEqualTo("product 1");
+        assertThat(results[3]).isEqualTo(results[1]);
+        assertThat(results[4]).isNull();
+    }
+
+    @Test
+    void loadAllSplitsAtMaxSizeAndRecordsHistogram() {
+        RouteBatcher batcher = batcher(upstream(), 0, 4);
+        BatchLoader<String, Product> loader = new BatchLoaderImpl<>(batcher, Product.class, Product::id, null);
+
+        Map<String, Product> products = loader.loadAll(List.of("a", "b", "c", "d", "e", "f", "missing"));
+
+        assertThat(products).containsOnlyKeys("a", "b", "c", "d", "e", "f");
+        assertThat(paths).containsExactlyInAnyOrder("/products?ids=a%2Cb%2Cc%2Cd", "/products?ids=e%2Cf%2Cmissing");
+
+        RouteBatcher.Stats stats = batcher.stats();
+        assertThat(stats.name()).isEqualTo("catalog/products");
+        assertThat(stats.batches()).isEqualTo(2);
+        assertThat(stats.keys()).isEqualTo(7);
+        assertThat(stats.sizeHistogram()).containsExactly(0, 0, 2); // sizes 3 and 4 both fall in (2, 4]
+    }
+
+    @Test
+    void upstreamFailureReachesEveryCaller() {
+        ServiceClient client = mock(ServiceClient.class);
+        when(client.get(anyString(), eq(Product[].class))).thenThrow(new LoomException("catalog down"));
+        BatchLoader<String, Product> loader = new BatchLoaderImpl<>(batcher(client, 0, 10), Product.class, Product::id, null);
+
+        assertThatThrownBy(() -> loader.loadAll(List.of("1", "2")))
+                .isInstanceOf(LoomException.class)
+                .hasMessage("catalog down");
+    }
+
+    @Test
+    void failingKeyFunctionReachesEveryCaller() {
+        BatchLoader<String, Product> loader = new BatchLoaderImpl<>(batcher(upstream(), 0, 10), Product.class,
+                product -> { throw new IllegalStateException("bad key"); }, null);
+
+        assertThatThrownBy(() -> loader.loadAll(List.of("1", "2")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("bad key");
+    }
+
+    @Test
+    void waitIsBoundedByTimeout() {
+        ServiceClient client = mock(ServiceClient.class);
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.get(anyString(), eq(Product[].class))).thenAnswer(inv -> {
+            release.await();
+            return new Product[0];
+        });
+        BatchLoader<String, Product> loader = new BatchLoaderImpl<>(batcher(client, 0, 10, 50), Product.class, Product::id, null);
+
+        try {
+            assertThatThrownBy(() -> loader.load("1"))
+                    .isInstanceOf(LoomException.class)
+                    .hasMessageContaining("did not return within 50 ms");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void registryRejectsRouteWithoutBatchConfig() {
+        ServiceClientRegistry registry = new ServiceClientRegistry();
+        registry.registerServiceConfig("catalog", new ServiceConfig("catalog", "http://catalog", 1000, 1000, null, Map.of()));
+        registry.registerRouteConfig("catalog", "product", new RouteConfig("product", "/products/{id}", "GET",
+                -1, -1, null, ProxyPathTemplate.compile("/products/{id}")));
+
+        assertThatThrownBy(() -> registry.getBatcher("catalog", "product"))
+                .isInstanceOf(LoomException.class)
+                .hasMessageContaining("no 'batch' configuration");
+    }
+}
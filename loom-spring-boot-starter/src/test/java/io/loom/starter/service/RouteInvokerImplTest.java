@@ -22,7 +22,7 @@ class RouteInvokerImplTest {
 
         Map<String, String> incomingPathVars = Map.of("id", "42");
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, incomingPathVars, Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, incomingPathVars, Map.of());
         invoker.get(String.class);
 
         verify(client).get("/products/42", String.class, Map.of());
@@ -36,7 +36,7 @@ class RouteInvokerImplTest {
 
         Map<String, String> incomingPathVars = Map.of("id", "42");
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, incomingPathVars, Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, incomingPathVars, Map.of());
         invoker.pathVar("id", "99").get(String.class);
 
         verify(client).get("/products/99", String.class, Map.of());
@@ -50,7 +50,7 @@ class RouteInvokerImplTest {
 
         Map<String, List<String>> incomingQueryParams = Map.of("category", List.of("electronics"));
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), incomingQueryParams);
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), incomingQueryParams);
         invoker.get(String.class);
 
         verify(client).get("/products?category=electronics", String.class, Map.of());
@@ -64,7 +64,7 @@ class RouteInvokerImplTest {
 
         Map<String, List<String>> incomingQueryParams = Map.of("category", List.of("electronics"));
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), incomingQueryParams);
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), incomingQueryParams);
         invoker.queryParam("category", "books").get(String.class);
 
         verify(client).get("/products?category=books", String.class, Map.of());
@@ -78,7 +78,7 @@ class RouteInvokerImplTest {
 
         Map<String, List<String>> incomingQueryParams = Map.of("category", List.of("electronics"));
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), incomingQueryParams);
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), incomingQueryParams);
         invoker.queryParam("sort", "price").get(String.class);
 
         verify(client).get(argThat(path -> {
@@ -96,14 +96,14 @@ class RouteInvokerImplTest {
         when(client.get(anyString(), eq(String.class), any())).thenReturn("ok");
 
         // No explicit headers → empty map
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), Map.of());
         invoker.get(String.class);
         verify(client).get("/products", String.class, Map.of());
 
         // With explicit header
         reset(client);
         when(client.get(anyString(), eq(String.class), any())).thenReturn("ok");
-        RouteInvokerImpl invoker2 = new RouteInvokerImpl(config, client, Map.of(), Map.of());
+        RouteInvokerImpl invoker2 = invoker(config, client, Map.of(), Map.of());
         invoker2.header("X-Custom", "val").get(String.class);
         verify(client).get("/products", String.class, Map.of("X-Custom", "val"));
     }
@@ -114,7 +114,7 @@ class RouteInvokerImplTest {
         ServiceClient client = mock(ServiceClient.class);
         when(client.post(anyString(), any(), eq(String.class), any())).thenReturn("created");
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), Map.of());
         String result = invoker.body("payload").post(String.class);
 
         assertThat(result).isEqualTo("created");
@@ -127,7 +127,7 @@ class RouteInvokerImplTest {
         ServiceClient client = mock(ServiceClient.class);
         when(client.put(anyString(), any(), eq(String.class), any())).thenReturn("updated");
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of("id", "1"), Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, Map.of("id", "1"), Map.of());
         String result = invoker.body("payload").put(String.class);
 
         assertThat(result).isEqualTo("updated");
@@ -140,7 +140,7 @@ class RouteInvokerImplTest {
         ServiceClient client = mock(ServiceClient.class);
         when(client.delete(anyString(), eq(String.class), any())).thenReturn("deleted");
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of("id", "5"), Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, Map.of("id", "5"), Map.of());
         String result = invoker.delete(String.class);
 
         assertThat(result).isEqualTo("deleted");
@@ -153,7 +153,7 @@ class RouteInvokerImplTest {
         ServiceClient client = mock(ServiceClient.class);
         when(client.patch(anyString(), any(), eq(String.class), any())).thenReturn("patched");
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of("id", "3"), Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, Map.of("id", "3"), Map.of());
         String result = invoker.body("partial").patch(String.class);
 
         assertThat(result).isEqualTo("patched");
@@ -168,7 +168,7 @@ class RouteInvokerImplTest {
 
         Map<String, List<String>> incomingQueryParams = Map.of("filter", List.of("foo bar"));
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), incomingQueryParams);
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), incomingQueryParams);
         invoker.get(String.class);
 
         verify(client).get("/products?filter=foo+bar", String.class, Map.of());
@@ -182,7 +182,7 @@ class RouteInvokerImplTest {
 
         Map<String, List<String>> incomingQueryParams = Map.of("filter", List.of("a&b"));
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), incomingQueryParams);
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), incomingQueryParams);
         invoker.get(String.class);
 
         verify(client).get("/products?filter=a%26b", String.class, Map.of());
@@ -196,7 +196,7 @@ class RouteInvokerImplTest {
 
         Map<String, List<String>> incomingQueryParams = Map.of("expr", List.of("x=1"));
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), incomingQueryParams);
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), incomingQueryParams);
         invoker.get(String.class);
 
         verify(client).get("/products?expr=x%3D1", String.class, Map.of());
@@ -210,7 +210,7 @@ class RouteInvokerImplTest {
 
         Map<String, List<String>> incomingQueryParams = Map.of("name", List.of("\u00e9clair"));
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), incomingQueryParams);
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), incomingQueryParams);
         invoker.get(String.class);
 
         verify(client).get("/products?name=%C3%A9clair", String.class, Map.of());
@@ -224,7 +224,7 @@ class RouteInvokerImplTest {
 
         Map<String, List<String>> incomingQueryParams = Map.of("filter", List.of("foo bar"));
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), incomingQueryParams);
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), incomingQueryParams);
         invoker.queryParam("tag", "a&b").get(String.class);
 
         verify(client).get(argThat(path ->
@@ -242,7 +242,7 @@ class RouteInvokerImplTest {
 
         Map<String, List<String>> incomingQueryParams = Map.of("tag", List.of("a", "b", "c"));
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), incomingQueryParams);
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), incomingQueryParams);
         invoker.get(String.class);
 
         verify(client).get(argThat(path ->
@@ -261,7 +261,7 @@ class RouteInvokerImplTest {
 
         Map<String, List<String>> incomingQueryParams = Map.of("tag", List.of("a", "b"));
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), incomingQueryParams);
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), incomingQueryParams);
         invoker.queryParam("tag", "override").get(String.class);
 
         verify(client).get("/products?tag=override", String.class, Map.of());
@@ -273,7 +273,7 @@ class RouteInvokerImplTest {
         ServiceClient client = mock(ServiceClient.class);
         when(client.get(anyString(), eq(String.class), any())).thenReturn("ok");
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, null, null);
+        RouteInvokerImpl invoker = invoker(config, client, null, null);
         invoker.pathVar("id", "7").get(String.class);
 
         verify(client).get("/products/7", String.class, Map.of());
@@ -291,7 +291,7 @@ class RouteInvokerImplTest {
                 "product-data".getBytes(), "application/json");
         when(client.exchange(eq("GET"), anyString(), any(), eq(String.class), any())).thenReturn(expected);
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of("id", "42"), Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, Map.of("id", "42"), Map.of());
         ServiceResponse<String> resp = invoker.getResponse(String.class);
 
         assertThat(resp.isSuccessful()).isTrue();
@@ -310,7 +310,7 @@ class RouteInvokerImplTest {
                 null, 400, Map.of(), errorBody, "application/json");
         when(client.exchange(eq("POST"), anyString(), any(), eq(String.class), any())).thenReturn(expected);
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), Map.of());
         ServiceResponse<String> resp = invoker.body("payload").postResponse(String.class);
 
         assertThat(resp.isSuccessful()).isFalse();
@@ -329,8 +329,7 @@ class RouteInvokerImplTest {
                 "ok", 200, Map.of(), "ok".getBytes(), "application/json");
         when(client.exchange(eq("GET"), anyString(), any(), eq(String.class), any())).thenReturn(expected);
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client,
-                Map.of("id", "10"), Map.of("sort", List.of("name")));
+        RouteInvokerImpl invoker = invoker(config, client, Map.of("id", "10"), Map.of("sort", List.of("name")));
         invoker.header("Authorization", "Bearer token").getResponse(String.class);
 
         verify(client).exchange(eq("GET"),
@@ -347,7 +346,7 @@ class RouteInvokerImplTest {
                 "updated", 200, Map.of(), "updated".getBytes(), "application/json");
         when(client.exchange(eq("PUT"), anyString(), any(), eq(String.class), any())).thenReturn(expected);
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of("id", "1"), Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, Map.of("id", "1"), Map.of());
         ServiceResponse<String> resp = invoker.body("payload").putResponse(String.class);
 
         assertThat(resp.isSuccessful()).isTrue();
@@ -364,7 +363,7 @@ class RouteInvokerImplTest {
                 null, 500, Map.of(), errorBody, "application/json");
         when(client.exchange(eq("DELETE"), anyString(), any(), eq(String.class), any())).thenReturn(expected);
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of("id", "5"), Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, Map.of("id", "5"), Map.of());
         ServiceResponse<String> resp = invoker.deleteResponse(String.class);
 
         assertThat(resp.isServerError()).isTrue();
@@ -381,7 +380,7 @@ class RouteInvokerImplTest {
                 "patched", 200, Map.of(), "patched".getBytes(), "application/json");
         when(client.exchange(eq("PATCH"), anyString(), any(), eq(String.class), any())).thenReturn(expected);
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of("id", "3"), Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, Map.of("id", "3"), Map.of());
         ServiceResponse<String> resp = invoker.body("partial").patchResponse(String.class);
 
         assertThat(resp.isSuccessful()).isTrue();
@@ -397,7 +396,7 @@ class RouteInvokerImplTest {
                 "ok", 200, Map.of(), "ok".getBytes(), "application/json");
         when(client.exchange(eq("GET"), anyString(), any(), eq(String.class), any())).thenReturn(expected);
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, Map.of(), Map.of());
         invoker.getResponse(String.class);
 
         // GET should pass null body
@@ -412,13 +411,64 @@ class RouteInvokerImplTest {
                 "ok", 200, Map.of(), "ok".getBytes(), "application/json");
         when(client.exchange(eq("DELETE"), anyString(), any(), eq(String.class), any())).thenReturn(expected);
 
-        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of("id", "1"), Map.of());
+        RouteInvokerImpl invoker = invoker(config, client, Map.of("id", "1"), Map.of());
         invoker.deleteResponse(String.class);
 
         // DELETE should pass null body
         verify(client).exchange("DELETE", "/products/1", null, String.class, Map.of());
     }
 
+    @Test
+    void shouldReuseIncomingRawQueryWhenNoOverrides() {
+        RouteConfig config = routeConfig("/products");
+        ServiceClient client = mock(ServiceClient.class);
+        when(client.get(anyString(), eq(String.class), any())).thenReturn("ok");
+
+        Map<String, List<String>> incomingQueryParams = Map.of(
+                "filter", List.of("foo bar"), "tag", List.of("a", "b"));
+
+        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), incomingQueryParams,
+                "tag=a&filter=foo%20bar&tag=b", null, null);
+        invoker.get(String.class);
+
+        verify(client).get("/products?tag=a&filter=foo%20bar&tag=b", String.class, Map.of());
+    }
+
+    @Test
+    void shouldRebuildQueryWhenOverridesPresentDespiteRawQuery() {
+        RouteConfig config = routeConfig("/products");
+        ServiceClient client = mock(ServiceClient.class);
+        when(client.get(anyString(), eq(String.class), any())).thenReturn("ok");
+
+        Map<String, List<String>> incomingQueryParams = Map.of("category", List.of("books"));
+
+        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), incomingQueryParams,
+                "category=books", null, null);
+        invoker.queryParam("category", "toys").get(String.class);
+
+        verify(client).get("/products?category=toys", String.class, Map.of());
+    }
+
+    @Test
+    void shouldRebuildQueryWhenRawQueryIsNotValidUri() {
+        RouteConfig config = routeConfig("/products");
+        ServiceClient client = mock(ServiceClient.class);
+        when(client.get(anyString(), eq(String.class), any())).thenReturn("ok");
+
+        Map<String, List<String>> incomingQueryParams = Map.of("q", List.of("a|b"));
+
+        RouteInvokerImpl invoker = new RouteInvokerImpl(config, client, Map.of(), incomingQueryParams,
+                "q=a|b", null, null);
+        invoker.get(String.class);
+
+        verify(client).get("/products?q=a%7Cb", String.class, Map.of());
+    }
+
+    private static RouteInvokerImpl invoker(RouteConfig config, ServiceClient client,
+                                            Map<String, String> pathVars, Map<String, List<String>> queryParams) {
+        return new RouteInvokerImpl(config, client, pathVars, queryParams, null, null, null);
+    }
+
     private RouteConfig routeConfig(String path) {
         return new RouteConfig("test-route", path, "GET",
                 RouteConfig.INHERIT, RouteConfig.INHERIT, null,
@@ -0,0 +1,110 @@
+package io.loom.starter.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamFreshnessTest {
+
+    private final FreshnessInterceptor interceptor = new FreshnessInterceptor();
+    private final UpstreamFreshness freshness = new UpstreamFreshness();
+
+    /** Runs one tracked call whose upstream answers with {@code status} and {@code headers}. */
+    private void call(String route, HttpStatus status, String... headers) {
+        freshness.track(route, () -> {
+            try {
+                return interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("http://upstream/x")),
+                        new byte[0], (req, body) -> {
+                            MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], status);
+                            for (int i = 0; i < headers.length; i += 2) {
+                                response.getHeaders().add(headers[i], headers[i + 1]);
+                            }
+                            return response;
+                        });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Test
+    void smallestRemainingLifetimeWins() {
+        call("users/get-user", HttpStatus.OK, HttpHeaders.CACHE_CONTROL, "max-age=60", HttpHeaders.AGE, "20");
+        call("orders/list", HttpStatus.OK, HttpHeaders.CACHE_CONTROL, "public, max-age=120, s-maxage=30");
+        call("users/get-user", HttpStatus.OK, HttpHeaders.CACHE_CONTROL, "max-age=300");
+
+        assertThat(freshness.cacheControl(false)).isEqualTo("max-age=40, s-maxage=30");
+        assertThat(freshness.cacheControl(true)).isEqualTo("private, max-age=40");
+        assertThat(freshness.surrogateKeys()).isEqualTo("users/get-user orders/list");
+    }
+
+    @Test
+    void noStoreAndFailuresMakeTheResponseUncacheable() {
+        call("users/get-user", HttpStatus.OK, HttpHeaders.CACHE_CONTROL, "max-age=60");
+        call("orders/list", HttpStatus.BAD_GATEWAY);
+        assertThat(freshness.cacheControl(false)).isEqualTo("no-store");
+
+        UpstreamFreshness transport = new UpstreamFreshness();
+        assertThatThrownBy(() -> transport.track("users/get-user", () -> {
+            try {
+                return interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("http://upstream/x")),
+                        new byte[0], (req, body) -> { throw new IOException("connection reset"); });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        })).isInstanceOf(UncheckedIOException.class);
+        assertThat(transport.cacheControl(false)).isEqualTo("no-store");
+
+        UpstreamFreshness upstreamNoStore = new UpstreamFreshness();
+        upstreamNoStore.track("a/b", () -> {
+            UpstreamFreshness.recordResponse(200, headers("no-store"));
+            return null;
+        });
+        assertThat(upstreamNoStore.cacheControl(false)).isEqualTo("no-store");
+    }
+
+    @Test
+    void storedInputsCapLifetimeWithoutSurrogateKeys() {
+        call("users/get-user", HttpStatus.OK, HttpHeaders.CACHE_CONTROL, "max-age=60");
+        freshness.recordStored(25_500);
+        assertThat(freshness.cacheControl(false)).isEqualTo("max-age=25");
+        assertThat(freshness.surrogateKeys()).isEqualTo("users/get-user");
+
+        UpstreamFreshness stale = new UpstreamFreshness();
+        stale.recordStored(-1_000);
+        assertThat(stale.cacheControl(true)).isEqualTo("private, max-age=0");
+        assertThat(stale.surrogateKeys()).isNull();
+    }
+
+    @Test
+    void unknownFreshnessDerivesNothing() {
+        call("users/get-user", HttpStatus.OK, HttpHeaders.CACHE_CONTROL, "max-age=60");
+        call("orders/list", HttpStatus.OK);
+        assertThat(freshness.cacheControl(false)).isNull();
+
+        // A client that never reports a response (not a RestServiceClient) is unknown too
+        UpstreamFreshness custom = new UpstreamFreshness();
+        custom.track("custom/route", () -> "stub");
+        assertThat(custom.cacheControl(false)).isNull();
+        assertThat(custom.surrogateKeys()).isEqualTo("custom/route");
+
+        assertThat(new UpstreamFreshness().cacheControl(false)).isNull();
+        assertThat(UpstreamFreshness.isTracking()).isFalse();
+    }
+
+    private static HttpHeaders headers(String cacheControl) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CACHE_CONTROL, cacheControl);
+        return headers;
+    }
+}
@@ -1,21 +1,40 @@
 package io.loom.starter.web;
 
+import io.loom.core.annotation.LoomApi;
+import io.loom.core.annotation.LoomField;
+import io.loom.core.annotation.LoomGraph;
+import io.loom.core.annotation.Node;
+import io.loom.core.builder.BuilderContext;
+import io.loom.core.builder.LoomBuilder;
 import io.loom.core.codec.JsonCodec;
 import io.loom.core.engine.Dag;
+import io.loom.core.engine.DagCompiler;
 import io.loom.core.engine.DagExecutor;
+import io.loom.core.engine.DagNode;
+import io.loom.core.engine.FieldPlan;
+import io.loom.core.engine.Speculation;
 import io.loom.core.exception.LoomException;
 import io.loom.core.exception.LoomServiceClientException;
+import io.loom.core.exception.LoomValidationException;
 import io.loom.core.interceptor.InterceptorChain;
 import io.loom.core.interceptor.LoomHttpContext;
 import io.loom.core.interceptor.LoomInterceptor;
 import io.loom.core.model.ApiDefinition;
+import io.loom.core.model.CorsPolicy;
+import io.loom.core.model.HeaderPolicy;
 import io.loom.core.model.ProxyPathTemplate;
+import io.loom.core.model.ResponseCachePolicy;
 import io.loom.core.service.ServiceClient;
 import io.loom.core.service.ServiceResponse;
+import io.loom.starter.cache.HeapResponseCacheStore;
+import io.loom.starter.cache.ResponseCache;
+import io.loom.starter.config.LoomProperties;
+import io.loom.starter.ratelimit.RateLimitInterceptor;
 import io.loom.starter.registry.InterceptorRegistry;
 import io.loom.starter.service.ServiceClientRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
@@ -49,7 +68,7 @@ class LoomHandlerAdapterTest {
         when(interceptorRegistry.getInterceptors(any())).thenReturn(List.of());
 
         adapter = new LoomHandlerAdapter(dagExecutor, interceptorRegistry,
-                serviceClientRegistry, jsonCodec, MAX_BODY_SIZE);
+                serviceClientRegistry, jsonCodec, MAX_BODY_SIZE, null, null, null, false, null);
     }
 
     private MockHttpServletRequest createRequest(String method, String path) {
@@ -60,16 +79,26 @@ class LoomHandlerAdapterTest {
 
     private LoomRequestHandler builderHandler(String method, String path) {
         Dag dag = mock(Dag.class);
-        ApiDefinition api = new ApiDefinition(method, path, null, null, null, dag,
-                null, null, null, null, null, null, null, null, null);
+        ApiDefinition api = ApiDefinition.builder(method, path).dag(dag).build();
         return new LoomRequestHandler(api, Map.of());
     }
 
     private LoomRequestHandler passthroughHandler(String method, String path,
                                                    String serviceName, String routeName) {
         ProxyPathTemplate template = ProxyPathTemplate.compile("/upstream/path");
-        ApiDefinition api = new ApiDefinition(method, path, null, null, null, null,
-                null, null, null, null, null, serviceName, routeName, template, null);
+        ApiDefinition api = ApiDefinition.builder(method, path)
+                .passthrough(serviceName, routeName, template)
+                .build();
+        return new LoomRequestHandler(api, Map.of());
+    }
+
+    private LoomRequestHandler passthroughHandler(HeaderPolicy requestPolicy, HeaderPolicy responsePolicy) {
+        ProxyPathTemplate template = ProxyPathTemplate.compile("/upstream/path");
+        ApiDefinition api = ApiDefinition.builder("GET", "/api/proxy")
+                .passthrough("test-svc", "get-all", template)
+                .requestHeaderPolicy(requestPolicy)
+                .responseHeaderPolicy(responsePolicy)
+                .build();
         return new LoomRequestHandler(api, Map.of());
     }
 
@@ -210,6 +239,91 @@ class LoomHandlerAdapterTest {
         assertThat(forwardedHeaders).containsKey("X-Forwarded-For");
     }
 
+    @Test
+    void passthroughPath_appliesRequestHeaderPolicy() throws Exception {
+        ServiceClient client = mock(ServiceClient.class);
+        when(serviceClientRegistry.getRouteClient("test-svc", "get-all")).thenReturn(client);
+        ServiceResponse<byte[]> upstream = new ServiceResponse<>(
+                "{}".getBytes(), 200, Map.of(), "{}".getBytes(), "application/json");
+        when(client.proxy(any(), any(), any(), any())).thenReturn(upstream);
+
+        MockHttpServletRequest request = createRequest("GET", "/api/proxy");
+        request.addHeader("Authorization", "Bearer t");
+        request.addHeader("Cookie", "session=big");
+        request.addHeader("X-Request-Id", "r-1");
+        request.addHeader("X-Gateway", "spoofed");
+        request.addHeader("Accept", "application/json");
+        request.addHeader("Accept", "text/plain");
+        HeaderPolicy policy = HeaderPolicy.compile(
+                List.of("Authorization", "Accept"), List.of("Cookie"),
+                Map.of("X-Request-Id", "X-Correlation-Id"), Map.of("X-Gateway", "loom"));
+        LoomRequestHandler handler = passthroughHandler(policy, HeaderPolicy.DEFAULT);
+
+        adapter.handle(request, new MockHttpServletResponse(), handler);
+
+        @SuppressWarnings("unchecked")
+        var headersCaptor = org.mockito.ArgumentCaptor.forClass(Map.class);
+        verify(client).proxy(any(), any(), any(), headersCaptor.capture());
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> forwardedHeaders = headersCaptor.getValue();
+        assertThat(forwardedHeaders).containsOnly(
+                Map.entry("Authorization", "Bearer t"),
+                Map.entry("Accept", "application/json, text/plain"),
+                Map.entry("X-Correlation-Id", "r-1"),
+                Map.entry("X-Gateway", "loom"));
+    }
+
+    @Test
+    void passthroughPath_appliesResponseHeaderPolicy() throws Exception {
+        ServiceClient client = mock(ServiceClient.class);
+        when(serviceClientRegistry.getRouteClient("test-svc", "get-all")).thenReturn(client);
+        Map<String, List<String>> upstreamHeaders = Map.of(
+                "Server", List.of("nginx"),
+                "X-Internal-Trace", List.of("t-9"),
+                "Cache-Control", List.of("no-store"));
+        ServiceResponse<byte[]> upstream = new ServiceResponse<>(
+                "{}".getBytes(), 200, upstreamHeaders, "{}".getBytes(), "application/json");
+        when(client.proxy(any(), any(), any(), any())).thenReturn(upstream);
+
+        HeaderPolicy policy = HeaderPolicy.compile(null, List.of("server"),
+                Map.of("X-Internal-Trace", "X-Trace"), Map.of("X-Served-By", "loom"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        adapter.handle(createRequest("GET", "/api/proxy"), response,
+                passthroughHandler(HeaderPolicy.DEFAULT, policy));
+
+        assertThat(response.getHeader("Server")).isNull();
+        assertThat(response.getHeader("X-Internal-Trace")).isNull();
+        assertThat(response.getHeader("X-Trace")).isEqualTo("t-9");
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("no-store");
+        assertThat(response.getHeader("X-Served-By")).isEqualTo("loom");
+    }
+
+    @Test
+    void reusableHandler_readsPathVariablesFromRequestAttribute() throws Exception {
+        ServiceClient client = mock(ServiceClient.class);
+        when(serviceClientRegistry.getRouteClient("test-svc", "get-one")).thenReturn(client);
+        ServiceResponse<byte[]> upstream = new ServiceResponse<>(
+                "{}".getBytes(), 200, Map.of(), "{}".getBytes(), "application/json");
+        when(client.proxy(any(), any(), any(), any())).thenReturn(upstream);
+
+        ApiDefinition api = ApiDefinition.builder("GET", "/api/items/{id}")
+                .passthrough("test-svc", "get-one", ProxyPathTemplate.compile("/items/{id}"))
+                .build();
+        RouteTrie trie = new RouteTrie();
+        trie.insert(api);
+        RouteTrie.Route route = trie.lookup("GET", "/api/items/42", 0);
+
+        MockHttpServletRequest request = createRequest("GET", "/api/items/42");
+        request.setAttribute(org.springframework.web.servlet.HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+                route.pathVariables("/api/items/42", 0));
+
+        adapter.handle(request, new MockHttpServletResponse(), route.handler());
+
+        verify(client).proxy(eq("GET"), eq("/items/42"), any(), any());
+    }
+
     // ── Interceptor short-circuit test ──
 
     @Test
@@ -247,7 +361,7 @@ class LoomHandlerAdapterTest {
 
         // Use a very small max size to trigger rejection
         LoomHandlerAdapter smallAdapter = new LoomHandlerAdapter(dagExecutor, interceptorRegistry,
-                serviceClientRegistry, jsonCodec, 50);
+                serviceClientRegistry, jsonCodec, 50, null, null, null, false, null);
 
         assertThatThrownBy(() -> smallAdapter.handle(request, response, handler))
                 .isInstanceOf(LoomException.class)
@@ -473,4 +587,409 @@ class LoomHandlerAdapterTest {
         assertThat(response.getStatus()).isEqualTo(403);
         assertThat(response.getContentType()).isEqualTo("application/json");
     }
+
+    // ── Streaming passthrough upload tests ──
+
+    @Test
+    void passthroughPath_streamsRequestBodyUpstream() throws Exception {
+        ServiceClient client = mock(ServiceClient.class);
+        when(serviceClientRegistry.getRouteClient("test-svc", "upload")).thenReturn(client);
+        byte[] payload = "{\"item\":\"widget\"}".getBytes();
+        var received = new java.util.concurrent.atomic.AtomicReference<byte[]>();
+        when(client.proxyStream(eq("POST"), eq("/upstream/path"), any(), eq((long) payload.length), any()))
+                .thenAnswer(inv -> {
+                    received.set(((java.io.InputStream) inv.getArgument(2)).readAllBytes());
+                    return new ServiceResponse<>(new byte[0], 201, Map.of(), new byte[0], "application/json");
+                });
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/upload");
+        request.setContent(payload);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        LoomRequestHandler handler = passthroughHandler("POST", "/api/upload", "test-svc", "upload");
+
+        adapter.handle(request, response, handler);
+
+        assertThat(received.get()).isEqualTo(payload);
+        assertThat(response.getStatus()).isEqualTo(201);
+        verify(client, never()).proxy(any(), any(), any(), any());
+    }
+
+    @Test
+    void passthroughPath_streamedBodyOverLimitRejected() {
+        ServiceClient client = mock(ServiceClient.class);
+        when(serviceClientRegistry.getRouteClient("test-svc", "upload")).thenReturn(client);
+        when(client.proxyStream(any(), any(), any(), anyLong(), any())).thenAnswer(inv -> {
+            try {
+                ((java.io.InputStream) inv.getArgument(2)).readAllBytes();
+            } catch (java.io.IOException e) {
+                throw new LoomServiceClientException("test-svc", e.getMessage(), e);
+            }
+            return null;
+        });
+
+        // Unknown length (chunked) so the limit can only be enforced while streaming
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/upload");
+        request.setContent(new byte[100]);
+        var chunked = new jakarta.servlet.http.HttpServletRequestWrapper(request) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        LoomRequestHandler handler = passthroughHandler("POST", "/api/upload", "test-svc", "upload");
+
+        LoomHandlerAdapter smallAdapter = new LoomHandlerAdapter(dagExecutor, interceptorRegistry,
+                serviceClientRegistry, jsonCodec, 50, null, null, null, false, null);
+
+        assertThatThrownBy(() -> smallAdapter.handle(chunked, response, handler))
+                .isInstanceOf(LoomException.class)
+                .hasMessageContaining("Request body too large")
+                .satisfies(ex -> assertThat(((LoomException) ex).getApiRoute()).isEqualTo("POST /api/upload"));
+    }
+
+    // ── Response compression tests ──
+
+    private LoomHandlerAdapter compressingAdapter() {
+        return new LoomHandlerAdapter(dagExecutor, interceptorRegistry, serviceClientRegistry, jsonCodec,
+                MAX_BODY_SIZE, new ResponseCompressor(16, 6, List.of("application/json"),
+                        new io.loom.starter.codec.DeflaterPool()), null, null, false, null);
+    }
+
+    @Test
+    void builderPath_jsonResponseGzippedWhenAccepted() throws Exception {
+        byte[] json = "{\"message\":\"hello hello hello hello hello\"}".getBytes();
+        when(dagExecutor.execute(any(), any())).thenReturn(Map.of("message", "hello"));
+        doAnswer(inv -> {
+            ((java.io.OutputStream) inv.getArgument(0)).write(json);
+            return null;
+        }).when(jsonCodec).writeValue(any(), any());
+
+        MockHttpServletRequest request = createRequest("GET", "/api/test");
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        compressingAdapter().handle(request, response, builderHandler("GET", "/api/test"));
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        byte[] inflated = new java.util.zip.GZIPInputStream(
+                new java.io.ByteArrayInputStream(response.getContentAsByteArray())).readAllBytes();
+        assertThat(inflated).isEqualTo(json);
+    }
+
+    @Test
+    void passthroughPath_alreadyEncodedUpstreamBodyForwardedAsIs() throws Exception {
+        byte[] gzipped = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff, 1, 2, 3, 4, 5, 6, 7, 8,
+                9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20};
+        ServiceClient client = mock(ServiceClient.class);
+        when(serviceClientRegistry.getRouteClient("test-svc", "get-all")).thenReturn(client);
+        when(client.proxy(any(), any(), any(), any())).thenReturn(new ServiceResponse<>(
+                gzipped, 200, Map.of("Content-Encoding", List.of("gzip")), gzipped, "application/json"));
+
+        MockHttpServletRequest request = createRequest("GET", "/api/proxy");
+        request.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        compressingAdapter().handle(request, response,
+                passthroughHandler("GET", "/api/proxy", "test-svc", "get-all"));
+
+        assertThat(response.getHeaders("Content-Encoding")).containsExactly("gzip");
+        assertThat(response.getContentAsByteArray()).isEqualTo(gzipped);
+    }
+
+    @Test
+    void passthroughPath_plainUpstreamBodyCompressed() throws Exception {
+        byte[] body = "{\"status\":\"ok\",\"detail\":\"all systems nominal\"}".getBytes();
+        ServiceClient client = mock(ServiceClient.class);
+        when(serviceClientRegistry.getRouteClient("test-svc", "get-all")).thenReturn(client);
+        when(client.proxy(any(), any(), any(), any())).thenReturn(new ServiceResponse<>(
+                body, 200, Map.of(), body, "application/json"));
+
+        MockHttpServletRequest request = createRequest("GET", "/api/proxy");
+        request.addHeader("Accept-Encoding", "deflate");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        compressingAdapter().handle(request, response,
+                passthroughHandler("GET", "/api/proxy", "test-svc", "get-all"));
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("deflate");
+        byte[] inflated = new java.util.zip.InflaterInputStream(
+                new java.io.ByteArrayInputStream(response.getContentAsByteArray())).readAllBytes();
+        assertThat(inflated).isEqualTo(body);
+    }
+
+    // ── Speculative DAG start ──
+
+    private static LoomInterceptor parallelInterceptor(boolean approve) {
+        return new LoomInterceptor() {
+            @Override
+            public void handle(LoomHttpContext context, InterceptorChain chain) {
+                if (approve) {
+                    chain.next(context);
+                } else {
+                    context.setResponseStatus(401);
+                }
+            }
+
+            @Override
+            public boolean parallelizable() { return true; }
+        };
+    }
+
+    private LoomRequestHandler speculativeHandler(Speculation speculation) {
+        LoomRequestHandler handler = builderHandler("GET", "/api/test");
+        Dag dag = handler.getApiDefinition().dag();
+        when(dag.speculativeRoots()).thenReturn(List.of(mock(DagNode.class)));
+        when(dagExecutor.speculate(eq(dag), any())).thenReturn(speculation);
+        return handler;
+    }
+
+    @Test
+    void parallelInterceptorRejection_cancelsSpeculation() throws Exception {
+        Speculation speculation = mock(Speculation.class);
+        when(interceptorRegistry.getInterceptors(any())).thenReturn(List.of(parallelInterceptor(false)));
+        LoomRequestHandler handler = speculativeHandler(speculation);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        adapter.handle(createRequest("GET", "/api/test"), response, handler);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        verify(speculation).cancel();
+        verify(dagExecutor, never()).execute(any(), any(), any());
+    }
+
+    @Test
+    void parallelInterceptorApproval_adoptsSpeculation() throws Exception {
+        Speculation speculation = mock(Speculation.class);
+        when(interceptorRegistry.getInterceptors(any())).thenReturn(List.of(parallelInterceptor(true)));
+        LoomRequestHandler handler = speculativeHandler(speculation);
+        when(dagExecutor.execute(any(), any(), eq(speculation))).thenReturn(null);
+
+        adapter.handle(createRequest("GET", "/api/test"), new MockHttpServletResponse(), handler);
+
+        verify(dagExecutor).execute(any(), any(), eq(speculation));
+        verify(speculation, never()).cancel();
+    }
+
+    @Test
+    void speculationWaitsForTrailingParallelInterceptors() throws Exception {
+        Speculation speculation = mock(Speculation.class);
+        LoomRequestHandler handler = speculativeHandler(speculation);
+        Dag dag = handler.getApiDefinition().dag();
+        LoomInterceptor setsAttribute = (context, chain) -> {
+            context.setAttribute("jwt.subject", "alice");
+            chain.next(context);
+        };
+
+        // A non-parallelizable interceptor after the parallel one: nothing may start early
+        when(interceptorRegistry.getInterceptors(any())).thenReturn(List.of(parallelInterceptor(true), setsAttribute));
+        adapter.handle(createRequest("GET", "/api/test"), new MockHttpServletResponse(), handler);
+        verify(dagExecutor, never()).speculate(any(), any());
+
+        // Attribute-setting interceptor first: builders start once only parallel ones remain
+        when(interceptorRegistry.getInterceptors(any())).thenReturn(List.of(setsAttribute, parallelInterceptor(true)));
+        adapter.handle(createRequest("GET", "/api/test"), new MockHttpServletResponse(), handler);
+        verify(dagExecutor).speculate(eq(dag), any());
+    }
+
+    // ── Field selection ──
+
+    public record ItemName(String value) {}
+    public record Item(@LoomField(ItemNameBuilder.class) ItemName name, String id) {}
+
+    static class ItemNameBuilder implements LoomBuilder<ItemName> {
+        public ItemName build(BuilderContext ctx) { return new ItemName("lamp"); }
+    }
+    static class ItemBuilder implements LoomBuilder<Item> {
+        public Item build(BuilderContext ctx) { return null; }
+    }
+
+    @LoomApi(method = "GET", path = "/api/items/{id}", response = Item.class)
+    @LoomGraph({@Node(builder = ItemNameBuilder.class),
+            @Node(builder = ItemBuilder.class, dependsOn = ItemNameBuilder.class)})
+    static class ItemApi {}
+
+    @Test
+    void fieldsParam_runsSubDagAndSerializesOnlySelectedFields() throws Exception {
+        Dag dag = new DagCompiler().compile(ItemApi.class);
+        ApiDefinition api = ApiDefinition.builder("GET", "/api/items/{id}").dag(dag).build();
+        when(dagExecutor.execute(eq(dag), any(), any(), any(FieldPlan.Selection.class)))
+                .thenReturn(new Item(null, "7"));
+
+        MockHttpServletRequest request = createRequest("GET", "/api/items/7");
+        request.setParameter(FieldPlan.QUERY_PARAM, "id");
+        adapter.handle(request, new MockHttpServletResponse(), new LoomRequestHandler(api, Map.of()));
+
+        ArgumentCaptor<FieldPlan.Selection> selection = ArgumentCaptor.forClass(FieldPlan.Selection.class);
+        verify(dagExecutor).execute(eq(dag), any(), any(), selection.capture());
+        assertThat(selection.getValue().skips(dag.getNode(ItemNameBuilder.class))).isTrue();
+        verify(jsonCodec).writeValue(any(), eq(Map.of("id", "7")));
+
+        MockHttpServletRequest unknown = createRequest("GET", "/api/items/7");
+        unknown.setParameter(FieldPlan.QUERY_PARAM, "price");
+        assertThatThrownBy(() -> adapter.handle(unknown, new MockHttpServletResponse(),
+                new LoomRequestHandler(api, Map.of())))
+                .isInstanceOf(LoomValidationException.class);
+    }
+
+    // ── Rate limiting ──
+
+    @Test
+    void rateLimitedRequest_gets429WithoutRunningDag() throws Exception {
+        LoomProperties.RateLimitRule rule = new LoomProperties.RateLimitRule();
+        rule.setPermitsPerSecond(1);
+        rule.setBurst(1);
+        rule.setKey("header:X-API-Key");
+        LoomProperties.RateLimitProperties properties = new LoomProperties.RateLimitProperties();
+        properties.getApis().put("GET /api/test", rule);
+        when(interceptorRegistry.getInterceptors(any()))
+                .thenReturn(List.of(new RateLimitInterceptor(properties)));
+        LoomRequestHandler handler = builderHandler("GET", "/api/test");
+
+        MockHttpServletRequest first = createRequest("GET", "/api/test");
+        first.addHeader("X-API-Key", "k1");
+        adapter.handle(first, new MockHttpServletResponse(), handler);
+
+        MockHttpServletRequest second = createRequest("GET", "/api/test");
+        second.addHeader("X-API-Key", "k1");
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        adapter.handle(second, rejected, handler);
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).isEqualTo("{\"error\":\"Too Many Requests\"}");
+        verify(dagExecutor, times(1)).execute(any(), any());
+        verifyNoInteractions(jsonCodec);
+
+        // Other keys have their own bucket
+        MockHttpServletRequest other = createRequest("GET", "/api/test");
+        other.addHeader("X-API-Key", "k2");
+        MockHttpServletResponse allowed = new MockHttpServletResponse();
+        adapter.handle(other, allowed, handler);
+        assertThat(allowed.getStatus()).isEqualTo(200);
+    }
+
+    // ── CORS / HEAD ──
+
+    @Test
+    void corsHeadersAddedToActualRequest() throws Exception {
+        CorsPolicy cors = CorsPolicy.compile(List.of("https://app.example.com"), List.of("GET"),
+                List.of("*"), List.of("X-Request-Id"), false, 1800);
+        ApiDefinition api = ApiDefinition.builder("GET", "/api/test")
+                .dag(mock(Dag.class))
+                .corsPolicy(cors)
+                .build();
+        MockHttpServletRequest request = createRequest("GET", "/api/test");
+        request.addHeader("Origin", "https://app.example.com");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        adapter.handle(request, response, new LoomRequestHandler(api, Map.of()));
+
+        assertThat(response.getHeader("Access-Control-Allow-Origin")).isEqualTo("https://app.example.com");
+        assertThat(response.getHeader("Access-Control-Expose-Headers")).isEqualTo("X-Request-Id");
+        assertThat(response.getHeaders("Vary")).contains("Origin");
+    }
+
+    @Test
+    void corsVaryAddedEvenWithoutOrigin() throws Exception {
+        CorsPolicy cors = CorsPolicy.compile(List.of("https://app.example.com"), List.of("GET"),
+                List.of("*"), List.of(), false, 1800);
+        ApiDefinition api = ApiDefinition.builder("GET", "/api/test")
+                .dag(mock(Dag.class))
+                .corsPolicy(cors)
+                .build();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        adapter.handle(createRequest("GET", "/api/test"), response, new LoomRequestHandler(api, Map.of()));
+
+        assertThat(response.getHeaders("Vary")).contains("Origin");
+        assertThat(response.getHeader("Access-Control-Allow-Origin")).isNull();
+    }
+
+    @Test
+    void headOnGetApi_runsDagButSkipsSerialization() throws Exception {
+        when(dagExecutor.execute(any(), any())).thenReturn(Map.of("id", 1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        adapter.handle(createRequest("HEAD", "/api/test"), response, builderHandler("GET", "/api/test"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        verify(dagExecutor).execute(any(), any());
+        verifyNoInteractions(jsonCodec);
+    }
+
+    // ── Response cache ──
+
+    @Test
+    void cachedApi_servesRepeatsFromCacheAndAnswersIfNoneMatchWith304() throws Exception {
+        adapter = new LoomHandlerAdapter(dagExecutor, interceptorRegistry, serviceClientRegistry, jsonCodec,
+                MAX_BODY_SIZE, null, null, new ResponseCache(new HeapResponseCacheStore(100, 1 << 20)),
+                false, null);
+        byte[] json = "{\"id\":1}".getBytes();
+        when(dagExecutor.execute(any(), any())).thenReturn(Map.of("id", 1));
+        when(jsonCodec.writeValueAsBytes(any())).thenReturn(json);
+        ApiDefinition api = ApiDefinition.builder("GET", "/api/test")
+                .dag(mock(Dag.class))
+                .cachePolicy(new ResponseCachePolicy(60_000, List.of(), List.of("Accept-Language"), List.of()))
+                .build();
+        LoomRequestHandler handler = new LoomRequestHandler(api, Map.of());
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        adapter.handle(createRequest("GET", "/api/test"), first, handler);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        adapter.handle(createRequest("GET", "/api/test"), second, handler);
+
+        assertThat(first.getContentAsByteArray()).isEqualTo(json);
+        assertThat(second.getContentAsByteArray()).isEqualTo(json);
+        assertThat(second.getHeader("ETag")).isEqualTo(first.getHeader("ETag")).isNotNull();
+        assertThat(second.getHeader("Vary")).isEqualTo("Accept-Language");
+        verify(dagExecutor, times(1)).execute(any(), any());
+
+        MockHttpServletRequest conditional = createRequest("GET", "/api/test");
+        conditional.addHeader("If-None-Match", first.getHeader("ETag"));
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        adapter.handle(conditional, notModified, handler);
+
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+        verify(dagExecutor, times(1)).execute(any(), any());
+
+        // A different vary-header value is a different entry
+        MockHttpServletRequest german = createRequest("GET", "/api/test");
+        german.addHeader("Accept-Language", "de");
+        adapter.handle(german, new MockHttpServletResponse(), handler);
+        verify(dagExecutor, times(2)).execute(any(), any());
+    }
+
+    @Test
+    void cacheHit_derivesCacheControlFromEntryLifetime() throws Exception {
+        adapter = new LoomHandlerAdapter(dagExecutor, interceptorRegistry, serviceClientRegistry, jsonCodec,
+                MAX_BODY_SIZE, null, null, new ResponseCache(new HeapResponseCacheStore(100, 1 << 20)),
+                true, null);
+        when(dagExecutor.execute(any(), any())).thenReturn(Map.of("id", 1));
+        when(jsonCodec.writeValueAsBytes(any())).thenReturn("{\"id\":1}".getBytes());
+        ApiDefinition api = ApiDefinition.builder("GET", "/api/test")
+                .dag(mock(Dag.class))
+                .cachePolicy(new ResponseCachePolicy(60_000, List.of(), List.of(), List.of()))
+                .build();
+        LoomRequestHandler handler = new LoomRequestHandler(api, Map.of());
+
+        adapter.handle(createRequest("GET", "/api/test"), new MockHttpServletResponse(), handler);
+        MockHttpServletResponse hit = new MockHttpServletResponse();
+        adapter.handle(createRequest("GET", "/api/test"), hit, handler);
+
+        verify(dagExecutor, times(1)).execute(any(), any());
+        assertThat(hit.getHeader("Cache-Control")).matches("max-age=(59|60)");
+
+        MockHttpServletRequest withCookie = createRequest("GET", "/api/test");
+        withCookie.addHeader("Cookie", "session=abc");
+        adapter.handle(withCookie, new MockHttpServletResponse(), handler);
+        MockHttpServletResponse privateHit = new MockHttpServletResponse();
+        adapter.handle(withCookie, privateHit, handler);
+
+        assertThat(privateHit.getHeader("Cache-Control")).matches("private, max-age=(59|60)");
+    }
 }
@@ -0,0 +1,82 @@
+package io.loom.starter.web;
+
+import io.loom.core.engine.Dag;
+import io.loom.core.model.ApiDefinition;
+import io.loom.core.model.CorsPolicy;
+import io.loom.starter.registry.InMemoryApiRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LoomHandlerMappingTest {
+
+    private InMemoryApiRegistry registry;
+    private LoomHandlerMapping mapping;
+
+    @BeforeEach
+    void setUp() {
+        registry = new InMemoryApiRegistry();
+        mapping = new LoomHandlerMapping(registry);
+    }
+
+    private static ApiDefinition api(String method, String path, CorsPolicy cors) {
+        return ApiDefinition.builder(method, path).dag(mock(Dag.class)).corsPolicy(cors).build();
+    }
+
+    private static MockHttpServletRequest preflight(String path, String origin, String method) {
+        MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", path);
+        request.addHeader("Origin", origin);
+        request.addHeader("Access-Control-Request-Method", method);
+        return request;
+    }
+
+    @Test
+    void preflightAnsweredFromRoutePolicyWithoutSpringCorsProcessing() throws Exception {
+        CorsPolicy cors = CorsPolicy.compile(List.of("https://app.example.com"), List.of("PUT"),
+                List.of("Content-Type"), null, true, 600);
+        registry.registerApi(api("PUT", "/api/users/{id}", cors));
+
+        Object handler = mapping.getHandler(preflight("/api/users/7", "https://app.example.com", "PUT")).getHandler();
+        assertThat(handler).isInstanceOf(CorsPreflightHandler.class);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ((CorsPreflightHandler) handler).handle(
+                preflight("/api/users/7", "https://app.example.com", "PUT"), response);
+        assertThat(response.getStatus()).isEqualTo(204);
+        assertThat(response.getHeader("Access-Control-Allow-Origin")).isEqualTo("https://app.example.com");
+        assertThat(response.getHeader("Access-Control-Allow-Methods")).isEqualTo("PUT");
+        assertThat(response.getHeader("Access-Control-Allow-Headers")).isEqualTo("content-type");
+        assertThat(response.getHeader("Access-Control-Allow-Credentials")).isEqualTo("true");
+        assertThat(response.getHeader("Access-Control-Max-Age")).isEqualTo("600");
+
+        MockHttpServletResponse denied = new MockHttpServletResponse();
+        ((CorsPreflightHandler) handler).handle(
+                preflight("/api/users/7", "https://evil.example.com", "PUT"), denied);
+        assertThat(denied.getStatus()).isEqualTo(403);
+        assertThat(denied.getHeader("Access-Control-Allow-Origin")).isNull();
+    }
+
+    @Test
+    void preflightForRouteWithoutCorsFallsThrough() throws Exception {
+        registry.registerApi(api("GET", "/api/private", null));
+
+        assertThat(mapping.getHandler(preflight("/api/private", "https://app.example.com", "GET"))).isNull();
+        assertThat(mapping.getHandler(new MockHttpServletRequest("OPTIONS", "/api/private"))).isNull();
+    }
+
+    @Test
+    void headServedByGetApi() throws Exception {
+        ApiDefinition get = api("GET", "/api/products/{id}", null);
+        registry.registerApi(get);
+
+        Object handler = mapping.getHandler(new MockHttpServletRequest("HEAD", "/api/products/1")).getHandler();
+        assertThat(((LoomRequestHandler) handler).getApiDefinition()).isSameAs(get);
+        assertThat(mapping.getHandler(new MockHttpServletRequest("HEAD", "/api/other"))).isNull();
+    }
+}
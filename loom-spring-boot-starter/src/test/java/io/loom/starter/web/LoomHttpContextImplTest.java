@@ -1,7 +1,12 @@
 package io.loom.starter.web;
 
+import io.loom.core.codec.DslJsonCodec;
 import io.loom.core.codec.JsonCodec;
 import io.loom.core.exception.LoomException;
+import io.loom.core.model.QueryParamDefinition;
+import io.loom.core.validation.RequestValidator;
+import io.loom.core.validation.ValidationPlan;
+import io.loom.starter.codec.BodyBufferPool;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.Test;
@@ -108,6 +113,75 @@ class LoomHttpContextImplTest {
                 .hasCauseInstanceOf(IOException.class);
     }
 
+    @Test
+    void deferredBodyIsNotReadUpFront() throws Exception {
+        HttpServletRequest mockRequest = mock(HttpServletRequest.class);
+        when(mockRequest.getMethod()).thenReturn("POST");
+        when(mockRequest.getContentLengthLong()).thenReturn(-1L);
+
+        new LoomHttpContextImpl(mockRequest, response, jsonCodec, null, 1024, true, null);
+
+        org.mockito.Mockito.verify(mockRequest, org.mockito.Mockito.never()).getInputStream();
+    }
+
+    @Test
+    void deferredBodyStillRejectsOversizedContentLength() {
+        HttpServletRequest mockRequest = mock(HttpServletRequest.class);
+        when(mockRequest.getMethod()).thenReturn("PUT");
+        when(mockRequest.getContentLengthLong()).thenReturn(2000L);
+
+        assertThatThrownBy(() -> new LoomHttpContextImpl(mockRequest, response, jsonCodec, null, 1024, true, null))
+                .isInstanceOf(LoomException.class)
+                .hasMessageContaining("Request body too large");
+    }
+
+    @Test
+    void deferredBodyStreamEnforcesLimitWhileReading() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContent(new byte[2000]);
+        request.addHeader("Transfer-Encoding", "chunked");
+        HttpServletRequest chunked = new jakarta.servlet.http.HttpServletRequestWrapper(request) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+
+        LoomHttpContextImpl ctx = new LoomHttpContextImpl(chunked, response, jsonCodec, null, 1024, true, null);
+        LimitedInputStream stream = ctx.takeRequestBodyStream();
+
+        assertThatThrownBy(stream::readAllBytes)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("1024");
+        assertThat(stream.limitExceeded()).isTrue();
+    }
+
+    @Test
+    void deferredBodyCanOnlyBeStreamedOnce() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContent("{\"a\":1}".getBytes());
+
+        LoomHttpContextImpl ctx = new LoomHttpContextImpl(request, response, jsonCodec, null, 1024, true, null);
+
+        assertThat(ctx.takeRequestBodyStream().readAllBytes()).isEqualTo("{\"a\":1}".getBytes());
+        assertThat(ctx.takeRequestBodyStream()).isNull();
+        assertThatThrownBy(ctx::getRawRequestBody)
+                .isInstanceOf(LoomException.class)
+                .hasMessageContaining("already been streamed");
+    }
+
+    @Test
+    void deferredBodyIsBufferedOnDemand() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/test");
+        request.setContent("payload".getBytes());
+
+        LoomHttpContextImpl ctx = new LoomHttpContextImpl(request, response, jsonCodec, null, 1024, true, null);
+
+        assertThat(ctx.getRawRequestBody()).isEqualTo("payload".getBytes());
+        // Once buffered, the body is no longer available as a stream
+        assertThat(ctx.takeRequestBodyStream()).isNull();
+    }
+
     @Test
     void singleValueHeaderUsesImmutableSingleton() {
         MockHttpServletRequest request = new MockHttpServletRequest();
@@ -174,4 +248,99 @@ class LoomHttpContextImplTest {
         );
         assertThat(constructor.getParameterCount()).isEqualTo(5);
     }
+
+    @Test
+    void typedQueryParamServedFromBoundValues() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test");
+        request.setParameter("page", "4");
+        ValidationPlan plan = RequestValidator.compile(
+                List.of(new QueryParamDefinition("page", Integer.class, false, "", "")),
+                List.of(), void.class, "GET");
+
+        LoomHttpContextImpl ctx = new LoomHttpContextImpl(request, response, jsonCodec, null, 1024);
+        Object[] values = new Object[plan.typedParamCount()];
+        RequestValidator.validate(plan, ctx, jsonCodec, values);
+        ctx.bindTypedQueryParams(plan, values);
+
+        // Bound value is returned as-is; other types and undeclared params convert on demand
+        assertThat(ctx.getQueryParam("page", Integer.class)).isSameAs(values[0]);
+        assertThat(ctx.getQueryParam("page", Long.class)).isEqualTo(4L);
+        assertThat(ctx.getQueryParam("missing", Integer.class)).isNull();
+    }
+
+    public record Item(String name) {}
+
+    @Test
+    void pooledBodyParsedInPlaceAndReturnedOnRelease() throws Exception {
+        BodyBufferPool pool = new BodyBufferPool(64, 4);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContent("{\"name\":\"a\"}".getBytes());
+
+        LoomHttpContextImpl ctx = new LoomHttpContextImpl(
+                request, response, new DslJsonCodec(), null, 1024, false, pool);
+
+        Item first = ctx.getRequestBody(Item.class);
+        assertThat(first.name()).isEqualTo("a");
+        assertThat(ctx.getRequestBody(Item.class)).isSameAs(first);
+
+        byte[] raw = ctx.getRawRequestBody();
+        assertThat(new String(raw)).isEqualTo("{\"name\":\"a\"}");
+
+        ctx.releaseBody();
+        byte[] reused = pool.borrow(10);
+        assertThat(reused).hasSize(64);
+        // The raw copy is detached from the pooled buffer
+        java.util.Arrays.fill(reused, (byte) 'x');
+        assertThat(new String(ctx.getRawRequestBody())).isEqualTo("{\"name\":\"a\"}");
+    }
+
+    @Test
+    void oversizedBodyBypassesPool() {
+        BodyBufferPool pool = new BodyBufferPool(8, 4);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        byte[] body = new byte[100];
+        request.setContent(body);
+
+        LoomHttpContextImpl ctx = new LoomHttpContextImpl(request, response, jsonCodec, null, 1024, false, pool);
+
+        assertThat(ctx.getRawRequestBody()).hasSize(100);
+        ctx.releaseBody();
+        assertThat(ctx.getRawRequestBody()).hasSize(100);
+    }
+
+    @Test
+    void pooledBodyStaysOutOfPoolWhileBuilderStillParses() throws Exception {
+        BodyBufferPool pool = new BodyBufferPool(64, 4);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/test");
+        request.setContent("{}".getBytes());
+        LoomHttpContextImpl ctx = new LoomHttpContextImpl(request, response, jsonCodec, null, 1024, false, pool);
+
+        byte[][] parsing = new byte[1][];
+        byte[][] borrowedMeanwhile = new byte[1][];
+        // The response is written (and the body released) while a timed-out builder still parses
+        when(jsonCodec.readValue(org.mockito.ArgumentMatchers.any(byte[].class), anyInt(),
+                org.mockito.ArgumentMatchers.eq(Map.class))).thenAnswer(inv -> {
+            parsing[0] = inv.getArgument(0);
+            ctx.releaseBody();
+            borrowedMeanwhile[0] = pool.borrow(10);
+            return Map.of();
+        });
+
+        ctx.getRequestBody(Map.class);
+
+        assertThat(borrowedMeanwhile[0]).isNotSameAs(parsing[0]);
+        assertThat(pool.borrow(10)).isSameAs(parsing[0]);
+    }
+
+    @Test
+    void rejectsContentLengthBeyondArrayLimit() {
+        HttpServletRequest mockRequest = mock(HttpServletRequest.class);
+        when(mockRequest.getMethod()).thenReturn("POST");
+        when(mockRequest.getContentLengthLong()).thenReturn(3L * Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> new LoomHttpContextImpl(mockRequest, response, jsonCodec, null,
+                Long.MAX_VALUE, false, new BodyBufferPool()))
+                .isInstanceOf(LoomException.class)
+                .hasMessageContaining("Request body too large");
+    }
 }
@@ -0,0 +1,176 @@
+package io.loom.starter.web;
+
+import io.loom.core.model.ApiDefinition;
+import io.loom.starter.codec.DeflaterPool;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCompressorTest {
+
+    private final ResponseCompressor compressor = new ResponseCompressor(
+            64, 6, List.of("application/json", "text/*"), new DeflaterPool());
+
+    private static ApiDefinition api(int compressionLevel) {
+        return ApiDefinition.builder("GET", "/api/test").compressionLevel(compressionLevel).build();
+    }
+
+    private static byte[] payload(int size) {
+        StringBuilder sb = new StringBuilder("{\"items\":[");
+        while (sb.length() < size) {
+            sb.append("{\"id\":1,\"name\":\"widget\"},");
+        }
+        sb.append("{}]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // ── Negotiation ──
+
+    @Test
+    void negotiatesGzipWhenAccepted() {
+        assertThat(ResponseCompressor.negotiate("gzip, deflate, br")).isEqualTo("gzip");
+        assertThat(ResponseCompressor.negotiate("deflate")).isEqualTo("deflate");
+        assertThat(ResponseCompressor.negotiate("br")).isNull();
+        assertThat(ResponseCompressor.negotiate(null)).isNull();
+        assertThat(ResponseCompressor.negotiate("")).isNull();
+    }
+
+    @Test
+    void negotiationHonoursQValues() {
+        assertThat(ResponseCompressor.negotiate("gzip;q=0.5, deflate;q=0.8")).isEqualTo("deflate");
+        assertThat(ResponseCompressor.negotiate("gzip;q=0, deflate")).isEqualTo("deflate");
+        assertThat(ResponseCompressor.negotiate("gzip;q=0")).isNull();
+        assertThat(ResponseCompressor.negotiate("GZIP ; q=1.0")).isEqualTo("gzip");
+    }
+
+    @Test
+    void acceptsMatchesWholeCodingsAndRespectsQZero() {
+        assertThat(ResponseCompressor.accepts("gzip, br", "gzip")).isTrue();
+        assertThat(ResponseCompressor.accepts("x-gzip", "gzip")).isTrue();
+        assertThat(ResponseCompressor.accepts("gzip;q=0", "gzip")).isFalse();
+        assertThat(ResponseCompressor.accepts("x-gzip-foo, deflate", "gzip")).isFalse();
+        assertThat(ResponseCompressor.accepts("*, gzip;q=0", "gzip")).isFalse();
+        assertThat(ResponseCompressor.accepts("*", "deflate")).isTrue();
+        assertThat(ResponseCompressor.accepts(null, "gzip")).isFalse();
+    }
+
+    @Test
+    void negotiationHonoursWildcard() {
+        assertThat(ResponseCompressor.negotiate("*")).isEqualTo("gzip");
+        assertThat(ResponseCompressor.negotiate("gzip;q=0, *")).isEqualTo("deflate");
+        assertThat(ResponseCompressor.negotiate("identity, *;q=0")).isNull();
+    }
+
+    @Test
+    void compressibleTypes() {
+        assertThat(compressor.isCompressible("application/json")).isTrue();
+        assertThat(compressor.isCompressible("application/json; charset=UTF-8")).isTrue();
+        assertThat(compressor.isCompressible("application/problem+json")).isTrue();
+        assertThat(compressor.isCompressible("text/html")).isTrue();
+        assertThat(compressor.isCompressible("image/png")).isFalse();
+        assertThat(compressor.isCompressible("application/octet-stream")).isFalse();
+        assertThat(compressor.isCompressible(null)).isFalse();
+    }
+
+    // ── Stream behaviour ──
+
+    @Test
+    void gzipRoundTrip() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        byte[] body = payload(10_000);
+
+        try (CompressingOutputStream out = compressor.open(request, response, api(ApiDefinition.DEFAULT_COMPRESSION))) {
+            out.write(body);
+        }
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        byte[] compressed = response.getContentAsByteArray();
+        assertThat(compressed.length).isLessThan(body.length);
+        byte[] inflated = new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes();
+        assertThat(inflated).isEqualTo(body);
+    }
+
+    @Test
+    void strongEtagGetsEncodingSuffixOnlyWhenCompressed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "gzip");
+
+        MockHttpServletResponse compressed = new MockHttpServletResponse();
+        compressed.setHeader("ETag", "\"abc\"");
+        try (CompressingOutputStream out = compressor.open(request, compressed, api(ApiDefinition.DEFAULT_COMPRESSION))) {
+            out.write(payload(10_000));
+        }
+        assertThat(compressed.getHeader("ETag")).isEqualTo("\"abc-gzip\"");
+
+        MockHttpServletResponse small = new MockHttpServletResponse();
+        small.setHeader("ETag", "\"abc\"");
+        try (CompressingOutputStream out = compressor.open(request, small, api(ApiDefinition.DEFAULT_COMPRESSION))) {
+            out.write(new byte[10]);
+        }
+        assertThat(small.getHeader("ETag")).isEqualTo("\"abc\"");
+    }
+
+    @Test
+    void deflateRoundTripAcrossMultipleWrites() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "deflate");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        byte[] body = payload(5_000);
+
+        try (CompressingOutputStream out = compressor.open(request, response, api(9))) {
+            out.write(body, 0, 10);
+            out.write(body, 10, body.length - 10);
+        }
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("deflate");
+        byte[] inflated = new InflaterInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))
+                .readAllBytes();
+        assertThat(inflated).isEqualTo(body);
+    }
+
+    @Test
+    void bodyBelowThresholdWrittenUncompressed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+
+        try (CompressingOutputStream out = compressor.open(request, response, api(ApiDefinition.DEFAULT_COMPRESSION))) {
+            out.write(body);
+        }
+
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void noStreamWhenClientDoesNotAcceptEncoding() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(compressor.open(new MockHttpServletRequest(), response, api(ApiDefinition.DEFAULT_COMPRESSION)))
+                .isNull();
+        // Still varies on Accept-Encoding since another client would get a compressed body
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+    }
+
+    @Test
+    void noStreamWhenApiDisablesCompression() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(compressor.open(request, response, api(0))).isNull();
+        assertThat(response.getHeader("Vary")).isNull();
+    }
+}
@@ -21,8 +21,7 @@ class RouteTrieTest {
     }
 
     private ApiDefinition api(String method, String path) {
-        return new ApiDefinition(method, path, null, null, null, null,
-                null, null, null, null, null, null, null, null, null);
+        return ApiDefinition.builder(method, path).build();
     }
 
     @Test
@@ -183,4 +182,56 @@ class RouteTrieTest {
         assertThatThrownBy(() -> match.pathVariables().put("injected", "bad"))
                 .isInstanceOf(UnsupportedOperationException.class);
     }
+
+    // ── In-place lookup ──
+
+    @Test
+    void lookupSkipsContextPathOffset() {
+        trie.insert(api("GET", "/api/products/{id}"));
+
+        RouteTrie.Route route = trie.lookup("GET", "/shop/api/products/7", "/shop".length());
+
+        assertThat(route).isNotNull();
+        assertThat(route.pathVariables("/shop/api/products/7", "/shop".length()))
+                .containsExactly(Map.entry("id", "7"));
+    }
+
+    @Test
+    void lookupReturnsSameHandlerForEveryRequest() {
+        trie.insert(api("GET", "/api/products/{id}"));
+
+        RouteTrie.Route first = trie.lookup("GET", "/api/products/1", 0);
+        RouteTrie.Route second = trie.lookup("GET", "/api/products/2", 0);
+
+        assertThat(first.handler()).isSameAs(second.handler());
+        assertThat(first.handler().getApiDefinition().path()).isEqualTo("/api/products/{id}");
+    }
+
+    @Test
+    void pathVariablesAreSlottedInDeclarationOrder() {
+        trie.insert(api("GET", "/api/{tenant}/users/{userId}/orders/{orderId}/"));
+
+        RouteTrie.RouteMatch match = trie.find("GET", "/api/acme/users/u1/orders/o9/");
+
+        assertThat(match.pathVariables()).containsExactly(
+                Map.entry("tenant", "acme"), Map.entry("userId", "u1"), Map.entry("orderId", "o9"));
+        assertThatThrownBy(() -> match.pathVariables().put("tenant", "x"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void literalTablesResolveThousandsOfSiblings() {
+        for (int i = 0; i < 3000; i++) {
+            trie.insert(api("GET", "/api/svc" + i + "/items/{id}"));
+        }
+
+        for (int i = 0; i < 3000; i += 7) {
+            RouteTrie.RouteMatch match = trie.find("GET", "/api/svc" + i + "/items/" + i);
+            assertThat(match).isNotNull();
+            assertThat(match.api().path()).isEqualTo("/api/svc" + i + "/items/{id}");
+            assertThat(match.pathVariables().get("id")).isEqualTo(String.valueOf(i));
+        }
+        assertThat(trie.find("GET", "/api/svc3000/items/1")).isNull();
+        assertThat(trie.find("GET", "/api/svc1/item/1")).isNull();
+    }
 }